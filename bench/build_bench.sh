@@ -0,0 +1,36 @@
+#!/bin/bash
+
+# Builds and runs the native micro-benchmarks in bench/cpp.
+# Usage (from the project root): ./bench/build_bench.sh [benchmark name]
+
+# Exit on error
+set -e
+
+PROJECT_ROOT=$(pwd)
+JAVA_HOME=${JAVA_HOME:-$(/usr/libexec/java_home)}
+BENCH_DIR="$PROJECT_ROOT/build/bench"
+
+case "$(uname)" in
+    Darwin) JNI_PLATFORM=darwin ;;
+    *)      JNI_PLATFORM=linux ;;
+esac
+
+mkdir -p "$BENCH_DIR"
+
+for bench_file in bench/cpp/bench_*.cpp; do
+    name=$(basename "$bench_file" .cpp)
+    if [ -n "$1" ] && [ "$1" != "$name" ]; then
+        continue
+    fi
+
+    echo "Compiling $name..."
+    clang++ -O2 -std=c++17 -pthread \
+        -I"$JAVA_HOME/include" \
+        -I"$JAVA_HOME/include/$JNI_PLATFORM" \
+        -I"$PROJECT_ROOT/include" \
+        "$bench_file" src/cpp/*.cpp \
+        -o "$BENCH_DIR/$name"
+
+    echo "Running $name..."
+    "$BENCH_DIR/$name"
+done
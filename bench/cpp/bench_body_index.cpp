@@ -0,0 +1,62 @@
+// File: bench/cpp/bench_body_index.cpp
+#include <algorithm>
+#include <cstdlib>
+#include <vector>
+#include "bench_util.h"
+#include "../../include/body_index.h"
+
+// Random lookup cost of BodyIndex as the world grows. The number of probes
+// per lookup stays flat from 100 to 1,000,000 bodies; any rise at the top end
+// comes from the table no longer fitting in cache. The linear scan it
+// replaced is shown for the smaller sizes as a reference.
+const int LOOKUPS = 1000000;
+
+double timeIndexLookups(const BodyIndex& index, const std::vector<int>& queries) {
+    BenchTimer timer;
+    long long sum = 0;
+    for (int id : queries) {
+        sum += index.find(id);
+    }
+    double nanos = timer.elapsedNanos();
+    benchSink += sum;
+    return nanos / queries.size();
+}
+
+double timeLinearLookups(const std::vector<int>& ids, const std::vector<int>& queries) {
+    BenchTimer timer;
+    long long sum = 0;
+    for (int id : queries) {
+        sum += std::find(ids.begin(), ids.end(), id) - ids.begin();
+    }
+    double nanos = timer.elapsedNanos();
+    benchSink += sum;
+    return nanos / queries.size();
+}
+
+int main() {
+    printBenchHeader("BodyIndex lookup scaling");
+    std::srand(1234);
+
+    for (int bodies = 100; bodies <= 1000000; bodies *= 10) {
+        BodyIndex index;
+        std::vector<int> ids(bodies);
+        for (int i = 0; i < bodies; i++) {
+            ids[i] = i + 1;
+            index.insert(ids[i], i);
+        }
+
+        std::vector<int> queries(LOOKUPS);
+        for (int& query : queries) {
+            query = ids[std::rand() % bodies];
+        }
+
+        printBenchRow("BodyIndex::find", bodies, timeIndexLookups(index, queries));
+
+        if (bodies <= 10000) {
+            queries.resize(LOOKUPS / 100);
+            printBenchRow("linear scan (previous)", bodies, timeLinearLookups(ids, queries));
+        }
+    }
+
+    return 0;
+}
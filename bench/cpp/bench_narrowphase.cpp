@@ -0,0 +1,127 @@
+// File: bench/cpp/bench_narrowphase.cpp
+#include <cstdlib>
+#include <vector>
+#include "bench_util.h"
+#include "../../include/object.h"
+
+// Per-pair cost of the narrowphase dispatch. The tag-indexed function table
+// is timed against a copy of the dynamic_cast chains it replaced, on the
+// same mixed box/circle pair list, for detection and for resolution.
+const int PAIRS = 200000;
+const int ROUNDS = 10;
+
+// Previous detection: Collider::checkCollision probing the other side with dynamic_cast
+bool legacyDetect(const Collider& a, const Collider& b) {
+    if (const AABBCollider* boxA = dynamic_cast<const AABBCollider*>(&a)) {
+        if (const AABBCollider* boxB = dynamic_cast<const AABBCollider*>(&b)) return checkAABBCollision(*boxA, *boxB);
+        if (const CircleCollider* circleB = dynamic_cast<const CircleCollider*>(&b)) return checkAABBCircleCollision(*boxA, *circleB);
+        return false;
+    }
+    if (const CircleCollider* circleA = dynamic_cast<const CircleCollider*>(&a)) {
+        if (const CircleCollider* circleB = dynamic_cast<const CircleCollider*>(&b)) return checkCircleCollision(*circleA, *circleB);
+        if (const AABBCollider* boxB = dynamic_cast<const AABBCollider*>(&b)) return checkAABBCircleCollision(*boxB, *circleA);
+    }
+    return false;
+}
+
+// Previous resolution: the nested dynamic_cast chain from handleCollisions
+void legacyResolve(Collider* colliderA, Collider* colliderB, Object& objA, Object& objB) {
+    if (auto* aabbA = dynamic_cast<AABBCollider*>(colliderA)) {
+        if (dynamic_cast<AABBCollider*>(colliderB)) {
+            aabbA->resolveCollision(objA, objB);
+        } else if (dynamic_cast<CircleCollider*>(colliderB)) {
+            aabbA->resolveCollision(objA, objB);
+        }
+    } else if (auto* circleA = dynamic_cast<CircleCollider*>(colliderA)) {
+        if (dynamic_cast<CircleCollider*>(colliderB)) {
+            circleA->resolveCollision(objA, objB);
+        } else if (dynamic_cast<AABBCollider*>(colliderB)) {
+            circleA->resolveCollision(objA, objB);
+        }
+    }
+}
+
+// Reset every body so both resolve variants start from identical state
+void resetBodies(std::vector<Object*>& bodies) {
+    for (size_t i = 0; i < bodies.size(); i++) {
+        bodies[i]->setPosition(Vector2D(static_cast<float>(i % 64) * 8.0f, static_cast<float>(i / 64) * 8.0f));
+        bodies[i]->setVelocity(Vector2D(1.0f, -1.0f));
+    }
+}
+
+int main() {
+    std::srand(1234);
+
+    std::vector<Object*> bodies;
+    for (int i = 0; i < 4096; i++) {
+        Vector2D position(static_cast<float>(i % 64) * 8.0f, static_cast<float>(i / 64) * 8.0f);
+        if (i % 2 == 0) {
+            bodies.push_back(new Square(i, 1.0f, position, Vector2D(1, -1), 10.0f));
+        } else {
+            bodies.push_back(new Circle(i, 1.0f, position, Vector2D(1, -1), 5.0f));
+        }
+    }
+
+    std::vector<std::pair<int, int>> pairs(PAIRS);
+    for (auto& pair : pairs) {
+        pair.first = std::rand() % bodies.size();
+        pair.second = std::rand() % bodies.size();
+        if (pair.first == pair.second) pair.second = (pair.second + 1) % bodies.size();
+    }
+    const double operations = static_cast<double>(PAIRS) * ROUNDS;
+
+    printBenchHeader("Narrowphase detect, mixed box/circle pairs");
+    {
+        BenchTimer timer;
+        long long hits = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (const auto& pair : pairs) {
+                hits += legacyDetect(*bodies[pair.first]->getCollider(), *bodies[pair.second]->getCollider());
+            }
+        }
+        printBenchRow("dynamic_cast chain (previous)", PAIRS, timer.elapsedNanos() / operations);
+        benchSink += hits;
+    }
+    {
+        BenchTimer timer;
+        long long hits = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (const auto& pair : pairs) {
+                hits += detectColliders(*bodies[pair.first]->getCollider(), *bodies[pair.second]->getCollider());
+            }
+        }
+        printBenchRow("tag dispatch table", PAIRS, timer.elapsedNanos() / operations);
+        benchSink += hits;
+    }
+
+    printBenchHeader("Narrowphase resolve, mixed box/circle pairs");
+    resetBodies(bodies);
+    {
+        BenchTimer timer;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (const auto& pair : pairs) {
+                Object& objA = *bodies[pair.first];
+                Object& objB = *bodies[pair.second];
+                legacyResolve(objA.getCollider(), objB.getCollider(), objA, objB);
+            }
+        }
+        printBenchRow("dynamic_cast chain (previous)", PAIRS, timer.elapsedNanos() / operations);
+    }
+    resetBodies(bodies);
+    {
+        BenchTimer timer;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (const auto& pair : pairs) {
+                Object& objA = *bodies[pair.first];
+                Object& objB = *bodies[pair.second];
+                resolveColliders(*objA.getCollider(), *objB.getCollider(), objA, objB);
+            }
+        }
+        printBenchRow("tag dispatch table", PAIRS, timer.elapsedNanos() / operations);
+    }
+
+    for (auto* body : bodies) {
+        delete body;
+    }
+    return 0;
+}
@@ -0,0 +1,193 @@
+// File: bench/cpp/bench_native.cpp
+#include <cmath>
+#include <cstdlib>
+#include <vector>
+#include "bench_util.h"
+#include "../../include/object.h"
+#include "../../include/forces.h"
+
+// Per-call cost of the native hot paths, called directly on synthetic
+// worlds with no JNI or JVM involved: the three overlap tests, the resolve
+// variants, gravity and friction, and Object::update. Each row repeats the
+// same number of calls over a growing body set, so the size column gives
+// the scaling curve: flat while the bodies fit in cache, rising once every
+// call misses.
+const int CALLS = 2000000;
+const int SIZES[] = { 100, 1000, 10000, 100000, 1000000 };
+const int MAX_RESOLVE_PAIRS = 100000;
+
+// Boxes and circles scattered over a square world at roughly 30% coverage,
+// so a share of the random pairs overlap
+struct SyntheticWorld {
+    std::vector<Object*> boxes;
+    std::vector<Object*> circles;
+
+    explicit SyntheticWorld(int bodyCount) {
+        float side = std::sqrt(bodyCount * 100.0f / 0.3f);
+        for (int i = 0; i < bodyCount; i++) {
+            Vector2D position(randomUnit() * side, randomUnit() * side);
+            // Every fourth body rests, so both friction branches are exercised
+            Vector2D velocity = i % 4 == 0 ? Vector2D(0, 0) : Vector2D(randomUnit() * 10 - 5, randomUnit() * 10 - 5);
+            if (i % 2 == 0) {
+                boxes.push_back(new Square(i, 1.0f + i % 3, position, velocity, 10.0f));
+            } else {
+                circles.push_back(new Circle(i, 1.0f + i % 3, position, velocity, 5.0f));
+            }
+        }
+    }
+
+    ~SyntheticWorld() {
+        for (auto* body : boxes) delete body;
+        for (auto* body : circles) delete body;
+    }
+
+    static float randomUnit() {
+        return static_cast<float>(std::rand()) / RAND_MAX;
+    }
+};
+
+// Random index pairs into two body lists
+std::vector<std::pair<int, int>> randomPairs(size_t countA, size_t countB) {
+    std::vector<std::pair<int, int>> pairs(CALLS);
+    for (auto& pair : pairs) {
+        pair.first = std::rand() % countA;
+        pair.second = std::rand() % countB;
+    }
+    return pairs;
+}
+
+template <typename ColliderA, typename ColliderB, typename Check>
+double timeDetect(const std::vector<Object*>& a, const std::vector<Object*>& b, Check check) {
+    std::vector<std::pair<int, int>> pairs = randomPairs(a.size(), b.size());
+
+    BenchTimer timer;
+    long long hits = 0;
+    for (const auto& pair : pairs) {
+        hits += check(*static_cast<const ColliderA*>(a[pair.first]->getCollider()),
+                      *static_cast<const ColliderB*>(b[pair.second]->getCollider()));
+    }
+    double nanos = timer.elapsedNanos();
+    benchSink += hits;
+    return nanos / pairs.size();
+}
+
+void benchDetection() {
+    printBenchHeader("Overlap tests, random pairs (size = bodies)");
+    for (int size : SIZES) {
+        SyntheticWorld world(size);
+        printBenchRow("checkAABBCollision", size,
+            timeDetect<AABBCollider, AABBCollider>(world.boxes, world.boxes, checkAABBCollision));
+        printBenchRow("checkCircleCollision", size,
+            timeDetect<CircleCollider, CircleCollider>(world.circles, world.circles, checkCircleCollision));
+        printBenchRow("checkAABBCircleCollision", size,
+            timeDetect<AABBCollider, CircleCollider>(world.boxes, world.circles, checkAABBCircleCollision));
+    }
+}
+
+// Pairs of bodies overlapping by a few pixels and moving into each other,
+// so every call runs the full impulse and correction path
+struct ContactPairs {
+    std::vector<Object*> first;
+    std::vector<Object*> second;
+
+    ContactPairs(int count, bool firstIsBox, bool secondIsBox) {
+        for (int i = 0; i < count; i++) {
+            first.push_back(makeBody(i * 2, firstIsBox));
+            second.push_back(makeBody(i * 2 + 1, secondIsBox));
+        }
+        reset();
+    }
+
+    ~ContactPairs() {
+        for (auto* body : first) delete body;
+        for (auto* body : second) delete body;
+    }
+
+    static Object* makeBody(int id, bool box) {
+        if (box) return new Square(id, 1.0f, Vector2D(0, 0), Vector2D(0, 0), 10.0f);
+        return new Circle(id, 1.0f, Vector2D(0, 0), Vector2D(0, 0), 5.0f);
+    }
+
+    // Untimed: put every pair back into contact
+    void reset() {
+        for (size_t i = 0; i < first.size(); i++) {
+            Vector2D origin(static_cast<float>(i % 1000) * 30.0f, static_cast<float>(i / 1000) * 30.0f);
+            first[i]->setPosition(origin);
+            first[i]->setVelocity(Vector2D(2.0f, 0.5f));
+            second[i]->setPosition(origin + Vector2D(7.0f, 1.0f));
+            second[i]->setVelocity(Vector2D(-2.0f, 0.0f));
+        }
+    }
+};
+
+double timeResolve(bool firstIsBox, bool secondIsBox, int pairCount) {
+    ContactPairs contacts(pairCount, firstIsBox, secondIsBox);
+    int rounds = CALLS / pairCount;
+
+    double nanos = 0;
+    for (int round = 0; round < rounds; round++) {
+        contacts.reset();
+        BenchTimer timer;
+        for (int i = 0; i < pairCount; i++) {
+            Object& objA = *contacts.first[i];
+            Object& objB = *contacts.second[i];
+            objA.getCollider()->resolveCollision(objA, objB);
+        }
+        nanos += timer.elapsedNanos();
+    }
+    return nanos / (static_cast<double>(rounds) * pairCount);
+}
+
+void benchResolution() {
+    printBenchHeader("resolveCollision variants, touching pairs (size = pairs)");
+    for (int size : SIZES) {
+        if (size > MAX_RESOLVE_PAIRS) break;
+        printBenchRow("AABB resolve, box-box", size, timeResolve(true, true, size));
+        printBenchRow("Circle resolve, circle-circle", size, timeResolve(false, false, size));
+        printBenchRow("AABB resolve, box-circle", size, timeResolve(true, false, size));
+        printBenchRow("Circle resolve, circle-box", size, timeResolve(false, true, size));
+    }
+}
+
+// Runs perBody over every body of the world until CALLS calls are made
+template <typename PerBody>
+double timePerBody(SyntheticWorld& world, PerBody perBody) {
+    std::vector<Object*> bodies(world.boxes);
+    bodies.insert(bodies.end(), world.circles.begin(), world.circles.end());
+    int rounds = CALLS / static_cast<int>(bodies.size());
+    if (rounds < 1) rounds = 1;
+
+    BenchTimer timer;
+    for (int round = 0; round < rounds; round++) {
+        for (auto* body : bodies) {
+            perBody(*body);
+        }
+    }
+    return timer.elapsedNanos() / (static_cast<double>(rounds) * bodies.size());
+}
+
+void benchForcesAndUpdate() {
+    const Vector2D up(0, -1);
+
+    printBenchHeader("Forces and integration, sequential bodies (size = bodies)");
+    for (int size : SIZES) {
+        SyntheticWorld world(size);
+        printBenchRow("Forces::applyGravity", size,
+            timePerBody(world, [](Object& body) { Forces::applyGravity(body, 9.81f); }));
+        printBenchRow("Forces::applyStaticFriction", size,
+            timePerBody(world, [&](Object& body) { Forces::applyStaticFriction(body, 0.5f, up); }));
+        printBenchRow("Forces::applyKineticFriction", size,
+            timePerBody(world, [&](Object& body) { Forces::applyKineticFriction(body, 0.3f, up); }));
+        printBenchRow("Object::update", size,
+            timePerBody(world, [](Object& body) { body.resetForces(); body.update(1.0f / 60.0f); }));
+    }
+}
+
+int main() {
+    std::srand(1234);
+
+    benchDetection();
+    benchResolution();
+    benchForcesAndUpdate();
+    return 0;
+}
@@ -0,0 +1,35 @@
+// File: bench/cpp/bench_util.h
+#ifndef BENCH_UTIL_H
+#define BENCH_UTIL_H
+
+#include <chrono>
+#include <cstdio>
+#include <string>
+
+// Keeps the optimizer from discarding benchmarked results
+static volatile long long benchSink = 0;
+
+// Wall-clock timer in nanoseconds
+class BenchTimer {
+public:
+    BenchTimer() : start(std::chrono::steady_clock::now()) {}
+
+    double elapsedNanos() const {
+        return std::chrono::duration<double, std::nano>(std::chrono::steady_clock::now() - start).count();
+    }
+
+private:
+    std::chrono::steady_clock::time_point start;
+};
+
+// Print one result row: benchmark name, problem size and cost per operation
+inline void printBenchRow(const std::string& name, long long size, double nanosPerOp) {
+    std::printf("%-36s %12lld %14.2f ns/op\n", name.c_str(), size, nanosPerOp);
+}
+
+inline void printBenchHeader(const std::string& title) {
+    std::printf("\n=== %s ===\n", title.c_str());
+    std::printf("%-36s %12s %20s\n", "benchmark", "size", "cost");
+}
+
+#endif // BENCH_UTIL_H
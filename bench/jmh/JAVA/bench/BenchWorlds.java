@@ -0,0 +1,87 @@
+// File: bench/jmh/JAVA/bench/BenchWorlds.java
+package JAVA.bench;
+
+import java.util.Random;
+
+import JAVA.PhysicsEngine;
+import JAVA.jni.JniPhysicsEngine;
+import JAVA.jni.PhysicsEngineJNI;
+
+// Builds reproducible worlds for the JMH benchmarks. The world is a square
+// whose side is chosen so the bodies cover the requested share of its area;
+// walls keep them inside so the density holds while stepping.
+final class BenchWorlds {
+    static final double MASS = 1.0;
+    static final double SQUARE_SIDE = 10.0;
+    static final double RECT_WIDTH = 14.0;
+    static final double RECT_HEIGHT = 7.0;
+    static final double CIRCLE_RADIUS = 5.0;
+
+    private static final PhysicsEngine JNI = new JniPhysicsEngine();
+
+    private BenchWorlds() {}
+
+    // Side of the square world holding bodyCount bodies of the mix at the given density
+    static double worldSide(int bodyCount, String shapeMix, double density) {
+        double area = 0;
+        for (int i = 0; i < bodyCount; i++) {
+            area += bodyArea(shapeAt(shapeMix, i));
+        }
+        return Math.sqrt(area / density);
+    }
+
+    static char shapeAt(String shapeMix, int index) {
+        return shapeMix.charAt(index % shapeMix.length());
+    }
+
+    static double[] dimensions(char shape) {
+        switch (shape) {
+            case 'R': return new double[]{RECT_WIDTH, RECT_HEIGHT};
+            case 'C': return new double[]{CIRCLE_RADIUS};
+            default:  return new double[]{SQUARE_SIDE};
+        }
+    }
+
+    private static double bodyArea(char shape) {
+        switch (shape) {
+            case 'R': return RECT_WIDTH * RECT_HEIGHT;
+            case 'C': return 4 * CIRCLE_RADIUS * CIRCLE_RADIUS;   // Bounding square, as the walls see it
+            default:  return SQUARE_SIDE * SQUARE_SIDE;
+        }
+    }
+
+    // New world with bodies 1..bodyCount scattered uniformly, sleeping off so
+    // every step does the full amount of work
+    static long create(int bodyCount, String shapeMix, double density, long seed) {
+        return create(JNI, bodyCount, shapeMix, density, seed);
+    }
+
+    static long create(PhysicsEngine engine, int bodyCount, String shapeMix, double density, long seed) {
+        long world = engine.createWorld();
+        double side = worldSide(bodyCount, shapeMix, density);
+        engine.configureWorld(world, PhysicsEngineJNI.WORLD_BOUNDS, 0.0, 0.0, side, side);
+        engine.configureWorld(world, PhysicsEngineJNI.WORLD_SLEEP, 0.0);
+
+        Random random = new Random(seed);
+        for (int id = 1; id <= bodyCount; id++) {
+            addRandomBody(engine, world, id, shapeAt(shapeMix, id), side, random);
+        }
+        return world;
+    }
+
+    static void addRandomBody(long worldPtr, int id, char shape, double side, Random random) {
+        double limit = Math.max(side - RECT_WIDTH, 0);
+        PhysicsEngineJNI.addObject(worldPtr, id, MASS,
+            random.nextDouble() * limit, random.nextDouble() * limit,
+            random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10,
+            shape, dimensions(shape));
+    }
+
+    static void addRandomBody(PhysicsEngine engine, long world, int id, char shape, double side, Random random) {
+        double limit = Math.max(side - RECT_WIDTH, 0);
+        engine.addObject(world, id, MASS,
+            random.nextDouble() * limit, random.nextDouble() * limit,
+            random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10,
+            shape, dimensions(shape));
+    }
+}
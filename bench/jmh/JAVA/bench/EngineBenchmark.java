@@ -0,0 +1,110 @@
+// File: bench/jmh/JAVA/bench/EngineBenchmark.java
+package JAVA.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import JAVA.BodyStateView;
+import JAVA.ObjectState;
+import JAVA.PhysicsEngine;
+import JAVA.jni.PhysicsEngineJNI;
+
+// The same calls through each PhysicsEngine, on the same worlds. For the
+// native bindings, small worlds show the per-call transition cost and large
+// ones how much of it is left once the native work dominates; the java rows
+// put the pure-Java backend against both. The ffm rows need the ffm sources
+// built, which bench/run_jmh.sh does on JDK 22 and later.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-native-access=ALL-UNNAMED")
+@State(Scope.Benchmark)
+public class EngineBenchmark {
+    @Param({"jni", "ffm", "java"})
+    public String engineName;
+
+    @Param({"10", "1000", "100000"})
+    public int bodyCount;
+
+    private PhysicsEngine engine;
+    private long world;
+    private BodyStateView view;
+    private final double[] state = new double[PhysicsEngine.STATE_FIELD_COUNT];
+    private int nextLookup;
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        engine = PhysicsEngine.forName(engineName);
+        world = BenchWorlds.create(engine, bodyCount, "RCS", 0.05, 42);
+        // The java engine always works like native structure-of-arrays storage
+        engine.configureWorld(world, PhysicsEngineJNI.WORLD_BODY_STORAGE, PhysicsEngineJNI.STORAGE_SOA);
+        view = engine.getStateView(world);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorld() {
+        engine.deleteWorld(world);
+    }
+
+    @Benchmark
+    public void stepSimulation() {
+        engine.stepSimulation(world, 1.0 / 60.0);
+    }
+
+    // One GUI frame: a step plus a collision pass
+    @Benchmark
+    public void stepAndCollide() {
+        engine.stepSimulation(world, 1.0 / 60.0);
+        engine.handleCollisions(world);
+    }
+
+    @Benchmark
+    public boolean isWorldAsleep() {
+        return engine.isWorldAsleep(world);
+    }
+
+    // Allocates the ObjectState on every engine; JNI builds it through an upcall
+    @Benchmark
+    public ObjectState getObjectState() {
+        nextLookup = nextLookup % bodyCount + 1;
+        return engine.getObjectState(world, nextLookup);
+    }
+
+    @Benchmark
+    public double getObjectStateInto() {
+        nextLookup = nextLookup % bodyCount + 1;
+        engine.getObjectState(world, nextLookup, state);
+        return state[PhysicsEngine.STATE_POS_X];
+    }
+
+    @Benchmark
+    public void updateObjectState() {
+        nextLookup = nextLookup % bodyCount + 1;
+        engine.updateObjectState(world, nextLookup, 10.0, 10.0, 0.0, 0.0);
+    }
+
+    // One pass over every body's position, as a renderer would make
+    @Benchmark
+    public double readAllPositions() {
+        double sum = 0;
+        int count = view.size();
+        for (int slot = 0; slot < count; slot++) {
+            sum += view.getPosX(slot) + view.getPosY(slot);
+        }
+        return sum;
+    }
+}
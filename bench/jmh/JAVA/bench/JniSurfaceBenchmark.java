@@ -0,0 +1,149 @@
+// File: bench/jmh/JAVA/bench/JniSurfaceBenchmark.java
+package JAVA.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import JAVA.CommandBuffer;
+import JAVA.ObjectState;
+import JAVA.jni.PhysicsEngineJNI;
+
+// Cost of the PhysicsEngineJNI calls the GUI and batch runner make, per
+// call, across world sizes, shape mixes and densities. Run through
+// bench/run_jmh.sh, which adds the gc profiler (allocations per call as
+// gc.alloc.rate.norm) and writes the results as JSON.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JniSurfaceBenchmark {
+    // addObject calls per measured operation; divide its score by this for one call
+    public static final int ADD_BATCH = 1000;
+    // Body updates per measured operation, sent one call each or as one flushed batch
+    public static final int UPDATE_BATCH = 100;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int bodyCount;
+
+    // Shapes cycled through by body id: R = rectangle, C = circle, S = square
+    @Param({"S", "RCS"})
+    public String shapeMix;
+
+    // Share of the world area covered by bodies
+    @Param({"0.05", "0.3"})
+    public double density;
+
+    private long worldPtr;
+    private int nextLookup;
+    private int nextUpdate;
+    private double side;
+    private final CommandBuffer commands = new CommandBuffer();
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        worldPtr = BenchWorlds.create(bodyCount, shapeMix, density, 42);
+        side = BenchWorlds.worldSide(bodyCount, shapeMix, density);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorld() {
+        PhysicsEngineJNI.deletePhysicsWorld(worldPtr);
+    }
+
+    @Benchmark
+    public void stepSimulation() {
+        PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+    }
+
+    @Benchmark
+    public void handleCollisions() {
+        PhysicsEngineJNI.handleCollisions(worldPtr);
+    }
+
+    // One GUI frame: a step plus a collision pass
+    @Benchmark
+    public void stepAndCollide() {
+        PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+        PhysicsEngineJNI.handleCollisions(worldPtr);
+    }
+
+    @Benchmark
+    public ObjectState getObjectState() {
+        nextLookup = nextLookup % bodyCount + 1;
+        return PhysicsEngineJNI.getObjectState(worldPtr, nextLookup);
+    }
+
+    @Benchmark
+    public void updateObjectState() {
+        for (int i = 0; i < UPDATE_BATCH; i++) {
+            nextUpdate = nextUpdate % bodyCount + 1;
+            PhysicsEngineJNI.updateObjectState(worldPtr, nextUpdate, updateX(i), side / 2, 0, 0);
+        }
+    }
+
+    // The same updates as updateObjectState through a CommandBuffer, one JNI call per operation
+    @Benchmark
+    public int flushCommands() {
+        for (int i = 0; i < UPDATE_BATCH; i++) {
+            nextUpdate = nextUpdate % bodyCount + 1;
+            commands.updateObject(nextUpdate, updateX(i), side / 2, 0, 0);
+        }
+        int applied = PhysicsEngineJNI.flushCommands(worldPtr, commands.getBuffer(), commands.size());
+        commands.clear();
+        return applied;
+    }
+
+    // Updated bodies spread along the middle of the world
+    private double updateX(int i) {
+        return (i + 0.5) * side / UPDATE_BATCH;
+    }
+
+    // addObject into a world that already holds bodyCount bodies, on a
+    // fresh world for every measured batch
+    @State(Scope.Thread)
+    public static class GrowingWorld {
+        long worldPtr;
+        double side;
+        Random random;
+
+        @Setup(Level.Invocation)
+        public void createWorld(JniSurfaceBenchmark params) {
+            worldPtr = BenchWorlds.create(params.bodyCount, params.shapeMix, params.density, 7);
+            side = BenchWorlds.worldSide(params.bodyCount, params.shapeMix, params.density);
+            random = new Random(11);
+        }
+
+        @TearDown(Level.Invocation)
+        public void deleteWorld() {
+            PhysicsEngineJNI.deletePhysicsWorld(worldPtr);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public void addObject(GrowingWorld world) {
+        int firstId = bodyCount + 1;
+        for (int i = 0; i < ADD_BATCH; i++) {
+            int id = firstId + i;
+            BenchWorlds.addRandomBody(world.worldPtr, id, BenchWorlds.shapeAt(shapeMix, id), world.side, world.random);
+        }
+    }
+}
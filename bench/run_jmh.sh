@@ -0,0 +1,56 @@
+#!/bin/bash
+
+# Builds and runs the JMH benchmarks in bench/jmh against lib/ and saves the
+# results as JSON under build/bench, named after the current commit, so runs
+# can be compared across commits (e.g. with jmh.morethan.io).
+# Usage (from the project root): ./bench/run_jmh.sh [JMH options, e.g. -p bodyCount=1000 stepSimulation]
+#
+# Needs the native library built into lib/ (./build_and_run.sh does that) and
+# the JMH jars (jmh-core, jmh-generator-annprocess, jopt-simple,
+# commons-math3) in $JMH_LIB, bench/jmh/lib by default.
+
+# Exit on error
+set -e
+
+PROJECT_ROOT=$(pwd)
+JMH_LIB=${JMH_LIB:-"$PROJECT_ROOT/bench/jmh/lib"}
+BENCH_DIR="$PROJECT_ROOT/build/bench"
+CLASSES_DIR="$BENCH_DIR/jmh-classes"
+
+if ! ls "$JMH_LIB"/jmh-core-*.jar > /dev/null 2>&1; then
+    echo "JMH jars not found in $JMH_LIB (set JMH_LIB to the directory holding them)"
+    exit 1
+fi
+
+# The FFM binding needs java.lang.foreign, final since JDK 22; without it
+# the ffm rows of EngineBenchmark fail and the rest still run
+JAVA_VERSION=$(javac -version 2>&1 | sed -E 's/^javac ([0-9]+).*/\1/')
+FFM_SOURCES=""
+if [ "$JAVA_VERSION" -ge 22 ] 2>/dev/null; then
+    FFM_SOURCES=$(ls src/java/ffm/*.java)
+fi
+
+# Every class except the JavaFX front end, which the benchmarks never touch
+CORE_SOURCES=$(ls src/java/*.java | grep -v -e GUIController.java -e SimulationApp.java)
+
+rm -rf "$CLASSES_DIR"
+mkdir -p "$CLASSES_DIR"
+
+echo "Compiling benchmarks..."
+javac -d "$CLASSES_DIR" \
+    -cp "$JMH_LIB/*" \
+    -processorpath "$JMH_LIB/*" \
+    $CORE_SOURCES src/java/jni/*.java src/java/pure/*.java $FFM_SOURCES \
+    bench/jmh/JAVA/bench/*.java
+
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo local)
+RESULT_FILE="$BENCH_DIR/jmh-$COMMIT.json"
+
+echo "Running benchmarks..."
+java -cp "$CLASSES_DIR:$JMH_LIB/*" org.openjdk.jmh.Main \
+    -jvmArgsAppend "-Djava.library.path=$PROJECT_ROOT/lib" \
+    -prof gc \
+    -rf json -rff "$RESULT_FILE" \
+    "$@"
+
+echo "Results saved to $RESULT_FILE"
@@ -25,7 +25,7 @@ javac -d build ^
     -cp "%JAVAFX_PATH%\lib\*" ^
     --module-path "%JAVAFX_PATH%\lib" ^
     --add-modules javafx.controls,javafx.fxml ^
-    src\JAVA\*.java src\JAVA\jni\*.java
+    src\JAVA\*.java src\JAVA\jni\*.java src\JAVA\pure\*.java
 
 REM Generate JNI headers
 echo Generating JNI headers...
@@ -15,13 +15,20 @@ JAVAFX_PATH="$PROJECT_ROOT/resources/javafx-sdk-23.0.1"
 # Debug: Print Java paths
 echo "JAVA_HOME: $JAVA_HOME"
 
+# The FFM binding (src/JAVA/ffm) needs java.lang.foreign, final since JDK 22
+JAVA_VERSION=$(javac -version 2>&1 | sed -E 's/^javac ([0-9]+).*/\1/')
+FFM_SOURCES=""
+if [ "$JAVA_VERSION" -ge 22 ] 2>/dev/null; then
+    FFM_SOURCES="src/JAVA/ffm/*.java"
+fi
+
 # Compile Java sources
 echo "Compiling Java sources..."
 javac -d build \
     -cp "$JAVAFX_PATH/lib/*" \
     --module-path "$JAVAFX_PATH/lib" \
     --add-modules javafx.controls,javafx.fxml \
-    src/JAVA/*.java src/JAVA/jni/*.java
+    src/JAVA/*.java src/JAVA/jni/*.java src/JAVA/pure/*.java $FFM_SOURCES
 
 # Generate JNI headers
 echo "Generating JNI headers..."
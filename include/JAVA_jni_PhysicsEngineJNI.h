@@ -7,6 +7,46 @@
 #ifdef __cplusplus
 extern "C" {
 #endif
+#undef JAVA_jni_PhysicsEngineJNI_WORLD_BROADPHASE
+#define JAVA_jni_PhysicsEngineJNI_WORLD_BROADPHASE 1L
+#undef JAVA_jni_PhysicsEngineJNI_WORLD_BODY_STORAGE
+#define JAVA_jni_PhysicsEngineJNI_WORLD_BODY_STORAGE 2L
+#undef JAVA_jni_PhysicsEngineJNI_WORLD_THREAD_COUNT
+#define JAVA_jni_PhysicsEngineJNI_WORLD_THREAD_COUNT 3L
+#undef JAVA_jni_PhysicsEngineJNI_WORLD_COLLISION_SOLVER
+#define JAVA_jni_PhysicsEngineJNI_WORLD_COLLISION_SOLVER 4L
+#undef JAVA_jni_PhysicsEngineJNI_WORLD_SLEEP
+#define JAVA_jni_PhysicsEngineJNI_WORLD_SLEEP 5L
+#undef JAVA_jni_PhysicsEngineJNI_WORLD_BOUNDS
+#define JAVA_jni_PhysicsEngineJNI_WORLD_BOUNDS 6L
+#undef JAVA_jni_PhysicsEngineJNI_WORLD_FIXED_STEP
+#define JAVA_jni_PhysicsEngineJNI_WORLD_FIXED_STEP 7L
+#undef JAVA_jni_PhysicsEngineJNI_BROADPHASE_ALL_PAIRS
+#define JAVA_jni_PhysicsEngineJNI_BROADPHASE_ALL_PAIRS 0L
+#undef JAVA_jni_PhysicsEngineJNI_BROADPHASE_SPATIAL_HASH
+#define JAVA_jni_PhysicsEngineJNI_BROADPHASE_SPATIAL_HASH 1L
+#undef JAVA_jni_PhysicsEngineJNI_BROADPHASE_SWEEP_AND_PRUNE
+#define JAVA_jni_PhysicsEngineJNI_BROADPHASE_SWEEP_AND_PRUNE 2L
+#undef JAVA_jni_PhysicsEngineJNI_STORAGE_OBJECTS
+#define JAVA_jni_PhysicsEngineJNI_STORAGE_OBJECTS 0L
+#undef JAVA_jni_PhysicsEngineJNI_STORAGE_SOA
+#define JAVA_jni_PhysicsEngineJNI_STORAGE_SOA 1L
+#undef JAVA_jni_PhysicsEngineJNI_SOLVER_GLOBAL
+#define JAVA_jni_PhysicsEngineJNI_SOLVER_GLOBAL 0L
+#undef JAVA_jni_PhysicsEngineJNI_SOLVER_ISLANDS
+#define JAVA_jni_PhysicsEngineJNI_SOLVER_ISLANDS 1L
+#undef JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_COUNT
+#define JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_COUNT 0L
+#undef JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_LARGEST
+#define JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_LARGEST 1L
+#undef JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_BODIES
+#define JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_BODIES 2L
+#undef JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_CONTACTS
+#define JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_CONTACTS 3L
+#undef JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_MAX_ITERATIONS
+#define JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_MAX_ITERATIONS 4L
+#undef JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_TOTAL_ITERATIONS
+#define JAVA_jni_PhysicsEngineJNI_ISLAND_STAT_TOTAL_ITERATIONS 5L
 /*
  * Class:     JAVA_jni_PhysicsEngineJNI
  * Method:    createPhysicsWorld
@@ -47,6 +87,14 @@ JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_handleCollisions
 JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureForces
   (JNIEnv *, jclass, jlong, jint, jdoubleArray);
 
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    configureWorld
+ * Signature: (JI[D)V
+ */
+JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureWorld
+  (JNIEnv *, jclass, jlong, jint, jdoubleArray);
+
 /*
  * Class:     JAVA_jni_PhysicsEngineJNI
  * Method:    stepSimulation
@@ -55,6 +103,14 @@ JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureForces
 JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_stepSimulation
   (JNIEnv *, jclass, jlong, jdouble);
 
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    stepFixed
+ * Signature: (JD)D
+ */
+JNIEXPORT jdouble JNICALL Java_JAVA_jni_PhysicsEngineJNI_stepFixed
+  (JNIEnv *, jclass, jlong, jdouble);
+
 /*
  * Class:     JAVA_jni_PhysicsEngineJNI
  * Method:    displayObjectInfo
@@ -71,6 +127,30 @@ JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_displayObjectInfo
 JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getObjectState
   (JNIEnv *, jclass, jlong, jint);
 
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getStateBuffer
+ * Signature: (J)Ljava/nio/ByteBuffer;
+ */
+JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getStateBuffer
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getIslandStats
+ * Signature: (J)[I
+ */
+JNIEXPORT jintArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getIslandStats
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    isWorldAsleep
+ * Signature: (J)Z
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_isWorldAsleep
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     JAVA_jni_PhysicsEngineJNI
  * Method:    updateObjectState
@@ -79,6 +159,78 @@ JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getObjectState
 JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_updateObjectState
   (JNIEnv *, jclass, jlong, jint, jdouble, jdouble, jdouble, jdouble);
 
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    saveWorld
+ * Signature: (JLjava/lang/String;)Z
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_saveWorld
+  (JNIEnv *, jclass, jlong, jstring);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    loadWorld
+ * Signature: (Ljava/lang/String;)J
+ */
+JNIEXPORT jlong JNICALL Java_JAVA_jni_PhysicsEngineJNI_loadWorld
+  (JNIEnv *, jclass, jstring);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    enableTelemetry
+ * Signature: (JLjava/lang/String;II)Z
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_enableTelemetry
+  (JNIEnv *, jclass, jlong, jstring, jint, jint);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getStepProfile
+ * Signature: (J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getStepProfile
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    removeObject
+ * Signature: (JI)Z
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_removeObject
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    removeObjects
+ * Signature: (J[I)I
+ */
+JNIEXPORT jint JNICALL Java_JAVA_jni_PhysicsEngineJNI_removeObjects
+  (JNIEnv *, jclass, jlong, jintArray);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getPoolStats
+ * Signature: (J)[I
+ */
+JNIEXPORT jintArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getPoolStats
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    flushCommands
+ * Signature: (JLjava/nio/ByteBuffer;I)I
+ */
+JNIEXPORT jint JNICALL Java_JAVA_jni_PhysicsEngineJNI_flushCommands
+  (JNIEnv *, jclass, jlong, jobject, jint);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getContactCacheStats
+ * Signature: (J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getContactCacheStats
+  (JNIEnv *, jclass, jlong);
+
 #ifdef __cplusplus
 }
 #endif
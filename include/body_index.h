@@ -0,0 +1,46 @@
+#ifndef BODY_INDEX_H
+#define BODY_INDEX_H
+
+#include <cstddef>
+#include <cstdint>
+#include <vector>
+
+// Open-addressing hash map from body id to its slot in PhysicsWorld::objects.
+// Linear probing over a power-of-two table kept at most half full, with
+// backward-shift deletion so lookups never walk over tombstones. Lookup,
+// insert, update and erase are all expected O(1).
+class BodyIndex {
+public:
+    BodyIndex();
+
+    // Add id -> slot; returns false (and keeps the old slot) if id is present
+    bool insert(int id, int slot);
+
+    // Slot of id, or -1 if unknown
+    int find(int id) const;
+
+    // Point an existing id at a new slot, e.g. after a swap-remove
+    bool update(int id, int slot);
+
+    // Remove id; returns false if it was not present
+    bool erase(int id);
+
+    void clear();
+    size_t size() const;
+
+private:
+    struct Entry {
+        int id;
+        int slot;   // -1 marks an empty entry
+    };
+
+    std::vector<Entry> table;
+    size_t count;
+    size_t mask;
+
+    size_t home(int id) const;
+    size_t locate(int id) const;
+    void grow();
+};
+
+#endif // BODY_INDEX_H
@@ -0,0 +1,71 @@
+#ifndef BODY_POOL_H
+#define BODY_POOL_H
+
+#include <algorithm>
+#include <cstddef>
+#include <new>
+#include <utility>
+#include <vector>
+#include "object.h"
+
+// Bytes in one pool block: the largest shape, rounded up so every block stays aligned
+constexpr size_t BODY_POOL_BLOCK_SIZE =
+    (std::max({ sizeof(Square), sizeof(Rectangle), sizeof(Circle), sizeof(CustomShape) }) +
+     alignof(std::max_align_t) - 1) / alignof(std::max_align_t) * alignof(std::max_align_t);
+
+// Per-world storage for bodies. Every shape, collider included (see
+// object.h), fits one fixed-size block; blocks are carved out of slabs of
+// SLAB_BLOCKS and a destroyed body's block goes on a free list for the next
+// create. Both are O(1) and slabs are only returned when the pool goes
+// away, so a world that keeps adding and removing bodies stops touching
+// the heap once it has reached its largest size.
+class BodyPool {
+public:
+    static const size_t SLAB_BLOCKS = 256;
+
+    BodyPool();
+    // Frees every slab; bodies still alive must be destroyed first
+    ~BodyPool();
+
+    BodyPool(const BodyPool&) = delete;
+    BodyPool& operator=(const BodyPool&) = delete;
+
+    // Construct a shape in a free block
+    template <class Shape, class... Args>
+    Shape* create(Args&&... args) {
+        static_assert(sizeof(Shape) <= BODY_POOL_BLOCK_SIZE, "Shape does not fit a pool block");
+        static_assert(alignof(Shape) <= alignof(std::max_align_t), "Shape is over-aligned for a pool block");
+
+        void* block = allocate();
+        try {
+            return new (block) Shape(std::forward<Args>(args)...);
+        } catch (...) {
+            release(block);
+            throw;
+        }
+    }
+
+    // Destruct a body made by create and keep its block for reuse
+    void destroy(Object* obj);
+
+    size_t getLiveCount() const;     // Bodies made by create and not destroyed
+    size_t getPooledCount() const;   // Blocks ready for reuse without allocating
+    size_t getCapacity() const;      // Blocks in all slabs
+
+private:
+    struct FreeBlock {
+        FreeBlock* next;
+    };
+
+    std::vector<unsigned char*> slabs;
+    FreeBlock* freeList;
+    unsigned char* unused;      // Blocks of the newest slab never handed out yet
+    unsigned char* slabEnd;
+    size_t live;
+    size_t freeCount;
+
+    void* allocate();
+    void release(void* block);
+};
+
+#endif // BODY_POOL_H
@@ -0,0 +1,58 @@
+#ifndef BODY_STORE_H
+#define BODY_STORE_H
+
+#include <cstddef>
+#include <cstdint>
+#include <vector>
+#include "vector2d.h"
+
+class Object;        // Forward declaration for Object class
+struct BodyBounds;   // Forward declaration for BodyBounds (broadphase.h)
+
+// Shape index stored per body
+enum BodyShape : uint8_t {
+    SHAPE_NONE = 0,     // No collider
+    SHAPE_BOX = 1,      // Axis-aligned box at position with size extent
+    SHAPE_CIRCLE = 2    // Circle centred at position, radius in extent.x
+};
+
+// Structure-of-arrays storage for the bodies of a world. Every field lives
+// in its own contiguous array indexed by slot, so the integration loop and
+// the collision pipeline stream through memory instead of chasing one heap
+// object (and one heap collider) per body. Objects bound to the store act
+// as a thin facade over their slot.
+struct BodyStore {
+    std::vector<int> id;
+    std::vector<Vector2D> position;
+    std::vector<Vector2D> velocity;
+    std::vector<Vector2D> acceleration;
+    std::vector<Vector2D> netForce;
+    std::vector<float> mass;
+    std::vector<float> inverseMass;
+    std::vector<uint8_t> shape;
+    std::vector<Vector2D> extent;
+
+    // Append the object's state and bind it to the new slot
+    int add(Object* obj);
+
+    // Copy every slot back into its object and unbind it
+    void release(const std::vector<Object*>& objects);
+
+    // Move the last slot into slot and drop the last one. moved is the
+    // object of the last slot (nullptr if slot was the last); it is bound
+    // to slot.
+    void remove(int slot, Object* moved);
+
+    void setMass(int slot, float value);
+
+    // Bounds of one slot / every slot, with each collider placed at its body position
+    void getBounds(int slot, Vector2D& min, Vector2D& max) const;
+    void gatherBounds(BodyBounds& bounds) const;
+
+    // Narrowphase overlap test between two slots
+    bool overlaps(int a, int b) const;
+
+    size_t size() const;
+};
+
+#endif // BODY_STORE_H
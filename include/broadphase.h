@@ -0,0 +1,114 @@
+#ifndef BROADPHASE_H
+#define BROADPHASE_H
+
+#include <vector>
+#include <utility>
+#include <cstdint>
+#include <unordered_set>
+#include "vector2d.h"
+#include "object.h"
+
+// Broadphase strategies selectable per world (see configureWorld)
+enum BroadphaseMode {
+    BROADPHASE_ALL_PAIRS = 0,       // Legacy O(n^2) pair loop
+    BROADPHASE_SPATIAL_HASH = 1,    // Uniform grid hashed into a flat bucket table
+    BROADPHASE_SWEEP_AND_PRUNE = 2  // Incremental sort of persistent endpoint lists
+};
+
+// Axis-aligned bounds of every body, indexed like PhysicsWorld::objects
+struct BodyBounds {
+    std::vector<Vector2D> min;
+    std::vector<Vector2D> max;
+    std::vector<uint8_t> valid;   // 0 for bodies without a collider
+
+    void resize(size_t count);
+    size_t size() const;
+};
+
+// Fill bounds from each object's collider
+void gatherColliderBounds(const std::vector<Object*>& objects, BodyBounds& bounds);
+
+// Uniform-grid broadphase. Every body is binned into the grid cells its
+// bounds overlap, and candidate pairs are only generated between bodies
+// sharing a cell.
+class SpatialHashGrid {
+public:
+    SpatialHashGrid();
+
+    // Use a fixed cell size, or pass a value <= 0 to derive it from the
+    // collider extents on every query (the default)
+    void setCellSize(float size);
+
+    // Cell size used by the most recent query
+    float getCellSize() const;
+
+    // Fill pairs with index pairs (i < j) of bodies whose bounds overlap.
+    // Pairs are sorted in the order the all-pairs loop visits them.
+    void findPairs(const BodyBounds& bounds, std::vector<std::pair<int, int>>& pairs);
+
+private:
+    struct Entry {
+        int cellX;
+        int cellY;
+        int index;
+    };
+
+    float requestedCellSize;
+    float cellSize;
+
+    // Scratch storage reused between queries to avoid per-frame allocation
+    std::vector<int> minCellX;
+    std::vector<int> minCellY;
+    std::vector<Entry> entries;
+    std::vector<Entry> sortedEntries;
+    std::vector<int> bucketStart;
+
+    float computeCellSize(const BodyBounds& bounds) const;
+    int toCell(float coordinate) const;
+};
+
+// Sweep-and-prune broadphase that keeps the sorted endpoint lists of both
+// axes and the set of overlapping pairs between queries. Each query only
+// insertion-sorts the endpoints again, adding or removing a pair whenever
+// two endpoints swap, so a scene that barely moves costs close to O(n).
+class SweepAndPrune {
+public:
+    SweepAndPrune();
+
+    // Forget all persistent state; the next query rebuilds from scratch.
+    // Must be called whenever bodies are added, removed or reordered.
+    void reset();
+
+    // Fill pairs with index pairs (i < j) of bodies whose bounds overlap.
+    // Pairs are sorted in the order the all-pairs loop visits them.
+    void findPairs(const BodyBounds& bounds, std::vector<std::pair<int, int>>& pairs);
+
+    // Endpoint swaps performed by the most recent query
+    size_t getSwapCount() const;
+
+private:
+    struct Endpoint {
+        float value;
+        int body;
+        bool isMin;
+    };
+
+    bool built;
+    size_t trackedCount;
+    const BodyBounds* current;
+    std::vector<Endpoint> endpointsX;
+    std::vector<Endpoint> endpointsY;
+    std::unordered_set<uint64_t> overlappingPairs;
+    std::vector<int> activeBodies;
+    size_t swapCount;
+
+    void rebuild(const BodyBounds& bounds);
+    void refreshEndpoints(const BodyBounds& bounds);
+    void sortAxis(std::vector<Endpoint>& axis);
+    bool overlaps(int a, int b) const;
+
+    static bool comesBefore(const Endpoint& a, const Endpoint& b);
+    static uint64_t pairKey(int a, int b);
+};
+
+#endif // BROADPHASE_H
@@ -5,12 +5,32 @@
 
 class Object;  // Forward declaration for Object class
 
+// Shape tag carried by every collider. Indexes the narrowphase dispatch
+// tables in collider.cpp, so a new shape adds a value here and one row and
+// column to each table.
+enum ColliderType {
+    COLLIDER_AABB = 0,
+    COLLIDER_CIRCLE = 1,
+    COLLIDER_TYPE_COUNT
+};
+
 // Base Collider class
 class Collider {
 public:
+    explicit Collider(ColliderType type) : type(type) {}
+
+    ColliderType getType() const { return type; }
+
     virtual bool checkCollision(const Collider& other) const = 0;
     virtual void resolveCollision(Object& objectA, Object& objectB) const = 0;
+
+    // Axis-aligned bounds of the collider, used by the broadphase
+    virtual void getBounds(Vector2D& min, Vector2D& max) const = 0;
+
     virtual ~Collider() = default;
+
+private:
+    ColliderType type;
 };
 
 // AABB Collider class for rectangular/box-like objects
@@ -19,13 +39,16 @@ public:
     Vector2D position;  // Top-left corner of the rectangle
     float width, height;
 
-    AABBCollider(const Vector2D& pos, float w, float h) : position(pos), width(w), height(h) {}
+    AABBCollider(const Vector2D& pos, float w, float h)
+        : Collider(COLLIDER_AABB), position(pos), width(w), height(h) {}
 
     // Check if this AABB collider overlaps with another collider
     bool checkCollision(const Collider& other) const override;
 
     // Resolve collision with another object (specific to AABB vs. other types)
     void resolveCollision(Object& objectA, Object& objectB) const override;
+
+    void getBounds(Vector2D& min, Vector2D& max) const override;
 };
 
 // Circle Collider class for round/spherical objects
@@ -34,13 +57,16 @@ public:
     Vector2D center;  // Center of the circle
     float radius;
 
-    CircleCollider(const Vector2D& c, float r) : center(c), radius(r) {}
+    CircleCollider(const Vector2D& c, float r)
+        : Collider(COLLIDER_CIRCLE), center(c), radius(r) {}
 
     // Check if this Circle collider overlaps with another collider
     bool checkCollision(const Collider& other) const override;
 
     // Resolve collision with another object (specific to Circle vs. other types)
     void resolveCollision(Object& objectA, Object& objectB) const override;
+
+    void getBounds(Vector2D& min, Vector2D& max) const override;
 };
 
 // Utility functions for collision detection
@@ -48,5 +74,14 @@ bool checkAABBCollision(const AABBCollider& a, const AABBCollider& b);
 bool checkCircleCollision(const CircleCollider& a, const CircleCollider& b);
 bool checkAABBCircleCollision(const AABBCollider& a, const CircleCollider& b);
 
+// Narrowphase entry points dispatching on the shape tags of both colliders
+// through a function table. resolveColliders keeps the existing contract
+// where the response of the first collider's shape is applied.
+typedef bool (*DetectFunction)(const Collider& a, const Collider& b);
+typedef void (*ResolveFunction)(const Collider& a, Object& objectA, Object& objectB);
+
+bool detectColliders(const Collider& a, const Collider& b);
+void resolveColliders(const Collider& a, const Collider& b, Object& objectA, Object& objectB);
+
 #endif // COLLIDER_H
 
@@ -0,0 +1,65 @@
+#ifndef COMMAND_BUFFER_H
+#define COMMAND_BUFFER_H
+
+#include <cstdint>
+
+// Batch of world changes written by JAVA.CommandBuffer into a direct
+// ByteBuffer and applied in order by one flushCommands call, so the number
+// of JNI crossings per frame does not grow with the number of bodies
+// touched. Every command starts with a CommandHeader and its size is a
+// multiple of 8 bytes, so doubles stay aligned. Fields are in host byte
+// order.
+//
+// A batch is applied up to the first command with an unknown type or that
+// runs past the end of the batch. Adds and removes refresh the broadphase
+// and the state buffer once for the whole batch.
+
+enum CommandType : int32_t {
+    COMMAND_ADD = 1,        // AddCommand
+    COMMAND_UPDATE = 2,     // UpdateCommand: same as updateObjectState
+    COMMAND_IMPULSE = 3,    // ImpulseCommand: velocity += impulse / mass, wakes the body
+    COMMAND_REMOVE = 4,     // CommandHeader only
+    COMMAND_FORCES = 5,     // OptionCommand: same as configureForces
+    COMMAND_WORLD = 6       // OptionCommand: same as configureWorld
+};
+
+struct CommandHeader {
+    int32_t type;
+    int32_t code;           // Body id, force choice or world option
+};
+
+struct AddCommand {
+    CommandHeader header;
+    double mass;
+    double posX, posY;
+    double velX, velY;
+    int32_t shape;          // 'R', 'S' or 'C', as passed to addObject
+    int32_t dimCount;       // How many of dims are set
+    double dims[2];
+};
+
+struct UpdateCommand {
+    CommandHeader header;
+    double posX, posY;
+    double velX, velY;
+};
+
+struct ImpulseCommand {
+    CommandHeader header;
+    double impulseX, impulseY;
+};
+
+// Followed by count doubles
+struct OptionCommand {
+    CommandHeader header;
+    int32_t count;
+    int32_t reserved;
+};
+
+static_assert(sizeof(CommandHeader) == 8, "CommandHeader layout is shared with Java");
+static_assert(sizeof(AddCommand) == 72, "AddCommand layout is shared with Java");
+static_assert(sizeof(UpdateCommand) == 40, "UpdateCommand layout is shared with Java");
+static_assert(sizeof(ImpulseCommand) == 24, "ImpulseCommand layout is shared with Java");
+static_assert(sizeof(OptionCommand) == 16, "OptionCommand layout is shared with Java");
+
+#endif // COMMAND_BUFFER_H
@@ -0,0 +1,78 @@
+#ifndef CONTACT_CACHE_H
+#define CONTACT_CACHE_H
+
+#include <cstddef>
+#include <cstdint>
+#include <unordered_map>
+#include "vector2d.h"
+
+// One contact as the previous collision pass left it. The normal points from
+// the body with the lower id to the other body and the tangent is the normal
+// turned a quarter turn, so the impulses read the same whichever slot order
+// the bodies are found in next time.
+struct CachedContact {
+    Vector2D normal;
+    float normalImpulse;    // Accumulated push along the normal, never negative
+    float tangentImpulse;   // Accumulated friction, within friction * normalImpulse
+    float velocityBias;     // Normal speed the contact bounces back to in this pass
+    uint32_t pass;          // Last collision pass that touched the contact
+};
+
+// A cached contact as one pass solves it. normal points from body a to
+// body b, and the coefficients come from the shape of a, as in the
+// collider responses.
+struct SolverContact {
+    int a, b;               // Slots of the two bodies
+    CachedContact* cached;
+    Vector2D normal;
+    float friction;
+};
+
+// Counters since the cache was enabled, reported by getContactCacheStats
+struct ContactCacheStats {
+    int64_t lookups;            // Contacts looked up at the start of a pass
+    int64_t hits;               // Lookups warm-started from the previous pass
+    int64_t iterations;         // Solver iterations run
+    int64_t iterationsSaved;    // Iterations skipped because the impulses had converged
+
+    ContactCacheStats() : lookups(0), hits(0), iterations(0), iterationsSaved(0) {}
+};
+
+// Contacts of one world, keyed by the ids of the two bodies and kept from one
+// collision pass to the next so the solver can start every contact from the
+// impulses it ended the previous pass with. Contacts the latest pass did not
+// touch are dropped when the next pass begins.
+class ContactCache {
+public:
+    ContactCache();
+
+    bool isEnabled() const;
+    // Forgets every contact and restarts the counters
+    void setEnabled(bool enabled);
+
+    // Start a collision pass
+    void beginPass();
+
+    // Contact between two bodies, created if new, with normal as seen from
+    // the lower id. It is warm, and keeps its impulses, when the previous
+    // pass touched it along nearly the same normal; otherwise the impulses
+    // start from zero. Entries never move, so the reference stays valid
+    // until the next beginPass or clear.
+    CachedContact& touch(int idA, int idB, const Vector2D& normal, bool& warm);
+
+    void countIterations(int64_t run, int64_t saved);
+
+    size_t size() const;
+    const ContactCacheStats& getStats() const;
+
+    // Forgets every contact but keeps the counters
+    void clear();
+
+private:
+    bool enabled;
+    uint32_t pass;
+    std::unordered_map<uint64_t, CachedContact> contacts;
+    ContactCacheStats stats;
+};
+
+#endif // CONTACT_CACHE_H
@@ -0,0 +1,37 @@
+#ifndef FIXED_STEP_H
+#define FIXED_STEP_H
+
+// Turns variable frame times into a whole number of fixed-size steps.
+// Frame time is collected in an accumulator; every full step in it is run,
+// but never more than the substep cap per frame, so one long frame cannot
+// make the next frame even longer. Whatever the cap leaves behind beyond a
+// partial step is dropped and the simulation falls behind wall-clock time.
+// The partial step left over gives the interpolation alpha for rendering.
+class FixedTimestep {
+public:
+    FixedTimestep();
+
+    // Step size <= 0 keeps the current one; the cap is at least one step
+    void configure(double stepSize, int maxSubsteps);
+    double getStepSize() const;
+    int getMaxSubsteps() const;
+
+    // Add a frame's time and return how many fixed steps to run for it
+    int advance(double frameDelta);
+
+    // Share of a step left in the accumulator, in [0, 1]
+    double getAlpha() const;
+
+    // Time dropped by the substep cap since the world was created
+    double getDroppedTime() const;
+
+    void reset();
+
+private:
+    double stepSize;
+    int maxSubsteps;
+    double accumulator;
+    double droppedTime;
+};
+
+#endif // FIXED_STEP_H
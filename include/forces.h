@@ -26,6 +26,7 @@ public:
 
     // Toggle gravity on/off
     static void toggleGravity(bool enable);
+    static bool isGravityEnabled();
 
 private:
     static bool gravityEnabled;  // Internal state to check if gravity is active
@@ -0,0 +1,51 @@
+#ifndef ISLAND_H
+#define ISLAND_H
+
+#include <cstddef>
+#include <utility>
+#include <vector>
+
+// Contact islands of one collision pass. Island i owns
+// bodies[bodyStart[i] .. bodyStart[i + 1]) and pairs[pairStart[i] .. pairStart[i + 1]).
+// Islands are ordered by their lowest body slot, bodies ascend within an
+// island and pairs keep the order they were found in, so the layout only
+// depends on the contacts and never on thread timing.
+struct IslandSet {
+    std::vector<int> bodyStart;
+    std::vector<int> bodies;
+    std::vector<int> pairStart;
+    std::vector<std::pair<int, int>> pairs;
+
+    size_t size() const;
+};
+
+// Per-step island statistics, reported to Java by getIslandStats
+struct IslandStats {
+    int islandCount;        // Islands with at least one contact
+    int largestIsland;      // Bodies in the biggest island
+    int bodiesInIslands;    // Bodies touching at least one other body
+    int contactCount;       // Contacts found by the first pass
+    int maxIterations;      // Most resolve iterations any island needed
+    int totalIterations;    // Resolve iterations summed over all islands
+
+    IslandStats() : islandCount(0), largestIsland(0), bodiesInIslands(0),
+                    contactCount(0), maxIterations(0), totalIterations(0) {}
+};
+
+// Union-find over body slots that splits a contact list into islands
+class IslandBuilder {
+public:
+    void build(size_t bodyCount, const std::vector<std::pair<int, int>>& contacts, IslandSet& islands);
+
+private:
+    std::vector<int> parent;
+    std::vector<int> componentSize;
+    std::vector<int> islandOf;
+    std::vector<int> islandOfRoot;
+    std::vector<int> cursor;
+
+    int findRoot(int body);
+    void unite(int a, int b);
+};
+
+#endif // ISLAND_H
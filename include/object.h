@@ -4,6 +4,7 @@
 #include <vector>
 #include "vector2d.h"
 #include "collider.h"
+#include "body_store.h"
 
 // Base Object class
 class Object {
@@ -14,6 +15,10 @@ public:
     // Virtual destructor for proper cleanup in derived classes
     virtual ~Object() = default;
 
+    // The collider points into the object itself, so copies would share it
+    Object(const Object&) = delete;
+    Object& operator=(const Object&) = delete;
+
     // Rest of the class definition remains the same...
     float getMass() const;
     void setMass(float mass);
@@ -26,9 +31,9 @@ public:
 
     const Vector2D& getAcceleration() const;
 
-    Vector2D& getPosition() { return position; }
-    Vector2D& getVelocity() { return velocity; }
-    Vector2D& getAcceleration() { return acceleration; }
+    Vector2D& getPosition() { return store ? store->position[slot] : position; }
+    Vector2D& getVelocity() { return store ? store->velocity[slot] : velocity; }
+    Vector2D& getAcceleration() { return store ? store->acceleration[slot] : acceleration; }
 
     void applyForce(const Vector2D& force);
     virtual void update(float deltaTime);
@@ -38,6 +43,12 @@ public:
     void updatePosition(float deltaTime);
     virtual Collider* getCollider() const = 0;
 
+    // While bound, the object's state lives in the given BodyStore slot and
+    // every accessor reads and writes that slot instead of the members below
+    void bindToStore(BodyStore* store, int slot);
+    void unbindFromStore();
+    bool isBoundToStore() const { return store != nullptr; }
+
 protected:
     int id;              
     float mass;
@@ -45,7 +56,9 @@ protected:
     Vector2D velocity;
     Vector2D acceleration;
     Vector2D netForce;
-    Collider* collider;
+    Collider* collider;   // The shape's own collider member, or nullptr
+    BodyStore* store;
+    int slot;
 
     Vector2D calculateAcceleration() const;
 };
@@ -66,6 +79,7 @@ public:
 
 private:
     float sideLength;
+    AABBCollider box;
 };
 
 // Derived class: Rectangle
@@ -85,6 +99,7 @@ public:
 
 private:
     float width, height;
+    AABBCollider box;
 };
 
 // Derived class: Circle
@@ -103,6 +118,7 @@ public:
 
 private:
     float radius;
+    CircleCollider circle;
 };
 
 // Derived class: CustomShape (polygon)
@@ -121,6 +137,7 @@ public:
 
 private:
     std::vector<Vector2D> vertices;
+    AABBCollider box;
 
     // Helper function to calculate the area of the polygon
     float calculatePolygonArea() const;
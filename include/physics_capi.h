@@ -0,0 +1,152 @@
+#ifndef PHYSICS_CAPI_H
+#define PHYSICS_CAPI_H
+
+#include <stdint.h>
+
+/*
+ * Plain C entry points into the engine, for callers that link against the
+ * library directly instead of going through JNI (the java.lang.foreign
+ * binding in src/java/ffm, native tools). Every argument is a primitive or
+ * a pointer to caller-owned memory, so a call needs no JNIEnv and the JVM
+ * side needs no marshalling. Worlds are passed as opaque 64-bit handles
+ * and behave exactly like the ones created through PhysicsEngineJNI.
+ */
+
+#ifdef __cplusplus
+extern "C" {
+#endif
+
+#if defined(_WIN32)
+#define PHYSICS_API __declspec(dllexport)
+#else
+#define PHYSICS_API __attribute__((visibility("default")))
+#endif
+
+/*
+ * Values filled by physics_get_object_state, in this order
+ */
+enum PhysicsObjectStateField {
+    PHYSICS_STATE_POS_X = 0,
+    PHYSICS_STATE_POS_Y = 1,
+    PHYSICS_STATE_VEL_X = 2,
+    PHYSICS_STATE_VEL_Y = 3,
+    PHYSICS_STATE_ACC_X = 4,
+    PHYSICS_STATE_ACC_Y = 5,
+    PHYSICS_STATE_FIELD_COUNT = 6
+};
+
+/*
+ * Values filled by physics_get_step_profile, in the order of
+ * StepProfileField (step_profile.h)
+ */
+enum {
+    PHYSICS_PROFILE_FIELD_COUNT = 11
+};
+
+/*
+ * Values filled by physics_get_pool_stats, in this order
+ */
+enum PhysicsPoolStat {
+    PHYSICS_POOL_STAT_LIVE = 0,
+    PHYSICS_POOL_STAT_POOLED = 1,
+    PHYSICS_POOL_STAT_CAPACITY = 2,
+    PHYSICS_POOL_STAT_COUNT = 3
+};
+
+/*
+ * Values filled by physics_get_contact_cache_stats, in this order
+ */
+enum PhysicsContactStat {
+    PHYSICS_CONTACT_STAT_LOOKUPS = 0,
+    PHYSICS_CONTACT_STAT_HITS = 1,
+    PHYSICS_CONTACT_STAT_ITERATIONS = 2,
+    PHYSICS_CONTACT_STAT_ITERATIONS_SAVED = 3,
+    PHYSICS_CONTACT_STAT_CACHED = 4,
+    PHYSICS_CONTACT_STAT_COUNT = 5
+};
+
+/*
+ * Direct pointers into the structure-of-arrays body store. Vectors are
+ * interleaved float pairs (x, y) per slot. The pointers move whenever a
+ * body is added or the storage layout changes, so fetch them again after
+ * either. Writing a position or velocity changes the body itself, but
+ * does not wake it or reset its interpolation; use
+ * physics_update_object_state for that.
+ */
+typedef struct PhysicsBodyArrays {
+    int64_t count;
+    int32_t* id;
+    float* position;
+    float* velocity;
+    float* acceleration;
+} PhysicsBodyArrays;
+
+PHYSICS_API int64_t physics_create_world(void);
+PHYSICS_API void physics_delete_world(int64_t world);
+
+/* Shapes are 'R' (dim0 = width, dim1 = height), 'C' (dim0 = radius) and
+   'S' (dim0 = side); dimCount says how many of dim0/dim1 are set. Returns 1
+   if the body was added. */
+PHYSICS_API int physics_add_object(int64_t world, int32_t id, double mass,
+                                   double posX, double posY, double velX, double velY,
+                                   int32_t shape, double dim0, double dim1, int32_t dimCount);
+
+/* Removing a body moves the last body into its slot. Returns 1 / the number
+   of ids that named a body. */
+PHYSICS_API int physics_remove_object(int64_t world, int32_t id);
+PHYSICS_API int physics_remove_objects(int64_t world, const int32_t* ids, int32_t count);
+
+/* Writes PHYSICS_POOL_STAT_COUNT values to out */
+PHYSICS_API void physics_get_pool_stats(int64_t world, int32_t* out);
+
+/* Applies a batch of commands (layout in command_buffer.h) and returns how
+   many were read */
+PHYSICS_API int physics_flush_commands(int64_t world, const void* data, int64_t length);
+
+/* Same option codes and parameters as configureForces / configureWorld */
+PHYSICS_API void physics_configure_forces(int64_t world, int32_t choice, const double* params, int32_t count);
+PHYSICS_API void physics_configure_world(int64_t world, int32_t option, const double* params, int32_t count);
+
+PHYSICS_API void physics_step(int64_t world, double deltaTime);
+PHYSICS_API double physics_step_fixed(int64_t world, double frameDelta);
+PHYSICS_API void physics_handle_collisions(int64_t world);
+
+/* Writes PHYSICS_STATE_FIELD_COUNT values to out; returns 0 if there is no such body */
+PHYSICS_API int physics_get_object_state(int64_t world, int32_t id, double* out);
+PHYSICS_API int physics_update_object_state(int64_t world, int32_t id,
+                                            double posX, double posY, double velX, double velY);
+
+PHYSICS_API int physics_is_world_asleep(int64_t world);
+
+/* Checkpoint to / restore from a world file (layout in world_file.h). path
+   is NUL-terminated UTF-8. Saving returns 1 on success; loading returns a
+   new world, or 0 if the file cannot be read. */
+PHYSICS_API int physics_save_world(int64_t world, const char* path);
+PHYSICS_API int64_t physics_load_world(const char* path);
+
+/* Publish a frame per collision pass into a memory-mapped ring file
+   (layout in telemetry.h) holding frameCount frames of up to maxBodies
+   bodies; a null path stops publishing. Returns 1 on success. */
+PHYSICS_API int physics_enable_telemetry(int64_t world, const char* path, int32_t frameCount, int32_t maxBodies);
+
+/* Writes PHYSICS_PROFILE_FIELD_COUNT values gathered since the last call to
+   out and starts over; returns 0 unless profiling was turned on through
+   physics_configure_world */
+PHYSICS_API int physics_get_step_profile(int64_t world, int64_t* out);
+
+/* Writes PHYSICS_CONTACT_STAT_COUNT values counted since the contact cache
+   was turned on to out; returns 0 while it is off */
+PHYSICS_API int physics_get_contact_cache_stats(int64_t world, int64_t* out);
+
+/* Start of the packed state block (layout in state_buffer.h) and its size
+   in bytes. The block is kept up to date from the first call on. */
+PHYSICS_API void* physics_get_state_buffer(int64_t world, int64_t* sizeInBytes);
+
+/* Fills out and returns 1 while the world uses structure-of-arrays storage */
+PHYSICS_API int physics_get_body_arrays(int64_t world, PhysicsBodyArrays* out);
+
+#ifdef __cplusplus
+}
+#endif
+
+#endif // PHYSICS_CAPI_H
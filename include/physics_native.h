@@ -6,6 +6,18 @@
 #include "object.h"
 #include "forces.h"
 #include "collider.h"
+#include "broadphase.h"
+#include "state_buffer.h"
+#include "body_index.h"
+#include "body_store.h"
+#include "worker_pool.h"
+#include "island.h"
+#include "sleep.h"
+#include "fixed_step.h"
+#include "telemetry.h"
+#include "step_profile.h"
+#include "body_pool.h"
+#include "contact_cache.h"
 
 #ifdef __cplusplus
 extern "C" {
@@ -67,33 +79,262 @@ JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getObjectState
 JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_updateObjectState
   (JNIEnv *, jclass, jlong, jint, jdouble, jdouble, jdouble, jdouble);
 
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    configureWorld
+ */
+JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureWorld
+  (JNIEnv *, jclass, jlong, jint, jdoubleArray);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getStateBuffer
+ */
+JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getStateBuffer
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getIslandStats
+ */
+JNIEXPORT jintArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getIslandStats
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    isWorldAsleep
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_isWorldAsleep
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    stepFixed
+ */
+JNIEXPORT jdouble JNICALL Java_JAVA_jni_PhysicsEngineJNI_stepFixed
+  (JNIEnv *, jclass, jlong, jdouble);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    saveWorld
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_saveWorld
+  (JNIEnv *, jclass, jlong, jstring);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    loadWorld
+ */
+JNIEXPORT jlong JNICALL Java_JAVA_jni_PhysicsEngineJNI_loadWorld
+  (JNIEnv *, jclass, jstring);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    enableTelemetry
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_enableTelemetry
+  (JNIEnv *, jclass, jlong, jstring, jint, jint);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getStepProfile
+ */
+JNIEXPORT jlongArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getStepProfile
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    removeObject
+ */
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_removeObject
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    removeObjects
+ */
+JNIEXPORT jint JNICALL Java_JAVA_jni_PhysicsEngineJNI_removeObjects
+  (JNIEnv *, jclass, jlong, jintArray);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getPoolStats
+ */
+JNIEXPORT jintArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getPoolStats
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    flushCommands
+ */
+JNIEXPORT jint JNICALL Java_JAVA_jni_PhysicsEngineJNI_flushCommands
+  (JNIEnv *, jclass, jlong, jobject, jint);
+
+/*
+ * Class:     JAVA_jni_PhysicsEngineJNI
+ * Method:    getContactCacheStats
+ */
+JNIEXPORT jlongArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getContactCacheStats
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Option codes accepted by configureWorld
+ */
+enum WorldOption {
+    WORLD_OPTION_BROADPHASE = 1,  // params: mode [, cell size (<= 0 for automatic)]
+    WORLD_OPTION_BODY_STORAGE = 2,// params: 0 = one heap object per body, 1 = structure-of-arrays store
+    WORLD_OPTION_THREAD_COUNT = 3,// params: threads used by stepSimulation (< 1 for one per hardware thread)
+    WORLD_OPTION_COLLISION_SOLVER = 4,// params: CollisionSolver
+    WORLD_OPTION_SLEEP = 5,       // params: velocity threshold (<= 0 disables sleeping) [, resting steps]
+    WORLD_OPTION_BOUNDS = 6,      // params: left, top, right, bottom [, restitution, wall friction]; right <= left disables
+    WORLD_OPTION_FIXED_STEP = 7,  // params: step size in seconds [, max substeps per stepFixed call]
+    WORLD_OPTION_PROFILE = 8,     // params: 1 = time every step phase, 0 = off
+    WORLD_OPTION_CONTACT_CACHE = 9// params: 1 = warm-start contacts from the previous step, 0 = off
+};
+
+/*
+ * Walls around the world, applied to every awake body during stepSimulation
+ */
+struct WorldBounds {
+    bool enabled;
+    float left, top, right, bottom;
+    float restitution;   // Share of the normal speed kept after hitting a wall
+    float friction;      // Share of the tangential speed lost when hitting a wall
+
+    WorldBounds() :
+        enabled(false),
+        left(0), top(0), right(0), bottom(0),
+        restitution(0.6f),
+        friction(0.2f) {}
+};
+
+/*
+ * Collision solvers selectable through WORLD_OPTION_COLLISION_SOLVER
+ */
+enum CollisionSolver {
+    SOLVER_GLOBAL = 0,   // One global pair list, re-detected for every iteration
+    SOLVER_ISLANDS = 1   // Independent contact islands, solved in parallel
+};
+
 /*
  * Struct definition for PhysicsWorld
  */
 struct PhysicsWorld {
     std::vector<Object*> objects;
+    BodyIndex bodyIndex;    // Object id -> slot in objects
+    BodyPool bodyPool;      // Blocks of the objects added through addWorldObject
     float gravity;
     float staticFriction;
     float kineticFriction;
     double groundLevel;
     const double GROUND_THRESHOLD = 0.1;
     const double VELOCITY_THRESHOLD = 0.01;
+    const double SLEEP_POSITION_TOLERANCE = 0.5;    // Teleports further than this restart a body's rest count
+
+    // Broadphase selection and state
+    int broadphaseMode;
+    SpatialHashGrid spatialHash;
+    SweepAndPrune sweepAndPrune;
+    std::vector<std::pair<int, int>> candidatePairs;
+    BodyBounds bounds;
+
+    // Optional structure-of-arrays storage; objects stay as a facade over it
+    bool useBodyStore;
+    BodyStore bodyStore;
+
+    // Threads splitting the per-body work of stepSimulation (1 by default)
+    WorkerPool workerPool;
+
+    // Contact solving
+    int collisionSolver;
+    std::vector<std::pair<int, int>> contactPairs;
+    IslandBuilder islandBuilder;
+    IslandSet islands;
+    std::vector<int> islandIterations;
+    IslandStats islandStats;    // Filled by every handleCollisions
+
+    // Optional warm starting (WORLD_OPTION_CONTACT_CACHE): contacts keep
+    // their impulses from one collision pass to the next
+    ContactCache contactCache;
+    std::vector<SolverContact> solverContacts;
+
+    // Resting bodies are put to sleep and skipped until something wakes them
+    SleepTracker sleep;
+
+    // Optional walls
+    WorldBounds worldBounds;
+
+    // Fixed-size steps taken by stepFixed, and where each body was before
+    // the latest step so renderers can blend between the two
+    FixedTimestep fixedStep;
+    std::vector<Vector2D> previousPositions;
+
+    // Packed body state shared with Java
+    StateBuffer stateBuffer;
+
+    // Optional ring of per-step frames for other processes
+    TelemetryRing telemetry;
+
+    // Per-phase timings, collected only while enabled
+    StepProfile profile;
 
     PhysicsWorld() : 
         gravity(9.81f),
         staticFriction(0.5f),
         kineticFriction(0.3f),
-        groundLevel(600.0) {} // Assuming 600 is your canvas height - 5
+        groundLevel(600.0), // Assuming 600 is your canvas height - 5
+        broadphaseMode(BROADPHASE_SPATIAL_HASH),
+        useBodyStore(false),
+        collisionSolver(SOLVER_GLOBAL) {}
 };
 
 /*
  * Helper function declarations
  */
 bool detectCollision(Object* objA, Object* objB);
+bool bodiesCollide(const PhysicsWorld* world, int a, int b);
+void findCollidingPairs(PhysicsWorld* world, std::vector<std::pair<int, int>>& collidingPairs);
+void resolvePairs(PhysicsWorld* world, const std::vector<std::pair<int, int>>& pairs);
+void solveIslands(PhysicsWorld* world, int maxIterations);
+void prepareContacts(PhysicsWorld* world, const std::vector<std::pair<int, int>>& pairs);
+float solveContacts(PhysicsWorld* world, SolverContact* contacts, size_t count);
+int solveCachedContacts(PhysicsWorld* world, SolverContact* contacts, size_t count, int maxIterations);
+void updateSleep(PhysicsWorld* world);
+Vector2D getBodySize(const Object* obj);
+bool applyWorldBounds(const WorldBounds& bounds, Vector2D& position, Vector2D& velocity, const Vector2D& size);
+void syncColliderPosition(Object* obj);
 void resolveCollision(Object* objA, Object* objB);
 void applyForces(Object* obj, const PhysicsWorld* world);
 void updateObjectPhysics(Object* obj, double deltaTime);
+void integrateObjects(PhysicsWorld* world, double deltaTime);
+void integrateBodyStore(PhysicsWorld* world, double deltaTime);
+void stepWorld(PhysicsWorld* world, double deltaTime);
+void solveCollisions(PhysicsWorld* world);
+void storePreviousPositions(PhysicsWorld* world);
 bool isNearGround(const Object* obj, const PhysicsWorld* world);
+void syncStateBuffer(PhysicsWorld* world);
+void publishTelemetry(PhysicsWorld* world);
+int findObjectSlot(const PhysicsWorld* world, int id);
+void destroyWorld(PhysicsWorld* world);
+bool addWorldObject(PhysicsWorld* world, int id, double mass, const Vector2D& position,
+                    const Vector2D& velocity, char shape, const double* dims, int dimsLength);
+bool removeWorldObject(PhysicsWorld* world, int id);
+int removeWorldObjects(PhysicsWorld* world, const int* ids, int count);
+bool addBody(PhysicsWorld* world, int id, double mass, const Vector2D& position,
+             const Vector2D& velocity, char shape, const double* dims, int dimsLength);
+bool removeBody(PhysicsWorld* world, int id);
+void refreshWorldBodies(PhysicsWorld* world);
+bool applyWorldImpulse(PhysicsWorld* world, int id, const Vector2D& impulse);
+int applyWorldCommands(PhysicsWorld* world, const void* data, size_t length);
+void configureWorldForces(PhysicsWorld* world, int choice, const double* values, int length);
+void configureWorldOption(PhysicsWorld* world, int option, const double* values, int length);
+double stepWorldFixed(PhysicsWorld* world, double frameDelta);
+bool setObjectState(PhysicsWorld* world, int id, const Vector2D& position, const Vector2D& velocity);
+void enableStateBuffer(PhysicsWorld* world);
+bool worldAsleep(PhysicsWorld* world);
+bool saveWorld(PhysicsWorld* world, const char* path);
+PhysicsWorld* loadWorld(const char* path);
+bool enableTelemetry(PhysicsWorld* world, const char* path, int frameCount, int maxBodies);
 
 #ifdef __cplusplus
 }
@@ -0,0 +1,76 @@
+#ifndef SLEEP_H
+#define SLEEP_H
+
+#include <cstddef>
+#include <cstdint>
+#include <utility>
+#include <vector>
+#include "island.h"
+
+// Tracks which bodies of a world are asleep. Integration reports every
+// awake body's speed; a body that stays under the velocity threshold for
+// the required number of steps has rested long enough. Bodies touching each
+// other fall asleep together, once every body of their contact island has
+// rested, so a settled stack goes to sleep as a whole instead of waking its
+// neighbours back up. Sleeping bodies are skipped by integration and pairs
+// of sleeping bodies are skipped by collision detection.
+class SleepTracker {
+public:
+    SleepTracker();
+
+    // Threshold <= 0 disables sleeping and wakes every body
+    void configure(float velocityThreshold, int steps);
+    bool isEnabled() const;
+    float getVelocityThreshold() const;
+    int getRequiredSteps() const;
+
+    // Keep one entry per body slot; new bodies start awake
+    void resize(size_t bodyCount);
+
+    // Move the last slot into slot and drop the last one, as the world does
+    // when it removes a body. Every body wakes, since any of them may have
+    // rested on the one that went away.
+    void remove(size_t slot);
+
+    bool isAsleep(size_t slot) const;
+    bool isPairAsleep(int a, int b) const;
+
+    // True once every body is asleep (and for an empty world)
+    bool isWorldAsleep() const;
+
+    // Count a resting step or restart the count, from an awake body's speed
+    void recordSpeed(size_t slot, float speed);
+
+    // Wake a body but keep its resting count, e.g. after a contact
+    void wake(size_t slot);
+
+    // Wake a body and restart its resting count, e.g. after an external update
+    void reset(size_t slot);
+
+    // Steps the body has rested so far, capped at the required steps
+    int getRestingSteps(size_t slot) const;
+
+    // Put back a body's saved state, e.g. when loading a world file
+    void restore(size_t slot, bool asleep, int restingSteps);
+
+    // Contacts found by the latest collision pass, used to group bodies
+    void recordContacts(const std::vector<std::pair<int, int>>& contacts);
+
+    // Put rested islands to sleep and wake the rest. Returns the slots that
+    // just fell asleep so the caller can zero their motion.
+    const std::vector<int>& update(IslandBuilder& builder);
+
+private:
+    float velocityThreshold;
+    int requiredSteps;
+    std::vector<uint8_t> asleep;
+    std::vector<int> restingSteps;
+    std::vector<std::pair<int, int>> contacts;
+    IslandSet islands;
+    std::vector<uint8_t> inIsland;
+    std::vector<int> fellAsleep;
+
+    void setAsleep(size_t slot, bool value);
+};
+
+#endif // SLEEP_H
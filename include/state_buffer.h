@@ -0,0 +1,78 @@
+#ifndef STATE_BUFFER_H
+#define STATE_BUFFER_H
+
+#include <cstdint>
+#include <cstddef>
+#include <memory>
+#include <vector>
+#include "object.h"
+#include "body_store.h"
+
+// Header at the start of the shared block. Java reads the same layout
+// through a direct ByteBuffer in native byte order (see StateBuffer.java).
+struct StateHeader {
+    int32_t bodyCount;   // Records currently valid
+    int32_t capacity;    // Records the block can hold
+    int32_t retired;     // Set to 1 once the block has been replaced by a larger one
+    int32_t revision;    // Incremented on every refresh
+};
+
+// One packed record per body, in world order
+struct StateRecord {
+    int32_t id;
+    int32_t flags;       // Reserved, always 0
+    float posX, posY;
+    float velX, velY;
+    float accX, accY;
+    float prevX, prevY;  // Position before the latest step, for render interpolation
+};
+
+static_assert(sizeof(StateHeader) == 16, "StateHeader layout is shared with Java");
+static_assert(sizeof(StateRecord) == 40, "StateRecord layout is shared with Java");
+
+// Write the first count bodies into out. previous holds each slot's position
+// before the latest step; slots past its end use the current one.
+void fillStateRecords(StateRecord* out, const std::vector<Object*>& objects,
+                      const std::vector<Vector2D>& previous, size_t count);
+void fillStateRecords(StateRecord* out, const BodyStore& store,
+                      const std::vector<Vector2D>& previous, size_t count);
+
+// World-owned block holding the id/position/velocity/acceleration of every
+// body. Growing the block retires the old one instead of freeing it, so a
+// ByteBuffer handed to Java earlier never dangles while the world is alive.
+class StateBuffer {
+public:
+    StateBuffer();
+
+    // Make room for at least count records
+    void reserve(size_t count);
+
+    // Rewrite every record from the body list. previous holds each slot's
+    // position before the latest step; slots past its end use the current one.
+    void refresh(const std::vector<Object*>& objects, const std::vector<Vector2D>& previous);
+
+    // Rewrite every record straight from the structure-of-arrays store
+    void refresh(const BodyStore& store, const std::vector<Vector2D>& previous);
+
+    // Rewrite a single record, with no motion to interpolate
+    void refreshRecord(size_t slot, const Object* obj);
+
+    // Start of the current block and its size in bytes
+    void* data() const;
+    size_t sizeInBytes() const;
+
+    // The buffer is only kept up to date once Java has asked for it
+    bool isEnabled() const;
+    void setEnabled(bool enabled);
+
+private:
+    std::unique_ptr<unsigned char[]> block;
+    std::vector<std::unique_ptr<unsigned char[]>> retiredBlocks;
+    size_t capacity;
+    bool enabled;
+
+    StateHeader* header() const;
+    StateRecord* records() const;
+};
+
+#endif // STATE_BUFFER_H
@@ -0,0 +1,61 @@
+#ifndef STEP_PROFILE_H
+#define STEP_PROFILE_H
+
+#include <chrono>
+#include <cstdint>
+
+// Where a step spends its time. Gravity and friction are applied in the same
+// per-body pass that integrates, so forces are part of PROFILE_INTEGRATE.
+// With the island solver, the contacts re-detected inside an island count
+// as PROFILE_RESOLVE, since they run interleaved with its iterations.
+enum StepProfileField {
+    PROFILE_STEPS = 0,              // stepWorld calls
+    PROFILE_COLLISION_PASSES = 1,   // solveCollisions calls
+    PROFILE_INTEGRATE_NANOS = 2,    // Forces, integration and walls
+    PROFILE_SLEEP_NANOS = 3,        // Putting resting bodies to sleep
+    PROFILE_BROADPHASE_NANOS = 4,   // Bounds and candidate pairs
+    PROFILE_NARROWPHASE_NANOS = 5,  // Exact tests of the candidates
+    PROFILE_ISLAND_NANOS = 6,       // Splitting contacts into islands
+    PROFILE_RESOLVE_NANOS = 7,      // Contact response, all iterations
+    PROFILE_CANDIDATE_PAIRS = 8,    // Pairs tested by the narrowphase, over every detection pass
+    PROFILE_CONTACTS = 9,           // Touching pairs found, over every detection pass
+    PROFILE_ITERATIONS = 10,        // Resolve iterations, summed over islands
+    PROFILE_FIELD_COUNT = 11
+};
+
+// Timings and counters accumulated since the last take(). Nothing is
+// measured, and no clock is read, while the profile is disabled.
+class StepProfile {
+public:
+    StepProfile();
+
+    bool isEnabled() const;
+    void setEnabled(bool enabled);
+
+    void add(StepProfileField field, int64_t amount);
+
+    // Copy every field to out (PROFILE_FIELD_COUNT values) and start over
+    void take(int64_t* out);
+    void reset();
+
+private:
+    bool enabled;
+    int64_t values[PROFILE_FIELD_COUNT];
+};
+
+// Adds the time from construction to destruction to one field of a profile
+class PhaseTimer {
+public:
+    PhaseTimer(StepProfile& profile, StepProfileField field);
+    ~PhaseTimer();
+
+    PhaseTimer(const PhaseTimer&) = delete;
+    PhaseTimer& operator=(const PhaseTimer&) = delete;
+
+private:
+    StepProfile* profile;   // Null while the profile is disabled
+    StepProfileField field;
+    std::chrono::steady_clock::time_point start;
+};
+
+#endif // STEP_PROFILE_H
@@ -0,0 +1,102 @@
+#ifndef TELEMETRY_H
+#define TELEMETRY_H
+
+#include <atomic>
+#include <chrono>
+#include <cstddef>
+#include <cstdint>
+#include "state_buffer.h"
+
+// Fixed-size ring of per-step frames in a memory-mapped file, for watching
+// a world from another process. The file is one header followed by
+// frameCount slots; frame n lives in slot n % frameCount. A slot holds a
+// TelemetryFrame and then maxBodies StateRecords (as in state_buffer.h).
+// Fields are in native byte order. src/java/TelemetryReader.java reads it.
+//
+// Every slot is a seqlock: the writer sets sequence to 2n + 1 before it
+// touches frame n and to 2n + 2 once the frame is complete, then raises
+// published to n + 1. A reader copies a slot and keeps the copy only if
+// sequence read 2n + 2 both before and after; otherwise the writer lapped
+// it. The writer never waits for readers.
+
+const char TELEMETRY_MAGIC[4] = { 'P', 'H', 'Y', 'T' };
+const uint32_t TELEMETRY_VERSION = 1;
+
+// Frame flags
+const int32_t TELEMETRY_WORLD_ASLEEP = 0x1;
+
+struct TelemetryHeader {
+    char magic[4];
+    uint32_t version;
+    uint32_t headerSize;          // Offset of the first slot
+    uint32_t frameSize;           // Bytes per slot
+    uint32_t frameCount;          // Slots in the ring
+    uint32_t maxBodies;           // Records per slot; larger worlds are cut off
+    uint32_t recordSize;          // sizeof(StateRecord)
+    uint32_t reserved;
+    std::atomic<uint64_t> published;   // Frames completely written
+    uint64_t reserved2[3];
+};
+
+struct TelemetryFrame {
+    std::atomic<uint64_t> sequence;    // Seqlock, see above
+    uint64_t frame;               // n
+    double simTime;               // Seconds simulated by stepWorld so far
+    int64_t stepNanos;            // Wall time from the start of the step to this frame, 0 without a step
+    int32_t bodyCount;            // Records that follow
+    int32_t totalBodies;          // Bodies in the world
+    int32_t awakeBodies;
+    int32_t candidatePairs;       // Broadphase pairs of the latest pass
+    int32_t contactCount;         // Contacts found by the first solver pass
+    int32_t islandCount;
+    int32_t iterations;           // Resolve iterations summed over all islands
+    int32_t flags;                // TELEMETRY_WORLD_ASLEEP
+};
+
+static_assert(std::atomic<uint64_t>::is_always_lock_free, "Telemetry sequences are shared between processes");
+static_assert(sizeof(TelemetryHeader) == 64, "TelemetryHeader layout is shared with Java");
+static_assert(sizeof(TelemetryFrame) == 64, "TelemetryFrame layout is shared with Java");
+
+// Writer side of the ring, owned by one world
+class TelemetryRing {
+public:
+    TelemetryRing();
+    ~TelemetryRing();
+
+    TelemetryRing(const TelemetryRing&) = delete;
+    TelemetryRing& operator=(const TelemetryRing&) = delete;
+
+    // Create or resize the file and map it; false if it cannot be
+    // created or the sizes are not positive. Closes any ring already open.
+    bool open(const char* path, int frameCount, int maxBodies);
+    void close();
+    bool isOpen() const;
+
+    size_t getMaxBodies() const;
+
+    // Called at the start of every step; the time goes into the next frame
+    void markStep(double deltaTime);
+
+    // Start frame n: the returned slot is marked as being written. Fill in
+    // the counts and the records, then call endFrame.
+    TelemetryFrame* beginFrame();
+    StateRecord* records(TelemetryFrame* frame) const;
+    void endFrame(TelemetryFrame* frame);
+
+private:
+    unsigned char* bytes;
+    size_t length;
+    size_t frameSize;
+    uint64_t nextFrame;
+    double simTime;
+    bool stepMarked;
+    std::chrono::steady_clock::time_point stepStart;
+#if defined(_WIN32)
+    void* file;
+    void* mapping;
+#endif
+
+    TelemetryHeader* header() const;
+};
+
+#endif // TELEMETRY_H
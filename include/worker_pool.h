@@ -0,0 +1,54 @@
+#ifndef WORKER_POOL_H
+#define WORKER_POOL_H
+
+#include <condition_variable>
+#include <cstddef>
+#include <functional>
+#include <mutex>
+#include <thread>
+#include <vector>
+
+// Fixed set of worker threads owned by a PhysicsWorld. parallelFor splits an
+// index range into one contiguous chunk per thread, with the calling thread
+// taking the first chunk, and returns once every chunk has finished. Chunk
+// boundaries only depend on the range and the thread count, and each index
+// is handled by exactly one thread, so per-body work gives the same result
+// whatever the thread count.
+class WorkerPool {
+public:
+    typedef std::function<void(size_t begin, size_t end)> RangeTask;
+
+    WorkerPool();
+    ~WorkerPool();
+
+    WorkerPool(const WorkerPool&) = delete;
+    WorkerPool& operator=(const WorkerPool&) = delete;
+
+    // Threads taking part in parallelFor, including the caller. Values below
+    // 1 select the number of hardware threads.
+    void setThreadCount(int count);
+    int getThreadCount() const;
+
+    // Run task over [0, count), never handing a thread fewer than minChunk
+    // indices; small ranges run inline on the caller
+    void parallelFor(size_t count, size_t minChunk, const RangeTask& task);
+
+private:
+    std::vector<std::thread> workers;
+    std::mutex mutex;
+    std::condition_variable wakeWorkers;
+    std::condition_variable chunksDone;
+
+    const RangeTask* currentTask;
+    size_t chunkSize;
+    size_t rangeEnd;
+    unsigned long long generation;
+    size_t pending;
+    bool stopping;
+
+    void startWorkers(size_t count);
+    void stopWorkers();
+    void workerLoop(size_t chunkIndex, unsigned long long seen);
+};
+
+#endif // WORKER_POOL_H
@@ -0,0 +1,75 @@
+#ifndef WORLD_FILE_H
+#define WORLD_FILE_H
+
+#include <cstdint>
+
+// Binary checkpoint of a whole world, written by saveWorld and read back by
+// loadWorld: one header followed by one fixed-size record per body, in
+// world order. Every field is little-endian. The Java engine reads and
+// writes the same layout (see src/java/pure/JavaWorldFile.java), so a file
+// saved by either engine loads in the other.
+//
+// Readers reject files whose magic or version differ, and use headerSize
+// and recordSize to step over fields appended by later versions.
+
+const char WORLD_FILE_MAGIC[4] = { 'P', 'H', 'Y', 'W' };
+const uint32_t WORLD_FILE_VERSION = 1;
+
+// Body flags
+const uint8_t WORLD_FILE_ASLEEP = 0x1;
+
+struct WorldFileHeader {
+    char magic[4];
+    uint32_t version;
+    uint32_t headerSize;       // sizeof(WorldFileHeader) when written
+    uint32_t recordSize;       // sizeof(WorldFileBody) when written
+    int64_t bodyCount;
+
+    // Forces
+    float gravity;
+    float staticFriction;
+    float kineticFriction;
+    int32_t reserved;
+    double groundLevel;
+
+    // Walls (WORLD_OPTION_BOUNDS)
+    int32_t boundsEnabled;
+    float boundsLeft, boundsTop, boundsRight, boundsBottom;
+    float wallRestitution;
+    float wallFriction;
+
+    // Sleeping (WORLD_OPTION_SLEEP)
+    float sleepVelocity;
+    int32_t sleepSteps;
+
+    // Fixed step clock (WORLD_OPTION_FIXED_STEP)
+    int32_t maxSubsteps;
+    double stepSize;
+
+    // How the world is computed (broadphase, storage, solver, threads)
+    int32_t broadphaseMode;
+    float cellSize;
+    int32_t bodyStorage;
+    int32_t collisionSolver;
+    int32_t threadCount;
+    int32_t contactCache;      // WORLD_OPTION_CONTACT_CACHE; cached impulses are not saved
+    int32_t reserved2[2];
+};
+
+struct WorldFileBody {
+    int32_t id;
+    uint8_t shape;             // 'R', 'S' or 'C', as passed to addObject
+    uint8_t flags;             // WORLD_FILE_ASLEEP
+    uint16_t reserved;
+    float mass;
+    float posX, posY;
+    float velX, velY;
+    float accX, accY;
+    float dim0, dim1;          // Width and height, side, or radius
+    int32_t restingSteps;      // Steps the body has rested towards sleeping
+};
+
+static_assert(sizeof(WorldFileHeader) == 128, "WorldFileHeader layout is shared with Java");
+static_assert(sizeof(WorldFileBody) == 48, "WorldFileBody layout is shared with Java");
+
+#endif // WORLD_FILE_H
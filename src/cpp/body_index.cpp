@@ -0,0 +1,94 @@
+#include "body_index.h"
+
+const size_t INITIAL_TABLE_SIZE = 16;
+const int EMPTY_SLOT = -1;
+
+BodyIndex::BodyIndex() : table(INITIAL_TABLE_SIZE, Entry{0, EMPTY_SLOT}), count(0), mask(INITIAL_TABLE_SIZE - 1) {}
+
+// Fibonacci hashing spreads sequential ids across the table
+size_t BodyIndex::home(int id) const {
+    uint64_t h = static_cast<uint64_t>(static_cast<uint32_t>(id)) * 0x9E3779B97F4A7C15ull;
+    return static_cast<size_t>(h >> 32) & mask;
+}
+
+// Index of the entry holding id, or of the empty entry ending its probe run
+size_t BodyIndex::locate(int id) const {
+    size_t i = home(id);
+    while (table[i].slot != EMPTY_SLOT && table[i].id != id) {
+        i = (i + 1) & mask;
+    }
+    return i;
+}
+
+void BodyIndex::grow() {
+    std::vector<Entry> old;
+    old.swap(table);
+
+    table.assign(old.size() * 2, Entry{0, EMPTY_SLOT});
+    mask = table.size() - 1;
+
+    for (const Entry& entry : old) {
+        if (entry.slot != EMPTY_SLOT) {
+            table[locate(entry.id)] = entry;
+        }
+    }
+}
+
+bool BodyIndex::insert(int id, int slot) {
+    if ((count + 1) * 2 > table.size()) {
+        grow();
+    }
+
+    size_t i = locate(id);
+    if (table[i].slot != EMPTY_SLOT) return false;
+
+    table[i] = Entry{id, slot};
+    count++;
+    return true;
+}
+
+int BodyIndex::find(int id) const {
+    return table[locate(id)].slot;
+}
+
+bool BodyIndex::update(int id, int slot) {
+    size_t i = locate(id);
+    if (table[i].slot == EMPTY_SLOT) return false;
+
+    table[i].slot = slot;
+    return true;
+}
+
+bool BodyIndex::erase(int id) {
+    size_t hole = locate(id);
+    if (table[hole].slot == EMPTY_SLOT) return false;
+
+    // Shift later members of the probe run back into the hole
+    size_t i = hole;
+    while (true) {
+        i = (i + 1) & mask;
+        if (table[i].slot == EMPTY_SLOT) break;
+
+        size_t wanted = home(table[i].id);
+        bool canMove = (i > hole) ? (wanted <= hole || wanted > i)
+                                  : (wanted <= hole && wanted > i);
+        if (canMove) {
+            table[hole] = table[i];
+            hole = i;
+        }
+    }
+
+    table[hole].slot = EMPTY_SLOT;
+    count--;
+    return true;
+}
+
+void BodyIndex::clear() {
+    table.assign(INITIAL_TABLE_SIZE, Entry{0, EMPTY_SLOT});
+    mask = INITIAL_TABLE_SIZE - 1;
+    count = 0;
+}
+
+size_t BodyIndex::size() const {
+    return count;
+}
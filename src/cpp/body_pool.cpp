@@ -0,0 +1,60 @@
+#include "body_pool.h"
+
+BodyPool::BodyPool()
+    : freeList(nullptr), unused(nullptr), slabEnd(nullptr), live(0), freeCount(0) {}
+
+BodyPool::~BodyPool() {
+    for (unsigned char* slab : slabs) {
+        ::operator delete(slab);
+    }
+}
+
+void* BodyPool::allocate() {
+    void* block;
+    if (freeList) {
+        block = freeList;
+        freeList = freeList->next;
+        freeCount--;
+    } else {
+        if (unused == slabEnd) {
+            // operator new aligns for any fundamental type, and blocks are multiples of that
+            unsigned char* slab = static_cast<unsigned char*>(::operator new(SLAB_BLOCKS * BODY_POOL_BLOCK_SIZE));
+            slabs.push_back(slab);
+            unused = slab;
+            slabEnd = slab + SLAB_BLOCKS * BODY_POOL_BLOCK_SIZE;
+        }
+        block = unused;
+        unused += BODY_POOL_BLOCK_SIZE;
+    }
+    live++;
+    return block;
+}
+
+void BodyPool::release(void* block) {
+    FreeBlock* freed = static_cast<FreeBlock*>(block);
+    freed->next = freeList;
+    freeList = freed;
+    freeCount++;
+    live--;
+}
+
+void BodyPool::destroy(Object* obj) {
+    if (!obj) return;
+
+    // The block starts at the most derived object, not necessarily at the Object base
+    void* block = dynamic_cast<void*>(obj);
+    obj->~Object();
+    release(block);
+}
+
+size_t BodyPool::getLiveCount() const {
+    return live;
+}
+
+size_t BodyPool::getPooledCount() const {
+    return freeCount + static_cast<size_t>(slabEnd - unused) / BODY_POOL_BLOCK_SIZE;
+}
+
+size_t BodyPool::getCapacity() const {
+    return slabs.size() * SLAB_BLOCKS;
+}
@@ -0,0 +1,134 @@
+#include "body_store.h"
+#include "object.h"
+#include "broadphase.h"
+
+int BodyStore::add(Object* obj) {
+    int slot = static_cast<int>(size());
+    float bodyMass = obj->getMass();
+
+    id.push_back(obj->getID());
+    position.push_back(obj->getPosition());
+    velocity.push_back(obj->getVelocity());
+    acceleration.push_back(obj->getAcceleration());
+    netForce.push_back(Vector2D(0, 0));
+    mass.push_back(bodyMass);
+    inverseMass.push_back(bodyMass > 0 ? 1.0f / bodyMass : 0.0f);
+
+    // Shape is resolved once here so the hot loops never touch the collider
+    const Collider* collider = obj->getCollider();
+    if (collider && collider->getType() == COLLIDER_AABB) {
+        const AABBCollider* box = static_cast<const AABBCollider*>(collider);
+        shape.push_back(SHAPE_BOX);
+        extent.push_back(Vector2D(box->width, box->height));
+    } else if (collider && collider->getType() == COLLIDER_CIRCLE) {
+        const CircleCollider* circle = static_cast<const CircleCollider*>(collider);
+        shape.push_back(SHAPE_CIRCLE);
+        extent.push_back(Vector2D(circle->radius, circle->radius));
+    } else {
+        shape.push_back(SHAPE_NONE);
+        extent.push_back(Vector2D(0, 0));
+    }
+
+    obj->bindToStore(this, slot);
+    return slot;
+}
+
+void BodyStore::release(const std::vector<Object*>& objects) {
+    for (Object* obj : objects) {
+        obj->unbindFromStore();
+    }
+
+    id.clear();
+    position.clear();
+    velocity.clear();
+    acceleration.clear();
+    netForce.clear();
+    mass.clear();
+    inverseMass.clear();
+    shape.clear();
+    extent.clear();
+}
+
+void BodyStore::remove(int slot, Object* moved) {
+    const size_t last = size() - 1;
+    if (static_cast<size_t>(slot) != last) {
+        id[slot] = id[last];
+        position[slot] = position[last];
+        velocity[slot] = velocity[last];
+        acceleration[slot] = acceleration[last];
+        netForce[slot] = netForce[last];
+        mass[slot] = mass[last];
+        inverseMass[slot] = inverseMass[last];
+        shape[slot] = shape[last];
+        extent[slot] = extent[last];
+    }
+
+    id.pop_back();
+    position.pop_back();
+    velocity.pop_back();
+    acceleration.pop_back();
+    netForce.pop_back();
+    mass.pop_back();
+    inverseMass.pop_back();
+    shape.pop_back();
+    extent.pop_back();
+
+    if (moved) {
+        moved->bindToStore(this, slot);
+    }
+}
+
+void BodyStore::setMass(int slot, float value) {
+    mass[slot] = value;
+    inverseMass[slot] = value > 0 ? 1.0f / value : 0.0f;
+}
+
+void BodyStore::getBounds(int slot, Vector2D& min, Vector2D& max) const {
+    const Vector2D& pos = position[slot];
+    const Vector2D& ext = extent[slot];
+
+    if (shape[slot] == SHAPE_CIRCLE) {
+        min = Vector2D(pos.x - ext.x, pos.y - ext.x);
+        max = Vector2D(pos.x + ext.x, pos.y + ext.x);
+    } else {
+        min = pos;
+        max = Vector2D(pos.x + ext.x, pos.y + ext.y);
+    }
+}
+
+void BodyStore::gatherBounds(BodyBounds& bounds) const {
+    size_t count = size();
+    bounds.resize(count);
+
+    for (size_t i = 0; i < count; i++) {
+        bounds.valid[i] = shape[i] != SHAPE_NONE ? 1 : 0;
+        getBounds(static_cast<int>(i), bounds.min[i], bounds.max[i]);
+    }
+}
+
+bool BodyStore::overlaps(int a, int b) const {
+    uint8_t shapeA = shape[a];
+    uint8_t shapeB = shape[b];
+
+    if (shapeA == SHAPE_BOX && shapeB == SHAPE_BOX) {
+        return checkAABBCollision(AABBCollider(position[a], extent[a].x, extent[a].y),
+                                  AABBCollider(position[b], extent[b].x, extent[b].y));
+    }
+    if (shapeA == SHAPE_CIRCLE && shapeB == SHAPE_CIRCLE) {
+        return checkCircleCollision(CircleCollider(position[a], extent[a].x),
+                                    CircleCollider(position[b], extent[b].x));
+    }
+    if (shapeA == SHAPE_BOX && shapeB == SHAPE_CIRCLE) {
+        return checkAABBCircleCollision(AABBCollider(position[a], extent[a].x, extent[a].y),
+                                        CircleCollider(position[b], extent[b].x));
+    }
+    if (shapeA == SHAPE_CIRCLE && shapeB == SHAPE_BOX) {
+        return checkAABBCircleCollision(AABBCollider(position[b], extent[b].x, extent[b].y),
+                                        CircleCollider(position[a], extent[a].x));
+    }
+    return false;
+}
+
+size_t BodyStore::size() const {
+    return id.size();
+}
@@ -0,0 +1,297 @@
+#include "broadphase.h"
+#include <algorithm>
+#include <cmath>
+#include <cstdint>
+
+// Keep cell coordinates well inside int range for far-away bodies
+const float MAX_CELL_COORDINATE = 1073741824.0f;
+
+// A single body never spans more than this many cells per axis
+const float MAX_CELLS_PER_AXIS = 16.0f;
+
+void BodyBounds::resize(size_t count) {
+    min.resize(count);
+    max.resize(count);
+    valid.resize(count);
+}
+
+size_t BodyBounds::size() const {
+    return valid.size();
+}
+
+void gatherColliderBounds(const std::vector<Object*>& objects, BodyBounds& bounds) {
+    bounds.resize(objects.size());
+    for (size_t i = 0; i < objects.size(); i++) {
+        Collider* collider = objects[i]->getCollider();
+        bounds.valid[i] = collider ? 1 : 0;
+        if (collider) {
+            collider->getBounds(bounds.min[i], bounds.max[i]);
+        }
+    }
+}
+
+SpatialHashGrid::SpatialHashGrid() : requestedCellSize(0.0f), cellSize(1.0f) {}
+
+void SpatialHashGrid::setCellSize(float size) {
+    requestedCellSize = size;
+}
+
+float SpatialHashGrid::getCellSize() const {
+    return cellSize;
+}
+
+// Derive the cell size from the average collider extent so a typical body
+// overlaps at most four cells, while capping how many cells the largest
+// body can cover.
+float SpatialHashGrid::computeCellSize(const BodyBounds& bounds) const {
+    float totalExtent = 0.0f;
+    float largestExtent = 0.0f;
+    int counted = 0;
+
+    for (size_t i = 0; i < bounds.size(); i++) {
+        if (!bounds.valid[i]) continue;
+
+        Vector2D extent = bounds.max[i] - bounds.min[i];
+        float size = std::max(extent.x, extent.y);
+        totalExtent += size;
+        largestExtent = std::max(largestExtent, size);
+        counted++;
+    }
+
+    if (counted == 0) return 1.0f;
+
+    float size = std::max(totalExtent / counted, largestExtent / MAX_CELLS_PER_AXIS);
+    return size > 0.001f ? size : 1.0f;
+}
+
+int SpatialHashGrid::toCell(float coordinate) const {
+    float cell = std::floor(coordinate / cellSize);
+    cell = std::max(-MAX_CELL_COORDINATE, std::min(cell, MAX_CELL_COORDINATE));
+    return static_cast<int>(cell);
+}
+
+static size_t hashCell(int x, int y, size_t mask) {
+    uint32_t h = static_cast<uint32_t>(x) * 73856093u ^ static_cast<uint32_t>(y) * 19349663u;
+    return h & mask;
+}
+
+void SpatialHashGrid::findPairs(const BodyBounds& bounds, std::vector<std::pair<int, int>>& pairs) {
+    pairs.clear();
+    size_t count = bounds.size();
+    const std::vector<Vector2D>& minBounds = bounds.min;
+    const std::vector<Vector2D>& maxBounds = bounds.max;
+
+    minCellX.resize(count);
+    minCellY.resize(count);
+
+    cellSize = requestedCellSize > 0.0f ? requestedCellSize : computeCellSize(bounds);
+
+    // Bin every body into each cell its bounds overlap
+    entries.clear();
+    for (size_t i = 0; i < count; i++) {
+        if (!bounds.valid[i]) continue;
+
+        int x0 = toCell(minBounds[i].x);
+        int y0 = toCell(minBounds[i].y);
+        int x1 = toCell(maxBounds[i].x);
+        int y1 = toCell(maxBounds[i].y);
+        minCellX[i] = x0;
+        minCellY[i] = y0;
+
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                entries.push_back({x, y, static_cast<int>(i)});
+            }
+        }
+    }
+
+    if (entries.empty()) return;
+
+    // Counting sort of entries into a power-of-two bucket table
+    size_t bucketCount = 1;
+    while (bucketCount < entries.size() * 2) bucketCount <<= 1;
+    size_t mask = bucketCount - 1;
+
+    bucketStart.assign(bucketCount + 1, 0);
+    for (const Entry& entry : entries) {
+        bucketStart[hashCell(entry.cellX, entry.cellY, mask) + 1]++;
+    }
+    for (size_t b = 0; b < bucketCount; b++) {
+        bucketStart[b + 1] += bucketStart[b];
+    }
+
+    sortedEntries.resize(entries.size());
+    for (const Entry& entry : entries) {
+        size_t bucket = hashCell(entry.cellX, entry.cellY, mask);
+        sortedEntries[bucketStart[bucket]++] = entry;
+    }
+
+    // bucketStart now holds bucket ends; walk each bucket in turn
+    int begin = 0;
+    for (size_t b = 0; b < bucketCount; b++) {
+        int end = bucketStart[b];
+
+        for (int p = begin; p < end; p++) {
+            const Entry& first = sortedEntries[p];
+            for (int q = p + 1; q < end; q++) {
+                const Entry& second = sortedEntries[q];
+
+                // Different cells can share a bucket
+                if (first.cellX != second.cellX || first.cellY != second.cellY) continue;
+
+                int i = std::min(first.index, second.index);
+                int j = std::max(first.index, second.index);
+                if (i == j) continue;
+
+                // Bounds must overlap
+                if (maxBounds[i].x < minBounds[j].x || maxBounds[j].x < minBounds[i].x ||
+                    maxBounds[i].y < minBounds[j].y || maxBounds[j].y < minBounds[i].y) {
+                    continue;
+                }
+
+                // A pair sharing several cells is only reported from the cell
+                // holding the top-left corner of the overlap region
+                if (first.cellX != std::max(minCellX[i], minCellX[j]) ||
+                    first.cellY != std::max(minCellY[i], minCellY[j])) {
+                    continue;
+                }
+
+                pairs.push_back({i, j});
+            }
+        }
+
+        begin = end;
+    }
+
+    std::sort(pairs.begin(), pairs.end());
+}
+
+SweepAndPrune::SweepAndPrune() : built(false), trackedCount(0), current(nullptr), swapCount(0) {}
+
+void SweepAndPrune::reset() {
+    built = false;
+    trackedCount = 0;
+    endpointsX.clear();
+    endpointsY.clear();
+    overlappingPairs.clear();
+    swapCount = 0;
+}
+
+size_t SweepAndPrune::getSwapCount() const {
+    return swapCount;
+}
+
+// Endpoint order. On equal values a max sorts before a min, so a min placed
+// before another body's max always means the two strictly overlap.
+bool SweepAndPrune::comesBefore(const Endpoint& a, const Endpoint& b) {
+    if (a.value != b.value) return a.value < b.value;
+    return !a.isMin && b.isMin;
+}
+
+uint64_t SweepAndPrune::pairKey(int a, int b) {
+    uint32_t low = static_cast<uint32_t>(std::min(a, b));
+    uint32_t high = static_cast<uint32_t>(std::max(a, b));
+    return (static_cast<uint64_t>(low) << 32) | high;
+}
+
+bool SweepAndPrune::overlaps(int a, int b) const {
+    const std::vector<Vector2D>& minBounds = current->min;
+    const std::vector<Vector2D>& maxBounds = current->max;
+    return minBounds[a].x < maxBounds[b].x && minBounds[b].x < maxBounds[a].x &&
+           minBounds[a].y < maxBounds[b].y && minBounds[b].y < maxBounds[a].y;
+}
+
+void SweepAndPrune::refreshEndpoints(const BodyBounds& bounds) {
+    for (Endpoint& endpoint : endpointsX) {
+        endpoint.value = endpoint.isMin ? bounds.min[endpoint.body].x : bounds.max[endpoint.body].x;
+    }
+    for (Endpoint& endpoint : endpointsY) {
+        endpoint.value = endpoint.isMin ? bounds.min[endpoint.body].y : bounds.max[endpoint.body].y;
+    }
+}
+
+// Full sort and sweep along x, used when bodies are added or removed
+void SweepAndPrune::rebuild(const BodyBounds& bounds) {
+    reset();
+    built = true;
+    trackedCount = bounds.size();
+
+    for (size_t i = 0; i < bounds.size(); i++) {
+        if (!bounds.valid[i]) continue;
+
+        int body = static_cast<int>(i);
+        endpointsX.push_back({0.0f, body, true});
+        endpointsX.push_back({0.0f, body, false});
+        endpointsY.push_back({0.0f, body, true});
+        endpointsY.push_back({0.0f, body, false});
+    }
+
+    refreshEndpoints(bounds);
+    std::sort(endpointsX.begin(), endpointsX.end(), comesBefore);
+    std::sort(endpointsY.begin(), endpointsY.end(), comesBefore);
+
+    activeBodies.clear();
+    for (const Endpoint& endpoint : endpointsX) {
+        if (endpoint.isMin) {
+            for (int other : activeBodies) {
+                if (overlaps(endpoint.body, other)) {
+                    overlappingPairs.insert(pairKey(endpoint.body, other));
+                }
+            }
+            activeBodies.push_back(endpoint.body);
+        } else {
+            auto it = std::find(activeBodies.begin(), activeBodies.end(), endpoint.body);
+            *it = activeBodies.back();
+            activeBodies.pop_back();
+        }
+    }
+}
+
+// Insertion sort that updates the overlap set on every swap. A min moving
+// left past another body's max starts an overlap on this axis; a max moving
+// left past another body's min ends one.
+void SweepAndPrune::sortAxis(std::vector<Endpoint>& axis) {
+    for (size_t i = 1; i < axis.size(); i++) {
+        Endpoint key = axis[i];
+        size_t j = i;
+
+        while (j > 0 && comesBefore(key, axis[j - 1])) {
+            const Endpoint& other = axis[j - 1];
+
+            if (key.isMin && !other.isMin) {
+                if (overlaps(key.body, other.body)) {
+                    overlappingPairs.insert(pairKey(key.body, other.body));
+                }
+            } else if (!key.isMin && other.isMin) {
+                overlappingPairs.erase(pairKey(key.body, other.body));
+            }
+
+            axis[j] = axis[j - 1];
+            j--;
+            swapCount++;
+        }
+
+        axis[j] = key;
+    }
+}
+
+void SweepAndPrune::findPairs(const BodyBounds& bounds, std::vector<std::pair<int, int>>& pairs) {
+    pairs.clear();
+    current = &bounds;
+
+    // The endpoint lists are only valid for the body list they were built from
+    if (!built || bounds.size() != trackedCount) {
+        rebuild(bounds);
+    } else {
+        swapCount = 0;
+        refreshEndpoints(bounds);
+        sortAxis(endpointsX);
+        sortAxis(endpointsY);
+    }
+
+    for (uint64_t key : overlappingPairs) {
+        pairs.push_back({static_cast<int>(key >> 32), static_cast<int>(key & 0xffffffffu)});
+    }
+
+    std::sort(pairs.begin(), pairs.end());
+}
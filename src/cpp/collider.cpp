@@ -23,26 +23,70 @@ bool checkAABBCircleCollision(const AABBCollider& a, const CircleCollider& b) {
     return distance < b.radius;
 }
 
-// AABBCollider collision checking
-bool AABBCollider::checkCollision(const Collider& other) const {
-    const AABBCollider* aabbOther = dynamic_cast<const AABBCollider*>(&other);
-    if (aabbOther) return checkAABBCollision(*this, *aabbOther);
+// Detect entries for every shape pair, row = first collider, column = second
+static bool detectAABBAABB(const Collider& a, const Collider& b) {
+    return checkAABBCollision(static_cast<const AABBCollider&>(a), static_cast<const AABBCollider&>(b));
+}
+
+static bool detectAABBCircle(const Collider& a, const Collider& b) {
+    return checkAABBCircleCollision(static_cast<const AABBCollider&>(a), static_cast<const CircleCollider&>(b));
+}
+
+static bool detectCircleAABB(const Collider& a, const Collider& b) {
+    return checkAABBCircleCollision(static_cast<const AABBCollider&>(b), static_cast<const CircleCollider&>(a));
+}
+
+static bool detectCircleCircle(const Collider& a, const Collider& b) {
+    return checkCircleCollision(static_cast<const CircleCollider&>(a), static_cast<const CircleCollider&>(b));
+}
+
+static const DetectFunction detectTable[COLLIDER_TYPE_COUNT][COLLIDER_TYPE_COUNT] = {
+    /* COLLIDER_AABB   */ { detectAABBAABB,   detectAABBCircle   },
+    /* COLLIDER_CIRCLE */ { detectCircleAABB, detectCircleCircle }
+};
+
+// Resolve entries; the first collider's response handles both objects
+static void resolveAABB(const Collider& a, Object& objectA, Object& objectB) {
+    static_cast<const AABBCollider&>(a).AABBCollider::resolveCollision(objectA, objectB);
+}
+
+static void resolveCircle(const Collider& a, Object& objectA, Object& objectB) {
+    static_cast<const CircleCollider&>(a).CircleCollider::resolveCollision(objectA, objectB);
+}
 
-    const CircleCollider* circleOther = dynamic_cast<const CircleCollider*>(&other);
-    if (circleOther) return checkAABBCircleCollision(*this, *circleOther);
+static const ResolveFunction resolveTable[COLLIDER_TYPE_COUNT][COLLIDER_TYPE_COUNT] = {
+    /* COLLIDER_AABB   */ { resolveAABB,   resolveAABB   },
+    /* COLLIDER_CIRCLE */ { resolveCircle, resolveCircle }
+};
 
-    return false;
+bool detectColliders(const Collider& a, const Collider& b) {
+    return detectTable[a.getType()][b.getType()](a, b);
+}
+
+void resolveColliders(const Collider& a, const Collider& b, Object& objectA, Object& objectB) {
+    resolveTable[a.getType()][b.getType()](a, objectA, objectB);
+}
+
+// AABBCollider collision checking
+bool AABBCollider::checkCollision(const Collider& other) const {
+    return detectColliders(*this, other);
 }
 
 // CircleCollider collision checking
 bool CircleCollider::checkCollision(const Collider& other) const {
-    const CircleCollider* circleOther = dynamic_cast<const CircleCollider*>(&other);
-    if (circleOther) return checkCircleCollision(*this, *circleOther);
+    return detectColliders(*this, other);
+}
 
-    const AABBCollider* aabbOther = dynamic_cast<const AABBCollider*>(&other);
-    if (aabbOther) return checkAABBCircleCollision(*aabbOther, *this);
+// AABB bounds are the box itself
+void AABBCollider::getBounds(Vector2D& min, Vector2D& max) const {
+    min = position;
+    max = Vector2D(position.x + width, position.y + height);
+}
 
-    return false;
+// Circle bounds enclose the circle
+void CircleCollider::getBounds(Vector2D& min, Vector2D& max) const {
+    min = Vector2D(center.x - radius, center.y - radius);
+    max = Vector2D(center.x + radius, center.y + radius);
 }
 
 // AABB vs AABB collision response
@@ -0,0 +1,97 @@
+#include "physics_native.h"
+#include "command_buffer.h"
+#include <cstring>
+
+// Copies a command out of the batch; the batch itself only promises the
+// alignment of a direct ByteBuffer
+template <class Command>
+static bool readCommand(const unsigned char* at, size_t left, Command& command) {
+    if (left < sizeof(Command)) return false;
+    std::memcpy(&command, at, sizeof(Command));
+    return true;
+}
+
+// Applies the commands of a batch in order and returns how many were read
+int applyWorldCommands(PhysicsWorld* world, const void* data, size_t length) {
+    const unsigned char* at = static_cast<const unsigned char*>(data);
+    size_t left = length;
+    int applied = 0;
+
+    // Adds and removes leave the broadphase and state buffer stale until
+    // the batch ends or a command that reads slots comes along
+    bool bodiesChanged = false;
+    std::vector<double> params;
+
+    while (left >= sizeof(CommandHeader)) {
+        CommandHeader header;
+        std::memcpy(&header, at, sizeof(header));
+
+        if (bodiesChanged && header.type != COMMAND_ADD && header.type != COMMAND_REMOVE) {
+            refreshWorldBodies(world);
+            bodiesChanged = false;
+        }
+
+        // Stays 0 for an unknown or truncated command, which ends the batch
+        size_t size = 0;
+        switch (header.type) {
+            case COMMAND_ADD: {
+                AddCommand command;
+                if (!readCommand(at, left, command)) break;
+                int dimCount = command.dimCount < 0 ? 0 : (command.dimCount > 2 ? 2 : command.dimCount);
+                bodiesChanged |= addBody(world, header.code, command.mass,
+                                         Vector2D(command.posX, command.posY), Vector2D(command.velX, command.velY),
+                                         static_cast<char>(command.shape), command.dims, dimCount);
+                size = sizeof(command);
+                break;
+            }
+            case COMMAND_UPDATE: {
+                UpdateCommand command;
+                if (!readCommand(at, left, command)) break;
+                setObjectState(world, header.code, Vector2D(command.posX, command.posY),
+                               Vector2D(command.velX, command.velY));
+                size = sizeof(command);
+                break;
+            }
+            case COMMAND_IMPULSE: {
+                ImpulseCommand command;
+                if (!readCommand(at, left, command)) break;
+                applyWorldImpulse(world, header.code, Vector2D(command.impulseX, command.impulseY));
+                size = sizeof(command);
+                break;
+            }
+            case COMMAND_REMOVE:
+                bodiesChanged |= removeBody(world, header.code);
+                size = sizeof(header);
+                break;
+            case COMMAND_FORCES:
+            case COMMAND_WORLD: {
+                OptionCommand command;
+                if (!readCommand(at, left, command) || command.count < 0) break;
+                size_t count = static_cast<size_t>(command.count);
+                if (count > (left - sizeof(command)) / sizeof(double)) break;
+
+                params.resize(count);
+                if (count > 0) {
+                    std::memcpy(params.data(), at + sizeof(command), count * sizeof(double));
+                }
+                if (header.type == COMMAND_FORCES) {
+                    configureWorldForces(world, header.code, params.data(), command.count);
+                } else {
+                    configureWorldOption(world, header.code, params.data(), command.count);
+                }
+                size = sizeof(command) + count * sizeof(double);
+                break;
+            }
+        }
+        if (size == 0) break;
+
+        at += size;
+        left -= size;
+        applied++;
+    }
+
+    if (bodiesChanged) {
+        refreshWorldBodies(world);
+    }
+    return applied;
+}
@@ -0,0 +1,75 @@
+#include "contact_cache.h"
+#include <algorithm>
+
+// Both ids in one key, lower id first
+static uint64_t pairKey(int idA, int idB) {
+    uint32_t low = static_cast<uint32_t>(std::min(idA, idB));
+    uint32_t high = static_cast<uint32_t>(std::max(idA, idB));
+    return (static_cast<uint64_t>(low) << 32) | high;
+}
+
+// Cosine between the old and new normal above which a contact is the same one
+static const float SAME_NORMAL = 0.9f;
+
+ContactCache::ContactCache() : enabled(false), pass(0) {}
+
+bool ContactCache::isEnabled() const {
+    return enabled;
+}
+
+void ContactCache::setEnabled(bool enabled) {
+    this->enabled = enabled;
+    clear();
+    stats = ContactCacheStats();
+}
+
+void ContactCache::beginPass() {
+    // Only contacts the pass that just ended touched can warm-start the next one
+    for (auto it = contacts.begin(); it != contacts.end();) {
+        if (it->second.pass != pass) {
+            it = contacts.erase(it);
+        } else {
+            ++it;
+        }
+    }
+    pass++;
+}
+
+CachedContact& ContactCache::touch(int idA, int idB, const Vector2D& normal, bool& warm) {
+    auto inserted = contacts.emplace(pairKey(idA, idB), CachedContact());
+    CachedContact& contact = inserted.first->second;
+
+    // A box contact that moved to another face, or a circle that rolled far
+    // round, would push the wrong way with its old impulses
+    warm = !inserted.second && contact.pass + 1 == pass && contact.normal.dot(normal) > SAME_NORMAL;
+    if (!warm) {
+        contact.normalImpulse = 0;
+        contact.tangentImpulse = 0;
+    }
+    contact.normal = normal;
+    contact.velocityBias = 0;
+    contact.pass = pass;
+
+    stats.lookups++;
+    if (warm) {
+        stats.hits++;
+    }
+    return contact;
+}
+
+void ContactCache::countIterations(int64_t run, int64_t saved) {
+    stats.iterations += run;
+    stats.iterationsSaved += saved;
+}
+
+size_t ContactCache::size() const {
+    return contacts.size();
+}
+
+const ContactCacheStats& ContactCache::getStats() const {
+    return stats;
+}
+
+void ContactCache::clear() {
+    contacts.clear();
+}
@@ -0,0 +1,53 @@
+#include "fixed_step.h"
+#include <cmath>
+
+const double DEFAULT_STEP_SIZE = 1.0 / 60.0;
+const int DEFAULT_MAX_SUBSTEPS = 5;
+
+FixedTimestep::FixedTimestep()
+    : stepSize(DEFAULT_STEP_SIZE), maxSubsteps(DEFAULT_MAX_SUBSTEPS), accumulator(0), droppedTime(0) {}
+
+void FixedTimestep::configure(double stepSize, int maxSubsteps) {
+    if (stepSize > 0) this->stepSize = stepSize;
+    this->maxSubsteps = maxSubsteps > 0 ? maxSubsteps : 1;
+    accumulator = 0;
+}
+
+double FixedTimestep::getStepSize() const {
+    return stepSize;
+}
+
+int FixedTimestep::getMaxSubsteps() const {
+    return maxSubsteps;
+}
+
+int FixedTimestep::advance(double frameDelta) {
+    if (frameDelta > 0) accumulator += frameDelta;
+
+    int steps = static_cast<int>(accumulator / stepSize);
+    if (steps > maxSubsteps) {
+        // Keep the partial step so the alpha stays continuous, drop the rest
+        double kept = std::fmod(accumulator, stepSize);
+        droppedTime += accumulator - kept - maxSubsteps * stepSize;
+        accumulator = kept + maxSubsteps * stepSize;
+        steps = maxSubsteps;
+    }
+
+    accumulator -= steps * stepSize;
+    if (accumulator < 0) accumulator = 0;
+    return steps;
+}
+
+double FixedTimestep::getAlpha() const {
+    double alpha = accumulator / stepSize;
+    return alpha < 1.0 ? alpha : 1.0;
+}
+
+double FixedTimestep::getDroppedTime() const {
+    return droppedTime;
+}
+
+void FixedTimestep::reset() {
+    accumulator = 0;
+    droppedTime = 0;
+}
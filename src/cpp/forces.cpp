@@ -29,6 +29,10 @@ void Forces::toggleGravity(bool enable) {
     gravityEnabled = enable;
 }
 
+bool Forces::isGravityEnabled() {
+    return gravityEnabled;
+}
+
 
 // -------------------
 // Static Friction Simulation
@@ -0,0 +1,80 @@
+#include "island.h"
+
+size_t IslandSet::size() const {
+    return bodyStart.empty() ? 0 : bodyStart.size() - 1;
+}
+
+// Root of body's component, halving the path on the way up
+int IslandBuilder::findRoot(int body) {
+    while (parent[body] != body) {
+        parent[body] = parent[parent[body]];
+        body = parent[body];
+    }
+    return body;
+}
+
+// Merge two components, hanging the smaller one under the larger
+void IslandBuilder::unite(int a, int b) {
+    int rootA = findRoot(a);
+    int rootB = findRoot(b);
+    if (rootA == rootB) return;
+
+    if (componentSize[rootA] < componentSize[rootB]) std::swap(rootA, rootB);
+    parent[rootB] = rootA;
+    componentSize[rootA] += componentSize[rootB];
+}
+
+void IslandBuilder::build(size_t bodyCount, const std::vector<std::pair<int, int>>& contacts, IslandSet& islands) {
+    parent.resize(bodyCount);
+    componentSize.assign(bodyCount, 1);
+    islandOf.assign(bodyCount, -1);
+    for (size_t i = 0; i < bodyCount; i++) {
+        parent[i] = static_cast<int>(i);
+    }
+
+    for (const auto& contact : contacts) {
+        unite(contact.first, contact.second);
+    }
+
+    // Number the islands in order of their lowest body; bodies without a
+    // contact stay out of every island
+    for (const auto& contact : contacts) {
+        islandOf[contact.first] = 0;
+        islandOf[contact.second] = 0;
+    }
+
+    int islandCount = 0;
+    islandOfRoot.assign(bodyCount, -1);
+    for (size_t i = 0; i < bodyCount; i++) {
+        if (islandOf[i] < 0) continue;
+        int root = findRoot(static_cast<int>(i));
+        if (islandOfRoot[root] < 0) islandOfRoot[root] = islandCount++;
+        islandOf[i] = islandOfRoot[root];
+    }
+
+    // Counting sort of bodies and pairs by island
+    islands.bodyStart.assign(islandCount + 1, 0);
+    islands.pairStart.assign(islandCount + 1, 0);
+    for (size_t i = 0; i < bodyCount; i++) {
+        if (islandOf[i] >= 0) islands.bodyStart[islandOf[i] + 1]++;
+    }
+    for (const auto& contact : contacts) {
+        islands.pairStart[islandOf[contact.first] + 1]++;
+    }
+    for (int i = 0; i < islandCount; i++) {
+        islands.bodyStart[i + 1] += islands.bodyStart[i];
+        islands.pairStart[i + 1] += islands.pairStart[i];
+    }
+
+    islands.bodies.resize(islands.bodyStart[islandCount]);
+    cursor.assign(islands.bodyStart.begin(), islands.bodyStart.end() - 1);
+    for (size_t i = 0; i < bodyCount; i++) {
+        if (islandOf[i] >= 0) islands.bodies[cursor[islandOf[i]]++] = static_cast<int>(i);
+    }
+
+    islands.pairs.resize(contacts.size());
+    cursor.assign(islands.pairStart.begin(), islands.pairStart.end() - 1);
+    for (const auto& contact : contacts) {
+        islands.pairs[cursor[islandOf[contact.first]]++] = contact;
+    }
+}
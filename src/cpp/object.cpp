@@ -3,7 +3,8 @@
 
 // Constructor with ID, mass, position, and velocity
 Object::Object(int id, float mass, const Vector2D& position, const Vector2D& velocity)
-    : id(id), mass(mass), position(position), velocity(velocity), acceleration(0, 0), netForce(0, 0) {}
+    : id(id), mass(mass), position(position), velocity(velocity), acceleration(0, 0), netForce(0, 0),
+      collider(nullptr), store(nullptr), slot(-1) {}
 
 // Get the object's unique ID
 int Object::getID() const {
@@ -12,64 +13,99 @@ int Object::getID() const {
 
 // Update position based on velocity and deltaTime
 void Object::updatePosition(float deltaTime) {
-    position += velocity * deltaTime;
+    getPosition() += getVelocity() * deltaTime;
 }
 
 // Getters and setters
 float Object::getMass() const {
-    return mass;
+    return store ? store->mass[slot] : mass;
 }
 
 void Object::setMass(float mass) {
-    this->mass = mass;
+    if (store) {
+        store->setMass(slot, mass);
+    } else {
+        this->mass = mass;
+    }
 }
 
 const Vector2D& Object::getPosition() const {
-    return position;
+    return store ? store->position[slot] : position;
 }
 
 void Object::setPosition(const Vector2D& position) {
-    this->position = position;
+    getPosition() = position;
 }
 
 const Vector2D& Object::getVelocity() const {
-    return velocity;
+    return store ? store->velocity[slot] : velocity;
 }
 
 void Object::setVelocity(const Vector2D& velocity) {
-    this->velocity = velocity;
+    getVelocity() = velocity;
 }
 
 const Vector2D& Object::getAcceleration() const {
-    return acceleration;
+    return store ? store->acceleration[slot] : acceleration;
 }
 
 // Apply force to the object
 void Object::applyForce(const Vector2D& force) {
-    netForce += force;
+    if (store) {
+        store->netForce[slot] += force;
+    } else {
+        netForce += force;
+    }
 }
 
 // Update object's state
 void Object::update(float deltaTime) {
-    acceleration = calculateAcceleration();
-    velocity += acceleration * deltaTime;
+    Vector2D& acc = getAcceleration();
+    acc = calculateAcceleration();
+    getVelocity() += acc * deltaTime;
     updatePosition(deltaTime);  // Move the object
 }
 
 // Reset accumulated forces
 void Object::resetForces() {
-    netForce = Vector2D(0, 0);
+    if (store) {
+        store->netForce[slot] = Vector2D(0, 0);
+    } else {
+        netForce = Vector2D(0, 0);
+    }
 }
 
 // Helper function to calculate acceleration
 Vector2D Object::calculateAcceleration() const {
-    return mass > 0 ? netForce / mass : Vector2D(0, 0);
+    float currentMass = getMass();
+    const Vector2D& force = store ? store->netForce[slot] : netForce;
+    return currentMass > 0 ? force / currentMass : Vector2D(0, 0);
+}
+
+// Attach the object to a store slot that already holds its state
+void Object::bindToStore(BodyStore* store, int slot) {
+    this->store = store;
+    this->slot = slot;
+}
+
+// Copy the slot back into the members and detach
+void Object::unbindFromStore() {
+    if (!store) return;
+
+    mass = store->mass[slot];
+    position = store->position[slot];
+    velocity = store->velocity[slot];
+    acceleration = store->acceleration[slot];
+    netForce = store->netForce[slot];
+    store = nullptr;
+    slot = -1;
 }
 
 // Constructor for Square
 Square::Square(int id, float mass, const Vector2D& position, const Vector2D& velocity, float sideLength)
-    : Object(id, mass, position, velocity), sideLength(sideLength) {
-    collider = new AABBCollider(position, sideLength, sideLength);
+    : Object(id, mass, position, velocity), sideLength(sideLength),
+      box(position, sideLength, sideLength) {
+    collider = &box;
 }
 
 float Square::getSideLength() const {
@@ -86,8 +122,9 @@ float Square::calculateArea() const {
 
 // Constructor for Rectangle
 Rectangle::Rectangle(int id, float mass, const Vector2D& position, const Vector2D& velocity, float width, float height)
-    : Object(id, mass, position, velocity), width(width), height(height) {
-    collider = new AABBCollider(position, width, height);
+    : Object(id, mass, position, velocity), width(width), height(height),
+      box(position, width, height) {
+    collider = &box;
 }
 
 float Rectangle::getWidth() const {
@@ -109,8 +146,9 @@ float Rectangle::calculateArea() const {
 
 // Constructor for Circle
 Circle::Circle(int id, float mass, const Vector2D& position, const Vector2D& velocity, float radius)
-    : Object(id, mass, position, velocity), radius(radius) {
-    collider = new CircleCollider(position, radius);
+    : Object(id, mass, position, velocity), radius(radius),
+      circle(position, radius) {
+    collider = &circle;
 }
 
 float Circle::getRadius() const {
@@ -127,8 +165,9 @@ float Circle::calculateArea() const {
 
 // Constructor for CustomShape
 CustomShape::CustomShape(int id, float mass, const Vector2D& position, const Vector2D& velocity, const std::vector<Vector2D>& vertices)
-    : Object(id, mass, position, velocity), vertices(vertices) {
-    collider = new AABBCollider(position, calculateBoundingBoxWidth(), calculateBoundingBoxHeight());
+    : Object(id, mass, position, velocity), vertices(vertices),
+      box(position, calculateBoundingBoxWidth(), calculateBoundingBoxHeight()) {
+    collider = &box;
 }
 
 const std::vector<Vector2D>& CustomShape::getVertices() const {
@@ -138,8 +177,9 @@ const std::vector<Vector2D>& CustomShape::getVertices() const {
 void CustomShape::setVertices(const std::vector<Vector2D>& vertices) {
     this->vertices = vertices;
     // Update the collider when vertices change
-    delete collider;
-    collider = new AABBCollider(position, calculateBoundingBoxWidth(), calculateBoundingBoxHeight());
+    box.position = getPosition();
+    box.width = calculateBoundingBoxWidth();
+    box.height = calculateBoundingBoxHeight();
 }
 
 float CustomShape::calculateArea() const {
@@ -0,0 +1,158 @@
+#include "physics_capi.h"
+#include "physics_native.h"
+
+// Every entry point is a thin wrapper over the same world operations the
+// JNI functions use, so both bindings drive identical simulations.
+
+static PhysicsWorld* toWorld(int64_t world) {
+    return reinterpret_cast<PhysicsWorld*>(static_cast<intptr_t>(world));
+}
+
+int64_t physics_create_world(void) {
+    return static_cast<int64_t>(reinterpret_cast<intptr_t>(new PhysicsWorld()));
+}
+
+void physics_delete_world(int64_t world) {
+    destroyWorld(toWorld(world));
+}
+
+int physics_add_object(int64_t world, int32_t id, double mass,
+                       double posX, double posY, double velX, double velY,
+                       int32_t shape, double dim0, double dim1, int32_t dimCount) {
+    const double dims[] = { dim0, dim1 };
+    return addWorldObject(toWorld(world), id, mass, Vector2D(posX, posY), Vector2D(velX, velY),
+                          static_cast<char>(shape), dims, dimCount < 2 ? dimCount : 2) ? 1 : 0;
+}
+
+int physics_remove_object(int64_t world, int32_t id) {
+    return removeWorldObject(toWorld(world), id) ? 1 : 0;
+}
+
+int physics_remove_objects(int64_t world, const int32_t* ids, int32_t count) {
+    static_assert(sizeof(int32_t) == sizeof(int), "Ids are passed through as int");
+    if (!ids || count <= 0) return 0;
+    return removeWorldObjects(toWorld(world), reinterpret_cast<const int*>(ids), count);
+}
+
+int physics_flush_commands(int64_t world, const void* data, int64_t length) {
+    if (!data || length <= 0) return 0;
+    return applyWorldCommands(toWorld(world), data, static_cast<size_t>(length));
+}
+
+void physics_get_pool_stats(int64_t world, int32_t* out) {
+    const BodyPool& pool = toWorld(world)->bodyPool;
+    out[PHYSICS_POOL_STAT_LIVE] = static_cast<int32_t>(pool.getLiveCount());
+    out[PHYSICS_POOL_STAT_POOLED] = static_cast<int32_t>(pool.getPooledCount());
+    out[PHYSICS_POOL_STAT_CAPACITY] = static_cast<int32_t>(pool.getCapacity());
+}
+
+void physics_configure_forces(int64_t world, int32_t choice, const double* params, int32_t count) {
+    configureWorldForces(toWorld(world), choice, params, count);
+}
+
+void physics_configure_world(int64_t world, int32_t option, const double* params, int32_t count) {
+    configureWorldOption(toWorld(world), option, params, count);
+}
+
+void physics_step(int64_t world, double deltaTime) {
+    PhysicsWorld* physicsWorld = toWorld(world);
+    stepWorld(physicsWorld, deltaTime);
+    syncStateBuffer(physicsWorld);
+}
+
+double physics_step_fixed(int64_t world, double frameDelta) {
+    return stepWorldFixed(toWorld(world), frameDelta);
+}
+
+void physics_handle_collisions(int64_t world) {
+    PhysicsWorld* physicsWorld = toWorld(world);
+    solveCollisions(physicsWorld);
+    syncStateBuffer(physicsWorld);
+    publishTelemetry(physicsWorld);
+}
+
+int physics_get_object_state(int64_t world, int32_t id, double* out) {
+    PhysicsWorld* physicsWorld = toWorld(world);
+    int slot = findObjectSlot(physicsWorld, id);
+    if (slot < 0) return 0;
+
+    const Object* obj = physicsWorld->objects[slot];
+    const Vector2D& pos = obj->getPosition();
+    const Vector2D& vel = obj->getVelocity();
+    const Vector2D& acc = obj->getAcceleration();
+    out[PHYSICS_STATE_POS_X] = pos.x;
+    out[PHYSICS_STATE_POS_Y] = pos.y;
+    out[PHYSICS_STATE_VEL_X] = vel.x;
+    out[PHYSICS_STATE_VEL_Y] = vel.y;
+    out[PHYSICS_STATE_ACC_X] = acc.x;
+    out[PHYSICS_STATE_ACC_Y] = acc.y;
+    return 1;
+}
+
+int physics_update_object_state(int64_t world, int32_t id,
+                                double posX, double posY, double velX, double velY) {
+    return setObjectState(toWorld(world), id, Vector2D(posX, posY), Vector2D(velX, velY)) ? 1 : 0;
+}
+
+int physics_is_world_asleep(int64_t world) {
+    return worldAsleep(toWorld(world)) ? 1 : 0;
+}
+
+int physics_save_world(int64_t world, const char* path) {
+    return saveWorld(toWorld(world), path) ? 1 : 0;
+}
+
+int64_t physics_load_world(const char* path) {
+    return static_cast<int64_t>(reinterpret_cast<intptr_t>(loadWorld(path)));
+}
+
+int physics_enable_telemetry(int64_t world, const char* path, int32_t frameCount, int32_t maxBodies) {
+    return enableTelemetry(toWorld(world), path, frameCount, maxBodies) ? 1 : 0;
+}
+
+int physics_get_step_profile(int64_t world, int64_t* out) {
+    static_assert(static_cast<int>(PHYSICS_PROFILE_FIELD_COUNT) == static_cast<int>(PROFILE_FIELD_COUNT), "Profile fields are shared with step_profile.h");
+    StepProfile& profile = toWorld(world)->profile;
+    if (!profile.isEnabled()) return 0;
+
+    profile.take(out);
+    return 1;
+}
+
+int physics_get_contact_cache_stats(int64_t world, int64_t* out) {
+    const ContactCache& cache = toWorld(world)->contactCache;
+    if (!cache.isEnabled()) return 0;
+
+    const ContactCacheStats& stats = cache.getStats();
+    out[PHYSICS_CONTACT_STAT_LOOKUPS] = stats.lookups;
+    out[PHYSICS_CONTACT_STAT_HITS] = stats.hits;
+    out[PHYSICS_CONTACT_STAT_ITERATIONS] = stats.iterations;
+    out[PHYSICS_CONTACT_STAT_ITERATIONS_SAVED] = stats.iterationsSaved;
+    out[PHYSICS_CONTACT_STAT_CACHED] = static_cast<int64_t>(cache.size());
+    return 1;
+}
+
+void* physics_get_state_buffer(int64_t world, int64_t* sizeInBytes) {
+    PhysicsWorld* physicsWorld = toWorld(world);
+    enableStateBuffer(physicsWorld);
+
+    if (sizeInBytes) {
+        *sizeInBytes = static_cast<int64_t>(physicsWorld->stateBuffer.sizeInBytes());
+    }
+    return physicsWorld->stateBuffer.data();
+}
+
+int physics_get_body_arrays(int64_t world, PhysicsBodyArrays* out) {
+    PhysicsWorld* physicsWorld = toWorld(world);
+    if (!physicsWorld->useBodyStore) return 0;
+
+    BodyStore& store = physicsWorld->bodyStore;
+    static_assert(sizeof(Vector2D) == 2 * sizeof(float), "Body arrays expose Vector2D as float pairs");
+
+    out->count = static_cast<int64_t>(store.size());
+    out->id = store.id.data();
+    out->position = reinterpret_cast<float*>(store.position.data());
+    out->velocity = reinterpret_cast<float*>(store.velocity.data());
+    out->acceleration = reinterpret_cast<float*>(store.acceleration.data());
+    return 1;
+}
@@ -9,7 +9,384 @@ bool detectCollision(Object* objA, Object* objB) {
     Collider* colliderA = objA->getCollider();
     Collider* colliderB = objB->getCollider();
     
-    return (colliderA && colliderB && colliderA->checkCollision(*colliderB));
+    return (colliderA && colliderB && detectColliders(*colliderA, *colliderB));
+}
+
+// Narrowphase test between two slots, reading the store when it is in use
+bool bodiesCollide(const PhysicsWorld* world, int a, int b) {
+    return world->useBodyStore
+        ? world->bodyStore.overlaps(a, b)
+        : detectCollision(world->objects[a], world->objects[b]);
+}
+
+// Collect the slots of every colliding pair using the world's broadphase.
+// Pairs come out in the same order as the legacy all-pairs loop, so both
+// paths resolve contacts identically.
+void findCollidingPairs(PhysicsWorld* world, std::vector<std::pair<int, int>>& collidingPairs) {
+    const std::vector<Object*>& objects = world->objects;
+    const SleepTracker& sleep = world->sleep;
+    world->sleep.resize(objects.size());
+
+    StepProfile& profile = world->profile;
+    const size_t found = collidingPairs.size();
+
+    if (world->broadphaseMode != BROADPHASE_ALL_PAIRS) {
+        {
+            PhaseTimer timer(profile, PROFILE_BROADPHASE_NANOS);
+            if (world->useBodyStore) {
+                world->bodyStore.gatherBounds(world->bounds);
+            } else {
+                gatherColliderBounds(objects, world->bounds);
+            }
+
+            if (world->broadphaseMode == BROADPHASE_SWEEP_AND_PRUNE) {
+                world->sweepAndPrune.findPairs(world->bounds, world->candidatePairs);
+            } else {
+                world->spatialHash.findPairs(world->bounds, world->candidatePairs);
+            }
+        }
+
+        PhaseTimer timer(profile, PROFILE_NARROWPHASE_NANOS);
+        for (const auto& candidate : world->candidatePairs) {
+            // Two sleeping bodies cannot start touching
+            if (sleep.isPairAsleep(candidate.first, candidate.second)) continue;
+
+            if (bodiesCollide(world, candidate.first, candidate.second)) {
+                collidingPairs.push_back(candidate);
+            }
+        }
+        profile.add(PROFILE_CANDIDATE_PAIRS, static_cast<int64_t>(world->candidatePairs.size()));
+        profile.add(PROFILE_CONTACTS, static_cast<int64_t>(collidingPairs.size() - found));
+        return;
+    }
+
+    // Without a broadphase every pair is a candidate
+    PhaseTimer timer(profile, PROFILE_NARROWPHASE_NANOS);
+    for (size_t i = 0; i < objects.size(); i++) {
+        for (size_t j = i + 1; j < objects.size(); j++) {
+            if (sleep.isPairAsleep(static_cast<int>(i), static_cast<int>(j))) continue;
+
+            if (bodiesCollide(world, static_cast<int>(i), static_cast<int>(j))) {
+                collidingPairs.push_back({static_cast<int>(i), static_cast<int>(j)});
+            }
+        }
+    }
+    const int64_t count = static_cast<int64_t>(objects.size());
+    profile.add(PROFILE_CANDIDATE_PAIRS, count * (count - 1) / 2);
+    profile.add(PROFILE_CONTACTS, static_cast<int64_t>(collidingPairs.size() - found));
+}
+
+// Apply the collision response for every pair, in order
+void resolvePairs(PhysicsWorld* world, const std::vector<std::pair<int, int>>& pairs) {
+    for (const auto& pair : pairs) {
+        Object* objA = world->objects[pair.first];
+        Object* objB = world->objects[pair.second];
+        Collider* colliderA = objA->getCollider();
+        Collider* colliderB = objB->getCollider();
+
+        if (colliderA && colliderB) {
+            // A contact wakes a sleeping body; only the body's own entry changes
+            world->sleep.wake(pair.first);
+            world->sleep.wake(pair.second);
+
+            // Shape pair is picked by tag through the dispatch table
+            resolveColliders(*colliderA, *colliderB, *objA, *objB);
+
+            // The responses correct object positions; per-object colliders
+            // must follow or the next iteration sees the old overlap
+            if (!world->useBodyStore) {
+                syncColliderPosition(objA);
+                syncColliderPosition(objB);
+            }
+        }
+    }
+}
+
+// Bounds entry used by the per-island sweep
+struct IslandSweepEntry {
+    Vector2D min;
+    Vector2D max;
+    int body;
+};
+
+// Re-detect the contacts among the bodies of one island with a sort and
+// sweep along x. Only the island's own bodies are read, so islands can run
+// on different threads.
+static void findIslandPairs(const PhysicsWorld* world, const int* bodies, size_t count,
+                            std::vector<IslandSweepEntry>& sweep, std::vector<std::pair<int, int>>& pairs) {
+    sweep.clear();
+    for (size_t i = 0; i < count; i++) {
+        IslandSweepEntry entry;
+        entry.body = bodies[i];
+        if (world->useBodyStore) {
+            world->bodyStore.getBounds(entry.body, entry.min, entry.max);
+        } else {
+            Collider* collider = world->objects[entry.body]->getCollider();
+            if (!collider) continue;
+            collider->getBounds(entry.min, entry.max);
+        }
+        sweep.push_back(entry);
+    }
+
+    std::sort(sweep.begin(), sweep.end(), [](const IslandSweepEntry& a, const IslandSweepEntry& b) {
+        return a.min.x < b.min.x || (a.min.x == b.min.x && a.body < b.body);
+    });
+
+    pairs.clear();
+    for (size_t i = 0; i < sweep.size(); i++) {
+        for (size_t j = i + 1; j < sweep.size() && sweep[j].min.x <= sweep[i].max.x; j++) {
+            if (sweep[j].min.y > sweep[i].max.y || sweep[i].min.y > sweep[j].max.y) continue;
+
+            int a = std::min(sweep[i].body, sweep[j].body);
+            int b = std::max(sweep[i].body, sweep[j].body);
+            if (bodiesCollide(world, a, b)) {
+                pairs.push_back({a, b});
+            }
+        }
+    }
+
+    // Same order the all-pairs loop would visit them in
+    std::sort(pairs.begin(), pairs.end());
+}
+
+// Islands below this count per thread are solved inline
+const size_t MIN_ISLANDS_PER_CHUNK = 4;
+
+// Split the contacts into islands and resolve them independently. Each
+// island iterates until it has no contacts left or runs out of iterations.
+void solveIslands(PhysicsWorld* world, int maxIterations) {
+    std::vector<std::pair<int, int>>& contacts = world->contactPairs;
+    contacts.clear();
+    findCollidingPairs(world, contacts);
+    world->sleep.recordContacts(contacts);
+
+    {
+        PhaseTimer timer(world->profile, PROFILE_ISLAND_NANOS);
+        world->islandBuilder.build(world->objects.size(), contacts, world->islands);
+    }
+    const IslandSet& islands = world->islands;
+    const size_t islandCount = islands.size();
+    world->islandIterations.assign(islandCount, 0);
+
+    PhaseTimer timer(world->profile, PROFILE_RESOLVE_NANOS);
+
+    // Cached contacts are prepared in island order, so island i owns
+    // solverContacts[pairStart[i] .. pairStart[i + 1]); the cache is only
+    // read, never grown, by the workers
+    const bool cached = world->contactCache.isEnabled();
+    if (cached) {
+        world->contactCache.beginPass();
+        prepareContacts(world, islands.pairs);
+    }
+
+    world->workerPool.parallelFor(islandCount, MIN_ISLANDS_PER_CHUNK, [&](size_t begin, size_t end) {
+        std::vector<std::pair<int, int>> pairs;
+        std::vector<IslandSweepEntry> sweep;
+
+        for (size_t island = begin; island < end; island++) {
+            const int* bodies = islands.bodies.data() + islands.bodyStart[island];
+            size_t bodyCount = islands.bodyStart[island + 1] - islands.bodyStart[island];
+            pairs.assign(islands.pairs.begin() + islands.pairStart[island],
+                         islands.pairs.begin() + islands.pairStart[island + 1]);
+
+            if (cached) {
+                size_t first = islands.pairStart[island];
+                world->islandIterations[island] = solveCachedContacts(
+                    world, world->solverContacts.data() + first, islands.pairStart[island + 1] - first, maxIterations);
+                continue;
+            }
+
+            int iteration = 0;
+            while (!pairs.empty()) {
+                resolvePairs(world, pairs);
+                if (++iteration == maxIterations) break;
+                findIslandPairs(world, bodies, bodyCount, sweep, pairs);
+            }
+            world->islandIterations[island] = iteration;
+        }
+    });
+
+    IslandStats stats;
+    stats.islandCount = static_cast<int>(islandCount);
+    stats.bodiesInIslands = static_cast<int>(islands.bodies.size());
+    stats.contactCount = static_cast<int>(contacts.size());
+    for (size_t island = 0; island < islandCount; island++) {
+        int bodies = islands.bodyStart[island + 1] - islands.bodyStart[island];
+        stats.largestIsland = std::max(stats.largestIsland, bodies);
+        stats.maxIterations = std::max(stats.maxIterations, world->islandIterations[island]);
+        stats.totalIterations += world->islandIterations[island];
+    }
+    world->islandStats = stats;
+
+    if (cached) {
+        world->contactCache.countIterations(stats.totalIterations,
+                                            static_cast<int64_t>(islandCount) * maxIterations - stats.totalIterations);
+    }
+}
+
+// Coefficients of the cached solver, the ones the collider responses use
+const float BOX_RESTITUTION = 0.4f;
+const float BOX_FRICTION = 0.3f;
+const float CIRCLE_RESTITUTION = 0.8f;
+const float CIRCLE_FRICTION = 0.2f;
+const float CONTACT_SLOP = 0.01f;   // Overlap left alone
+
+// Share of a box overlap pushed out per pass. Twice the collider's share,
+// since it is applied once per pass rather than once per iteration.
+const float CONTACT_CORRECTION_PERCENT = 0.4f;
+
+// Slower approaches do not bounce, so resting contacts settle
+const float CONTACT_BOUNCE_SPEED = 1.0f;
+
+// Iterations stop once no contact changes its relative velocity by more than this
+const float CONTACT_CONVERGED_SPEED = 0.01f;
+
+// Box a body covers at its current position
+static void getBodyBox(const Object* obj, Vector2D& min, Vector2D& max) {
+    Vector2D size = getBodySize(obj);
+    min = obj->getPosition();
+    if (obj->getCollider()->getType() == COLLIDER_CIRCLE) {
+        min -= size * 0.5f;
+    }
+    max = min + size;
+}
+
+// Look up the contacts of a pass in the cache, in pair order. Each one gets
+// its normal, overlapping boxes are pushed apart and the bounce target is
+// fixed from the approach speed, then the impulses the contact ended the
+// previous pass with are applied again so the iterations start close to
+// the answer.
+void prepareContacts(PhysicsWorld* world, const std::vector<std::pair<int, int>>& pairs) {
+    std::vector<SolverContact>& contacts = world->solverContacts;
+    contacts.clear();
+
+    for (const auto& pair : pairs) {
+        Object* objA = world->objects[pair.first];
+        Object* objB = world->objects[pair.second];
+        SolverContact contact = { pair.first, pair.second, nullptr, Vector2D(0, 0), 0.0f };
+
+        // Kept without a cache entry, which solveContacts skips, so contacts
+        // stay in step with pairs
+        if (!objA->getCollider() || !objB->getCollider()) {
+            contacts.push_back(contact);
+            continue;
+        }
+
+        world->sleep.wake(pair.first);
+        world->sleep.wake(pair.second);
+
+        Vector2D minA, maxA, minB, maxB;
+        getBodyBox(objA, minA, maxA);
+        getBodyBox(objB, minB, maxB);
+        Vector2D between = (minB + maxB - minA - maxA) * 0.5f;
+
+        float invMassA = 1.0f / objA->getMass();
+        float invMassB = 1.0f / objB->getMass();
+        float restitution;
+
+        if (objA->getCollider()->getType() == COLLIDER_CIRCLE) {
+            contact.normal = between.lengthSquared() > 0 ? between.normalized() : Vector2D(0, 1);
+            restitution = CIRCLE_RESTITUTION;
+            contact.friction = CIRCLE_FRICTION;
+        } else {
+            // Normal along the axis of least overlap
+            float overlapX = std::min(maxA.x, maxB.x) - std::max(minA.x, minB.x);
+            float overlapY = std::min(maxA.y, maxB.y) - std::max(minA.y, minB.y);
+            float penetration;
+            if (overlapX < overlapY) {
+                contact.normal = Vector2D(between.x < 0 ? -1.0f : 1.0f, 0.0f);
+                penetration = overlapX;
+            } else {
+                contact.normal = Vector2D(0.0f, between.y < 0 ? -1.0f : 1.0f);
+                penetration = overlapY;
+            }
+            restitution = BOX_RESTITUTION;
+            contact.friction = BOX_FRICTION;
+
+            Vector2D correction = contact.normal *
+                (std::max(penetration - CONTACT_SLOP, 0.0f) * CONTACT_CORRECTION_PERCENT / (invMassA + invMassB));
+            objA->getPosition() -= correction * invMassA;
+            objB->getPosition() += correction * invMassB;
+            if (!world->useBodyStore) {
+                syncColliderPosition(objA);
+                syncColliderPosition(objB);
+            }
+        }
+
+        // The cache keeps the normal as the body with the lower id sees it
+        float side = objA->getID() <= objB->getID() ? 1.0f : -1.0f;
+        bool warm;
+        CachedContact& cached = world->contactCache.touch(objA->getID(), objB->getID(), contact.normal * side, warm);
+        contact.cached = &cached;
+
+        Vector2D& velA = objA->getVelocity();
+        Vector2D& velB = objB->getVelocity();
+        float approach = (velB - velA).dot(contact.normal);
+        cached.velocityBias = approach < -CONTACT_BOUNCE_SPEED ? -restitution * approach : 0.0f;
+
+        if (warm) {
+            Vector2D tangent(-contact.normal.y, contact.normal.x);
+            Vector2D impulse = contact.normal * cached.normalImpulse + tangent * cached.tangentImpulse;
+            velA -= impulse * invMassA;
+            velB += impulse * invMassB;
+        }
+        contacts.push_back(contact);
+    }
+}
+
+// One sequential-impulse iteration over a run of prepared contacts. Each
+// contact keeps the total impulse of the pass so far and only that total is
+// clamped: it may never pull the bodies together, and friction stays within
+// the normal impulse. Returns the largest change of relative velocity.
+float solveContacts(PhysicsWorld* world, SolverContact* contacts, size_t count) {
+    float largestChange = 0;
+
+    for (size_t i = 0; i < count; i++) {
+        const SolverContact& contact = contacts[i];
+        if (!contact.cached) continue;
+
+        CachedContact& cached = *contact.cached;
+        Object* objA = world->objects[contact.a];
+        Object* objB = world->objects[contact.b];
+        Vector2D& velA = objA->getVelocity();
+        Vector2D& velB = objB->getVelocity();
+        float invMassA = 1.0f / objA->getMass();
+        float invMassB = 1.0f / objB->getMass();
+        float invMassSum = invMassA + invMassB;
+        const Vector2D& normal = contact.normal;
+        Vector2D tangent(-normal.y, normal.x);
+
+        float velocityAlongNormal = (velB - velA).dot(normal);
+        float total = std::max(cached.normalImpulse + (cached.velocityBias - velocityAlongNormal) / invMassSum, 0.0f);
+        float change = total - cached.normalImpulse;
+        cached.normalImpulse = total;
+        velA -= normal * (change * invMassA);
+        velB += normal * (change * invMassB);
+        largestChange = std::max(largestChange, std::abs(change) * invMassSum);
+
+        float velocityAlongTangent = (velB - velA).dot(tangent);
+        float limit = contact.friction * cached.normalImpulse;
+        total = std::min(std::max(cached.tangentImpulse - velocityAlongTangent / invMassSum, -limit), limit);
+        change = total - cached.tangentImpulse;
+        cached.tangentImpulse = total;
+        velA -= tangent * (change * invMassA);
+        velB += tangent * (change * invMassB);
+        largestChange = std::max(largestChange, std::abs(change) * invMassSum);
+    }
+    return largestChange;
+}
+
+// Iterate a run of prepared contacts until they stop changing or run out
+// of iterations; returns the iterations run
+int solveCachedContacts(PhysicsWorld* world, SolverContact* contacts, size_t count, int maxIterations) {
+    if (count == 0) return 0;
+
+    int iteration = 0;
+    while (iteration < maxIterations) {
+        iteration++;
+        if (solveContacts(world, contacts, count) < CONTACT_CONVERGED_SPEED) break;
+    }
+    return iteration;
 }
 
 void resolveCollision(Object* objA, Object* objB) {
@@ -40,127 +417,455 @@ void updateObjectPhysics(Object* obj, double deltaTime) {
     obj->update(deltaTime);
 }
 
+// Width and height a body covers from its position, the way the GUI draws
+// it: boxes from their top-left corner, circles as a diameter-sized square
+Vector2D getBodySize(const Object* obj) {
+    const Collider* collider = obj->getCollider();
+    if (!collider) return Vector2D(0, 0);
+
+    switch (collider->getType()) {
+        case COLLIDER_AABB: {
+            const AABBCollider* box = static_cast<const AABBCollider*>(collider);
+            return Vector2D(box->width, box->height);
+        }
+        case COLLIDER_CIRCLE: {
+            const CircleCollider* circle = static_cast<const CircleCollider*>(collider);
+            return Vector2D(circle->radius * 2, circle->radius * 2);
+        }
+        default:
+            return Vector2D(0, 0);
+    }
+}
+
+// Push a body back inside the walls, bouncing it off every wall it is
+// moving into. Returns true if the body was outside.
+bool applyWorldBounds(const WorldBounds& bounds, Vector2D& position, Vector2D& velocity, const Vector2D& size) {
+    bool outside = false;
+
+    // Bottom wall
+    if (position.y + size.y > bounds.bottom) {
+        position.y = bounds.bottom - size.y;
+        if (velocity.y > 0) {
+            velocity.y = -velocity.y * bounds.restitution;
+            velocity.x *= (1.0f - bounds.friction);
+        }
+        outside = true;
+    }
+
+    // Top wall
+    if (position.y < bounds.top) {
+        position.y = bounds.top;
+        if (velocity.y < 0) {
+            velocity.y = -velocity.y * bounds.restitution;
+            velocity.x *= (1.0f - bounds.friction);
+        }
+        outside = true;
+    }
+
+    // Right wall
+    if (position.x + size.x > bounds.right) {
+        position.x = bounds.right - size.x;
+        if (velocity.x > 0) {
+            velocity.x = -velocity.x * bounds.restitution;
+            velocity.y *= (1.0f - bounds.friction);
+        }
+        outside = true;
+    }
+
+    // Left wall
+    if (position.x < bounds.left) {
+        position.x = bounds.left;
+        if (velocity.x < 0) {
+            velocity.x = -velocity.x * bounds.restitution;
+            velocity.y *= (1.0f - bounds.friction);
+        }
+        outside = true;
+    }
+
+    return outside;
+}
+
+// Move the collider to the object's position
+void syncColliderPosition(Object* obj) {
+    Collider* collider = obj->getCollider();
+    if (!collider) return;
+
+    switch (collider->getType()) {
+        case COLLIDER_AABB:
+            static_cast<AABBCollider*>(collider)->position = obj->getPosition();
+            break;
+        case COLLIDER_CIRCLE:
+            static_cast<CircleCollider*>(collider)->center = obj->getPosition();
+            break;
+        default:
+            break;
+    }
+}
+
+// Bodies below this count per thread are not worth handing to a worker
+const size_t MIN_BODIES_PER_CHUNK = 256;
+
+// Reset, force and integrate every object, split across the world's workers.
+// Each body only reads the world settings and writes its own state.
+void integrateObjects(PhysicsWorld* world, double deltaTime) {
+    const std::vector<Object*>& objects = world->objects;
+    SleepTracker& sleep = world->sleep;
+    sleep.resize(objects.size());
+
+    world->workerPool.parallelFor(objects.size(), MIN_BODIES_PER_CHUNK, [&](size_t begin, size_t end) {
+        for (size_t i = begin; i < end; i++) {
+            if (sleep.isAsleep(i)) continue;
+
+            Object* obj = objects[i];
+            obj->resetForces();
+            applyForces(obj, world);
+            updateObjectPhysics(obj, deltaTime);
+
+            if (world->worldBounds.enabled) {
+                applyWorldBounds(world->worldBounds, obj->getPosition(), obj->getVelocity(), getBodySize(obj));
+            }
+            // Collision detection reads the collider, which keeps its own copy of the position
+            syncColliderPosition(obj);
+            sleep.recordSpeed(i, obj->getVelocity().length());
+        }
+    });
+}
+
+// Integrate every body straight from the structure-of-arrays store. Same
+// force model as applyForces + Object::update, without touching the objects.
+void integrateBodyStore(PhysicsWorld* world, double deltaTime) {
+    BodyStore& store = world->bodyStore;
+    const bool gravityEnabled = Forces::isGravityEnabled();
+    const float dt = static_cast<float>(deltaTime);
+
+    Vector2D* position = store.position.data();
+    Vector2D* velocity = store.velocity.data();
+    Vector2D* acceleration = store.acceleration.data();
+    Vector2D* netForce = store.netForce.data();
+    const float* mass = store.mass.data();
+    const float* inverseMass = store.inverseMass.data();
+    SleepTracker& sleep = world->sleep;
+    sleep.resize(store.size());
+
+    world->workerPool.parallelFor(store.size(), MIN_BODIES_PER_CHUNK, [&](size_t begin, size_t end) {
+        for (size_t i = begin; i < end; i++) {
+            if (sleep.isAsleep(i)) continue;
+
+            Vector2D force(0, 0);
+
+            // Gravity
+            if (gravityEnabled && mass[i] > 0) {
+                force += Vector2D(0, world->gravity * mass[i]);
+            }
+
+            // Friction if near ground
+            if (std::abs(position[i].y - world->groundLevel) < world->GROUND_THRESHOLD) {
+                float speed = velocity[i].length();
+                if (speed < world->VELOCITY_THRESHOLD) {
+                    // Static friction only holds a body that is fully at rest
+                    if (speed == 0) {
+                        force -= Vector2D(0, 1) * (world->staticFriction * mass[i]);
+                    }
+                } else {
+                    force += velocity[i].normalized() * -1 * (world->kineticFriction * mass[i]);
+                }
+            }
+
+            netForce[i] = force;
+            acceleration[i] = force * inverseMass[i];
+            velocity[i] += acceleration[i] * dt;
+            position[i] += velocity[i] * dt;
+
+            if (world->worldBounds.enabled) {
+                Vector2D size = store.shape[i] == SHAPE_CIRCLE ? store.extent[i] * 2 : store.extent[i];
+                applyWorldBounds(world->worldBounds, position[i], velocity[i], size);
+            }
+            sleep.recordSpeed(i, velocity[i].length());
+        }
+    });
+}
+
+// Put bodies that have rested long enough to sleep, using the contacts of
+// the latest handleCollisions to keep touching bodies together
+void updateSleep(PhysicsWorld* world) {
+    world->sleep.resize(world->objects.size());
+
+    for (int slot : world->sleep.update(world->islandBuilder)) {
+        Object* obj = world->objects[slot];
+        obj->setVelocity(Vector2D(0, 0));
+        obj->getAcceleration() = Vector2D(0, 0);
+    }
+}
+
+// Integrate every awake body by one step, then let resting bodies sleep
+void stepWorld(PhysicsWorld* world, double deltaTime) {
+    if (world->telemetry.isOpen()) {
+        world->telemetry.markStep(deltaTime);
+    }
+    world->profile.add(PROFILE_STEPS, 1);
+
+    {
+        PhaseTimer timer(world->profile, PROFILE_INTEGRATE_NANOS);
+        storePreviousPositions(world);
+
+        if (world->useBodyStore) {
+            integrateBodyStore(world, deltaTime);
+        } else {
+            integrateObjects(world, deltaTime);
+        }
+    }
+
+    PhaseTimer timer(world->profile, PROFILE_SLEEP_NANOS);
+    updateSleep(world);
+}
+
+// Detect and resolve contacts with the selected solver
+void solveCollisions(PhysicsWorld* world) {
+    const int maxIterations = 4; // Maximum iterations for collision resolution
+    world->profile.add(PROFILE_COLLISION_PASSES, 1);
+
+    if (world->collisionSolver == SOLVER_ISLANDS) {
+        solveIslands(world, maxIterations);
+        world->profile.add(PROFILE_ITERATIONS, world->islandStats.totalIterations);
+        return;
+    }
+
+    std::vector<std::pair<int, int>>& collidingPairs = world->contactPairs;
+    IslandStats stats;
+
+    if (world->contactCache.isEnabled()) {
+        // Contacts are found once and iterated from their cached impulses;
+        // bodies that start touching meanwhile are picked up next pass
+        collidingPairs.clear();
+        findCollidingPairs(world, collidingPairs);
+        world->sleep.recordContacts(collidingPairs);
+
+        PhaseTimer timer(world->profile, PROFILE_RESOLVE_NANOS);
+        world->contactCache.beginPass();
+        prepareContacts(world, collidingPairs);
+        int iterations = solveCachedContacts(world, world->solverContacts.data(),
+                                             world->solverContacts.size(), maxIterations);
+        if (iterations > 0) {
+            world->contactCache.countIterations(iterations, maxIterations - iterations);
+        }
+
+        stats.contactCount = static_cast<int>(collidingPairs.size());
+        stats.maxIterations = stats.totalIterations = iterations;
+        world->islandStats = stats;
+        world->profile.add(PROFILE_ITERATIONS, stats.totalIterations);
+        return;
+    }
+    
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+        collidingPairs.clear();
+        
+        // First pass: Detect all collisions
+        findCollidingPairs(world, collidingPairs);
+        
+        if (collidingPairs.empty()) {
+            break; // No more collisions to resolve
+        }
+        if (iteration == 0) {
+            stats.contactCount = static_cast<int>(collidingPairs.size());
+            world->sleep.recordContacts(collidingPairs);
+        }
+        stats.maxIterations = stats.totalIterations = iteration + 1;
+        
+        // Second pass: Resolve collisions
+        PhaseTimer timer(world->profile, PROFILE_RESOLVE_NANOS);
+        resolvePairs(world, collidingPairs);
+    }
+
+    world->islandStats = stats;
+    world->profile.add(PROFILE_ITERATIONS, stats.totalIterations);
+}
+
+// Remember where every body is before it moves
+void storePreviousPositions(PhysicsWorld* world) {
+    if (world->useBodyStore) {
+        world->previousPositions = world->bodyStore.position;
+        return;
+    }
+
+    world->previousPositions.resize(world->objects.size());
+    for (size_t i = 0; i < world->objects.size(); i++) {
+        world->previousPositions[i] = world->objects[i]->getPosition();
+    }
+}
+
 bool isNearGround(const Object* obj, const PhysicsWorld* world) {
     return std::abs(obj->getPosition().y - world->groundLevel) < world->GROUND_THRESHOLD;
 }
 
-// JNI implementations
-JNIEXPORT jlong JNICALL Java_JAVA_jni_PhysicsEngineJNI_createPhysicsWorld
-  (JNIEnv* env, jclass)
-{
-    return reinterpret_cast<jlong>(new PhysicsWorld());
+// Slot of the object with the given id, or -1 if there is none
+int findObjectSlot(const PhysicsWorld* world, int id) {
+    return world->bodyIndex.find(id);
 }
 
-JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_deletePhysicsWorld
-  (JNIEnv* env, jclass, jlong worldPtr)
-{
-    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+// Publish the current body state to the shared buffer if Java is reading it
+void syncStateBuffer(PhysicsWorld* world) {
+    if (!world->stateBuffer.isEnabled()) return;
+
+    if (world->useBodyStore) {
+        world->stateBuffer.refresh(world->bodyStore, world->previousPositions);
+    } else {
+        world->stateBuffer.refresh(world->objects, world->previousPositions);
+    }
+}
+
+// Write a frame to the telemetry ring if one is open; called after every collision pass
+void publishTelemetry(PhysicsWorld* world) {
+    TelemetryRing& ring = world->telemetry;
+    if (!ring.isOpen()) return;
+
+    const size_t count = world->objects.size();
+    const size_t written = std::min(count, ring.getMaxBodies());
+    TelemetryFrame* frame = ring.beginFrame();
+    if (world->useBodyStore) {
+        fillStateRecords(ring.records(frame), world->bodyStore, world->previousPositions, written);
+    } else {
+        fillStateRecords(ring.records(frame), world->objects, world->previousPositions, written);
+    }
+
+    world->sleep.resize(count);
+    int awake = 0;
+    for (size_t slot = 0; slot < count; slot++) {
+        if (!world->sleep.isAsleep(slot)) awake++;
+    }
+
+    frame->bodyCount = static_cast<int32_t>(written);
+    frame->totalBodies = static_cast<int32_t>(count);
+    frame->awakeBodies = awake;
+    frame->candidatePairs = static_cast<int32_t>(world->candidatePairs.size());
+    frame->contactCount = world->islandStats.contactCount;
+    frame->islandCount = world->islandStats.islandCount;
+    frame->iterations = world->islandStats.totalIterations;
+    if (worldAsleep(world)) frame->flags |= TELEMETRY_WORLD_ASLEEP;
+    ring.endFrame(frame);
+}
+
+// World operations shared by the JNI functions and the C API
+
+void destroyWorld(PhysicsWorld* world) {
     for (auto* obj : world->objects) {
-        delete obj;
+        world->bodyPool.destroy(obj);
     }
     delete world;
 }
 
-JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_addObject
-  (JNIEnv* env, jclass, jlong worldPtr, jint id, jdouble mass, 
-   jdouble posX, jdouble posY, jdouble velX, jdouble velY,
-   jchar shape, jdoubleArray dimensions)
-{
-    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
-    jdouble* dims = env->GetDoubleArrayElements(dimensions, nullptr);
-    jsize dimsLength = env->GetArrayLength(dimensions);
-    
-    Vector2D position(posX, posY);
-    Vector2D velocity(velX, velY);
+// Adds a body; false if the shape is unknown or dimensions are missing.
+// The broadphase and state buffer are not refreshed, so a batch of changes
+// pays for that once (see refreshWorldBodies)
+bool addBody(PhysicsWorld* world, int id, double mass, const Vector2D& position,
+             const Vector2D& velocity, char shape, const double* dims, int dimsLength) {
     Object* obj = nullptr;
 
     try {
         switch (shape) {
             case 'R':
                 if (dimsLength >= 2) {
-                    obj = new Rectangle(id, mass, position, velocity, dims[0], dims[1]);
+                    obj = world->bodyPool.create<Rectangle>(id, mass, position, velocity, dims[0], dims[1]);
                 }
                 break;
             case 'C':
                 if (dimsLength >= 1) {
-                    obj = new Circle(id, mass, position, velocity, dims[0]);
+                    obj = world->bodyPool.create<Circle>(id, mass, position, velocity, dims[0]);
                 }
                 break;
             case 'S':
                 if (dimsLength >= 1) {
-                    obj = new Square(id, mass, position, velocity, dims[0]);
+                    obj = world->bodyPool.create<Square>(id, mass, position, velocity, dims[0]);
                 }
                 break;
         }
-        
-        if (obj) {
-            world->objects.push_back(obj);
-        }
     } catch (const std::exception& e) {
-        // Handle exception
+        return false;
     }
 
-    env->ReleaseDoubleArrayElements(dimensions, dims, JNI_ABORT);
+    if (!obj) return false;
+
+    // The first object added with an id keeps it for lookups
+    world->bodyIndex.insert(id, static_cast<int>(world->objects.size()));
+    world->objects.push_back(obj);
+    if (world->useBodyStore) {
+        world->bodyStore.add(obj);
+    }
+    return true;
 }
 
-JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_handleCollisions
-  (JNIEnv* env, jclass, jlong worldPtr)
-{
-    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
-    const int maxIterations = 4; // Maximum iterations for collision resolution
-    
-    for (int iteration = 0; iteration < maxIterations; iteration++) {
-        std::vector<std::pair<Object*, Object*>> collidingPairs;
-        
-        // First pass: Detect all collisions
-        for (size_t i = 0; i < world->objects.size(); i++) {
-            for (size_t j = i + 1; j < world->objects.size(); j++) {
-                if (detectCollision(world->objects[i], world->objects[j])) {
-                    collidingPairs.push_back({world->objects[i], world->objects[j]});
-                }
-            }
-        }
-        
-        if (collidingPairs.empty()) {
-            break; // No more collisions to resolve
-        }
-        
-        // Second pass: Resolve collisions
-        for (const auto& pair : collidingPairs) {
-            Collider* colliderA = pair.first->getCollider();
-            Collider* colliderB = pair.second->getCollider();
-            
-            if (colliderA && colliderB) {
-                // Handle all collider type combinations
-                if (auto* aabbA = dynamic_cast<AABBCollider*>(colliderA)) {
-                    if (auto* aabbB = dynamic_cast<AABBCollider*>(colliderB)) {
-                        // AABB vs AABB collision
-                        aabbA->resolveCollision(*pair.first, *pair.second);
-                    } else if (auto* circleB = dynamic_cast<CircleCollider*>(colliderB)) {
-                        // AABB vs Circle collision
-                        aabbA->resolveCollision(*pair.first, *pair.second);
-                    }
-                } else if (auto* circleA = dynamic_cast<CircleCollider*>(colliderA)) {
-                    if (auto* circleB = dynamic_cast<CircleCollider*>(colliderB)) {
-                        // Circle vs Circle collision
-                        circleA->resolveCollision(*pair.first, *pair.second);
-                    } else if (auto* aabbB = dynamic_cast<AABBCollider*>(colliderB)) {
-                        // Circle vs AABB collision
-                        circleA->resolveCollision(*pair.first, *pair.second);
-                    }
-                }
-            }
+bool addWorldObject(PhysicsWorld* world, int id, double mass, const Vector2D& position,
+                    const Vector2D& velocity, char shape, const double* dims, int dimsLength) {
+    if (!addBody(world, id, mass, position, velocity, shape, dims, dimsLength)) return false;
+
+    refreshWorldBodies(world);
+    return true;
+}
+
+// Swap-remove the body the id finds: the last body takes its slot in every
+// per-slot structure, and its block goes back to the pool. The broadphase
+// and the state buffer are left for the caller to refresh.
+bool removeBody(PhysicsWorld* world, int id) {
+    int slot = world->bodyIndex.find(id);
+    if (slot < 0) return false;
+
+    std::vector<Object*>& objects = world->objects;
+    Object* removed = objects[slot];
+    const int last = static_cast<int>(objects.size()) - 1;
+    Object* moved = slot != last ? objects[last] : nullptr;
+
+    world->bodyIndex.erase(id);
+    if (moved) {
+        objects[slot] = moved;
+        // A duplicate id is not indexed, and stays that way
+        if (world->bodyIndex.find(moved->getID()) == last) {
+            world->bodyIndex.update(moved->getID(), slot);
         }
     }
+    objects.pop_back();
+
+    if (world->useBodyStore) {
+        world->bodyStore.remove(slot, moved);
+    }
+    std::vector<Vector2D>& previous = world->previousPositions;
+    if (static_cast<size_t>(last) < previous.size()) {
+        previous[slot] = previous[last];
+        previous.pop_back();
+    }
+    world->sleep.remove(slot);
+
+    world->bodyPool.destroy(removed);
+    return true;
 }
 
-JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureForces
-  (JNIEnv* env, jclass, jlong worldPtr, jint choice, jdoubleArray params)
-{
-    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
-    jdouble* values = env->GetDoubleArrayElements(params, nullptr);
-    jsize length = env->GetArrayLength(params);
+// Removes a body; false if no body has the id
+bool removeWorldObject(PhysicsWorld* world, int id) {
+    if (!removeBody(world, id)) return false;
 
+    refreshWorldBodies(world);
+    return true;
+}
+
+// Removes every body the ids find and returns how many there were
+int removeWorldObjects(PhysicsWorld* world, const int* ids, int count) {
+    int removed = 0;
+    for (int i = 0; i < count; i++) {
+        if (removeBody(world, ids[i])) removed++;
+    }
+
+    if (removed > 0) {
+        refreshWorldBodies(world);
+    }
+    return removed;
+}
+
+// After bodies were added or removed: the sweep and prune order no longer
+// matches the slots and the state buffer has to be rebuilt
+void refreshWorldBodies(PhysicsWorld* world) {
+    world->sweepAndPrune.reset();
+    syncStateBuffer(world);
+}
+
+void configureWorldForces(PhysicsWorld* world, int choice, const double* values, int length) {
     switch (choice) {
         case 1:
             if (length >= 2) {
@@ -174,6 +879,242 @@ JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureForces
             }
             break;
     }
+}
+
+void configureWorldOption(PhysicsWorld* world, int option, const double* values, int length) {
+    switch (option) {
+        case WORLD_OPTION_BROADPHASE:
+            if (length >= 1) {
+                int mode = static_cast<int>(values[0]);
+                if (mode >= BROADPHASE_ALL_PAIRS && mode <= BROADPHASE_SWEEP_AND_PRUNE) {
+                    world->broadphaseMode = mode;
+                    world->sweepAndPrune.reset();
+                }
+                if (length >= 2) {
+                    world->spatialHash.setCellSize(static_cast<float>(values[1]));
+                }
+            }
+            break;
+        case WORLD_OPTION_BODY_STORAGE:
+            if (length >= 1) {
+                bool enable = values[0] != 0;
+                if (enable && !world->useBodyStore) {
+                    for (auto* obj : world->objects) {
+                        world->bodyStore.add(obj);
+                    }
+                } else if (!enable && world->useBodyStore) {
+                    world->bodyStore.release(world->objects);
+                }
+                world->useBodyStore = enable;
+                world->sweepAndPrune.reset();
+            }
+            break;
+        case WORLD_OPTION_THREAD_COUNT:
+            if (length >= 1) {
+                world->workerPool.setThreadCount(static_cast<int>(values[0]));
+            }
+            break;
+        case WORLD_OPTION_COLLISION_SOLVER:
+            if (length >= 1) {
+                int solver = static_cast<int>(values[0]);
+                if (solver == SOLVER_GLOBAL || solver == SOLVER_ISLANDS) {
+                    world->collisionSolver = solver;
+                }
+            }
+            break;
+        case WORLD_OPTION_BOUNDS:
+            if (length >= 4) {
+                WorldBounds& bounds = world->worldBounds;
+                bounds.left = static_cast<float>(values[0]);
+                bounds.top = static_cast<float>(values[1]);
+                bounds.right = static_cast<float>(values[2]);
+                bounds.bottom = static_cast<float>(values[3]);
+                bounds.enabled = bounds.right > bounds.left && bounds.bottom > bounds.top;
+                if (length >= 6) {
+                    bounds.restitution = static_cast<float>(values[4]);
+                    bounds.friction = static_cast<float>(values[5]);
+                }
+            }
+            break;
+        case WORLD_OPTION_FIXED_STEP:
+            if (length >= 1) {
+                int maxSubsteps = length >= 2 ? static_cast<int>(values[1]) : world->fixedStep.getMaxSubsteps();
+                world->fixedStep.configure(values[0], maxSubsteps);
+            }
+            break;
+        case WORLD_OPTION_SLEEP:
+            if (length >= 1) {
+                int steps = length >= 2 ? static_cast<int>(values[1]) : world->sleep.getRequiredSteps();
+                world->sleep.resize(world->objects.size());
+                world->sleep.configure(static_cast<float>(values[0]), steps);
+            }
+            break;
+        case WORLD_OPTION_PROFILE:
+            if (length >= 1) {
+                world->profile.setEnabled(values[0] != 0);
+            }
+            break;
+        case WORLD_OPTION_CONTACT_CACHE:
+            if (length >= 1) {
+                world->contactCache.setEnabled(values[0] != 0);
+            }
+            break;
+    }
+}
+
+// Advances the fixed-step clock by one frame; returns the blend factor
+double stepWorldFixed(PhysicsWorld* world, double frameDelta) {
+    FixedTimestep& clock = world->fixedStep;
+
+    // Each substep is a full step plus a collision pass, like one GUI frame
+    int steps = clock.advance(frameDelta);
+    for (int i = 0; i < steps; i++) {
+        stepWorld(world, clock.getStepSize());
+        solveCollisions(world);
+        publishTelemetry(world);
+    }
+
+    if (steps > 0) {
+        syncStateBuffer(world);
+    }
+    return clock.getAlpha();
+}
+
+// Moves a body from outside the simulation; false if the id is unknown
+bool setObjectState(PhysicsWorld* world, int id, const Vector2D& position, const Vector2D& velocity) {
+    int slot = findObjectSlot(world, id);
+    if (slot < 0) return false;
+
+    Object* obj = world->objects[slot];
+
+    // Any external update wakes the body; a real push or teleport also
+    // restarts its rest count, small corrections (e.g. resting on a
+    // boundary) let it settle again
+    world->sleep.resize(world->objects.size());
+    bool moved = (position - obj->getPosition()).length() > world->SLEEP_POSITION_TOLERANCE ||
+                 velocity.length() >= world->sleep.getVelocityThreshold();
+    if (moved) {
+        world->sleep.reset(slot);
+    } else {
+        world->sleep.wake(slot);
+    }
+
+    obj->setPosition(position);
+    obj->setVelocity(velocity);
+
+    // Update the collider position
+    syncColliderPosition(obj);
+
+    // Moved from outside the simulation: nothing to interpolate
+    if (static_cast<size_t>(slot) < world->previousPositions.size()) {
+        world->previousPositions[slot] = position;
+    }
+
+    if (world->stateBuffer.isEnabled()) {
+        world->stateBuffer.refreshRecord(slot, obj);
+    }
+    return true;
+}
+
+// Adds impulse / mass to a body's velocity and wakes it; false if there is
+// no such body or it has no mass
+bool applyWorldImpulse(PhysicsWorld* world, int id, const Vector2D& impulse) {
+    int slot = findObjectSlot(world, id);
+    if (slot < 0) return false;
+
+    Object* obj = world->objects[slot];
+    float mass = obj->getMass();
+    if (mass <= 0) return false;
+
+    // A push, so the body starts counting its rest again
+    world->sleep.resize(world->objects.size());
+    world->sleep.reset(slot);
+    obj->setVelocity(obj->getVelocity() + impulse * (1.0f / mass));
+
+    if (world->stateBuffer.isEnabled()) {
+        world->stateBuffer.refreshRecord(slot, obj);
+    }
+    return true;
+}
+
+// Start publishing on first request; the block may grow while refreshing
+void enableStateBuffer(PhysicsWorld* world) {
+    world->stateBuffer.setEnabled(true);
+    syncStateBuffer(world);
+}
+
+bool worldAsleep(PhysicsWorld* world) {
+    world->sleep.resize(world->objects.size());
+    return world->sleep.isEnabled() && world->sleep.isWorldAsleep();
+}
+
+// Publish to a ring file at path from now on, or stop when path is null
+bool enableTelemetry(PhysicsWorld* world, const char* path, int frameCount, int maxBodies) {
+    if (!path) {
+        world->telemetry.close();
+        return true;
+    }
+    return world->telemetry.open(path, frameCount, maxBodies);
+}
+
+// JNI implementations
+JNIEXPORT jlong JNICALL Java_JAVA_jni_PhysicsEngineJNI_createPhysicsWorld
+  (JNIEnv* env, jclass)
+{
+    return reinterpret_cast<jlong>(new PhysicsWorld());
+}
+
+JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_deletePhysicsWorld
+  (JNIEnv* env, jclass, jlong worldPtr)
+{
+    destroyWorld(reinterpret_cast<PhysicsWorld*>(worldPtr));
+}
+
+JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_addObject
+  (JNIEnv* env, jclass, jlong worldPtr, jint id, jdouble mass, 
+   jdouble posX, jdouble posY, jdouble velX, jdouble velY,
+   jchar shape, jdoubleArray dimensions)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    jdouble* dims = env->GetDoubleArrayElements(dimensions, nullptr);
+    jsize dimsLength = env->GetArrayLength(dimensions);
+
+    addWorldObject(world, id, mass, Vector2D(posX, posY), Vector2D(velX, velY),
+                   static_cast<char>(shape), dims, dimsLength);
+
+    env->ReleaseDoubleArrayElements(dimensions, dims, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_handleCollisions
+  (JNIEnv* env, jclass, jlong worldPtr)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+
+    solveCollisions(world);
+    syncStateBuffer(world);
+    publishTelemetry(world);
+}
+
+JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureForces
+  (JNIEnv* env, jclass, jlong worldPtr, jint choice, jdoubleArray params)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    jdouble* values = env->GetDoubleArrayElements(params, nullptr);
+    jsize length = env->GetArrayLength(params);
+
+    configureWorldForces(world, choice, values, length);
+
+    env->ReleaseDoubleArrayElements(params, values, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_configureWorld
+  (JNIEnv* env, jclass, jlong worldPtr, jint option, jdoubleArray params)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    jdouble* values = env->GetDoubleArrayElements(params, nullptr);
+    jsize length = env->GetArrayLength(params);
+
+    configureWorldOption(world, option, values, length);
 
     env->ReleaseDoubleArrayElements(params, values, JNI_ABORT);
 }
@@ -183,11 +1124,14 @@ JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_stepSimulation
 {
     auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
     
-    for (auto* obj : world->objects) {
-        obj->resetForces();
-        applyForces(obj, world);
-        updateObjectPhysics(obj, deltaTime);
-    }
+    stepWorld(world, deltaTime);
+    syncStateBuffer(world);
+}
+
+JNIEXPORT jdouble JNICALL Java_JAVA_jni_PhysicsEngineJNI_stepFixed
+  (JNIEnv* env, jclass, jlong worldPtr, jdouble frameDelta)
+{
+    return stepWorldFixed(reinterpret_cast<PhysicsWorld*>(worldPtr), frameDelta);
 }
 
 JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getObjectState
@@ -195,11 +1139,10 @@ JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getObjectState
 {
     auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
     
-    auto it = std::find_if(world->objects.begin(), world->objects.end(),
-        [objectId](const Object* obj) { return obj->getID() == objectId; });
+    int slot = findObjectSlot(world, objectId);
     
-    if (it != world->objects.end()) {
-        Object* obj = *it;
+    if (slot >= 0) {
+        Object* obj = world->objects[slot];
         
         jclass objectStateClass = env->FindClass("JAVA/ObjectState");
         if (!objectStateClass) return nullptr;
@@ -224,28 +1167,184 @@ JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getObjectState
 JNIEXPORT void JNICALL Java_JAVA_jni_PhysicsEngineJNI_updateObjectState
   (JNIEnv* env, jclass, jlong worldPtr, jint objectId, jdouble posX, jdouble posY, 
    jdouble velX, jdouble velY)
+{
+    setObjectState(reinterpret_cast<PhysicsWorld*>(worldPtr), objectId,
+                   Vector2D(posX, posY), Vector2D(velX, velY));
+}
+
+JNIEXPORT jobject JNICALL Java_JAVA_jni_PhysicsEngineJNI_getStateBuffer
+  (JNIEnv* env, jclass, jlong worldPtr)
 {
     auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
-    
-    auto it = std::find_if(world->objects.begin(), world->objects.end(),
-        [objectId](const Object* obj) { return obj->getID() == objectId; });
-    
-    if (it != world->objects.end()) {
-        Object* obj = *it;
-        obj->setPosition(Vector2D(posX, posY));
-        obj->setVelocity(Vector2D(velX, velY));
 
-        // Update the collider position
-        Collider* collider = obj->getCollider();
-        if (collider) {
-            AABBCollider* aabbCollider = dynamic_cast<AABBCollider*>(collider);
-            if (aabbCollider) {
-                aabbCollider->position = Vector2D(posX, posY);
-            }
-            CircleCollider* circleCollider = dynamic_cast<CircleCollider*>(collider);
-            if (circleCollider) {
-                circleCollider->center = Vector2D(posX, posY);
-            }
-        }
+    enableStateBuffer(world);
+
+    return env->NewDirectByteBuffer(world->stateBuffer.data(),
+                                    static_cast<jlong>(world->stateBuffer.sizeInBytes()));
+}
+
+JNIEXPORT jintArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getIslandStats
+  (JNIEnv* env, jclass, jlong worldPtr)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    const IslandStats& stats = world->islandStats;
+
+    // Order matches the ISLAND_STAT_* constants in PhysicsEngineJNI.java
+    jint values[] = {
+        stats.islandCount,
+        stats.largestIsland,
+        stats.bodiesInIslands,
+        stats.contactCount,
+        stats.maxIterations,
+        stats.totalIterations
+    };
+    const jsize count = sizeof(values) / sizeof(values[0]);
+
+    jintArray result = env->NewIntArray(count);
+    if (result) {
+        env->SetIntArrayRegion(result, 0, count, values);
     }
-}
\ No newline at end of file
+    return result;
+}
+
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_isWorldAsleep
+  (JNIEnv* env, jclass, jlong worldPtr)
+{
+    return worldAsleep(reinterpret_cast<PhysicsWorld*>(worldPtr)) ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_saveWorld
+  (JNIEnv* env, jclass, jlong worldPtr, jstring path)
+{
+    const char* chars = env->GetStringUTFChars(path, nullptr);
+    if (!chars) return JNI_FALSE;
+
+    bool saved = saveWorld(reinterpret_cast<PhysicsWorld*>(worldPtr), chars);
+    env->ReleaseStringUTFChars(path, chars);
+    return saved ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT jlong JNICALL Java_JAVA_jni_PhysicsEngineJNI_loadWorld
+  (JNIEnv* env, jclass, jstring path)
+{
+    const char* chars = env->GetStringUTFChars(path, nullptr);
+    if (!chars) return 0;
+
+    PhysicsWorld* world = loadWorld(chars);
+    env->ReleaseStringUTFChars(path, chars);
+    return reinterpret_cast<jlong>(world);
+}
+
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_enableTelemetry
+  (JNIEnv* env, jclass, jlong worldPtr, jstring path, jint frameCount, jint maxBodies)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!path) {
+        return enableTelemetry(world, nullptr, 0, 0) ? JNI_TRUE : JNI_FALSE;
+    }
+
+    const char* chars = env->GetStringUTFChars(path, nullptr);
+    if (!chars) return JNI_FALSE;
+
+    bool enabled = enableTelemetry(world, chars, frameCount, maxBodies);
+    env->ReleaseStringUTFChars(path, chars);
+    return enabled ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT jlongArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getStepProfile
+  (JNIEnv* env, jclass, jlong worldPtr)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!world->profile.isEnabled()) return nullptr;
+
+    // Order matches the PROFILE_* constants in PhysicsEngineJNI.java
+    jlong values[PROFILE_FIELD_COUNT];
+    int64_t taken[PROFILE_FIELD_COUNT];
+    world->profile.take(taken);
+    std::copy(taken, taken + PROFILE_FIELD_COUNT, values);
+
+    jlongArray result = env->NewLongArray(PROFILE_FIELD_COUNT);
+    if (result) {
+        env->SetLongArrayRegion(result, 0, PROFILE_FIELD_COUNT, values);
+    }
+    return result;
+}
+
+JNIEXPORT jboolean JNICALL Java_JAVA_jni_PhysicsEngineJNI_removeObject
+  (JNIEnv* env, jclass, jlong worldPtr, jint id)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    return removeWorldObject(world, id) ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT jint JNICALL Java_JAVA_jni_PhysicsEngineJNI_removeObjects
+  (JNIEnv* env, jclass, jlong worldPtr, jintArray ids)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    if (!ids) return 0;
+
+    jint* values = env->GetIntArrayElements(ids, nullptr);
+    if (!values) return 0;
+    jsize count = env->GetArrayLength(ids);
+
+    int removed = removeWorldObjects(world, reinterpret_cast<const int*>(values), count);
+    env->ReleaseIntArrayElements(ids, values, JNI_ABORT);
+    return removed;
+}
+
+JNIEXPORT jintArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getPoolStats
+  (JNIEnv* env, jclass, jlong worldPtr)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    const BodyPool& pool = world->bodyPool;
+
+    // Order matches the POOL_STAT_* constants in PhysicsEngineJNI.java
+    jint values[] = {
+        static_cast<jint>(pool.getLiveCount()),
+        static_cast<jint>(pool.getPooledCount()),
+        static_cast<jint>(pool.getCapacity())
+    };
+    const jsize count = sizeof(values) / sizeof(values[0]);
+
+    jintArray result = env->NewIntArray(count);
+    if (result) {
+        env->SetIntArrayRegion(result, 0, count, values);
+    }
+    return result;
+}
+
+JNIEXPORT jint JNICALL Java_JAVA_jni_PhysicsEngineJNI_flushCommands
+  (JNIEnv* env, jclass, jlong worldPtr, jobject buffer, jint length)
+{
+    // Only direct buffers have an address; length never reaches past the end
+    void* data = env->GetDirectBufferAddress(buffer);
+    jlong capacity = env->GetDirectBufferCapacity(buffer);
+    if (!data || length <= 0 || capacity < length) return 0;
+
+    return applyWorldCommands(reinterpret_cast<PhysicsWorld*>(worldPtr), data, static_cast<size_t>(length));
+}
+
+JNIEXPORT jlongArray JNICALL Java_JAVA_jni_PhysicsEngineJNI_getContactCacheStats
+  (JNIEnv* env, jclass, jlong worldPtr)
+{
+    auto* world = reinterpret_cast<PhysicsWorld*>(worldPtr);
+    const ContactCache& cache = world->contactCache;
+    if (!cache.isEnabled()) return nullptr;
+
+    // Order matches the CONTACT_STAT_* constants in PhysicsEngineJNI.java
+    const ContactCacheStats& stats = cache.getStats();
+    jlong values[] = {
+        stats.lookups,
+        stats.hits,
+        stats.iterations,
+        stats.iterationsSaved,
+        static_cast<jlong>(cache.size())
+    };
+    const jsize count = sizeof(values) / sizeof(values[0]);
+
+    jlongArray result = env->NewLongArray(count);
+    if (result) {
+        env->SetLongArrayRegion(result, 0, count, values);
+    }
+    return result;
+}
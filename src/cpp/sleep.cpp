@@ -0,0 +1,146 @@
+#include "sleep.h"
+
+const float DEFAULT_SLEEP_VELOCITY = 0.5f;
+const int DEFAULT_SLEEP_STEPS = 60;
+
+SleepTracker::SleepTracker()
+    : velocityThreshold(DEFAULT_SLEEP_VELOCITY), requiredSteps(DEFAULT_SLEEP_STEPS) {}
+
+void SleepTracker::configure(float velocityThreshold, int steps) {
+    this->velocityThreshold = velocityThreshold;
+    this->requiredSteps = steps > 0 ? steps : 1;
+
+    if (!isEnabled()) {
+        for (size_t i = 0; i < asleep.size(); i++) {
+            reset(i);
+        }
+    }
+}
+
+bool SleepTracker::isEnabled() const {
+    return velocityThreshold > 0;
+}
+
+float SleepTracker::getVelocityThreshold() const {
+    return velocityThreshold;
+}
+
+int SleepTracker::getRequiredSteps() const {
+    return requiredSteps;
+}
+
+void SleepTracker::resize(size_t bodyCount) {
+    if (bodyCount == asleep.size()) return;
+
+    // Slots past the end no longer exist, so old contacts may point at them
+    if (bodyCount < asleep.size()) {
+        contacts.clear();
+    }
+    asleep.resize(bodyCount, 0);
+    restingSteps.resize(bodyCount, 0);
+}
+
+void SleepTracker::remove(size_t slot) {
+    if (slot >= asleep.size()) return;
+
+    restingSteps[slot] = restingSteps.back();
+    asleep.pop_back();
+    restingSteps.pop_back();
+    contacts.clear();
+
+    // The resting counts stay, so bodies that are still supported fall
+    // asleep again straight away
+    for (size_t i = 0; i < asleep.size(); i++) {
+        wake(i);
+    }
+}
+
+bool SleepTracker::isAsleep(size_t slot) const {
+    return slot < asleep.size() && asleep[slot];
+}
+
+bool SleepTracker::isPairAsleep(int a, int b) const {
+    return isAsleep(a) && isAsleep(b);
+}
+
+bool SleepTracker::isWorldAsleep() const {
+    for (uint8_t value : asleep) {
+        if (!value) return false;
+    }
+    return true;
+}
+
+void SleepTracker::recordSpeed(size_t slot, float speed) {
+    if (speed < velocityThreshold) {
+        if (restingSteps[slot] < requiredSteps) restingSteps[slot]++;
+    } else {
+        restingSteps[slot] = 0;
+    }
+}
+
+void SleepTracker::wake(size_t slot) {
+    setAsleep(slot, false);
+}
+
+void SleepTracker::reset(size_t slot) {
+    setAsleep(slot, false);
+    restingSteps[slot] = 0;
+}
+
+int SleepTracker::getRestingSteps(size_t slot) const {
+    return slot < restingSteps.size() ? restingSteps[slot] : 0;
+}
+
+void SleepTracker::restore(size_t slot, bool asleep, int restingSteps) {
+    if (restingSteps < 0) restingSteps = 0;
+    setAsleep(slot, asleep);
+    this->restingSteps[slot] = restingSteps < requiredSteps ? restingSteps : requiredSteps;
+}
+
+void SleepTracker::recordContacts(const std::vector<std::pair<int, int>>& contacts) {
+    this->contacts = contacts;
+}
+
+const std::vector<int>& SleepTracker::update(IslandBuilder& builder) {
+    fellAsleep.clear();
+    if (!isEnabled()) return fellAsleep;
+
+    const size_t bodyCount = asleep.size();
+    builder.build(bodyCount, contacts, islands);
+    inIsland.assign(bodyCount, 0);
+
+    // Touching bodies sleep and wake together
+    for (size_t island = 0; island < islands.size(); island++) {
+        int begin = islands.bodyStart[island];
+        int end = islands.bodyStart[island + 1];
+
+        bool rested = true;
+        for (int i = begin; i < end && rested; i++) {
+            rested = restingSteps[islands.bodies[i]] >= requiredSteps;
+        }
+
+        for (int i = begin; i < end; i++) {
+            int body = islands.bodies[i];
+            inIsland[body] = 1;
+            if (rested && !asleep[body]) fellAsleep.push_back(body);
+            setAsleep(body, rested);
+        }
+    }
+
+    // Bodies without contacts decide on their own
+    for (size_t body = 0; body < bodyCount; body++) {
+        if (inIsland[body]) continue;
+
+        bool rested = restingSteps[body] >= requiredSteps;
+        if (rested && !asleep[body]) fellAsleep.push_back(static_cast<int>(body));
+        setAsleep(body, rested);
+    }
+
+    return fellAsleep;
+}
+
+// Only touches the body's own entry, so islands solved on different
+// threads can wake their bodies concurrently
+void SleepTracker::setAsleep(size_t slot, bool value) {
+    asleep[slot] = value ? 1 : 0;
+}
@@ -0,0 +1,123 @@
+#include "state_buffer.h"
+#include <cstring>
+
+const size_t INITIAL_CAPACITY = 64;
+
+StateBuffer::StateBuffer() : capacity(0), enabled(false) {
+    reserve(INITIAL_CAPACITY);
+}
+
+StateHeader* StateBuffer::header() const {
+    return reinterpret_cast<StateHeader*>(block.get());
+}
+
+StateRecord* StateBuffer::records() const {
+    return reinterpret_cast<StateRecord*>(block.get() + sizeof(StateHeader));
+}
+
+void StateBuffer::reserve(size_t count) {
+    if (block && count <= capacity) return;
+
+    size_t newCapacity = capacity > 0 ? capacity : INITIAL_CAPACITY;
+    while (newCapacity < count) newCapacity *= 2;
+
+    size_t bytes = sizeof(StateHeader) + newCapacity * sizeof(StateRecord);
+    std::unique_ptr<unsigned char[]> newBlock(new unsigned char[bytes]);
+    std::memset(newBlock.get(), 0, bytes);
+
+    if (block) {
+        // Carry over the current contents, then flag the old block so Java re-fetches
+        std::memcpy(newBlock.get(), block.get(), sizeof(StateHeader) + capacity * sizeof(StateRecord));
+        header()->retired = 1;
+        retiredBlocks.push_back(std::move(block));
+    }
+
+    block = std::move(newBlock);
+    capacity = newCapacity;
+    header()->capacity = static_cast<int32_t>(capacity);
+    header()->retired = 0;
+}
+
+// Single record, with no motion to interpolate
+static void fillStateRecord(StateRecord& record, const Object* obj) {
+    const Vector2D& pos = obj->getPosition();
+    const Vector2D& vel = obj->getVelocity();
+    const Vector2D& acc = obj->getAcceleration();
+
+    record.id = obj->getID();
+    record.flags = 0;
+    record.posX = pos.x;
+    record.posY = pos.y;
+    record.velX = vel.x;
+    record.velY = vel.y;
+    record.accX = acc.x;
+    record.accY = acc.y;
+    record.prevX = pos.x;
+    record.prevY = pos.y;
+}
+
+void fillStateRecords(StateRecord* out, const std::vector<Object*>& objects,
+                      const std::vector<Vector2D>& previous, size_t count) {
+    for (size_t i = 0; i < count; i++) {
+        fillStateRecord(out[i], objects[i]);
+        if (i < previous.size()) {
+            out[i].prevX = previous[i].x;
+            out[i].prevY = previous[i].y;
+        }
+    }
+}
+
+void fillStateRecords(StateRecord* out, const BodyStore& store,
+                      const std::vector<Vector2D>& previous, size_t count) {
+    for (size_t i = 0; i < count; i++) {
+        out[i].id = store.id[i];
+        out[i].flags = 0;
+        out[i].posX = store.position[i].x;
+        out[i].posY = store.position[i].y;
+        out[i].velX = store.velocity[i].x;
+        out[i].velY = store.velocity[i].y;
+        out[i].accX = store.acceleration[i].x;
+        out[i].accY = store.acceleration[i].y;
+
+        const Vector2D& prev = i < previous.size() ? previous[i] : store.position[i];
+        out[i].prevX = prev.x;
+        out[i].prevY = prev.y;
+    }
+}
+
+void StateBuffer::refreshRecord(size_t slot, const Object* obj) {
+    fillStateRecord(records()[slot], obj);
+}
+
+void StateBuffer::refresh(const std::vector<Object*>& objects, const std::vector<Vector2D>& previous) {
+    reserve(objects.size());
+    fillStateRecords(records(), objects, previous, objects.size());
+
+    header()->bodyCount = static_cast<int32_t>(objects.size());
+    header()->revision++;
+}
+
+void StateBuffer::refresh(const BodyStore& store, const std::vector<Vector2D>& previous) {
+    size_t count = store.size();
+    reserve(count);
+    fillStateRecords(records(), store, previous, count);
+
+    header()->bodyCount = static_cast<int32_t>(count);
+    header()->revision++;
+}
+
+void* StateBuffer::data() const {
+    return block.get();
+}
+
+size_t StateBuffer::sizeInBytes() const {
+    return sizeof(StateHeader) + capacity * sizeof(StateRecord);
+}
+
+bool StateBuffer::isEnabled() const {
+    return enabled;
+}
+
+void StateBuffer::setEnabled(bool enabled) {
+    this->enabled = enabled;
+}
@@ -0,0 +1,44 @@
+#include "step_profile.h"
+#include <algorithm>
+
+StepProfile::StepProfile() : enabled(false) {
+    reset();
+}
+
+bool StepProfile::isEnabled() const {
+    return enabled;
+}
+
+void StepProfile::setEnabled(bool enabled) {
+    this->enabled = enabled;
+    reset();
+}
+
+void StepProfile::add(StepProfileField field, int64_t amount) {
+    if (enabled) {
+        values[field] += amount;
+    }
+}
+
+void StepProfile::take(int64_t* out) {
+    std::copy(values, values + PROFILE_FIELD_COUNT, out);
+    reset();
+}
+
+void StepProfile::reset() {
+    std::fill(values, values + PROFILE_FIELD_COUNT, 0);
+}
+
+PhaseTimer::PhaseTimer(StepProfile& profile, StepProfileField field)
+    : profile(profile.isEnabled() ? &profile : nullptr), field(field) {
+    if (this->profile) {
+        start = std::chrono::steady_clock::now();
+    }
+}
+
+PhaseTimer::~PhaseTimer() {
+    if (profile) {
+        auto elapsed = std::chrono::steady_clock::now() - start;
+        profile->add(field, std::chrono::duration_cast<std::chrono::nanoseconds>(elapsed).count());
+    }
+}
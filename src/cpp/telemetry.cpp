@@ -0,0 +1,147 @@
+#include "telemetry.h"
+#include <cstring>
+#include <new>
+
+#if defined(_WIN32)
+#include <windows.h>
+#else
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <unistd.h>
+#endif
+
+TelemetryRing::TelemetryRing()
+    : bytes(nullptr), length(0), frameSize(0), nextFrame(0), simTime(0), stepMarked(false)
+#if defined(_WIN32)
+    , file(INVALID_HANDLE_VALUE), mapping(nullptr)
+#endif
+{
+}
+
+TelemetryRing::~TelemetryRing() {
+    close();
+}
+
+TelemetryHeader* TelemetryRing::header() const {
+    return reinterpret_cast<TelemetryHeader*>(bytes);
+}
+
+bool TelemetryRing::open(const char* path, int frameCount, int maxBodies) {
+    close();
+    if (frameCount <= 0 || maxBodies <= 0) return false;
+
+    size_t slotSize = sizeof(TelemetryFrame) + static_cast<size_t>(maxBodies) * sizeof(StateRecord);
+    size_t total = sizeof(TelemetryHeader) + static_cast<size_t>(frameCount) * slotSize;
+
+#if defined(_WIN32)
+    HANDLE handle = CreateFileA(path, GENERIC_READ | GENERIC_WRITE, FILE_SHARE_READ | FILE_SHARE_WRITE,
+                                nullptr, OPEN_ALWAYS, FILE_ATTRIBUTE_NORMAL, nullptr);
+    if (handle == INVALID_HANDLE_VALUE) return false;
+    HANDLE view = CreateFileMappingA(handle, nullptr, PAGE_READWRITE,
+                                     static_cast<DWORD>(static_cast<uint64_t>(total) >> 32),
+                                     static_cast<DWORD>(total & 0xffffffffu), nullptr);
+    void* mapped = view ? MapViewOfFile(view, FILE_MAP_WRITE, 0, 0, total) : nullptr;
+    if (!mapped) {
+        if (view) CloseHandle(view);
+        CloseHandle(handle);
+        return false;
+    }
+    file = handle;
+    mapping = view;
+#else
+    // Resized rather than truncated: a reader still mapping the file from
+    // an earlier run would fault on pages that went away
+    int fd = ::open(path, O_RDWR | O_CREAT, 0644);
+    if (fd < 0) return false;
+    if (ftruncate(fd, static_cast<off_t>(total)) != 0) {
+        ::close(fd);
+        return false;
+    }
+    void* mapped = mmap(nullptr, total, PROT_READ | PROT_WRITE, MAP_SHARED, fd, 0);
+    ::close(fd);   // The mapping stays valid after the descriptor is closed
+    if (mapped == MAP_FAILED) return false;
+#endif
+
+    bytes = static_cast<unsigned char*>(mapped);
+    length = total;
+    frameSize = slotSize;
+    nextFrame = 0;
+    simTime = 0;
+    stepMarked = false;
+
+    // Clear what an earlier run left behind, so no slot reads as complete
+    TelemetryHeader* head = new (bytes) TelemetryHeader();
+    head->version = TELEMETRY_VERSION;
+    head->headerSize = sizeof(TelemetryHeader);
+    head->frameSize = static_cast<uint32_t>(frameSize);
+    head->frameCount = static_cast<uint32_t>(frameCount);
+    head->maxBodies = static_cast<uint32_t>(maxBodies);
+    head->recordSize = sizeof(StateRecord);
+    head->published.store(0, std::memory_order_relaxed);
+    for (int slot = 0; slot < frameCount; slot++) {
+        auto* frame = reinterpret_cast<TelemetryFrame*>(bytes + sizeof(TelemetryHeader) + slot * frameSize);
+        frame->sequence.store(0, std::memory_order_relaxed);
+    }
+
+    // Magic last, so a reader that sees it also sees the sizes
+    std::atomic_thread_fence(std::memory_order_release);
+    std::memcpy(head->magic, TELEMETRY_MAGIC, sizeof(head->magic));
+    return true;
+}
+
+void TelemetryRing::close() {
+    if (!bytes) return;
+#if defined(_WIN32)
+    UnmapViewOfFile(bytes);
+    CloseHandle(static_cast<HANDLE>(mapping));
+    CloseHandle(static_cast<HANDLE>(file));
+    file = INVALID_HANDLE_VALUE;
+    mapping = nullptr;
+#else
+    munmap(bytes, length);
+#endif
+    bytes = nullptr;
+    length = 0;
+}
+
+bool TelemetryRing::isOpen() const {
+    return bytes != nullptr;
+}
+
+size_t TelemetryRing::getMaxBodies() const {
+    return bytes ? header()->maxBodies : 0;
+}
+
+void TelemetryRing::markStep(double deltaTime) {
+    simTime += deltaTime;
+    stepMarked = true;
+    stepStart = std::chrono::steady_clock::now();
+}
+
+TelemetryFrame* TelemetryRing::beginFrame() {
+    size_t slot = static_cast<size_t>(nextFrame % header()->frameCount);
+    auto* frame = reinterpret_cast<TelemetryFrame*>(bytes + sizeof(TelemetryHeader) + slot * frameSize);
+
+    frame->sequence.store(nextFrame * 2 + 1, std::memory_order_relaxed);
+    std::atomic_thread_fence(std::memory_order_release);
+
+    frame->frame = nextFrame;
+    frame->flags = 0;
+    return frame;
+}
+
+StateRecord* TelemetryRing::records(TelemetryFrame* frame) const {
+    return reinterpret_cast<StateRecord*>(frame + 1);
+}
+
+void TelemetryRing::endFrame(TelemetryFrame* frame) {
+    frame->simTime = simTime;
+    frame->stepNanos = stepMarked
+        ? std::chrono::duration_cast<std::chrono::nanoseconds>(std::chrono::steady_clock::now() - stepStart).count()
+        : 0;
+    stepMarked = false;
+
+    frame->sequence.store(nextFrame * 2 + 2, std::memory_order_release);
+    nextFrame++;
+    header()->published.store(nextFrame, std::memory_order_release);
+}
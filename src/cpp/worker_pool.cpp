@@ -0,0 +1,99 @@
+#include "worker_pool.h"
+#include <algorithm>
+
+WorkerPool::WorkerPool()
+    : currentTask(nullptr), chunkSize(0), rangeEnd(0), generation(0), pending(0), stopping(false) {}
+
+WorkerPool::~WorkerPool() {
+    stopWorkers();
+}
+
+void WorkerPool::setThreadCount(int count) {
+    if (count < 1) {
+        count = std::max(1u, std::thread::hardware_concurrency());
+    }
+
+    if (static_cast<size_t>(count) == workers.size() + 1) return;
+
+    stopWorkers();
+    startWorkers(static_cast<size_t>(count) - 1);
+}
+
+int WorkerPool::getThreadCount() const {
+    return static_cast<int>(workers.size()) + 1;
+}
+
+void WorkerPool::parallelFor(size_t count, size_t minChunk, const RangeTask& task) {
+    size_t threads = workers.size() + 1;
+    size_t chunks = std::min(threads, count / std::max<size_t>(minChunk, 1));
+
+    if (chunks <= 1) {
+        task(0, count);
+        return;
+    }
+
+    size_t size = (count + chunks - 1) / chunks;
+    {
+        std::lock_guard<std::mutex> lock(mutex);
+        currentTask = &task;
+        chunkSize = size;
+        rangeEnd = count;
+        pending = workers.size();
+        generation++;
+    }
+    wakeWorkers.notify_all();
+
+    // The caller works on chunk 0 while the workers take the rest
+    task(0, std::min(size, count));
+
+    std::unique_lock<std::mutex> lock(mutex);
+    chunksDone.wait(lock, [this] { return pending == 0; });
+    currentTask = nullptr;
+}
+
+void WorkerPool::startWorkers(size_t count) {
+    stopping = false;
+    for (size_t i = 0; i < count; i++) {
+        workers.emplace_back(&WorkerPool::workerLoop, this, i + 1, generation);
+    }
+}
+
+void WorkerPool::stopWorkers() {
+    {
+        std::lock_guard<std::mutex> lock(mutex);
+        stopping = true;
+    }
+    wakeWorkers.notify_all();
+
+    for (auto& worker : workers) {
+        worker.join();
+    }
+    workers.clear();
+}
+
+void WorkerPool::workerLoop(size_t chunkIndex, unsigned long long seen) {
+    while (true) {
+        const RangeTask* task;
+        size_t begin, end;
+        {
+            std::unique_lock<std::mutex> lock(mutex);
+            wakeWorkers.wait(lock, [this, seen] { return stopping || generation != seen; });
+            if (stopping) return;
+
+            seen = generation;
+            task = currentTask;
+            begin = std::min(chunkIndex * chunkSize, rangeEnd);
+            end = std::min(begin + chunkSize, rangeEnd);
+        }
+
+        if (begin < end) {
+            (*task)(begin, end);
+        }
+
+        {
+            std::lock_guard<std::mutex> lock(mutex);
+            pending--;
+        }
+        chunksDone.notify_one();
+    }
+}
@@ -0,0 +1,260 @@
+#include "physics_native.h"
+#include "world_file.h"
+#include <cstdio>
+#include <cstring>
+
+#if defined(_WIN32)
+#include <windows.h>
+#else
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
+#endif
+
+// Bodies written per fwrite call while saving
+const size_t SAVE_CHUNK = 4096;
+
+// Read-only mapping of a whole file; empty if the file cannot be mapped
+class MappedFile {
+public:
+    explicit MappedFile(const char* path) : bytes(nullptr), length(0) {
+#if defined(_WIN32)
+        file = CreateFileA(path, GENERIC_READ, FILE_SHARE_READ, nullptr, OPEN_EXISTING,
+                           FILE_FLAG_SEQUENTIAL_SCAN, nullptr);
+        mapping = nullptr;
+        if (file == INVALID_HANDLE_VALUE) return;
+
+        LARGE_INTEGER fileSize;
+        if (!GetFileSizeEx(file, &fileSize) || fileSize.QuadPart == 0) return;
+        mapping = CreateFileMappingA(file, nullptr, PAGE_READONLY, 0, 0, nullptr);
+        if (!mapping) return;
+
+        bytes = static_cast<const unsigned char*>(MapViewOfFile(mapping, FILE_MAP_READ, 0, 0, 0));
+        if (bytes) length = static_cast<size_t>(fileSize.QuadPart);
+#else
+        int fd = open(path, O_RDONLY);
+        if (fd < 0) return;
+
+        struct stat info;
+        if (fstat(fd, &info) == 0 && info.st_size > 0) {
+            void* mapped = mmap(nullptr, static_cast<size_t>(info.st_size), PROT_READ, MAP_PRIVATE, fd, 0);
+            if (mapped != MAP_FAILED) {
+                // The loader reads the records once, front to back
+                madvise(mapped, static_cast<size_t>(info.st_size), MADV_SEQUENTIAL);
+                bytes = static_cast<const unsigned char*>(mapped);
+                length = static_cast<size_t>(info.st_size);
+            }
+        }
+        close(fd);   // The mapping stays valid after the descriptor is closed
+#endif
+    }
+
+    ~MappedFile() {
+#if defined(_WIN32)
+        if (bytes) UnmapViewOfFile(bytes);
+        if (mapping) CloseHandle(mapping);
+        if (file != INVALID_HANDLE_VALUE) CloseHandle(file);
+#else
+        if (bytes) munmap(const_cast<unsigned char*>(bytes), length);
+#endif
+    }
+
+    MappedFile(const MappedFile&) = delete;
+    MappedFile& operator=(const MappedFile&) = delete;
+
+    const unsigned char* data() const { return bytes; }
+    size_t size() const { return length; }
+
+private:
+    const unsigned char* bytes;
+    size_t length;
+#if defined(_WIN32)
+    HANDLE file;
+    HANDLE mapping;
+#endif
+};
+
+// Shape tag and dimensions of a body as addObject took them; false for
+// shapes that cannot be added through the API
+static bool describeShape(const Object* obj, WorldFileBody& body) {
+    if (const Rectangle* rectangle = dynamic_cast<const Rectangle*>(obj)) {
+        body.shape = 'R';
+        body.dim0 = rectangle->getWidth();
+        body.dim1 = rectangle->getHeight();
+        return true;
+    }
+    if (const Square* square = dynamic_cast<const Square*>(obj)) {
+        body.shape = 'S';
+        body.dim0 = square->getSideLength();
+        body.dim1 = 0;
+        return true;
+    }
+    if (const Circle* circle = dynamic_cast<const Circle*>(obj)) {
+        body.shape = 'C';
+        body.dim0 = circle->getRadius();
+        body.dim1 = 0;
+        return true;
+    }
+    return false;
+}
+
+static void writeHeader(PhysicsWorld* world, WorldFileHeader& header) {
+    std::memset(&header, 0, sizeof(header));
+    std::memcpy(header.magic, WORLD_FILE_MAGIC, sizeof(header.magic));
+    header.version = WORLD_FILE_VERSION;
+    header.headerSize = sizeof(WorldFileHeader);
+    header.recordSize = sizeof(WorldFileBody);
+    header.bodyCount = static_cast<int64_t>(world->objects.size());
+
+    header.gravity = world->gravity;
+    header.staticFriction = world->staticFriction;
+    header.kineticFriction = world->kineticFriction;
+    header.groundLevel = world->groundLevel;
+
+    const WorldBounds& bounds = world->worldBounds;
+    header.boundsEnabled = bounds.enabled ? 1 : 0;
+    header.boundsLeft = bounds.left;
+    header.boundsTop = bounds.top;
+    header.boundsRight = bounds.right;
+    header.boundsBottom = bounds.bottom;
+    header.wallRestitution = bounds.restitution;
+    header.wallFriction = bounds.friction;
+
+    header.sleepVelocity = world->sleep.getVelocityThreshold();
+    header.sleepSteps = world->sleep.getRequiredSteps();
+    header.maxSubsteps = world->fixedStep.getMaxSubsteps();
+    header.stepSize = world->fixedStep.getStepSize();
+
+    header.broadphaseMode = world->broadphaseMode;
+    header.cellSize = world->spatialHash.getCellSize();
+    header.bodyStorage = world->useBodyStore ? 1 : 0;
+    header.collisionSolver = world->collisionSolver;
+    header.threadCount = world->workerPool.getThreadCount();
+    header.contactCache = world->contactCache.isEnabled() ? 1 : 0;
+}
+
+// Writes every body and the world parameters; false if the file cannot be
+// written or the world holds a shape the format has no tag for
+bool saveWorld(PhysicsWorld* world, const char* path) {
+    world->sleep.resize(world->objects.size());
+
+    std::FILE* file = std::fopen(path, "wb");
+    if (!file) return false;
+
+    WorldFileHeader header;
+    writeHeader(world, header);
+    bool ok = std::fwrite(&header, sizeof(header), 1, file) == 1;
+
+    std::vector<WorldFileBody> chunk;
+    chunk.reserve(SAVE_CHUNK);
+    for (size_t slot = 0; ok && slot < world->objects.size(); slot++) {
+        const Object* obj = world->objects[slot];
+
+        WorldFileBody body;
+        std::memset(&body, 0, sizeof(body));
+        if (!describeShape(obj, body)) {
+            ok = false;
+            break;
+        }
+        body.id = obj->getID();
+        body.flags = world->sleep.isAsleep(slot) ? WORLD_FILE_ASLEEP : 0;
+        body.mass = obj->getMass();
+        body.posX = obj->getPosition().x;
+        body.posY = obj->getPosition().y;
+        body.velX = obj->getVelocity().x;
+        body.velY = obj->getVelocity().y;
+        body.accX = obj->getAcceleration().x;
+        body.accY = obj->getAcceleration().y;
+        body.restingSteps = world->sleep.getRestingSteps(slot);
+        chunk.push_back(body);
+
+        if (chunk.size() == SAVE_CHUNK || slot + 1 == world->objects.size()) {
+            ok = std::fwrite(chunk.data(), sizeof(WorldFileBody), chunk.size(), file) == chunk.size();
+            chunk.clear();
+        }
+    }
+
+    ok = std::fclose(file) == 0 && ok;
+    if (!ok) std::remove(path);
+    return ok;
+}
+
+static void applyHeader(PhysicsWorld* world, const WorldFileHeader& header) {
+    world->gravity = header.gravity;
+    world->staticFriction = header.staticFriction;
+    world->kineticFriction = header.kineticFriction;
+    world->groundLevel = header.groundLevel;
+
+    if (header.boundsEnabled) {
+        double bounds[] = { header.boundsLeft, header.boundsTop, header.boundsRight, header.boundsBottom,
+                            header.wallRestitution, header.wallFriction };
+        configureWorldOption(world, WORLD_OPTION_BOUNDS, bounds, 6);
+    }
+
+    double sleep[] = { header.sleepVelocity, static_cast<double>(header.sleepSteps) };
+    configureWorldOption(world, WORLD_OPTION_SLEEP, sleep, 2);
+    double fixedStep[] = { header.stepSize, static_cast<double>(header.maxSubsteps) };
+    configureWorldOption(world, WORLD_OPTION_FIXED_STEP, fixedStep, 2);
+
+    double broadphase[] = { static_cast<double>(header.broadphaseMode), header.cellSize };
+    configureWorldOption(world, WORLD_OPTION_BROADPHASE, broadphase, 2);
+    double solver = header.collisionSolver;
+    configureWorldOption(world, WORLD_OPTION_COLLISION_SOLVER, &solver, 1);
+    double threads = header.threadCount;
+    configureWorldOption(world, WORLD_OPTION_THREAD_COUNT, &threads, 1);
+    double contactCache = header.contactCache;
+    configureWorldOption(world, WORLD_OPTION_CONTACT_CACHE, &contactCache, 1);
+}
+
+// Maps the file and builds a new world from it; nullptr if the file cannot
+// be read, is not a world file or comes from an unknown version
+PhysicsWorld* loadWorld(const char* path) {
+    MappedFile file(path);
+    if (file.size() < sizeof(WorldFileHeader)) return nullptr;
+
+    WorldFileHeader header;
+    std::memcpy(&header, file.data(), sizeof(header));
+    if (std::memcmp(header.magic, WORLD_FILE_MAGIC, sizeof(header.magic)) != 0 ||
+        header.version != WORLD_FILE_VERSION ||
+        header.headerSize < sizeof(WorldFileHeader) ||
+        header.recordSize < sizeof(WorldFileBody) ||
+        header.headerSize > file.size() ||
+        header.bodyCount < 0 ||
+        static_cast<uint64_t>(header.bodyCount) > (file.size() - header.headerSize) / header.recordSize) {
+        return nullptr;
+    }
+
+    PhysicsWorld* world = new PhysicsWorld();
+    applyHeader(world, header);
+
+    const size_t count = static_cast<size_t>(header.bodyCount);
+    world->objects.reserve(count);
+    const unsigned char* record = file.data() + header.headerSize;
+    for (size_t slot = 0; slot < count; slot++, record += header.recordSize) {
+        WorldFileBody body;
+        std::memcpy(&body, record, sizeof(body));
+
+        double dims[] = { body.dim0, body.dim1 };
+        if (!addWorldObject(world, body.id, body.mass, Vector2D(body.posX, body.posY),
+                            Vector2D(body.velX, body.velY), static_cast<char>(body.shape), dims, 2) ||
+            world->objects.size() != slot + 1) {
+            destroyWorld(world);
+            return nullptr;
+        }
+        world->objects[slot]->getAcceleration() = Vector2D(body.accX, body.accY);
+    }
+
+    // Storage last, so a structure-of-arrays world copies every body in one pass
+    double storage = header.bodyStorage;
+    configureWorldOption(world, WORLD_OPTION_BODY_STORAGE, &storage, 1);
+
+    world->sleep.resize(count);
+    record = file.data() + header.headerSize;
+    for (size_t slot = 0; slot < count; slot++, record += header.recordSize) {
+        WorldFileBody body;
+        std::memcpy(&body, record, sizeof(body));
+        world->sleep.restore(slot, (body.flags & WORLD_FILE_ASLEEP) != 0, body.restingSteps);
+    }
+    return world;
+}
@@ -0,0 +1,359 @@
+package JAVA;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import JAVA.jni.PhysicsEngineJNI;
+
+// Headless entry point: loads a scene file, steps the world as fast as
+// possible and prints throughput and the final aggregate state. Needs
+// nothing but the native library, so it runs from scripts and batch jobs.
+// The engine comes from -Dphysics.engine (see PhysicsEngine).
+//
+// Scene files hold one directive per line; '#' starts a comment:
+//   dt 0.0166667                        step size in seconds
+//   steps 10000                         number of steps
+//   collisions on|off                   handleCollisions after every step
+//   gravity 9.81
+//   friction 0.5 0.3                    static and kinetic coefficients
+//   world <option> params...            configureWorld; option is broadphase,
+//                                       storage, threads, solver, sleep, bounds,
+//                                       fixed_step, profile or contact_cache
+//
+// With world fixed_step, every step hands dt to stepFixed as a frame delta
+// and the engine runs its own collision pass per substep, so collisions
+// off has no effect. With world profile 1, the phase timings and counters
+// of the whole run are printed after the aggregate state.
+//   body <R|C|S> mass x y vx vy dims...
+//   grid <R|C|S> count columns x y dx dy mass vx vy dims...
+//                                       count bodies in rows of columns, dx/dy apart
+public class BatchRunner {
+    private static final Map<String, Integer> WORLD_OPTIONS = new HashMap<>();
+
+    static {
+        WORLD_OPTIONS.put("broadphase", PhysicsEngineJNI.WORLD_BROADPHASE);
+        WORLD_OPTIONS.put("storage", PhysicsEngineJNI.WORLD_BODY_STORAGE);
+        WORLD_OPTIONS.put("threads", PhysicsEngineJNI.WORLD_THREAD_COUNT);
+        WORLD_OPTIONS.put("solver", PhysicsEngineJNI.WORLD_COLLISION_SOLVER);
+        WORLD_OPTIONS.put("sleep", PhysicsEngineJNI.WORLD_SLEEP);
+        WORLD_OPTIONS.put("bounds", PhysicsEngineJNI.WORLD_BOUNDS);
+        WORLD_OPTIONS.put("fixed_step", PhysicsEngineJNI.WORLD_FIXED_STEP);
+        WORLD_OPTIONS.put("profile", PhysicsEngineJNI.WORLD_PROFILE);
+        WORLD_OPTIONS.put("contact_cache", PhysicsEngineJNI.WORLD_CONTACT_CACHE);
+    }
+
+    // One body to add to the world
+    public static class BodySpec {
+        final char shape;
+        final double mass;
+        final double posX, posY, velX, velY;
+        final double[] dimensions;
+
+        BodySpec(char shape, double mass, double posX, double posY, double velX, double velY, double[] dimensions) {
+            this.shape = shape;
+            this.mass = mass;
+            this.posX = posX;
+            this.posY = posY;
+            this.velX = velX;
+            this.velY = velY;
+            this.dimensions = dimensions;
+        }
+    }
+
+    // Parsed scene description
+    public static class Scene {
+        double deltaTime = 1.0 / 60.0;
+        int steps = 1000;
+        boolean collisions = true;
+        boolean fixedStep;
+        Double gravity;
+        double[] friction;
+        final List<Integer> worldOptionCodes = new ArrayList<>();
+        final List<double[]> worldOptionParams = new ArrayList<>();
+        final List<BodySpec> bodies = new ArrayList<>();
+
+        public double getDeltaTime() { return deltaTime; }
+        public int getSteps() { return steps; }
+        public int getBodyCount() { return bodies.size(); }
+
+        public static Scene load(String path) throws IOException {
+            return parse(Files.readAllLines(Paths.get(path)));
+        }
+
+        public static Scene parse(List<String> lines) {
+            Scene scene = new Scene();
+            int lineNumber = 0;
+            for (String raw : lines) {
+                lineNumber++;
+                int comment = raw.indexOf('#');
+                String line = (comment >= 0 ? raw.substring(0, comment) : raw).trim();
+                if (line.isEmpty()) continue;
+
+                String[] tokens = line.split("\\s+");
+                try {
+                    scene.apply(tokens);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+            return scene;
+        }
+
+        private void apply(String[] tokens) {
+            switch (tokens[0].toLowerCase(Locale.ROOT)) {
+                case "dt":
+                    deltaTime = number(tokens, 1);
+                    break;
+                case "steps":
+                    steps = (int) number(tokens, 1);
+                    break;
+                case "collisions":
+                    collisions = !tokens[1].equalsIgnoreCase("off");
+                    break;
+                case "gravity":
+                    gravity = number(tokens, 1);
+                    break;
+                case "friction":
+                    friction = new double[]{number(tokens, 1), number(tokens, 2)};
+                    break;
+                case "world": {
+                    Integer option = WORLD_OPTIONS.get(tokens[1].toLowerCase(Locale.ROOT));
+                    if (option == null) {
+                        throw new IllegalArgumentException("Unknown world option " + tokens[1]);
+                    }
+                    worldOptionCodes.add(option);
+                    worldOptionParams.add(numbers(tokens, 2, tokens.length - 2));
+                    if (option == PhysicsEngineJNI.WORLD_FIXED_STEP) {
+                        fixedStep = true;
+                    }
+                    break;
+                }
+                case "body": {
+                    char shape = shape(tokens[1]);
+                    double[] values = numbers(tokens, 2, tokens.length - 2);
+                    bodies.add(new BodySpec(shape, values[0], values[1], values[2], values[3], values[4],
+                                            dimensions(shape, values, 5)));
+                    break;
+                }
+                case "grid": {
+                    char shape = shape(tokens[1]);
+                    double[] values = numbers(tokens, 2, tokens.length - 2);
+                    int count = (int) values[0];
+                    int columns = Math.max(1, (int) values[1]);
+                    double[] dimensions = dimensions(shape, values, 9);
+                    for (int i = 0; i < count; i++) {
+                        double x = values[2] + (i % columns) * values[4];
+                        double y = values[3] + (i / columns) * values[5];
+                        bodies.add(new BodySpec(shape, values[6], x, y, values[7], values[8], dimensions));
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown directive " + tokens[0]);
+            }
+        }
+
+        private static double number(String[] tokens, int index) {
+            if (index >= tokens.length) {
+                throw new IllegalArgumentException("Missing value for " + tokens[0]);
+            }
+            return Double.parseDouble(tokens[index]);
+        }
+
+        private static double[] numbers(String[] tokens, int start, int count) {
+            double[] values = new double[Math.max(count, 0)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = number(tokens, start + i);
+            }
+            return values;
+        }
+
+        private static char shape(String token) {
+            char shape = Character.toUpperCase(token.charAt(0));
+            if (shape != 'R' && shape != 'C' && shape != 'S') {
+                throw new IllegalArgumentException("Unknown shape " + token);
+            }
+            return shape;
+        }
+
+        private static double[] dimensions(char shape, double[] values, int start) {
+            int needed = shape == 'R' ? 2 : 1;
+            if (values.length < start + needed) {
+                throw new IllegalArgumentException("Missing dimensions for shape " + shape);
+            }
+            double[] dimensions = new double[needed];
+            System.arraycopy(values, start, dimensions, 0, needed);
+            return dimensions;
+        }
+    }
+
+    // Outcome of one run
+    public static class Result {
+        String engine;
+        int bodies;
+        int steps;
+        double seconds;
+        double meanX, meanY;
+        double minX, minY, maxX, maxY;
+        double kineticEnergy;
+        double momentumX, momentumY;
+        boolean asleep;
+        long[] profile;     // PROFILE_* totals of the run, null unless profiled
+
+        public double getStepsPerSecond() { return seconds > 0 ? steps / seconds : 0; }
+        public double getBodyStepsPerSecond() { return getStepsPerSecond() * bodies; }
+        public double getMeanX() { return meanX; }
+        public double getMeanY() { return meanY; }
+        public double getKineticEnergy() { return kineticEnergy; }
+        public boolean isWorldAsleep() { return asleep; }
+        public long[] getProfile() { return profile; }
+
+        public void print(PrintStream out) {
+            out.printf(Locale.ROOT, "engine           %s%n", engine);
+            out.printf(Locale.ROOT, "bodies           %d%n", bodies);
+            out.printf(Locale.ROOT, "steps            %d%n", steps);
+            out.printf(Locale.ROOT, "seconds          %.3f%n", seconds);
+            out.printf(Locale.ROOT, "steps/s          %.1f%n", getStepsPerSecond());
+            out.printf(Locale.ROOT, "body-steps/s     %.1f%n", getBodyStepsPerSecond());
+            out.printf(Locale.ROOT, "mean position    %.4f %.4f%n", meanX, meanY);
+            out.printf(Locale.ROOT, "bounding box     %.4f %.4f %.4f %.4f%n", minX, minY, maxX, maxY);
+            out.printf(Locale.ROOT, "kinetic energy   %.4f%n", kineticEnergy);
+            out.printf(Locale.ROOT, "momentum         %.4f %.4f%n", momentumX, momentumY);
+            out.printf(Locale.ROOT, "asleep           %b%n", asleep);
+            if (profile != null) {
+                printProfile(out);
+            }
+        }
+
+        private void printProfile(PrintStream out) {
+            out.printf(Locale.ROOT, "engine steps     %d%n", profile[PhysicsEngineJNI.PROFILE_STEPS]);
+            out.printf(Locale.ROOT, "collision passes %d%n", profile[PhysicsEngineJNI.PROFILE_COLLISION_PASSES]);
+            out.printf(Locale.ROOT, "integrate ms     %.3f%n", profile[PhysicsEngineJNI.PROFILE_INTEGRATE_NANOS] * 1e-6);
+            out.printf(Locale.ROOT, "sleep ms         %.3f%n", profile[PhysicsEngineJNI.PROFILE_SLEEP_NANOS] * 1e-6);
+            out.printf(Locale.ROOT, "broadphase ms    %.3f%n", profile[PhysicsEngineJNI.PROFILE_BROADPHASE_NANOS] * 1e-6);
+            out.printf(Locale.ROOT, "narrowphase ms   %.3f%n", profile[PhysicsEngineJNI.PROFILE_NARROWPHASE_NANOS] * 1e-6);
+            out.printf(Locale.ROOT, "islands ms       %.3f%n", profile[PhysicsEngineJNI.PROFILE_ISLAND_NANOS] * 1e-6);
+            out.printf(Locale.ROOT, "resolve ms       %.3f%n", profile[PhysicsEngineJNI.PROFILE_RESOLVE_NANOS] * 1e-6);
+            out.printf(Locale.ROOT, "candidate pairs  %d%n", profile[PhysicsEngineJNI.PROFILE_CANDIDATE_PAIRS]);
+            out.printf(Locale.ROOT, "contacts         %d%n", profile[PhysicsEngineJNI.PROFILE_CONTACTS]);
+            out.printf(Locale.ROOT, "iterations       %d%n", profile[PhysicsEngineJNI.PROFILE_ITERATIONS]);
+        }
+    }
+
+    // Build the scene's world on the engine selected at startup, step it and collect the result
+    public static Result run(Scene scene) {
+        return run(scene, PhysicsEngine.select());
+    }
+
+    public static Result run(Scene scene, PhysicsEngine engine) {
+        long world = engine.createWorld();
+        try {
+            PhysicsEngine.enableTelemetryFromProperty(engine, world);
+            if (scene.gravity != null) {
+                engine.configureForces(world, 2, scene.gravity);
+            }
+            if (scene.friction != null) {
+                engine.configureForces(world, 1, scene.friction);
+            }
+
+            double[] masses = new double[scene.bodies.size() + 1];
+            int id = 1;
+            for (BodySpec body : scene.bodies) {
+                engine.addObject(world, id, body.mass, body.posX, body.posY,
+                                 body.velX, body.velY, body.shape, body.dimensions);
+                masses[id++] = body.mass;
+            }
+
+            // Options last, so storage and threading apply to every body
+            for (int i = 0; i < scene.worldOptionCodes.size(); i++) {
+                engine.configureWorld(world, scene.worldOptionCodes.get(i), scene.worldOptionParams.get(i));
+            }
+
+            long start = System.nanoTime();
+            for (int step = 0; step < scene.steps; step++) {
+                if (scene.fixedStep) {
+                    engine.stepFixed(world, scene.deltaTime);
+                    continue;
+                }
+                engine.stepSimulation(world, scene.deltaTime);
+                if (scene.collisions) {
+                    engine.handleCollisions(world);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            // False unless the scene turned profiling on
+            long[] profile = new long[PhysicsEngineJNI.PROFILE_FIELD_COUNT];
+            boolean profiled = engine.getStepProfile(world, profile);
+
+            Result result = summarize(engine.getStateView(world), masses);
+            result.engine = engine.getName();
+            result.steps = scene.steps;
+            result.seconds = elapsed * 1e-9;
+            result.asleep = engine.isWorldAsleep(world);
+            result.profile = profiled ? profile : null;
+            return result;
+        } finally {
+            engine.deleteWorld(world);
+        }
+    }
+
+    private static Result summarize(BodyStateView buffer, double[] masses) {
+        Result result = new Result();
+        int count = buffer.size();
+        result.bodies = count;
+        result.minX = result.minY = Double.POSITIVE_INFINITY;
+        result.maxX = result.maxY = Double.NEGATIVE_INFINITY;
+
+        for (int slot = 0; slot < count; slot++) {
+            double x = buffer.getPosX(slot);
+            double y = buffer.getPosY(slot);
+            double velX = buffer.getVelX(slot);
+            double velY = buffer.getVelY(slot);
+            double mass = masses[buffer.getId(slot)];
+
+            result.meanX += x;
+            result.meanY += y;
+            result.minX = Math.min(result.minX, x);
+            result.minY = Math.min(result.minY, y);
+            result.maxX = Math.max(result.maxX, x);
+            result.maxY = Math.max(result.maxY, y);
+            result.kineticEnergy += 0.5 * mass * (velX * velX + velY * velY);
+            result.momentumX += mass * velX;
+            result.momentumY += mass * velY;
+        }
+
+        if (count > 0) {
+            result.meanX /= count;
+            result.meanY /= count;
+        } else {
+            result.minX = result.minY = result.maxX = result.maxY = 0;
+        }
+        return result;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: BatchRunner <scene file> [steps] [dt]");
+            System.exit(2);
+        }
+
+        try {
+            Scene scene = Scene.load(args[0]);
+            if (args.length >= 2) scene.steps = Integer.parseInt(args[1]);
+            if (args.length >= 3) scene.deltaTime = Double.parseDouble(args[2]);
+
+            run(scene).print(System.out);
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
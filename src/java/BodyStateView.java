@@ -0,0 +1,36 @@
+package JAVA;
+
+// Read-only, per-slot view over the body state of a world as it stood after
+// the latest step, collision pass or update. Slots follow world order; the
+// view stays valid only while its world is alive.
+public interface BodyStateView {
+    // Number of bodies; call once at the start of each pass over the world
+    int size();
+
+    // Changes every time the engine republishes the state
+    int getRevision();
+
+    // Per-slot getters, slot in [0, size())
+    int getId(int slot);
+    double getPosX(int slot);
+    double getPosY(int slot);
+    double getVelX(int slot);
+    double getVelY(int slot);
+    double getAccX(int slot);
+    double getAccY(int slot);
+
+    // Position before the latest step
+    double getPrevPosX(int slot);
+    double getPrevPosY(int slot);
+
+    // Position blended between the previous and the latest step, alpha as returned by stepFixed
+    default double getInterpolatedPosX(int slot, double alpha) {
+        double prev = getPrevPosX(slot);
+        return prev + (getPosX(slot) - prev) * alpha;
+    }
+
+    default double getInterpolatedPosY(int slot, double alpha) {
+        double prev = getPrevPosY(slot);
+        return prev + (getPosY(slot) - prev) * alpha;
+    }
+}
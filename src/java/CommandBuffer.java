@@ -0,0 +1,211 @@
+package JAVA;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Reusable batch of world changes. Commands are written into a direct
+// ByteBuffer in the layout of include/command_buffer.h and applied in
+// order by one PhysicsEngine.flushCommands call, so a frame that touches
+// many bodies still crosses into native code once. Writing allocates
+// nothing once the buffer has grown to the largest batch.
+//
+// A buffer is not thread-safe; fill and flush it on one thread.
+public final class CommandBuffer {
+    // Command types
+    public static final int ADD = 1;
+    public static final int UPDATE = 2;
+    public static final int IMPULSE = 3;
+    public static final int REMOVE = 4;
+    public static final int FORCES = 5;
+    public static final int WORLD = 6;
+
+    // Command sizes in bytes, as in command_buffer.h
+    static final int HEADER_BYTES = 8;
+    static final int ADD_BYTES = 72;
+    static final int UPDATE_BYTES = 40;
+    static final int IMPULSE_BYTES = 24;
+    static final int OPTION_BYTES = 16;
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    // Receives the commands of a batch, see forEach
+    public interface Target {
+        void addObject(int id, double mass, double posX, double posY, double velX, double velY,
+                       char shape, double[] dimensions);
+        void updateObject(int id, double posX, double posY, double velX, double velY);
+        void applyImpulse(int id, double impulseX, double impulseY);
+        void removeObject(int id);
+        void configureForces(int choice, double[] params);
+        void configureWorld(int option, double[] params);
+    }
+
+    private ByteBuffer buffer;
+    private int commandCount;
+
+    public CommandBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CommandBuffer(int capacity) {
+        buffer = ByteBuffer.allocateDirect(Math.max(capacity, ADD_BYTES)).order(ByteOrder.nativeOrder());
+    }
+
+    // Copy of an encoded batch, for ReplayRunner
+    CommandBuffer(byte[] encoded, int commandCount) {
+        this(encoded.length);
+        buffer.put(encoded);
+        this.commandCount = commandCount;
+    }
+
+    // Circle ('C', radius) or square ('S', side)
+    public void addObject(int id, double mass, double posX, double posY, double velX, double velY,
+                          char shape, double size) {
+        writeAdd(id, mass, posX, posY, velX, velY, shape, 1, size, 0);
+    }
+
+    // Rectangle ('R', width and height)
+    public void addObject(int id, double mass, double posX, double posY, double velX, double velY,
+                          char shape, double width, double height) {
+        writeAdd(id, mass, posX, posY, velX, velY, shape, 2, width, height);
+    }
+
+    public void updateObject(int id, double posX, double posY, double velX, double velY) {
+        begin(UPDATE, id, UPDATE_BYTES);
+        buffer.putDouble(posX).putDouble(posY).putDouble(velX).putDouble(velY);
+    }
+
+    // Adds impulse / mass to the body's velocity and wakes it
+    public void applyImpulse(int id, double impulseX, double impulseY) {
+        begin(IMPULSE, id, IMPULSE_BYTES);
+        buffer.putDouble(impulseX).putDouble(impulseY);
+    }
+
+    public void removeObject(int id) {
+        begin(REMOVE, id, HEADER_BYTES);
+    }
+
+    public void configureForces(int choice, double... params) {
+        writeOption(FORCES, choice, params);
+    }
+
+    public void configureWorld(int option, double... params) {
+        writeOption(WORLD, option, params);
+    }
+
+    // Direct, in native byte order; the batch is bytes 0 to size()
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    // Bytes written so far
+    public int size() {
+        return buffer.position();
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public boolean isEmpty() {
+        return commandCount == 0;
+    }
+
+    // Drops every command and keeps the memory
+    public void clear() {
+        buffer.clear();
+        commandCount = 0;
+    }
+
+    // Hands every command to target in order, for engines that apply them
+    // in Java; returns how many there were
+    public int forEach(Target target) {
+        ByteBuffer in = buffer.duplicate().order(buffer.order());
+        in.flip();
+        int read = 0;
+        while (in.remaining() >= HEADER_BYTES) {
+            int type = in.getInt();
+            int code = in.getInt();
+            switch (type) {
+                case ADD: {
+                    double mass = in.getDouble();
+                    double posX = in.getDouble();
+                    double posY = in.getDouble();
+                    double velX = in.getDouble();
+                    double velY = in.getDouble();
+                    char shape = (char) in.getInt();
+                    int dimCount = Math.min(Math.max(in.getInt(), 0), 2);
+                    double[] dimensions = { in.getDouble(), in.getDouble() };
+                    target.addObject(code, mass, posX, posY, velX, velY, shape,
+                                     dimCount == 2 ? dimensions : Arrays.copyOf(dimensions, dimCount));
+                    break;
+                }
+                case UPDATE:
+                    target.updateObject(code, in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble());
+                    break;
+                case IMPULSE:
+                    target.applyImpulse(code, in.getDouble(), in.getDouble());
+                    break;
+                case REMOVE:
+                    target.removeObject(code);
+                    break;
+                case FORCES:
+                case WORLD: {
+                    double[] params = new double[in.getInt()];
+                    in.getInt();
+                    for (int i = 0; i < params.length; i++) {
+                        params[i] = in.getDouble();
+                    }
+                    if (type == FORCES) {
+                        target.configureForces(code, params);
+                    } else {
+                        target.configureWorld(code, params);
+                    }
+                    break;
+                }
+                default:
+                    return read;
+            }
+            read++;
+        }
+        return read;
+    }
+
+    // The encoded batch, for RecordingEngine
+    byte[] toByteArray() {
+        byte[] encoded = new byte[size()];
+        ByteBuffer in = buffer.duplicate();
+        in.flip();
+        in.get(encoded);
+        return encoded;
+    }
+
+    private void writeAdd(int id, double mass, double posX, double posY, double velX, double velY,
+                          char shape, int dimCount, double dim0, double dim1) {
+        begin(ADD, id, ADD_BYTES);
+        buffer.putDouble(mass).putDouble(posX).putDouble(posY).putDouble(velX).putDouble(velY);
+        buffer.putInt(shape).putInt(dimCount);
+        buffer.putDouble(dim0).putDouble(dim1);
+    }
+
+    private void writeOption(int type, int code, double[] params) {
+        begin(type, code, OPTION_BYTES + params.length * Double.BYTES);
+        buffer.putInt(params.length).putInt(0);
+        for (double param : params) {
+            buffer.putDouble(param);
+        }
+    }
+
+    // Writes the header of a command of the given size, growing the buffer first if needed
+    private void begin(int type, int code, int bytes) {
+        if (buffer.remaining() < bytes) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        buffer.putInt(type).putInt(code);
+        commandCount++;
+    }
+}
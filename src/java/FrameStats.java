@@ -0,0 +1,177 @@
+package JAVA;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Latency histograms for every stage of the GUI's frame pipeline. The UI
+// thread records the input, render and whole-frame stages; the simulation
+// thread records commands, steps (which include collisions and walls) and
+// snapshot publishing. Recording never blocks, so the stats can stay on in
+// normal use.
+//
+// With -Dphysics.framelog=<file> the p50, p99 and maximum of every stage
+// are appended to the file every physics.framelog.seconds seconds (10 by
+// default), one line per stage.
+public class FrameStats {
+    public static final String LOG_PROPERTY = "physics.framelog";
+    public static final String LOG_SECONDS_PROPERTY = "physics.framelog.seconds";
+    private static final long DEFAULT_LOG_SECONDS = 10;
+
+    public enum Stage {
+        FRAME("frame"),         // From one UI frame to the next
+        UPDATE("update"),       // All the UI thread does in a frame
+        INPUT("input"),         // Forwarding held keys as forces
+        RENDER("render"),       // Drawing the newest snapshot
+        COMMANDS("commands"),   // Running queued commands on the simulation thread
+        STEP("step"),           // stepFixed: integration, collisions and walls
+        PUBLISH("publish");     // Copying the world into a snapshot
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+    private ScheduledExecutorService logger;
+    private PrintWriter log;
+    private Interval logInterval;
+
+    // The values of every stage since the previous advance(); each reader
+    // keeps its own, so readers do not disturb one another
+    public class Interval {
+        private final LatencyHistogram.Snapshot[] last = new LatencyHistogram.Snapshot[STAGES.length];
+        private final LatencyHistogram.Snapshot[] delta = new LatencyHistogram.Snapshot[STAGES.length];
+        private final LatencyHistogram.Snapshot now = new LatencyHistogram.Snapshot();
+
+        Interval() {
+            for (int i = 0; i < STAGES.length; i++) {
+                last[i] = new LatencyHistogram.Snapshot();
+                delta[i] = new LatencyHistogram.Snapshot();
+                histograms[i].copyInto(last[i]);
+            }
+        }
+
+        // Start a new interval; the getters report the one that just ended
+        public void advance() {
+            for (int i = 0; i < STAGES.length; i++) {
+                histograms[i].copyInto(now);
+                delta[i].copyFrom(now);
+                delta[i].subtract(last[i]);
+                last[i].copyFrom(now);
+            }
+        }
+
+        public LatencyHistogram.Snapshot get(Stage stage) {
+            return delta[stage.ordinal()];
+        }
+
+        // "render  n=600  p50=1.23 ms  p99=4.56 ms  max=7.89 ms"
+        public String format(Stage stage) {
+            LatencyHistogram.Snapshot values = get(stage);
+            return String.format(Locale.ROOT, "%-8s n=%-6d p50=%.2f ms  p99=%.2f ms  max=%.2f ms",
+                                 stage.getLabel(), values.getCount(), values.getPercentile(0.50) * 1e-6,
+                                 values.getPercentile(0.99) * 1e-6, values.getMax() * 1e-6);
+        }
+    }
+
+    public FrameStats() {
+        for (int i = 0; i < STAGES.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public void record(Stage stage, long nanos) {
+        histograms[stage.ordinal()].record(nanos);
+    }
+
+    public LatencyHistogram get(Stage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    public Interval newInterval() {
+        return new Interval();
+    }
+
+    // Starts the periodic dump if physics.framelog names a file
+    public void startLogFromProperty() {
+        String file = System.getProperty(LOG_PROPERTY);
+        if (file == null) return;
+
+        long seconds = Long.getLong(LOG_SECONDS_PROPERTY, DEFAULT_LOG_SECONDS);
+        try {
+            startLog(Paths.get(file), Math.max(seconds, 1));
+        } catch (IOException e) {
+            System.err.println("Frame stats log disabled, cannot open " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Appends the stats of every stage to file once every given number of
+    // seconds, on a background thread
+    public void startLog(Path file, long seconds) throws IOException {
+        close();
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                                                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        synchronized (this) {
+            log = new PrintWriter(writer);
+            logInterval = newInterval();
+            logger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "frame-stats-log");
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.scheduleAtFixedRate(this::writeLog, seconds, seconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void writeLog() {
+        if (log == null) return;
+
+        logInterval.advance();
+        String time = Instant.now().toString();
+        for (Stage stage : STAGES) {
+            log.println(time + " " + logInterval.format(stage));
+        }
+        log.flush();
+    }
+
+    // Writes the last partial interval and stops the dump
+    public void close() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = logger;
+            logger = null;
+        }
+        if (running == null) return;
+
+        running.shutdownNow();
+        try {
+            running.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            writeLog();
+            log.close();
+            log = null;
+        }
+    }
+}
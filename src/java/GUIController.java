@@ -15,8 +15,9 @@ public class GUIController {
     private Canvas canvas;
     private GraphicsContext gc;
     private PhysicsSimulation simulation;
-    private long worldPtr;
-    private boolean isRunning;
+    private SimulationDriver driver;
+    private WorldSnapshot snapshot;
+    private long renderedSequence = -1;
     private int nextId = 1;
     private Random random;
     private Map<Integer, ShapeInfo> objectShapes;
@@ -24,7 +25,7 @@ public class GUIController {
     private boolean isFrictionless = false;
     private static final double GROUND_RESTITUTION = 0.6;
     private static final float GROUND_FRICTION = 0.2f;
-    private static final double VELOCITY_THRESHOLD = 0.1;
+    private static final double MARGIN = 5.0;
     private static final double VECTOR_SCALE = 20.0;
     private static final int VECTOR_TEXT_OFFSET = 15;
 
@@ -37,116 +38,43 @@ public class GUIController {
     private boolean isDownKeyPressed = false;
     private Integer selectedObjectId = null;
 
+    // Frame pipeline timings, shown over the canvas with F3
+    private static final long STATS_REFRESH_NANOS = 1_000_000_000L;
+    private static final double STATS_LINE_HEIGHT = 14;
+    private final FrameStats frameStats;
+    private final FrameStats.Interval statsInterval;
+    private final String[] statsLines = new String[FrameStats.Stage.values().length];
+    private boolean isShowingStats = false;
+    private long lastFrameNanos = 0;
+    private long statsRefreshedNanos = 0;
+
     private static class ShapeInfo {
         char type;
         double[] dimensions;
         Color color;
-        double lastStableX;
-        double lastStableY;
     
         ShapeInfo(char type, double[] dimensions, Color color) {
             this.type = type;
             this.dimensions = dimensions;
             this.color = color;
-            this.lastStableX = 0;
-            this.lastStableY = 0;
-        }
-    }
-
-    private void checkFinalStability() {
-        try {
-            // Add a small delay before checking final stability
-            Thread.sleep(100);
-            
-            // Very small threshold for final stability check
-            final double FINAL_THRESHOLD = VELOCITY_THRESHOLD / 2;
-            
-            // Counter for stable frames
-            final int REQUIRED_STABLE_FRAMES = 3;
-            int stableFrameCount = 0;
-            
-            // Check stability over multiple frames
-            for (int frame = 0; frame < REQUIRED_STABLE_FRAMES; frame++) {
-                boolean allObjectsStable = true;
-                
-                for (Map.Entry<Integer, ShapeInfo> entry : objectShapes.entrySet()) {
-                    ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, entry.getKey());
-                    if (state == null) continue;
-                    
-                    // Check velocities and accelerations
-                    if (Math.abs(state.getVelX()) > FINAL_THRESHOLD || 
-                        Math.abs(state.getVelY()) > FINAL_THRESHOLD ||
-                        Math.abs(state.getAccX()) > FINAL_THRESHOLD || 
-                        Math.abs(state.getAccY()) > FINAL_THRESHOLD) {
-                        allObjectsStable = false;
-                        break;
-                    }
-                    
-                    // Store initial positions for the first frame
-                    if (frame == 0) {
-                        entry.getValue().lastStableX = state.getPosX();
-                        entry.getValue().lastStableY = state.getPosY();
-                    } else {
-                        // Check if position has changed significantly
-                        double positionDelta = Math.sqrt(
-                            Math.pow(state.getPosX() - entry.getValue().lastStableX, 2) +
-                            Math.pow(state.getPosY() - entry.getValue().lastStableY, 2)
-                        );
-                        
-                        if (positionDelta > FINAL_THRESHOLD) {
-                            allObjectsStable = false;
-                            break;
-                        }
-                    }
-                }
-                
-                if (allObjectsStable) {
-                    stableFrameCount++;
-                } else {
-                    // Reset stable frame count if any instability is detected
-                    stableFrameCount = 0;
-                    break;
-                }
-                
-                // Small delay between stability checks
-                Thread.sleep(16); // Approximately 60 FPS
-            }
-            
-            // Update simulation state based on stability check
-            isRunning = stableFrameCount < REQUIRED_STABLE_FRAMES;
-            
-            // If simulation is stopping, zero out small residual velocities
-            if (!isRunning) {
-                for (Integer id : objectShapes.keySet()) {
-                    ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, id);
-                    if (state == null) continue;
-                    
-                    if (Math.abs(state.getVelX()) < FINAL_THRESHOLD && 
-                        Math.abs(state.getVelY()) < FINAL_THRESHOLD) {
-                        PhysicsEngineJNI.updateObjectState(worldPtr, id,
-                            state.getPosX(), state.getPosY(),
-                            0.0, 0.0); // Zero out velocities
-                    }
-                }
-            }
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            isRunning = false;
         }
     }
 
-    public GUIController(Canvas canvas, PhysicsSimulation simulation, long worldPtr) {
+    public GUIController(Canvas canvas, PhysicsSimulation simulation, SimulationDriver driver) {
         this.canvas = canvas;
         this.gc = canvas.getGraphicsContext2D();
         this.simulation = simulation;
-        this.worldPtr = worldPtr;
-        this.isRunning = false;
+        this.driver = driver;
+        this.snapshot = driver.latestSnapshot();
         this.random = new Random();
         this.objectShapes = new HashMap<>();
+        this.frameStats = driver.getFrameStats();
+        this.statsInterval = frameStats.newInterval();
+        frameStats.startLogFromProperty();
+        configureBounds();
         
         canvas.setOnMouseClicked(e -> {
-            if (!isRunning) {
+            if (!driver.isStepping()) {
                 showAddObjectDialog(e.getX(), e.getY());
             } else {
                 handleObjectSelection(e.getX(), e.getY());
@@ -171,6 +99,9 @@ public class GUIController {
                 case DOWN:
                     isDownKeyPressed = true;
                     break;
+                case F3:
+                    toggleStatsOverlay();
+                    break;
                 default:
                     break;
             }
@@ -203,126 +134,67 @@ public class GUIController {
         gc.strokeRect(0, 0, canvas.getWidth(), canvas.getHeight());
     }
 
+    // Called every UI frame. Physics runs on the driver's thread (which also
+    // stops once the world is asleep); this only forwards input and draws the
+    // newest snapshot, so a slow physics step never holds up the UI.
     public void update(double deltaTime) {
-        if (isRunning) {
-            synchronized(this) {
-                // Apply any user-controlled forces
-                applyHorizontalForces();
-                
-                // Step the physics simulation
-                PhysicsEngineJNI.stepSimulation(worldPtr, deltaTime);
-                
-                // Handle object-object collisions first
-                PhysicsEngineJNI.handleCollisions(worldPtr);
-                
-                // Then handle boundary collisions
-                handleBoundaryCollisions();
-                
-                // Update the display
-                render();
-            }
+        long frameStart = System.nanoTime();
+        if (lastFrameNanos != 0) {
+            frameStats.record(FrameStats.Stage.FRAME, frameStart - lastFrameNanos);
+        }
+        lastFrameNanos = frameStart;
+
+        boolean running = driver.isStepping();
+        if (running) {
+            // Apply any user-controlled forces
+            applyHorizontalForces();
+            frameStats.record(FrameStats.Stage.INPUT, System.nanoTime() - frameStart);
+        }
+
+        // Update the display while running, when a command changed the world,
+        // or when the stats overlay has new numbers
+        WorldSnapshot latest = driver.latestSnapshot();
+        boolean statsChanged = isShowingStats && refreshStats(frameStart);
+        if (running || latest.getSequence() != renderedSequence || statsChanged) {
+            long renderStart = System.nanoTime();
+            render();
+            frameStats.record(FrameStats.Stage.RENDER, System.nanoTime() - renderStart);
         }
+        frameStats.record(FrameStats.Stage.UPDATE, System.nanoTime() - frameStart);
     }
 
-    private void handleBoundaryCollisions() {
-        final double MARGIN = 5.0;
-        double leftBound = MARGIN;
-        double rightBound = canvas.getWidth() - MARGIN;
-        double topBound = MARGIN;
-        double bottomBound = canvas.getHeight() - MARGIN;
-        
-        boolean anyObjectActive = false;
-        
-        for (Map.Entry<Integer, ShapeInfo> entry : objectShapes.entrySet()) {
-            int id = entry.getKey();
-            ShapeInfo shapeInfo = entry.getValue();
-            ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, id);
-            
-            if (state == null) continue;
-            
-            // Calculate object boundaries
-            double objectLeft = state.getPosX();
-            double objectRight = objectLeft;
-            double objectTop = state.getPosY();
-            double objectBottom = objectTop;
-            
-            switch (shapeInfo.type) {
-                case 'R':
-                    objectRight += shapeInfo.dimensions[0];
-                    objectBottom += shapeInfo.dimensions[1];
-                    break;
-                case 'C':
-                    objectRight += shapeInfo.dimensions[0] * 2;
-                    objectBottom += shapeInfo.dimensions[0] * 2;
-                    break;
-                case 'S':
-                    objectRight += shapeInfo.dimensions[0];
-                    objectBottom += shapeInfo.dimensions[0];
-                    break;
-            }
-            
-            double velX = state.getVelX();
-            double velY = state.getVelY();
-            double newPosX = state.getPosX();
-            double newPosY = state.getPosY();
-            boolean collisionOccurred = false;
-            
-            // Handle boundary collisions with conditional friction
-            if (objectBottom > bottomBound) {
-                newPosY = bottomBound - (objectBottom - objectTop);
-                if (velY > 0) {
-                    velY = -velY * GROUND_RESTITUTION;
-                    if (!isFrictionless) {
-                        velX *= (1.0 - GROUND_FRICTION);
-                    }
-                    collisionOccurred = true;
-                }
-            }
-            
-            if (objectTop < topBound) {
-                newPosY = topBound;
-                if (velY < 0) {
-                    velY = -velY * GROUND_RESTITUTION;
-                    if (!isFrictionless) {
-                        velX *= (1.0 - GROUND_FRICTION);
-                    }
-                    collisionOccurred = true;
-                }
-            }
-            
-            if (objectRight > rightBound) {
-                newPosX = rightBound - (objectRight - objectLeft);
-                if (velX > 0) {
-                    velX = -velX * GROUND_RESTITUTION;
-                    if (!isFrictionless) {
-                        velY *= (1.0 - GROUND_FRICTION);
-                    }
-                    collisionOccurred = true;
-                }
-            }
-            
-            if (objectLeft < leftBound) {
-                newPosX = leftBound;
-                if (velX < 0) {
-                    velX = -velX * GROUND_RESTITUTION;
-                    if (!isFrictionless) {
-                        velY *= (1.0 - GROUND_FRICTION);
-                    }
-                    collisionOccurred = true;
-                }
-            }
-            
-            boolean hasSignificantMotion = Math.abs(velX) > VELOCITY_THRESHOLD || 
-                                         Math.abs(velY) > VELOCITY_THRESHOLD;
-            
-            if (hasSignificantMotion || collisionOccurred) {
-                anyObjectActive = true;
-                PhysicsEngineJNI.updateObjectState(worldPtr, id, newPosX, newPosY, velX, velY);
-            }
+    public void toggleStatsOverlay() {
+        isShowingStats = !isShowingStats;
+        statsRefreshedNanos = 0;   // Show the numbers so far straight away
+        render();
+    }
+
+    // Takes the stats of the last second, once a second
+    private boolean refreshStats(long now) {
+        if (statsRefreshedNanos != 0 && now - statsRefreshedNanos < STATS_REFRESH_NANOS) {
+            return false;
         }
-        
-        if (!anyObjectActive && isRunning) {
-            checkFinalStability();
+        statsRefreshedNanos = now;
+        statsInterval.advance();
+        for (FrameStats.Stage stage : FrameStats.Stage.values()) {
+            statsLines[stage.ordinal()] = statsInterval.format(stage);
+        }
+        return true;
+    }
+
+    private void drawStatsOverlay() {
+        if (statsRefreshedNanos == 0) refreshStats(System.nanoTime());
+
+        double width = 330;
+        double height = statsLines.length * STATS_LINE_HEIGHT + 8;
+        double x = canvas.getWidth() - MARGIN - width - 4;
+        double y = MARGIN + 4;
+        gc.setFill(Color.color(0, 0, 0, 0.6));
+        gc.fillRect(x, y, width, height);
+        gc.setFill(Color.WHITE);
+        gc.setFont(new Font("Monospaced", 11));
+        for (int i = 0; i < statsLines.length; i++) {
+            gc.fillText(statsLines[i], x + 6, y + (i + 1) * STATS_LINE_HEIGHT);
         }
     }
 
@@ -336,181 +208,53 @@ public class GUIController {
         } else {
             frictionParams = new double[]{0.5, 0.3}; // Default friction values
         }
-        PhysicsEngineJNI.configureForces(worldPtr, 1, frictionParams);
+        driver.submitBuffered(commands -> commands.configureForces(1, frictionParams));
+        configureBounds();
+    }
+
+    // Walls just inside the canvas edge, with wall friction off when frictionless
+    private void configureBounds() {
+        double[] bounds = {
+            MARGIN, MARGIN, canvas.getWidth() - MARGIN, canvas.getHeight() - MARGIN,
+            GROUND_RESTITUTION, isFrictionless ? 0.0 : GROUND_FRICTION
+        };
+        driver.submitBuffered(commands -> commands.configureWorld(PhysicsEngineJNI.WORLD_BOUNDS, bounds));
     }
 
     private void applyHorizontalForces() {
         if (selectedObjectId != null && 
             (isLeftKeyPressed || isRightKeyPressed || isUpKeyPressed || isDownKeyPressed)) {
-            ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, selectedObjectId);
-            if (state != null) {
-                double forceX = 0;
-                double forceY = 0;
-
-                // Calculate horizontal forces
-                if (isLeftKeyPressed) forceX -= HORIZONTAL_FORCE;
-                if (isRightKeyPressed) forceX += HORIZONTAL_FORCE;
-
-                // Calculate vertical forces
-                if (isUpKeyPressed) forceY -= VERTICAL_FORCE;
-                if (isDownKeyPressed) forceY += VERTICAL_FORCE;
-                
-                // Update velocities with applied forces
-                double deltaTime = 0.016; // Assuming 60 FPS
-                double newVelX = state.getVelX() + (forceX / 1.0) * deltaTime;
-                double newVelY = state.getVelY() + (forceY / 1.0) * deltaTime;
-
-                PhysicsEngineJNI.updateObjectState(worldPtr, selectedObjectId,
-                    state.getPosX(), state.getPosY(),
-                    newVelX, newVelY);
-            }
-        }
-    }
-
-    private void handleGroundCollisions() {
-        // Handle block-on-block collisions
-        PhysicsEngineJNI.handleCollisions(worldPtr);
-    
-        // Define boundaries (adding small margins)
-        final double MARGIN = 5.0;
-        double leftBound = MARGIN;
-        double rightBound = canvas.getWidth() - MARGIN;
-        double topBound = MARGIN;
-        double bottomBound = canvas.getHeight() - MARGIN;
-        
-        boolean anyObjectActive = false;
-        
-        // Check all objects for boundary collisions
-        for (Map.Entry<Integer, ShapeInfo> entry : objectShapes.entrySet()) {
-            int id = entry.getKey();
-            ShapeInfo shapeInfo = entry.getValue();
-            
-            ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, id);
-            if (state == null) continue;
-            
-            // Calculate object boundaries based on shape
-            double objectLeft = state.getPosX();
-            double objectTop = state.getPosY();
-            double objectRight, objectBottom;
-            
-            switch (shapeInfo.type) {
-                case 'R':
-                    objectRight = objectLeft + shapeInfo.dimensions[0];
-                    objectBottom = objectTop + shapeInfo.dimensions[1];
-                    break;
-                case 'C':
-                    objectRight = objectLeft + shapeInfo.dimensions[0] * 2;
-                    objectBottom = objectTop + shapeInfo.dimensions[0] * 2;
-                    break;
-                case 'S':
-                    objectRight = objectLeft + shapeInfo.dimensions[0];
-                    objectBottom = objectTop + shapeInfo.dimensions[0];
-                    break;
-                default:
-                    continue;
-            }
-            
-            // Get current velocities
-            double velX = state.getVelX();
-            double velY = state.getVelY();
-            double newPosX = state.getPosX();
-            double newPosY = state.getPosY();
-            boolean collisionOccurred = false;
-            
-            // Bottom boundary collision
-            if (objectBottom > bottomBound) {
-                newPosY = bottomBound - (objectBottom - objectTop);
-                if (velY > 0) {
-                    velY = -velY * GROUND_RESTITUTION;
-                    velX *= (1.0 - GROUND_FRICTION);
-                    collisionOccurred = true;
-                }
-            }
-            
-            // Top boundary collision
-            if (objectTop < topBound) {
-                newPosY = topBound;
-                if (velY < 0) {
-                    velY = -velY * GROUND_RESTITUTION;
-                    velX *= (1.0 - GROUND_FRICTION);
-                    collisionOccurred = true;
-                }
-            }
-            
-            // Right boundary collision
-            if (objectRight > rightBound) {
-                newPosX = rightBound - (objectRight - objectLeft);
-                if (velX > 0) {
-                    velX = -velX * GROUND_RESTITUTION;
-                    velY *= (1.0 - GROUND_FRICTION);
-                    collisionOccurred = true;
-                }
-            }
-            
-            // Left boundary collision
-            if (objectLeft < leftBound) {
-                newPosX = leftBound;
-                if (velX < 0) {
-                    velX = -velX * GROUND_RESTITUTION;
-                    velY *= (1.0 - GROUND_FRICTION);
-                    collisionOccurred = true;
-                }
-            }
-            
-            // Check if object has significant motion
-            boolean hasSignificantMotion = Math.abs(velX) > VELOCITY_THRESHOLD || 
-                                         Math.abs(velY) > VELOCITY_THRESHOLD;
-            
-            // Update simulation state
-            if (hasSignificantMotion || collisionOccurred) {
-                anyObjectActive = true;
-            }
-            
-            // Update object state if position or velocity changed
-            if (collisionOccurred) {
-                PhysicsEngineJNI.updateObjectState(worldPtr, id, newPosX, newPosY, velX, velY);
-            }
-        }
-        
-        // Update simulation running state
-        if (isRunning && !anyObjectActive) {
-            try {
-                Thread.sleep(100); // Small delay to ensure stability
-                
-                // Final check for motion
-                boolean finalCheck = false;
-                for (Map.Entry<Integer, ShapeInfo> entry : objectShapes.entrySet()) {
-                    ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, entry.getKey());
-                    if (state == null) continue;
-                    
-                    if (Math.abs(state.getVelX()) > VELOCITY_THRESHOLD/2 || 
-                        Math.abs(state.getVelY()) > VELOCITY_THRESHOLD/2 ||
-                        Math.abs(state.getAccX()) > VELOCITY_THRESHOLD/2 || 
-                        Math.abs(state.getAccY()) > VELOCITY_THRESHOLD/2) {
-                        finalCheck = true;
-                        break;
-                    }
-                }
-                
-                isRunning = finalCheck;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        } else {
-            isRunning = true;
+            double forceX = 0;
+            double forceY = 0;
+
+            // Calculate horizontal forces
+            if (isLeftKeyPressed) forceX -= HORIZONTAL_FORCE;
+            if (isRightKeyPressed) forceX += HORIZONTAL_FORCE;
+
+            // Calculate vertical forces
+            if (isUpKeyPressed) forceY -= VERTICAL_FORCE;
+            if (isDownKeyPressed) forceY += VERTICAL_FORCE;
+
+            // Push the body with the impulse of one frame of force
+            double deltaTime = 0.016; // Assuming 60 FPS
+            int id = selectedObjectId;
+            double impulseX = forceX * deltaTime;
+            double impulseY = forceY * deltaTime;
+            driver.submitBuffered(commands -> commands.applyImpulse(id, impulseX, impulseY));
         }
     }
 
     private void handleObjectSelection(double clickX, double clickY) {
+        WorldSnapshot current = driver.latestSnapshot();
         for (Map.Entry<Integer, ShapeInfo> entry : objectShapes.entrySet()) {
             int id = entry.getKey();
             ShapeInfo shapeInfo = entry.getValue();
-            ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, id);
+            int slot = current.findSlot(id);
             
-            if (state == null) continue;
+            if (slot < 0) continue;
             
-            double posX = state.getPosX();
-            double posY = state.getPosY();
+            double posX = current.getPosX(slot);
+            double posY = current.getPosY(slot);
             double width = 0;
             double height = 0;
             
@@ -584,26 +328,27 @@ public class GUIController {
     }
 
     private void render() {
+        snapshot = driver.latestSnapshot();
+        renderedSequence = snapshot.getSequence();
+        double alpha = snapshot.getAlpha(System.nanoTime());
         clearCanvas();
         
         // Draw boundary box
         gc.setStroke(Color.BLACK);
         gc.setLineWidth(2);
-        final double MARGIN = 5.0;
         // Draw the boundary rectangle
         gc.strokeRect(MARGIN, MARGIN, 
                      canvas.getWidth() - 2*MARGIN, 
                      canvas.getHeight() - 2*MARGIN);
         
-        for (Map.Entry<Integer, ShapeInfo> entry : objectShapes.entrySet()) {
-            int id = entry.getKey();
-            ShapeInfo shapeInfo = entry.getValue();
+        int count = snapshot.size();
+        for (int slot = 0; slot < count; slot++) {
+            int id = snapshot.getId(slot);
+            ShapeInfo shapeInfo = objectShapes.get(id);
+            if (shapeInfo == null) continue;
             
-            ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, id);
-            if (state == null) continue;
-            
-            double posX = state.getPosX();
-            double posY = state.getPosY();
+            double posX = snapshot.getInterpolatedPosX(slot, alpha);
+            double posY = snapshot.getInterpolatedPosY(slot, alpha);
             
             // Highlight selected object
             if (selectedObjectId != null && selectedObjectId == id) {
@@ -658,7 +403,7 @@ public class GUIController {
             
             // Draw velocity vector if enabled
             if (isShowingAcc) {
-                drawVelocityVector(centerX, centerY, state.getVelX(), state.getVelY());
+                drawVelocityVector(centerX, centerY, snapshot.getVelX(slot), snapshot.getVelY(slot));
             }
         }
         
@@ -668,6 +413,10 @@ public class GUIController {
             gc.setFont(new Font("Arial", 14));
             gc.fillText("Use arrow keys to apply forces (LEFT/RIGHT/UP/DOWN)", 10, 20);
         }
+
+        if (isShowingStats) {
+            drawStatsOverlay();
+        }
     }
 
     public void handleAddObject(String shapeType) {
@@ -715,11 +464,18 @@ public class GUIController {
             double velX = placeOnGround ? 0 : random.nextDouble() * 2 - 1;
             double velY = 0;
 
-            PhysicsEngineJNI.addObject(worldPtr, nextId, mass, x, posY, velX, velY, shapeChar, dimensions);
-            objectShapes.put(nextId, new ShapeInfo(shapeChar, dimensions, color));
+            int id = nextId;
+            double startY = posY;
+            driver.submitBuffered(commands -> {
+                if (shapeChar == 'R') {
+                    commands.addObject(id, mass, x, startY, velX, velY, shapeChar, dimensions[0], dimensions[1]);
+                } else {
+                    commands.addObject(id, mass, x, startY, velX, velY, shapeChar, dimensions[0]);
+                }
+            });
+            objectShapes.put(id, new ShapeInfo(shapeChar, dimensions, color));
             
             nextId++;
-            render();
         } catch (Exception e) {
             showError("Failed to add object: " + e.getMessage());
         }
@@ -789,25 +545,24 @@ public class GUIController {
     }
 
     public void startSimulation() {
-        isRunning = true;
+        driver.setStepping(true);
     }
 
     public void pauseSimulation() {
-        isRunning = false;
+        driver.setStepping(false);
     }
 
     public void resetSimulation() {
-        isRunning = false;
         clearCanvas();
         nextId = 1;
         objectShapes.clear();
         selectedObjectId = null;
-        PhysicsEngineJNI.deletePhysicsWorld(worldPtr);
-        worldPtr = PhysicsEngineJNI.createPhysicsWorld();
+        driver.resetWorld();
+        configureBounds();
     }
 
     public boolean isRunning() {
-        return isRunning;
+        return driver.isStepping();
     }
 
     public boolean isFrictionless() {
@@ -815,7 +570,8 @@ public class GUIController {
     }
 
     public void cleanup() {
-        isRunning = false;
+        frameStats.close();
+        driver.setStepping(false);
         objectShapes.clear();
         selectedObjectId = null;
     }
@@ -0,0 +1,96 @@
+package JAVA;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size histogram of durations in nanoseconds that any thread can
+// record into and any other thread can read, with no locks and no
+// allocation. Buckets are log-linear: 16 per power of two, so a reported
+// value is at most 1/16 above the true one. Durations past MAX_NANOS
+// (about 18 minutes) land in the last bucket.
+//
+// Counts only ever grow. A reader that wants the values of an interval
+// copies the histogram into a Snapshot at both ends and subtracts.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    public static final long MAX_NANOS = (1L << 40) - 1;
+    static final int BUCKET_COUNT = bucketOf(MAX_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    // Counts copied out of a histogram; reused from copy to copy
+    public static class Snapshot {
+        final long[] counts = new long[BUCKET_COUNT];
+        long total;
+
+        public long getCount() {
+            return total;
+        }
+
+        // Smallest recorded value that at least fraction of the values do
+        // not exceed, at bucket precision; 0 when empty
+        public long getPercentile(double fraction) {
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(fraction * total));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) return upperBound(bucket);
+            }
+            return upperBound(BUCKET_COUNT - 1);
+        }
+
+        // Largest recorded value, at bucket precision; 0 when empty
+        public long getMax() {
+            for (int bucket = BUCKET_COUNT - 1; bucket >= 0; bucket--) {
+                if (counts[bucket] != 0) return upperBound(bucket);
+            }
+            return 0;
+        }
+
+        // Turn this into the values recorded after earlier was taken
+        public void subtract(Snapshot earlier) {
+            total = 0;
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                counts[bucket] -= earlier.counts[bucket];
+                total += counts[bucket];
+            }
+        }
+
+        public void copyFrom(Snapshot other) {
+            System.arraycopy(other.counts, 0, counts, 0, BUCKET_COUNT);
+            total = other.total;
+        }
+    }
+
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.min(Math.max(nanos, 0), MAX_NANOS)));
+    }
+
+    // Values being recorded during the copy may or may not be included
+    public void copyInto(Snapshot out) {
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            out.counts[bucket] = counts.get(bucket);
+            total += out.counts[bucket];
+        }
+        out.total = total;
+    }
+
+    // Values below SUB_BUCKETS get a bucket each; above that, the top
+    // SUB_BUCKET_BITS + 1 bits pick the bucket
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        int sub = (int) (nanos >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    // Largest value that falls in the bucket
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
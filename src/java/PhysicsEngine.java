@@ -0,0 +1,145 @@
+package JAVA;
+
+import java.io.IOException;
+import java.util.Locale;
+
+// One way of driving physics worlds. Worlds are opaque handles that belong
+// to the engine that created them and must only be passed back to it.
+// Option codes and parameters are the ones documented in PhysicsEngineJNI.
+//
+// The implementation is picked once at startup with -Dphysics.engine=<name>:
+//   jni   PhysicsEngineJNI (default)
+//   ffm   java.lang.foreign downcalls into the same library (JDK 22+)
+//   java  JavaPhysicsEngine, plain Java with no native library
+// With -Dphysics.record=<file> the engine is wrapped in a RecordingEngine
+// that logs every change to the world for ReplayRunner. With
+// -Dphysics.telemetry=<file>, SimulationDriver and BatchRunner publish
+// their world to a telemetry ring there.
+public interface PhysicsEngine {
+    String SYSTEM_PROPERTY = "physics.engine";
+    String DEFAULT_ENGINE = "jni";
+    String RECORD_PROPERTY = "physics.record";
+    String TELEMETRY_PROPERTY = "physics.telemetry";
+
+    // Ring size used for the physics.telemetry file
+    int TELEMETRY_FRAMES = 1024;
+    int TELEMETRY_MAX_BODIES = 4096;
+
+    // Indices into the array filled by getObjectState(world, id, out)
+    int STATE_POS_X = 0;
+    int STATE_POS_Y = 1;
+    int STATE_VEL_X = 2;
+    int STATE_VEL_Y = 3;
+    int STATE_ACC_X = 4;
+    int STATE_ACC_Y = 5;
+    int STATE_FIELD_COUNT = 6;
+
+    String getName();
+
+    long createWorld();
+    void deleteWorld(long world);
+
+    void addObject(long world, int id, double mass, double posX, double posY, double velX, double velY,
+                   char shape, double... dimensions);
+
+    // Removing a body moves the last body into its slot, so slots seen
+    // through getStateView change. False / 0 for ids that name no body.
+    boolean removeObject(long world, int id);
+    int removeObjects(long world, int... ids);
+
+    // Applies every command in the buffer in order, in a single call into
+    // native engines, then clears it; returns how many commands were applied
+    int flushCommands(long world, CommandBuffer commands);
+
+    void configureForces(long world, int choice, double... params);
+    void configureWorld(long world, int option, double... params);
+
+    void stepSimulation(long world, double deltaTime);
+    // Runs the whole fixed steps that fit in frameDelta (each with a collision pass), returns the interpolation alpha
+    double stepFixed(long world, double frameDelta);
+    void handleCollisions(long world);
+
+    // Null if there is no body with the id
+    ObjectState getObjectState(long world, int id);
+
+    // Copies the body's state into out (STATE_FIELD_COUNT values) without
+    // creating an ObjectState; false if there is no body with the id
+    boolean getObjectState(long world, int id, double[] out);
+
+    void updateObjectState(long world, int id, double posX, double posY, double velX, double velY);
+
+    boolean isWorldAsleep(long world);
+
+    // Checkpoint of every body and the world parameters in the binary format
+    // of include/world_file.h, readable by every engine; false on failure
+    boolean saveWorld(long world, String path);
+
+    // New world restored from a saveWorld file, or 0 if it cannot be read
+    long loadWorld(String path);
+
+    // Publishes a frame after every collision pass into a memory-mapped ring
+    // of frameCount frames at path, for TelemetryReader in another process;
+    // a null path stops publishing. False if the file cannot be created or
+    // the engine has no telemetry.
+    boolean enableTelemetry(long world, String path, int frameCount, int maxBodies);
+
+    // Copies the step timings and counters gathered since the previous call
+    // into out (PhysicsEngineJNI.PROFILE_FIELD_COUNT values, indexed by the
+    // PROFILE_* constants) and starts them over. False if WORLD_PROFILE is
+    // off or the engine has no profiler.
+    boolean getStepProfile(long world, long[] out);
+
+    // Copies the contact cache counters (PhysicsEngineJNI.CONTACT_STAT_COUNT
+    // values, indexed by the CONTACT_STAT_* constants) into out. False if
+    // WORLD_CONTACT_CACHE is off or the engine has no contact cache.
+    boolean getContactCacheStats(long world, long[] out);
+
+    // Starts publishing the world's state; the view is kept up to date from then on
+    BodyStateView getStateView(long world);
+
+    // Starts publishing world to the physics.telemetry file, if one is given
+    static void enableTelemetryFromProperty(PhysicsEngine engine, long world) {
+        String telemetry = System.getProperty(TELEMETRY_PROPERTY);
+        if (telemetry != null && !engine.enableTelemetry(world, telemetry, TELEMETRY_FRAMES, TELEMETRY_MAX_BODIES)) {
+            System.err.println("No telemetry from the " + engine.getName() + " engine to " + telemetry);
+        }
+    }
+
+    // The engine named by the physics.engine system property, recording
+    // to the physics.record file if one is given
+    static PhysicsEngine select() {
+        PhysicsEngine engine = forName(System.getProperty(SYSTEM_PROPERTY, DEFAULT_ENGINE));
+        String recording = System.getProperty(RECORD_PROPERTY);
+        if (recording == null) {
+            return engine;
+        }
+        try {
+            return RecordingEngine.open(engine, recording);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot record to " + recording + ": " + e, e);
+        }
+    }
+
+    static PhysicsEngine forName(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "jni":
+                return load("JAVA.jni.JniPhysicsEngine");
+            case "ffm":
+                return load("JAVA.ffm.FfmPhysicsEngine");
+            case "java":
+                return load("JAVA.pure.JavaPhysicsEngine");
+            default:
+                throw new IllegalArgumentException("Unknown physics engine " + name);
+        }
+    }
+
+    // Loaded by name so builds on JDKs without java.lang.foreign can leave
+    // the ffm sources out
+    static PhysicsEngine load(String className) {
+        try {
+            return (PhysicsEngine) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Physics engine " + className + " is not available: " + e, e);
+        }
+    }
+}
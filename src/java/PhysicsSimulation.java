@@ -2,15 +2,20 @@ package JAVA;
 
 import java.util.Scanner;
 
-import JAVA.jni.PhysicsEngineJNI;
-
 public class PhysicsSimulation {
     private static Scanner scanner = new Scanner(System.in);
+    private final PhysicsEngine engine;
     private long worldPtr;
     private int nextId = 1;
 
+    // Uses the engine named by -Dphysics.engine
     public PhysicsSimulation() {
-        worldPtr = PhysicsEngineJNI.createPhysicsWorld();
+        this(PhysicsEngine.select());
+    }
+
+    public PhysicsSimulation(PhysicsEngine engine) {
+        this.engine = engine;
+        worldPtr = engine.createWorld();
     }
 
     private static <T extends Number> T getValidInput(String prompt, Class<T> type) {
@@ -53,7 +58,7 @@ public class PhysicsSimulation {
                         handleConfigureForces();
                         break;
                     case 3:
-                        PhysicsEngineJNI.handleCollisions(worldPtr);
+                        engine.handleCollisions(worldPtr);
                         break;
                     case 4:
                         handleStepSimulation();
@@ -111,7 +116,7 @@ public class PhysicsSimulation {
                 return;
         }
 
-        PhysicsEngineJNI.addObject(worldPtr, nextId++, mass, posX, posY, velX, velY, shape, dimensions);
+        engine.addObject(worldPtr, nextId++, mass, posX, posY, velX, velY, shape, dimensions);
         System.out.println("Object created successfully!");
     }
 
@@ -127,26 +132,32 @@ public class PhysicsSimulation {
             case 1:
                 double mu_s = getValidInput("Enter static friction coefficient (mu_s): ", Double.class);
                 double mu_k = getValidInput("Enter kinetic friction coefficient (mu_k): ", Double.class);
-                PhysicsEngineJNI.configureForces(worldPtr, choice, mu_s, mu_k);
+                engine.configureForces(worldPtr, choice, mu_s, mu_k);
                 break;
             case 2:
                 double g = getValidInput("Enter gravitational acceleration (g): ", Double.class);
-                PhysicsEngineJNI.configureForces(worldPtr, choice, g);
+                engine.configureForces(worldPtr, choice, g);
                 break;
         }
     }
 
     private void handleStepSimulation() {
         double deltaTime = getValidInput("Enter time step (in seconds): ", Double.class);
-        PhysicsEngineJNI.stepSimulation(worldPtr, deltaTime);
+        engine.stepSimulation(worldPtr, deltaTime);
         System.out.println("\nSimulation stepped forward by " + deltaTime + " seconds.");
     }
 
     public void cleanup() {
-        PhysicsEngineJNI.deletePhysicsWorld(worldPtr);
+        engine.deleteWorld(worldPtr);
     }
 
     public static void main(String[] args) {
+        // A scene file on the command line runs headless instead of the menu
+        if (args.length > 0) {
+            BatchRunner.main(args);
+            return;
+        }
+
         PhysicsSimulation simulation = new PhysicsSimulation();
         try {
             simulation.run();
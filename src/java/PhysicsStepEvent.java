@@ -0,0 +1,82 @@
+package JAVA;
+
+import JAVA.jni.PhysicsEngineJNI;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Flight Recorder event for one frame of a simulation: the stepFixed call
+// and the per-phase profile of the substeps it ran (see
+// PhysicsEngine.getStepProfile). Recorded with, e.g.,
+//   java -XX:StartFlightRecording=filename=run.jfr ...
+// and shown as "Physics Step" next to GC and JavaFX events. The world is
+// profiled only while a recording has the event enabled.
+@Name("physics.Step")
+@Label("Physics Step")
+@Category({ "Physics" })
+@Description("Fixed steps run for one frame, with time spent in each solver phase")
+@StackTrace(false)
+public class PhysicsStepEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Steps")
+    long steps;
+
+    @Label("Collision Passes")
+    long collisionPasses;
+
+    @Label("Integrate")
+    @Description("Forces, integration and walls, which run in one pass per body")
+    @Timespan(Timespan.NANOSECONDS)
+    long integrate;
+
+    @Label("Sleep")
+    @Timespan(Timespan.NANOSECONDS)
+    long sleep;
+
+    @Label("Broadphase")
+    @Timespan(Timespan.NANOSECONDS)
+    long broadphase;
+
+    @Label("Narrowphase")
+    @Timespan(Timespan.NANOSECONDS)
+    long narrowphase;
+
+    @Label("Islands")
+    @Timespan(Timespan.NANOSECONDS)
+    long islands;
+
+    @Label("Resolve")
+    @Timespan(Timespan.NANOSECONDS)
+    long resolve;
+
+    @Label("Candidate Pairs")
+    long candidatePairs;
+
+    @Label("Contacts")
+    long contacts;
+
+    @Label("Iterations")
+    long iterations;
+
+    // Copies a profile laid out as the PhysicsEngineJNI.PROFILE_* indices
+    void setProfile(String engine, long[] profile) {
+        this.engine = engine;
+        steps = profile[PhysicsEngineJNI.PROFILE_STEPS];
+        collisionPasses = profile[PhysicsEngineJNI.PROFILE_COLLISION_PASSES];
+        integrate = profile[PhysicsEngineJNI.PROFILE_INTEGRATE_NANOS];
+        sleep = profile[PhysicsEngineJNI.PROFILE_SLEEP_NANOS];
+        broadphase = profile[PhysicsEngineJNI.PROFILE_BROADPHASE_NANOS];
+        narrowphase = profile[PhysicsEngineJNI.PROFILE_NARROWPHASE_NANOS];
+        islands = profile[PhysicsEngineJNI.PROFILE_ISLAND_NANOS];
+        resolve = profile[PhysicsEngineJNI.PROFILE_RESOLVE_NANOS];
+        candidatePairs = profile[PhysicsEngineJNI.PROFILE_CANDIDATE_PAIRS];
+        contacts = profile[PhysicsEngineJNI.PROFILE_CONTACTS];
+        iterations = profile[PhysicsEngineJNI.PROFILE_ITERATIONS];
+    }
+}
@@ -0,0 +1,371 @@
+package JAVA;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// PhysicsEngine that passes every call through to another engine and
+// appends each call that changes a world to a binary log, so a run can be
+// replayed later at full speed with ReplayRunner. Reads are not logged.
+// Turned on for PhysicsEngine.select() with -Dphysics.record=<file>.
+//
+// The log is a header (magic, version, engine name) followed by one record
+// per call: an opcode, the number of steps taken so far, the world handle
+// and the call's arguments. A world's bodies are hashed into a CHECK record
+// before it is deleted and when the log is closed, so a replay can tell
+// whether it ended in exactly the recorded state. Frame deltas passed to
+// stepFixed are logged as they were measured, which makes the replay
+// independent of the wall clock.
+public class RecordingEngine implements PhysicsEngine, Closeable {
+    static final int MAGIC = 0x50485952;   // "PHYR"
+    static final int VERSION = 1;
+
+    // Record opcodes
+    static final int OP_CREATE = 1;
+    static final int OP_DELETE = 2;
+    static final int OP_ADD = 3;
+    static final int OP_FORCES = 4;
+    static final int OP_WORLD = 5;
+    static final int OP_STEP = 6;
+    static final int OP_STEP_FIXED = 7;
+    static final int OP_COLLIDE = 8;
+    static final int OP_UPDATE = 9;
+    static final int OP_LOAD = 10;
+    static final int OP_CHECK = 11;
+    static final int OP_REMOVE = 12;
+    static final int OP_COMMANDS = 13;
+
+    // The log is flushed after this many steps, so little is lost if the process dies
+    private static final int FLUSH_STEPS = 60;
+
+    private final PhysicsEngine engine;
+    private final Set<Long> liveWorlds = new LinkedHashSet<>();
+    private DataOutputStream out;
+    private int steps;
+
+    public RecordingEngine(PhysicsEngine engine, OutputStream log) throws IOException {
+        this.engine = engine;
+        this.out = new DataOutputStream(new BufferedOutputStream(log, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(engine.getName());
+    }
+
+    public static RecordingEngine open(PhysicsEngine engine, String path) throws IOException {
+        Path file = Paths.get(path);
+        return new RecordingEngine(engine, Files.newOutputStream(file));
+    }
+
+    public PhysicsEngine getRecordedEngine() {
+        return engine;
+    }
+
+    // Steps logged so far
+    public synchronized int getStepCount() {
+        return steps;
+    }
+
+    @Override
+    public String getName() {
+        return engine.getName();
+    }
+
+    @Override
+    public synchronized long createWorld() {
+        long world = engine.createWorld();
+        liveWorlds.add(world);
+        begin(OP_CREATE, world);
+        return world;
+    }
+
+    @Override
+    public synchronized void deleteWorld(long world) {
+        if (liveWorlds.remove(world)) {
+            writeCheck(world);
+        }
+        engine.deleteWorld(world);
+        begin(OP_DELETE, world);
+        flush();
+    }
+
+    @Override
+    public synchronized void addObject(long world, int id, double mass, double posX, double posY,
+                                       double velX, double velY, char shape, double... dimensions) {
+        engine.addObject(world, id, mass, posX, posY, velX, velY, shape, dimensions);
+        if (begin(OP_ADD, world)) {
+            try {
+                out.writeInt(id);
+                out.writeDouble(mass);
+                out.writeDouble(posX);
+                out.writeDouble(posY);
+                out.writeDouble(velX);
+                out.writeDouble(velY);
+                out.writeChar(shape);
+                writeArray(dimensions);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean removeObject(long world, int id) {
+        boolean removed = engine.removeObject(world, id);
+        writeRemove(world, id);
+        return removed;
+    }
+
+    @Override
+    public synchronized int removeObjects(long world, int... ids) {
+        int removed = engine.removeObjects(world, ids);
+        writeRemove(world, ids);
+        return removed;
+    }
+
+    // The batch is logged as it was encoded, in this machine's byte order
+    @Override
+    public synchronized int flushCommands(long world, CommandBuffer commands) {
+        if (begin(OP_COMMANDS, world)) {
+            try {
+                byte[] encoded = commands.toByteArray();
+                out.writeInt(commands.getCommandCount());
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        return engine.flushCommands(world, commands);
+    }
+
+    @Override
+    public synchronized void configureForces(long world, int choice, double... params) {
+        engine.configureForces(world, choice, params);
+        writeOption(OP_FORCES, world, choice, params);
+    }
+
+    @Override
+    public synchronized void configureWorld(long world, int option, double... params) {
+        engine.configureWorld(world, option, params);
+        writeOption(OP_WORLD, world, option, params);
+    }
+
+    @Override
+    public synchronized void stepSimulation(long world, double deltaTime) {
+        engine.stepSimulation(world, deltaTime);
+        writeStep(OP_STEP, world, deltaTime);
+    }
+
+    @Override
+    public synchronized double stepFixed(long world, double frameDelta) {
+        double alpha = engine.stepFixed(world, frameDelta);
+        writeStep(OP_STEP_FIXED, world, frameDelta);
+        return alpha;
+    }
+
+    @Override
+    public synchronized void handleCollisions(long world) {
+        engine.handleCollisions(world);
+        begin(OP_COLLIDE, world);
+    }
+
+    @Override
+    public ObjectState getObjectState(long world, int id) {
+        return engine.getObjectState(world, id);
+    }
+
+    @Override
+    public boolean getObjectState(long world, int id, double[] out) {
+        return engine.getObjectState(world, id, out);
+    }
+
+    @Override
+    public synchronized void updateObjectState(long world, int id, double posX, double posY, double velX, double velY) {
+        engine.updateObjectState(world, id, posX, posY, velX, velY);
+        if (begin(OP_UPDATE, world)) {
+            try {
+                out.writeInt(id);
+                out.writeDouble(posX);
+                out.writeDouble(posY);
+                out.writeDouble(velX);
+                out.writeDouble(velY);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isWorldAsleep(long world) {
+        return engine.isWorldAsleep(world);
+    }
+
+    @Override
+    public boolean saveWorld(long world, String path) {
+        return engine.saveWorld(world, path);
+    }
+
+    // The replay loads the same file, so it must still be there unchanged
+    @Override
+    public synchronized long loadWorld(String path) {
+        long world = engine.loadWorld(path);
+        if (world != 0) {
+            liveWorlds.add(world);
+            if (begin(OP_LOAD, world)) {
+                try {
+                    out.writeUTF(path);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+        return world;
+    }
+
+    @Override
+    public boolean enableTelemetry(long world, String path, int frameCount, int maxBodies) {
+        return engine.enableTelemetry(world, path, frameCount, maxBodies);
+    }
+
+    @Override
+    public boolean getStepProfile(long world, long[] out) {
+        return engine.getStepProfile(world, out);
+    }
+
+    @Override
+    public boolean getContactCacheStats(long world, long[] out) {
+        return engine.getContactCacheStats(world, out);
+    }
+
+    @Override
+    public BodyStateView getStateView(long world) {
+        return engine.getStateView(world);
+    }
+
+    // Logs the state of every world still alive and closes the log; calls
+    // after this still reach the engine but are no longer logged
+    @Override
+    public synchronized void close() throws IOException {
+        if (out == null) return;
+        for (long world : liveWorlds) {
+            writeCheck(world);
+        }
+        DataOutputStream closing = out;
+        out = null;
+        closing.close();
+    }
+
+    private void writeOption(int op, long world, int code, double[] params) {
+        if (begin(op, world)) {
+            try {
+                out.writeInt(code);
+                writeArray(params);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void writeRemove(long world, int... ids) {
+        if (begin(OP_REMOVE, world)) {
+            try {
+                out.writeInt(ids.length);
+                for (int id : ids) {
+                    out.writeInt(id);
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void writeStep(int op, long world, double delta) {
+        if (begin(op, world)) {
+            try {
+                out.writeDouble(delta);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        if (++steps % FLUSH_STEPS == 0) {
+            flush();
+        }
+    }
+
+    private void writeCheck(long world) {
+        BodyStateView view = engine.getStateView(world);
+        int count = view.size();
+        long hash = stateHash(view, count);
+        if (begin(OP_CHECK, world)) {
+            try {
+                out.writeInt(count);
+                out.writeLong(hash);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void writeArray(double[] values) throws IOException {
+        out.writeShort(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    // Writes the fields every record starts with; false once logging has stopped,
+    // in which case the caller skips the arguments
+    private boolean begin(int op, long world) {
+        if (out == null) return false;
+        try {
+            out.writeByte(op);
+            out.writeInt(steps);
+            out.writeLong(world);
+            return true;
+        } catch (IOException e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    private void flush() {
+        if (out == null) return;
+        try {
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // A broken log must not stop the simulation; report once and carry on unrecorded
+    private void fail(IOException e) {
+        if (out == null) return;
+        System.err.println("Recording stopped: " + e.getMessage());
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Already failing
+        }
+        out = null;
+    }
+
+    // Order-sensitive hash of every body's id, position and velocity
+    static long stateHash(BodyStateView view, int count) {
+        long hash = count;
+        for (int slot = 0; slot < count; slot++) {
+            hash = hash * 31 + view.getId(slot);
+            hash = hash * 31 + Double.doubleToLongBits(view.getPosX(slot));
+            hash = hash * 31 + Double.doubleToLongBits(view.getPosY(slot));
+            hash = hash * 31 + Double.doubleToLongBits(view.getVelX(slot));
+            hash = hash * 31 + Double.doubleToLongBits(view.getVelY(slot));
+        }
+        return hash;
+    }
+}
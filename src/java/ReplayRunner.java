@@ -0,0 +1,281 @@
+package JAVA;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Headless entry point: replays a log written by RecordingEngine as fast
+// as possible, timing every step, and checks that each world ends in the
+// state that was recorded. The engine comes from -Dphysics.engine; the
+// final state only matches when it is the engine that made the recording,
+// configured the same way.
+//
+// A step's time covers the stepSimulation or stepFixed call and the
+// handleCollisions calls that follow it. Adding bodies and other commands
+// run between steps and are not counted.
+public class ReplayRunner {
+    // Steps listed as the slowest in the printed summary
+    private static final int SLOWEST_SHOWN = 10;
+
+    public static class Result {
+        String recordedEngine;
+        String engine;
+        int records;
+        int steps;
+        long[] stepNanos = new long[1024];
+        int checks;
+        int mismatches;
+
+        public int getSteps() { return steps; }
+        public int getChecks() { return checks; }
+        public int getMismatches() { return mismatches; }
+        public boolean isStateMatched() { return mismatches == 0; }
+
+        // Time of each step in nanoseconds, indexed by step
+        public long[] getStepNanos() { return Arrays.copyOf(stepNanos, steps); }
+
+        public double getSeconds() {
+            long total = 0;
+            for (int i = 0; i < steps; i++) total += stepNanos[i];
+            return total * 1e-9;
+        }
+
+        public void print(PrintStream out) {
+            long[] sorted = getStepNanos();
+            Arrays.sort(sorted);
+            out.printf(Locale.ROOT, "recorded engine  %s%n", recordedEngine);
+            out.printf(Locale.ROOT, "engine           %s%n", engine);
+            out.printf(Locale.ROOT, "records          %d%n", records);
+            out.printf(Locale.ROOT, "steps            %d%n", steps);
+            out.printf(Locale.ROOT, "step seconds     %.3f%n", getSeconds());
+            if (steps > 0) {
+                out.printf(Locale.ROOT, "step ms p50      %.3f%n", percentile(sorted, 0.50) * 1e-6);
+                out.printf(Locale.ROOT, "step ms p99      %.3f%n", percentile(sorted, 0.99) * 1e-6);
+                out.printf(Locale.ROOT, "step ms max      %.3f%n", sorted[steps - 1] * 1e-6);
+                out.printf(Locale.ROOT, "slowest steps   ");
+                for (int step : slowestSteps(SLOWEST_SHOWN)) {
+                    out.printf(Locale.ROOT, " %d (%.3f ms)", step, stepNanos[step] * 1e-6);
+                }
+                out.println();
+            }
+            out.printf(Locale.ROOT, "final state      %s (%d of %d checks matched)%n",
+                       isStateMatched() ? "identical" : "DIFFERENT", checks - mismatches, checks);
+        }
+
+        // One line per step: index, nanoseconds
+        public void writeTimings(PrintWriter out) {
+            out.println("step,nanos");
+            for (int i = 0; i < steps; i++) {
+                out.print(i);
+                out.print(',');
+                out.println(stepNanos[i]);
+            }
+        }
+
+        private int[] slowestSteps(int limit) {
+            Integer[] order = new Integer[steps];
+            for (int i = 0; i < steps; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Long.compare(stepNanos[b], stepNanos[a]));
+            int[] slowest = new int[Math.min(limit, steps)];
+            for (int i = 0; i < slowest.length; i++) slowest[i] = order[i];
+            return slowest;
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.floor(fraction * sorted.length))];
+        }
+
+        private void addStepTime(int step, long nanos) {
+            if (step >= stepNanos.length) {
+                stepNanos = Arrays.copyOf(stepNanos, Math.max(stepNanos.length * 2, step + 1));
+            }
+            stepNanos[step] += nanos;
+        }
+    }
+
+    // Replays the log on the engine selected at startup
+    public static Result replay(String path) throws IOException {
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+            return replay(in, PhysicsEngine.select());
+        }
+    }
+
+    public static Result replay(InputStream log, PhysicsEngine engine) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(log, 1 << 16));
+        if (in.readInt() != RecordingEngine.MAGIC) {
+            throw new IllegalArgumentException("Not a recording");
+        }
+        int version = in.readInt();
+        if (version != RecordingEngine.VERSION) {
+            throw new IllegalArgumentException("Unsupported recording version " + version);
+        }
+
+        Result result = new Result();
+        result.recordedEngine = in.readUTF();
+        result.engine = engine.getName();
+
+        // Recorded handle to the handle of the replayed world
+        Map<Long, Long> worlds = new HashMap<>();
+        try {
+            while (true) {
+                int op = in.read();
+                if (op < 0) break;
+                int step = in.readInt();
+                long recorded = in.readLong();
+                Long world = worlds.get(recorded);
+                result.records++;
+
+                switch (op) {
+                    case RecordingEngine.OP_CREATE:
+                        worlds.put(recorded, engine.createWorld());
+                        break;
+                    case RecordingEngine.OP_LOAD: {
+                        String file = in.readUTF();
+                        long loaded = engine.loadWorld(file);
+                        if (loaded == 0) {
+                            throw new IllegalStateException("Cannot load world file " + file);
+                        }
+                        worlds.put(recorded, loaded);
+                        break;
+                    }
+                    case RecordingEngine.OP_DELETE:
+                        engine.deleteWorld(known(world, recorded));
+                        worlds.remove(recorded);
+                        break;
+                    case RecordingEngine.OP_ADD: {
+                        int id = in.readInt();
+                        double mass = in.readDouble();
+                        double posX = in.readDouble();
+                        double posY = in.readDouble();
+                        double velX = in.readDouble();
+                        double velY = in.readDouble();
+                        char shape = in.readChar();
+                        engine.addObject(known(world, recorded), id, mass, posX, posY, velX, velY, shape, readArray(in));
+                        break;
+                    }
+                    case RecordingEngine.OP_REMOVE: {
+                        int[] ids = new int[in.readInt()];
+                        for (int i = 0; i < ids.length; i++) {
+                            ids[i] = in.readInt();
+                        }
+                        engine.removeObjects(known(world, recorded), ids);
+                        break;
+                    }
+                    case RecordingEngine.OP_COMMANDS: {
+                        int count = in.readInt();
+                        byte[] encoded = new byte[in.readInt()];
+                        in.readFully(encoded);
+                        engine.flushCommands(known(world, recorded), new CommandBuffer(encoded, count));
+                        break;
+                    }
+                    case RecordingEngine.OP_FORCES: {
+                        int choice = in.readInt();
+                        engine.configureForces(known(world, recorded), choice, readArray(in));
+                        break;
+                    }
+                    case RecordingEngine.OP_WORLD: {
+                        int option = in.readInt();
+                        engine.configureWorld(known(world, recorded), option, readArray(in));
+                        break;
+                    }
+                    case RecordingEngine.OP_STEP:
+                    case RecordingEngine.OP_STEP_FIXED: {
+                        double delta = in.readDouble();
+                        long target = known(world, recorded);
+                        long start = System.nanoTime();
+                        if (op == RecordingEngine.OP_STEP) {
+                            engine.stepSimulation(target, delta);
+                        } else {
+                            engine.stepFixed(target, delta);
+                        }
+                        result.addStepTime(step, System.nanoTime() - start);
+                        result.steps = Math.max(result.steps, step + 1);
+                        break;
+                    }
+                    case RecordingEngine.OP_COLLIDE: {
+                        long target = known(world, recorded);
+                        long start = System.nanoTime();
+                        engine.handleCollisions(target);
+                        // Part of the step before it; collisions before any step count towards the first
+                        result.addStepTime(Math.max(step - 1, 0), System.nanoTime() - start);
+                        break;
+                    }
+                    case RecordingEngine.OP_UPDATE: {
+                        int id = in.readInt();
+                        engine.updateObjectState(known(world, recorded), id,
+                                                 in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble());
+                        break;
+                    }
+                    case RecordingEngine.OP_CHECK: {
+                        int count = in.readInt();
+                        long hash = in.readLong();
+                        BodyStateView view = engine.getStateView(known(world, recorded));
+                        int size = view.size();
+                        result.checks++;
+                        if (size != count || RecordingEngine.stateHash(view, size) != hash) {
+                            result.mismatches++;
+                        }
+                        break;
+                    }
+                    default:
+                        throw new IllegalArgumentException("Unknown record " + op + " after step " + step);
+                }
+            }
+        } catch (EOFException e) {
+            // The recording process died mid-record; replay what was complete
+        } finally {
+            for (long world : worlds.values()) {
+                engine.deleteWorld(world);
+            }
+        }
+        return result;
+    }
+
+    private static long known(Long world, long recorded) {
+        if (world == null) {
+            throw new IllegalArgumentException("Record for unknown world " + recorded);
+        }
+        return world;
+    }
+
+    private static double[] readArray(DataInputStream in) throws IOException {
+        double[] values = new double[in.readUnsignedShort()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <recording> [timings.csv]");
+            System.exit(2);
+        }
+
+        try {
+            Result result = replay(args[0]);
+            result.print(System.out);
+            if (args.length >= 2) {
+                try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(args[1])))) {
+                    result.writeTimings(out);
+                }
+            }
+            if (!result.isStateMatched()) {
+                System.exit(3);
+            }
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -9,19 +9,21 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.control.*;
 import javafx.geometry.Insets;
 import javafx.animation.AnimationTimer;
-import JAVA.jni.PhysicsEngineJNI;
+import java.io.IOException;
 
 public class SimulationApp extends Application {
     private GUIController controller;
     private PhysicsSimulation simulation;
-    private long worldPtr;
+    private SimulationDriver driver;
     private AnimationTimer gameLoop;
 
     @Override
     public void start(Stage primaryStage) {
-        // Initialize the physics simulation
-        simulation = new PhysicsSimulation();
-        worldPtr = PhysicsEngineJNI.createPhysicsWorld();
+        // Initialize the physics simulation on the engine named by -Dphysics.engine
+        PhysicsEngine engine = PhysicsEngine.select();
+        simulation = new PhysicsSimulation(engine);
+        // The driver steps the world on its own thread at 60 Hz
+        driver = new SimulationDriver(engine, engine.createWorld(), 1.0 / 60.0);
 
         // Create main layout
         VBox root = new VBox(10);
@@ -68,7 +70,8 @@ public class SimulationApp extends Application {
         Scene scene = new Scene(root);
 
         // Create the controller
-        controller = new GUIController(canvas, simulation, worldPtr);
+        controller = new GUIController(canvas, simulation, driver);
+        driver.start();
 
         // Set up key handling for the scene
         controller.setupKeyHandling(scene);
@@ -123,9 +126,7 @@ public class SimulationApp extends Application {
                 double deltaTime = (now - lastUpdate) * 1e-9; // Convert nanoseconds to seconds
                 lastUpdate = now;
                 
-                if (controller.isRunning()) {
-                    controller.update(deltaTime);
-                }
+                controller.update(deltaTime);
             }
         };
         
@@ -197,12 +198,12 @@ public class SimulationApp extends Application {
             if (dialogButton == applyButtonType) {
                 // Configure gravity
                 double[] gravityParams = {gravitySlider.getValue()};
-                PhysicsEngineJNI.configureForces(worldPtr, 2, gravityParams);
+                driver.submit(worldPtr -> driver.getEngine().configureForces(worldPtr, 2, gravityParams));
 
                 // Configure friction (only if not in frictionless mode)
                 if (!controller.isFrictionless()) {
                     double[] frictionParams = {staticSlider.getValue(), kineticSlider.getValue()};
-                    PhysicsEngineJNI.configureForces(worldPtr, 1, frictionParams);
+                    driver.submit(worldPtr -> driver.getEngine().configureForces(worldPtr, 1, frictionParams));
                 }
             }
             return null;
@@ -219,7 +220,16 @@ public class SimulationApp extends Application {
         if (controller != null) {
             controller.cleanup();
         }
-        PhysicsEngineJNI.deletePhysicsWorld(worldPtr);
+        if (driver != null) {
+            driver.shutdown();
+            if (driver.getEngine() instanceof RecordingEngine) {
+                try {
+                    ((RecordingEngine) driver.getEngine()).close();
+                } catch (IOException e) {
+                    System.err.println("Recording not closed: " + e.getMessage());
+                }
+            }
+        }
     }
 
     public static void main(String[] args) {
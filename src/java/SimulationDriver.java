@@ -0,0 +1,270 @@
+package JAVA;
+
+import JAVA.jni.PhysicsEngineJNI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.EventType;
+
+// Steps a physics world on its own thread at a fixed rate and publishes a
+// snapshot of its state after every step. The world is owned by that
+// thread: other threads change it only through submitted commands, which run
+// in order between steps, and read it only through snapshots. Commands
+// reach the world through getEngine().
+//
+// Snapshots are triple-buffered. The simulation thread fills the back
+// snapshot and swaps it into the middle slot; the reader swaps the middle
+// slot with its front snapshot when a newer one is there. Neither side ever
+// waits for the other and a reader never sees a snapshot being written.
+//
+// Changes submitted with submitBuffered are written into a CommandBuffer
+// instead and reach the engine in one flushCommands call, so the number of
+// calls into the engine per frame does not depend on how many bodies the
+// UI touched. Buffered and plain commands still run in submission order.
+//
+// Every frame is reported as a PhysicsStepEvent while a Flight Recorder
+// recording has that event enabled; the world is profiled only then.
+public class SimulationDriver {
+    // A change to the world, run on the simulation thread
+    public interface WorldCommand {
+        void apply(long worldPtr);
+    }
+
+    // A change to the world written into a command buffer, on the simulation thread
+    public interface BufferedCommand {
+        void write(CommandBuffer commands);
+    }
+
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;   // The middle snapshot has not been read yet
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final EventType STEP_EVENT = EventType.getEventType(PhysicsStepEvent.class);
+
+    private final BlockingQueue<WorldCommand> commands = new LinkedBlockingQueue<>();
+    private final WorldSnapshot[] snapshots = { new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot() };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private final PhysicsEngine engine;
+    private final double stepSize;
+    private final Thread thread;
+    private final FrameStats frameStats = new FrameStats();
+
+    private volatile boolean stepping;
+    private volatile boolean shutdown;
+
+    // Simulation thread only
+    private long worldPtr;
+    private BodyStateView stateView;
+    private int back = 0;
+    private long sequence;
+    private boolean profiling;
+    private final CommandBuffer commandBuffer = new CommandBuffer();
+    private final long[] profile = new long[PhysicsEngineJNI.PROFILE_FIELD_COUNT];
+
+    // Reader only
+    private int front = 2;
+
+    // Takes ownership of the engine's world; it is deleted by shutdown
+    public SimulationDriver(PhysicsEngine engine, long worldPtr, double stepSize) {
+        this.engine = engine;
+        this.worldPtr = worldPtr;
+        this.stepSize = stepSize;
+        this.thread = new Thread(this::run, "physics-simulation");
+        this.thread.setDaemon(true);
+    }
+
+    // The engine that owns the world, for use inside commands
+    public PhysicsEngine getEngine() {
+        return engine;
+    }
+
+    // Stage timings; the simulation thread records its commands, steps and
+    // publishing here, and the UI can add its own stages
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    // Queue a change to the world; it runs before the next step
+    public void submit(WorldCommand command) {
+        commands.add(command);
+    }
+
+    // Queue a change to be batched with the other buffered changes that
+    // run before the next step
+    public void submitBuffered(BufferedCommand command) {
+        commands.add(new BufferedWrite(command));
+    }
+
+    private final class BufferedWrite implements WorldCommand {
+        private final BufferedCommand command;
+
+        BufferedWrite(BufferedCommand command) {
+            this.command = command;
+        }
+
+        @Override
+        public void apply(long worldPtr) {
+            command.write(commandBuffer);
+        }
+    }
+
+    // Start or pause stepping; the driver also pauses once the world is asleep
+    public void setStepping(boolean stepping) {
+        this.stepping = stepping;
+        commands.add(ptr -> { });   // Wake the thread if it is idle
+    }
+
+    public boolean isStepping() {
+        return stepping;
+    }
+
+    // Replace the world with a new, empty one
+    public void resetWorld() {
+        stepping = false;
+        submit(ptr -> {
+            engine.deleteWorld(worldPtr);
+            worldPtr = engine.createWorld();
+            prepareWorld(worldPtr);
+            stateView = engine.getStateView(worldPtr);
+        });
+    }
+
+    private void prepareWorld(long ptr) {
+        engine.configureWorld(ptr, PhysicsEngineJNI.WORLD_FIXED_STEP, stepSize);
+        PhysicsEngine.enableTelemetryFromProperty(engine, ptr);
+        profiling = false;   // A new world starts unprofiled
+    }
+
+    // Newest published snapshot; it stays unchanged until the next call.
+    // Must always be called from the same reader thread.
+    public WorldSnapshot latestSnapshot() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return snapshots[front];
+    }
+
+    // Stop the thread and delete the world
+    public void shutdown() {
+        shutdown = true;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worldPtr != 0) {
+            engine.deleteWorld(worldPtr);
+            worldPtr = 0;
+        }
+    }
+
+    private void run() {
+        prepareWorld(worldPtr);
+        stateView = engine.getStateView(worldPtr);
+        long stepNanos = (long) (stepSize * 1e9);
+        long lastTick = System.nanoTime();
+        boolean wasStepping = false;
+
+        try {
+            while (!shutdown) {
+                boolean changed = runCommands();
+
+                double alpha = 1.0;
+                if (stepping) {
+                    long now = System.nanoTime();
+                    // Time spent paused is not simulated
+                    double frameDelta = wasStepping ? (now - lastTick) * 1e-9 : 0.0;
+                    lastTick = now;
+
+                    updateProfiling();
+                    PhysicsStepEvent event = new PhysicsStepEvent();
+                    event.begin();
+
+                    int revision = stateView.getRevision();
+                    long stepStart = System.nanoTime();
+                    alpha = engine.stepFixed(worldPtr, frameDelta);
+                    frameStats.record(FrameStats.Stage.STEP, System.nanoTime() - stepStart);
+                    changed |= stateView.getRevision() != revision;
+
+                    event.end();
+                    commitProfile(event);
+
+                    if (engine.isWorldAsleep(worldPtr)) {
+                        stepping = false;
+                    }
+                }
+                wasStepping = stepping;
+
+                if (changed) {
+                    publish(alpha);
+                }
+
+                // Sleep until the next step is due, or until a command arrives
+                long wait = stepping ? lastTick + stepNanos - System.nanoTime() : IDLE_WAIT_NANOS;
+                WorldCommand command = commands.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                if (runCommands(command)) {
+                    publish(alpha);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down
+        }
+    }
+
+    // Profile the world only while a recording wants the step event
+    private void updateProfiling() {
+        boolean enabled = STEP_EVENT.isEnabled();
+        if (enabled != profiling) {
+            engine.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_PROFILE, enabled ? 1 : 0);
+            profiling = enabled;
+        }
+    }
+
+    private void commitProfile(PhysicsStepEvent event) {
+        // The profile is taken every frame, even when the event is filtered
+        // out, so the next event does not include earlier frames
+        if (!profiling || !engine.getStepProfile(worldPtr, profile)) return;
+        if (profile[PhysicsEngineJNI.PROFILE_STEPS] > 0 && event.shouldCommit()) {
+            event.setProfile(engine.getName(), profile);
+            event.commit();
+        }
+    }
+
+    private boolean runCommands() {
+        return runCommands(commands.poll());
+    }
+
+    // Runs command, if there is one, and every command queued after it
+    private boolean runCommands(WorldCommand command) {
+        if (command == null) return false;
+
+        long start = System.nanoTime();
+        do {
+            if (!(command instanceof BufferedWrite)) {
+                flushCommands();   // Earlier buffered changes go first
+            }
+            command.apply(worldPtr);
+        } while ((command = commands.poll()) != null);
+        flushCommands();
+        frameStats.record(FrameStats.Stage.COMMANDS, System.nanoTime() - start);
+        return true;
+    }
+
+    private void flushCommands() {
+        if (!commandBuffer.isEmpty()) {
+            engine.flushCommands(worldPtr, commandBuffer);
+        }
+    }
+
+    private void publish(double alpha) {
+        long start = System.nanoTime();
+        snapshots[back].fill(++sequence, stateView, alpha, stepSize, engine.isWorldAsleep(worldPtr));
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+        frameStats.record(FrameStats.Stage.PUBLISH, System.nanoTime() - start);
+    }
+}
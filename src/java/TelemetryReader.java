@@ -0,0 +1,266 @@
+package JAVA;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+// Reads the telemetry ring a native world writes after every collision pass
+// (see PhysicsEngine.enableTelemetry and include/telemetry.h). It maps the
+// file read-only and never signals the writer, so it can run in another JVM
+// or process without slowing the simulation. A frame the writer overwrites
+// while it is being copied is detected and reported as unreadable.
+//
+// As a program it tails the file and prints one line per frame:
+//   java -cp build JAVA.TelemetryReader <ring file>
+public class TelemetryReader {
+    private static final byte[] MAGIC = { 'P', 'H', 'Y', 'T' };
+    private static final int VERSION = 1;
+
+    // Header fields
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int HEADER_SIZE_OFFSET = 8;
+    private static final int FRAME_SIZE_OFFSET = 12;
+    private static final int FRAME_COUNT_OFFSET = 16;
+    private static final int MAX_BODIES_OFFSET = 20;
+    private static final int RECORD_SIZE_OFFSET = 24;
+    private static final int PUBLISHED_OFFSET = 32;
+
+    // Frame fields
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int FRAME_OFFSET = 8;
+    private static final int SIM_TIME_OFFSET = 16;
+    private static final int STEP_NANOS_OFFSET = 24;
+    private static final int BODY_COUNT_OFFSET = 32;
+    private static final int TOTAL_BODIES_OFFSET = 36;
+    private static final int AWAKE_BODIES_OFFSET = 40;
+    private static final int CANDIDATE_PAIRS_OFFSET = 44;
+    private static final int CONTACT_COUNT_OFFSET = 48;
+    private static final int ISLAND_COUNT_OFFSET = 52;
+    private static final int ITERATIONS_OFFSET = 56;
+    private static final int FLAGS_OFFSET = 60;
+    private static final int FRAME_HEADER_SIZE = 64;
+    private static final int WORLD_ASLEEP = 0x1;
+
+    // Record fields, as in StateBuffer
+    private static final int ID_OFFSET = 0;
+    private static final int POS_X_OFFSET = 8;
+    private static final int POS_Y_OFFSET = 12;
+    private static final int VEL_X_OFFSET = 16;
+    private static final int VEL_Y_OFFSET = 20;
+    private static final int ACC_X_OFFSET = 24;
+    private static final int ACC_Y_OFFSET = 28;
+    private static final int PREV_X_OFFSET = 32;
+    private static final int PREV_Y_OFFSET = 36;
+
+    // Reads of the 64-bit sequences that are ordered against the writer's stores
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    // Milliseconds between polls while tailing
+    private static final long POLL_MILLIS = 1;
+
+    // One frame copied out of the ring; reused from read to read
+    public static class Frame implements BodyStateView {
+        long frame;
+        double simTime;
+        long stepNanos;
+        int bodyCount;
+        int totalBodies;
+        int awakeBodies;
+        int candidatePairs;
+        int contactCount;
+        int islandCount;
+        int iterations;
+        boolean asleep;
+
+        int[] ids = new int[0];
+        float[] posX = new float[0], posY = new float[0];
+        float[] velX = new float[0], velY = new float[0];
+        float[] accX = new float[0], accY = new float[0];
+        float[] prevX = new float[0], prevY = new float[0];
+
+        public long getFrame() { return frame; }
+        public double getSimTime() { return simTime; }
+        public long getStepNanos() { return stepNanos; }
+        // Bodies in the world, which may exceed size() when the ring was made for fewer
+        public int getTotalBodies() { return totalBodies; }
+        public int getAwakeBodies() { return awakeBodies; }
+        public int getCandidatePairs() { return candidatePairs; }
+        public int getContactCount() { return contactCount; }
+        public int getIslandCount() { return islandCount; }
+        public int getIterations() { return iterations; }
+        public boolean isWorldAsleep() { return asleep; }
+
+        @Override public int size() { return bodyCount; }
+        @Override public int getRevision() { return (int) frame; }
+        @Override public int getId(int slot) { return ids[slot]; }
+        @Override public double getPosX(int slot) { return posX[slot]; }
+        @Override public double getPosY(int slot) { return posY[slot]; }
+        @Override public double getVelX(int slot) { return velX[slot]; }
+        @Override public double getVelY(int slot) { return velY[slot]; }
+        @Override public double getAccX(int slot) { return accX[slot]; }
+        @Override public double getAccY(int slot) { return accY[slot]; }
+        @Override public double getPrevPosX(int slot) { return prevX[slot]; }
+        @Override public double getPrevPosY(int slot) { return prevY[slot]; }
+
+        private void ensureCapacity(int count) {
+            if (ids.length >= count) return;
+            ids = new int[count];
+            posX = new float[count];
+            posY = new float[count];
+            velX = new float[count];
+            velY = new float[count];
+            accX = new float[count];
+            accY = new float[count];
+            prevX = new float[count];
+            prevY = new float[count];
+        }
+    }
+
+    private final MappedByteBuffer buffer;
+    private final int headerSize;
+    private final int frameSize;
+    private final int frameCount;
+    private final int maxBodies;
+    private final int recordSize;
+
+    // Fails if the file is not a telemetry ring or was not written in full yet
+    public TelemetryReader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.nativeOrder());
+        if (buffer.capacity() < FRAME_HEADER_SIZE || !hasMagic(buffer) || buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Not a telemetry file: " + path);
+        }
+
+        headerSize = buffer.getInt(HEADER_SIZE_OFFSET);
+        frameSize = buffer.getInt(FRAME_SIZE_OFFSET);
+        frameCount = buffer.getInt(FRAME_COUNT_OFFSET);
+        maxBodies = buffer.getInt(MAX_BODIES_OFFSET);
+        recordSize = buffer.getInt(RECORD_SIZE_OFFSET);
+        if ((long) headerSize + (long) frameCount * frameSize > buffer.capacity()) {
+            throw new IOException("Telemetry file is cut short: " + path);
+        }
+    }
+
+    private static boolean hasMagic(MappedByteBuffer buffer) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(MAGIC_OFFSET + i) != MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getMaxBodies() {
+        return maxBodies;
+    }
+
+    // Frames written so far; frame n is readable while n >= published - frameCount
+    public long getPublished() {
+        return (long) LONGS.getAcquire(buffer, PUBLISHED_OFFSET);
+    }
+
+    // Copies frame n into out; false if it is not written yet, has been
+    // overwritten, or was overwritten during the copy
+    public boolean readFrame(long n, Frame out) {
+        int at = headerSize + (int) (n % frameCount) * frameSize;
+        long complete = n * 2 + 2;
+        if ((long) LONGS.getAcquire(buffer, at + SEQUENCE_OFFSET) != complete) {
+            return false;
+        }
+
+        out.frame = buffer.getLong(at + FRAME_OFFSET);
+        out.simTime = buffer.getDouble(at + SIM_TIME_OFFSET);
+        out.stepNanos = buffer.getLong(at + STEP_NANOS_OFFSET);
+        out.totalBodies = buffer.getInt(at + TOTAL_BODIES_OFFSET);
+        out.awakeBodies = buffer.getInt(at + AWAKE_BODIES_OFFSET);
+        out.candidatePairs = buffer.getInt(at + CANDIDATE_PAIRS_OFFSET);
+        out.contactCount = buffer.getInt(at + CONTACT_COUNT_OFFSET);
+        out.islandCount = buffer.getInt(at + ISLAND_COUNT_OFFSET);
+        out.iterations = buffer.getInt(at + ITERATIONS_OFFSET);
+        out.asleep = (buffer.getInt(at + FLAGS_OFFSET) & WORLD_ASLEEP) != 0;
+
+        // A torn count is caught by the sequence check below, but must not index past the slot
+        int count = Math.max(0, Math.min(buffer.getInt(at + BODY_COUNT_OFFSET), maxBodies));
+        out.ensureCapacity(count);
+        int record = at + FRAME_HEADER_SIZE;
+        for (int slot = 0; slot < count; slot++, record += recordSize) {
+            out.ids[slot] = buffer.getInt(record + ID_OFFSET);
+            out.posX[slot] = buffer.getFloat(record + POS_X_OFFSET);
+            out.posY[slot] = buffer.getFloat(record + POS_Y_OFFSET);
+            out.velX[slot] = buffer.getFloat(record + VEL_X_OFFSET);
+            out.velY[slot] = buffer.getFloat(record + VEL_Y_OFFSET);
+            out.accX[slot] = buffer.getFloat(record + ACC_X_OFFSET);
+            out.accY[slot] = buffer.getFloat(record + ACC_Y_OFFSET);
+            out.prevX[slot] = buffer.getFloat(record + PREV_X_OFFSET);
+            out.prevY[slot] = buffer.getFloat(record + PREV_Y_OFFSET);
+        }
+        out.bodyCount = count;
+
+        // Every copy above must happen before the sequence is read again
+        VarHandle.acquireFence();
+        return (long) LONGS.getOpaque(buffer, at + SEQUENCE_OFFSET) == complete;
+    }
+
+    // Copies the newest complete frame into out and returns its number, or -1 if none has been written
+    public long readLatest(Frame out) {
+        while (true) {
+            long published = getPublished();
+            if (published == 0) return -1;
+            if (readFrame(published - 1, out)) return published - 1;
+            // Lapped by the writer while copying; the next newest frame is complete by now
+            Thread.onSpinWait();
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: TelemetryReader <ring file>");
+            System.exit(2);
+        }
+
+        try {
+            TelemetryReader reader = new TelemetryReader(Paths.get(args[0]));
+            Frame frame = new Frame();
+            System.out.println("frame      sim_s   step_ms  bodies   awake   pairs contacts islands iters");
+
+            long next = reader.getPublished();
+            while (true) {
+                long published = reader.getPublished();
+                if (published < next) {
+                    // The writer started the ring over, e.g. for a new world
+                    next = published;
+                }
+                if (next == published) {
+                    Thread.sleep(POLL_MILLIS);
+                    continue;
+                }
+                // Skip frames the writer has already recycled
+                next = Math.max(next, published - reader.getFrameCount() + 1);
+                if (reader.readFrame(next, frame)) {
+                    System.out.printf(Locale.ROOT, "%-8d %7.3f %9.3f %7d %7d %7d %8d %7d %5d%s%n",
+                                      frame.frame, frame.simTime, frame.stepNanos * 1e-6,
+                                      frame.totalBodies, frame.awakeBodies, frame.candidatePairs,
+                                      frame.contactCount, frame.islandCount, frame.iterations,
+                                      frame.asleep ? "  asleep" : "");
+                }
+                next++;
+            }
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package JAVA;
+
+// Copy of every body's state taken by the simulation thread after a step.
+// Readers only get snapshots through SimulationDriver.latestSnapshot, and a
+// snapshot is never written while a reader holds it, so it can be read
+// without locks.
+public class WorldSnapshot {
+    private long sequence;
+    private int count;
+    private int[] ids = new int[0];
+    private float[] posX = new float[0];
+    private float[] posY = new float[0];
+    private float[] prevX = new float[0];
+    private float[] prevY = new float[0];
+    private float[] velX = new float[0];
+    private float[] velY = new float[0];
+    private float[] accX = new float[0];
+    private float[] accY = new float[0];
+    private boolean worldAsleep;
+
+    // Interpolation state at the time the snapshot was taken
+    private double alpha;
+    private double stepSize;
+    private long takenAtNanos;
+
+    // Filled on the simulation thread only
+    void fill(long sequence, BodyStateView buffer, double alpha, double stepSize, boolean worldAsleep) {
+        int size = buffer.size();
+        if (ids.length < size) {
+            int capacity = Math.max(size, ids.length * 2);
+            ids = new int[capacity];
+            posX = new float[capacity];
+            posY = new float[capacity];
+            prevX = new float[capacity];
+            prevY = new float[capacity];
+            velX = new float[capacity];
+            velY = new float[capacity];
+            accX = new float[capacity];
+            accY = new float[capacity];
+        }
+
+        for (int slot = 0; slot < size; slot++) {
+            ids[slot] = buffer.getId(slot);
+            posX[slot] = (float) buffer.getPosX(slot);
+            posY[slot] = (float) buffer.getPosY(slot);
+            prevX[slot] = (float) buffer.getPrevPosX(slot);
+            prevY[slot] = (float) buffer.getPrevPosY(slot);
+            velX[slot] = (float) buffer.getVelX(slot);
+            velY[slot] = (float) buffer.getVelY(slot);
+            accX[slot] = (float) buffer.getAccX(slot);
+            accY[slot] = (float) buffer.getAccY(slot);
+        }
+
+        this.sequence = sequence;
+        this.count = size;
+        this.alpha = alpha;
+        this.stepSize = stepSize;
+        this.worldAsleep = worldAsleep;
+        this.takenAtNanos = System.nanoTime();
+    }
+
+    // Increases with every snapshot the driver publishes
+    public long getSequence() { return sequence; }
+
+    public int size() { return count; }
+    public boolean isWorldAsleep() { return worldAsleep; }
+
+    // Per-slot getters, slot in [0, size())
+    public int getId(int slot) { return ids[slot]; }
+    public double getPosX(int slot) { return posX[slot]; }
+    public double getPosY(int slot) { return posY[slot]; }
+    public double getPrevPosX(int slot) { return prevX[slot]; }
+    public double getPrevPosY(int slot) { return prevY[slot]; }
+    public double getVelX(int slot) { return velX[slot]; }
+    public double getVelY(int slot) { return velY[slot]; }
+    public double getAccX(int slot) { return accX[slot]; }
+    public double getAccY(int slot) { return accY[slot]; }
+
+    // Slot of the body with the given id, or -1
+    public int findSlot(int id) {
+        for (int slot = 0; slot < count; slot++) {
+            if (ids[slot] == id) return slot;
+        }
+        return -1;
+    }
+
+    // Blend factor for rendering at the given System.nanoTime: the alpha left
+    // by the last step plus the time since, capped at the latest state
+    public double getAlpha(long nowNanos) {
+        if (stepSize <= 0) return 1.0;
+        double elapsedSteps = (nowNanos - takenAtNanos) * 1e-9 / stepSize;
+        return Math.min(1.0, alpha + Math.max(0.0, elapsedSteps));
+    }
+
+    public double getInterpolatedPosX(int slot, double alpha) {
+        return prevX[slot] + (posX[slot] - prevX[slot]) * alpha;
+    }
+
+    public double getInterpolatedPosY(int slot, double alpha) {
+        return prevY[slot] + (posY[slot] - prevY[slot]) * alpha;
+    }
+}
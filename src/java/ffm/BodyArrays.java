@@ -0,0 +1,72 @@
+// File: src/JAVA/ffm/BodyArrays.java
+package JAVA.ffm;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.lang.foreign.MemorySegment;
+
+// Read-write views straight over a world's structure-of-arrays body store
+// (PhysicsBodyArrays in include/physics_capi.h). Writes change the bodies
+// themselves with no call at all, but they do not wake sleeping bodies and
+// only show up in the state buffer after the next step; use
+// updateObjectState for pushes and teleports. The views go stale as soon
+// as a body is added or the storage layout changes: fetch them again then.
+public final class BodyArrays {
+    // Field offsets in PhysicsBodyArrays
+    private static final long COUNT_OFFSET = 0;
+    private static final long ID_OFFSET = 8;
+    private static final long POSITION_OFFSET = 8 + ADDRESS.byteSize();
+    private static final long VELOCITY_OFFSET = 8 + 2 * ADDRESS.byteSize();
+    private static final long ACCELERATION_OFFSET = 8 + 3 * ADDRESS.byteSize();
+
+    private final int count;
+    private final MemorySegment ids;
+    private final MemorySegment positions;
+    private final MemorySegment velocities;
+    private final MemorySegment accelerations;
+
+    private BodyArrays(int count, MemorySegment ids, MemorySegment positions,
+                       MemorySegment velocities, MemorySegment accelerations) {
+        this.count = count;
+        this.ids = ids;
+        this.positions = positions;
+        this.velocities = velocities;
+        this.accelerations = accelerations;
+    }
+
+    static BodyArrays fromNative(MemorySegment arrays) {
+        int count = (int) arrays.get(JAVA_LONG, COUNT_OFFSET);
+        long vectorBytes = 2 * count * JAVA_FLOAT.byteSize();
+        return new BodyArrays(count,
+            arrays.get(ADDRESS, ID_OFFSET).reinterpret(count * JAVA_INT.byteSize()),
+            arrays.get(ADDRESS, POSITION_OFFSET).reinterpret(vectorBytes),
+            arrays.get(ADDRESS, VELOCITY_OFFSET).reinterpret(vectorBytes),
+            arrays.get(ADDRESS, ACCELERATION_OFFSET).reinterpret(vectorBytes));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Per-slot accessors, slot in [0, size()), in world order
+    public int getId(int slot) { return ids.getAtIndex(JAVA_INT, slot); }
+    public float getPosX(int slot) { return positions.getAtIndex(JAVA_FLOAT, 2L * slot); }
+    public float getPosY(int slot) { return positions.getAtIndex(JAVA_FLOAT, 2L * slot + 1); }
+    public float getVelX(int slot) { return velocities.getAtIndex(JAVA_FLOAT, 2L * slot); }
+    public float getVelY(int slot) { return velocities.getAtIndex(JAVA_FLOAT, 2L * slot + 1); }
+    public float getAccX(int slot) { return accelerations.getAtIndex(JAVA_FLOAT, 2L * slot); }
+    public float getAccY(int slot) { return accelerations.getAtIndex(JAVA_FLOAT, 2L * slot + 1); }
+
+    public void setPosition(int slot, float x, float y) {
+        positions.setAtIndex(JAVA_FLOAT, 2L * slot, x);
+        positions.setAtIndex(JAVA_FLOAT, 2L * slot + 1, y);
+    }
+
+    public void setVelocity(int slot, float x, float y) {
+        velocities.setAtIndex(JAVA_FLOAT, 2L * slot, x);
+        velocities.setAtIndex(JAVA_FLOAT, 2L * slot + 1, y);
+    }
+}
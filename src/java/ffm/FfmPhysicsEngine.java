@@ -0,0 +1,124 @@
+// File: src/JAVA/ffm/FfmPhysicsEngine.java
+package JAVA.ffm;
+
+import JAVA.BodyStateView;
+import JAVA.CommandBuffer;
+import JAVA.ObjectState;
+import JAVA.PhysicsEngine;
+
+// PhysicsEngine over the PhysicsEngineFFM downcalls
+public class FfmPhysicsEngine implements PhysicsEngine {
+    @Override
+    public String getName() {
+        return "ffm";
+    }
+
+    @Override
+    public long createWorld() {
+        return PhysicsEngineFFM.createPhysicsWorld();
+    }
+
+    @Override
+    public void deleteWorld(long world) {
+        PhysicsEngineFFM.deletePhysicsWorld(world);
+    }
+
+    @Override
+    public void addObject(long world, int id, double mass, double posX, double posY, double velX, double velY,
+                          char shape, double... dimensions) {
+        PhysicsEngineFFM.addObject(world, id, mass, posX, posY, velX, velY, shape, dimensions);
+    }
+
+    @Override
+    public boolean removeObject(long world, int id) {
+        return PhysicsEngineFFM.removeObject(world, id);
+    }
+
+    @Override
+    public int removeObjects(long world, int... ids) {
+        return PhysicsEngineFFM.removeObjects(world, ids);
+    }
+
+    @Override
+    public int flushCommands(long world, CommandBuffer commands) {
+        if (commands.isEmpty()) return 0;
+        int applied = PhysicsEngineFFM.flushCommands(world, commands.getBuffer(), commands.size());
+        commands.clear();
+        return applied;
+    }
+
+    @Override
+    public void configureForces(long world, int choice, double... params) {
+        PhysicsEngineFFM.configureForces(world, choice, params);
+    }
+
+    @Override
+    public void configureWorld(long world, int option, double... params) {
+        PhysicsEngineFFM.configureWorld(world, option, params);
+    }
+
+    @Override
+    public void stepSimulation(long world, double deltaTime) {
+        PhysicsEngineFFM.stepSimulation(world, deltaTime);
+    }
+
+    @Override
+    public double stepFixed(long world, double frameDelta) {
+        return PhysicsEngineFFM.stepFixed(world, frameDelta);
+    }
+
+    @Override
+    public void handleCollisions(long world) {
+        PhysicsEngineFFM.handleCollisions(world);
+    }
+
+    @Override
+    public ObjectState getObjectState(long world, int id) {
+        return PhysicsEngineFFM.getObjectState(world, id);
+    }
+
+    @Override
+    public boolean getObjectState(long world, int id, double[] out) {
+        return PhysicsEngineFFM.getObjectState(world, id, out);
+    }
+
+    @Override
+    public void updateObjectState(long world, int id, double posX, double posY, double velX, double velY) {
+        PhysicsEngineFFM.updateObjectState(world, id, posX, posY, velX, velY);
+    }
+
+    @Override
+    public boolean isWorldAsleep(long world) {
+        return PhysicsEngineFFM.isWorldAsleep(world);
+    }
+
+    @Override
+    public boolean saveWorld(long world, String path) {
+        return PhysicsEngineFFM.saveWorld(world, path);
+    }
+
+    @Override
+    public long loadWorld(String path) {
+        return PhysicsEngineFFM.loadWorld(path);
+    }
+
+    @Override
+    public boolean enableTelemetry(long world, String path, int frameCount, int maxBodies) {
+        return PhysicsEngineFFM.enableTelemetry(world, path, frameCount, maxBodies);
+    }
+
+    @Override
+    public boolean getStepProfile(long world, long[] out) {
+        return PhysicsEngineFFM.getStepProfile(world, out);
+    }
+
+    @Override
+    public boolean getContactCacheStats(long world, long[] out) {
+        return PhysicsEngineFFM.getContactCacheStats(world, out);
+    }
+
+    @Override
+    public BodyStateView getStateView(long world) {
+        return new StateSegment(world);
+    }
+}
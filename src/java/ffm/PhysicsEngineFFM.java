@@ -0,0 +1,371 @@
+// File: src/JAVA/ffm/PhysicsEngineFFM.java
+package JAVA.ffm;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import JAVA.ObjectState;
+import JAVA.PhysicsEngine;
+import JAVA.jni.PhysicsEngineJNI;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Same calls as PhysicsEngineJNI, made through java.lang.foreign downcall
+// handles to the plain C entry points in include/physics_capi.h. Worlds
+// created here are interchangeable with JNI ones. Needs JDK 22 or later and
+// --enable-native-access=ALL-UNNAMED to run without warnings.
+public final class PhysicsEngineFFM {
+    // Doubles per thread for params and results, enough for every option
+    private static final int SCRATCH_DOUBLES = 16;
+
+    private static final Linker LINKER = Linker.nativeLinker();
+    private static final SymbolLookup LIBRARY;
+
+    static {
+        // Same library and lookup rules as PhysicsEngineJNI
+        String osName = System.getProperty("os.name").toLowerCase();
+        if (osName.contains("mac")) {
+            try {
+                System.load(System.getProperty("user.dir") + "/lib/libphysics_native.dylib");
+            } catch (UnsatisfiedLinkError e) {
+                System.loadLibrary("physics_native");
+            }
+        } else {
+            System.loadLibrary("physics_native");
+        }
+        LIBRARY = SymbolLookup.loaderLookup();
+    }
+
+    private static final MethodHandle CREATE_WORLD =
+        downcall("physics_create_world", FunctionDescriptor.of(JAVA_LONG));
+    private static final MethodHandle DELETE_WORLD =
+        downcall("physics_delete_world", FunctionDescriptor.ofVoid(JAVA_LONG));
+    private static final MethodHandle ADD_OBJECT =
+        downcall("physics_add_object", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, JAVA_INT, JAVA_DOUBLE,
+            JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE, JAVA_INT, JAVA_DOUBLE, JAVA_DOUBLE, JAVA_INT));
+    private static final MethodHandle REMOVE_OBJECT =
+        downcall("physics_remove_object", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, JAVA_INT));
+    private static final MethodHandle REMOVE_OBJECTS =
+        downcall("physics_remove_objects", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, ADDRESS, JAVA_INT));
+    private static final MethodHandle FLUSH_COMMANDS =
+        downcall("physics_flush_commands", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, ADDRESS, JAVA_LONG));
+    private static final MethodHandle GET_POOL_STATS =
+        downcall("physics_get_pool_stats", FunctionDescriptor.ofVoid(JAVA_LONG, ADDRESS));
+    private static final MethodHandle CONFIGURE_FORCES =
+        downcall("physics_configure_forces", FunctionDescriptor.ofVoid(JAVA_LONG, JAVA_INT, ADDRESS, JAVA_INT));
+    private static final MethodHandle CONFIGURE_WORLD =
+        downcall("physics_configure_world", FunctionDescriptor.ofVoid(JAVA_LONG, JAVA_INT, ADDRESS, JAVA_INT));
+    private static final MethodHandle STEP =
+        downcall("physics_step", FunctionDescriptor.ofVoid(JAVA_LONG, JAVA_DOUBLE));
+    private static final MethodHandle STEP_FIXED =
+        downcall("physics_step_fixed", FunctionDescriptor.of(JAVA_DOUBLE, JAVA_LONG, JAVA_DOUBLE));
+    private static final MethodHandle HANDLE_COLLISIONS =
+        downcall("physics_handle_collisions", FunctionDescriptor.ofVoid(JAVA_LONG));
+    private static final MethodHandle GET_OBJECT_STATE =
+        downcall("physics_get_object_state", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, JAVA_INT, ADDRESS));
+    private static final MethodHandle UPDATE_OBJECT_STATE =
+        downcall("physics_update_object_state", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, JAVA_INT,
+            JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE));
+    private static final MethodHandle IS_WORLD_ASLEEP =
+        downcall("physics_is_world_asleep", FunctionDescriptor.of(JAVA_INT, JAVA_LONG));
+    private static final MethodHandle SAVE_WORLD =
+        downcall("physics_save_world", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, ADDRESS));
+    private static final MethodHandle LOAD_WORLD =
+        downcall("physics_load_world", FunctionDescriptor.of(JAVA_LONG, ADDRESS));
+    private static final MethodHandle ENABLE_TELEMETRY =
+        downcall("physics_enable_telemetry", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, ADDRESS, JAVA_INT, JAVA_INT));
+    private static final MethodHandle GET_STEP_PROFILE =
+        downcall("physics_get_step_profile", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, ADDRESS));
+    private static final MethodHandle GET_CONTACT_CACHE_STATS =
+        downcall("physics_get_contact_cache_stats", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, ADDRESS));
+    private static final MethodHandle GET_STATE_BUFFER =
+        downcall("physics_get_state_buffer", FunctionDescriptor.of(ADDRESS, JAVA_LONG, ADDRESS));
+    private static final MethodHandle GET_BODY_ARRAYS =
+        downcall("physics_get_body_arrays", FunctionDescriptor.of(JAVA_INT, JAVA_LONG, ADDRESS));
+
+    private static final ThreadLocal<MemorySegment> SCRATCH =
+        ThreadLocal.withInitial(() -> Arena.ofAuto().allocate(SCRATCH_DOUBLES * JAVA_DOUBLE.byteSize(), 8));
+
+    private PhysicsEngineFFM() {}
+
+    private static MethodHandle downcall(String name, FunctionDescriptor descriptor) {
+        MemorySegment symbol = LIBRARY.find(name)
+            .orElseThrow(() -> new UnsatisfiedLinkError("Native symbol not found: " + name));
+        return LINKER.downcallHandle(symbol, descriptor);
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+
+    public static long createPhysicsWorld() {
+        try {
+            return (long) CREATE_WORLD.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static void deletePhysicsWorld(long worldPtr) {
+        try {
+            DELETE_WORLD.invokeExact(worldPtr);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Every shape has at most two dimensions, so they go by value
+    public static void addObject(long worldPtr, int id, double mass, double posX, double posY,
+                                 double velX, double velY, char shape, double... dimensions) {
+        double dim0 = dimensions.length > 0 ? dimensions[0] : 0;
+        double dim1 = dimensions.length > 1 ? dimensions[1] : 0;
+        try {
+            // Like the JNI version, an invalid body is silently skipped
+            int added = (int) ADD_OBJECT.invokeExact(worldPtr, id, mass, posX, posY, velX, velY,
+                                                     (int) shape, dim0, dim1, dimensions.length);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static boolean removeObject(long worldPtr, int id) {
+        try {
+            return (int) REMOVE_OBJECT.invokeExact(worldPtr, id) != 0;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static int removeObjects(long worldPtr, int... ids) {
+        // The scratch segment holds twice as many ints as doubles
+        try (Arena arena = ids.length > SCRATCH_DOUBLES * 2 ? Arena.ofConfined() : null) {
+            MemorySegment values = arena != null
+                ? arena.allocate(ids.length * JAVA_INT.byteSize(), 4)
+                : SCRATCH.get();
+            MemorySegment.copy(ids, 0, values, JAVA_INT, 0, ids.length);
+            return (int) REMOVE_OBJECTS.invokeExact(worldPtr, values, ids.length);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // buffer must be direct. A segment over a buffer starts at its
+    // position, so the batch is sliced from the start.
+    public static int flushCommands(long worldPtr, ByteBuffer buffer, int length) {
+        try {
+            MemorySegment commands = MemorySegment.ofBuffer(buffer.slice(0, length));
+            return (int) FLUSH_COMMANDS.invokeExact(worldPtr, commands, (long) length);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static int[] getPoolStats(long worldPtr) {
+        MemorySegment values = SCRATCH.get();
+        try {
+            GET_POOL_STATS.invokeExact(worldPtr, values);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+        return values.asSlice(0, PhysicsEngineJNI.POOL_STAT_COUNT * JAVA_INT.byteSize()).toArray(JAVA_INT);
+    }
+
+    public static void configureForces(long worldPtr, int choice, double... params) {
+        try (Arena arena = params.length > SCRATCH_DOUBLES ? Arena.ofConfined() : null) {
+            MemorySegment values = copyIn(params, arena);
+            CONFIGURE_FORCES.invokeExact(worldPtr, choice, values, params.length);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static void configureWorld(long worldPtr, int option, double... params) {
+        try (Arena arena = params.length > SCRATCH_DOUBLES ? Arena.ofConfined() : null) {
+            MemorySegment values = copyIn(params, arena);
+            CONFIGURE_WORLD.invokeExact(worldPtr, option, values, params.length);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Params in the thread's scratch segment, or in arena if they don't fit
+    private static MemorySegment copyIn(double[] params, Arena arena) {
+        MemorySegment values = arena != null
+            ? arena.allocate(params.length * JAVA_DOUBLE.byteSize(), 8)
+            : SCRATCH.get();
+        MemorySegment.copy(params, 0, values, JAVA_DOUBLE, 0, params.length);
+        return values;
+    }
+
+    public static void stepSimulation(long worldPtr, double deltaTime) {
+        try {
+            STEP.invokeExact(worldPtr, deltaTime);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Runs the whole fixed steps that fit in frameDelta (each with a collision pass), returns the interpolation alpha
+    public static double stepFixed(long worldPtr, double frameDelta) {
+        try {
+            return (double) STEP_FIXED.invokeExact(worldPtr, frameDelta);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static void handleCollisions(long worldPtr) {
+        try {
+            HANDLE_COLLISIONS.invokeExact(worldPtr);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Unlike the JNI version, the native side only fills primitives; the
+    // ObjectState is built here, with no upcall into the JVM
+    public static ObjectState getObjectState(long worldPtr, int objectId) {
+        MemorySegment out = SCRATCH.get();
+        if (!readObjectState(worldPtr, objectId, out)) return null;
+
+        return new ObjectState(objectId,
+            out.getAtIndex(JAVA_DOUBLE, PhysicsEngine.STATE_POS_X),
+            out.getAtIndex(JAVA_DOUBLE, PhysicsEngine.STATE_POS_Y),
+            out.getAtIndex(JAVA_DOUBLE, PhysicsEngine.STATE_VEL_X),
+            out.getAtIndex(JAVA_DOUBLE, PhysicsEngine.STATE_VEL_Y),
+            out.getAtIndex(JAVA_DOUBLE, PhysicsEngine.STATE_ACC_X),
+            out.getAtIndex(JAVA_DOUBLE, PhysicsEngine.STATE_ACC_Y));
+    }
+
+    // Copies the state into out (PhysicsEngine.STATE_* order); false if there is no such body
+    public static boolean getObjectState(long worldPtr, int objectId, double[] out) {
+        MemorySegment values = SCRATCH.get();
+        if (!readObjectState(worldPtr, objectId, values)) return false;
+
+        MemorySegment.copy(values, JAVA_DOUBLE, 0, out, 0, PhysicsEngine.STATE_FIELD_COUNT);
+        return true;
+    }
+
+    private static boolean readObjectState(long worldPtr, int objectId, MemorySegment out) {
+        try {
+            return (int) GET_OBJECT_STATE.invokeExact(worldPtr, objectId, out) != 0;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static void updateObjectState(long worldPtr, int id, double posX, double posY, double velX, double velY) {
+        try {
+            // Unknown ids are ignored, as with JNI
+            int found = (int) UPDATE_OBJECT_STATE.invokeExact(worldPtr, id, posX, posY, velX, velY);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public static boolean isWorldAsleep(long worldPtr) {
+        try {
+            return (int) IS_WORLD_ASLEEP.invokeExact(worldPtr) != 0;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Writes every body and the world parameters to a versioned binary file (layout in include/world_file.h)
+    public static boolean saveWorld(long worldPtr, String path) {
+        try (Arena arena = Arena.ofConfined()) {
+            return (int) SAVE_WORLD.invokeExact(worldPtr, cString(path, arena)) != 0;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // New world read back from a saveWorld file, or 0 if the file cannot be read
+    public static long loadWorld(String path) {
+        try (Arena arena = Arena.ofConfined()) {
+            return (long) LOAD_WORLD.invokeExact(cString(path, arena));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Ring file of per-step frames (layout in include/telemetry.h); a null path stops publishing
+    public static boolean enableTelemetry(long worldPtr, String path, int frameCount, int maxBodies) {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment file = path == null ? MemorySegment.NULL : cString(path, arena);
+            return (int) ENABLE_TELEMETRY.invokeExact(worldPtr, file, frameCount, maxBodies) != 0;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Step timings and counters since the previous call; false while profiling is off
+    public static boolean getStepProfile(long worldPtr, long[] out) {
+        MemorySegment values = SCRATCH.get();
+        try {
+            if ((int) GET_STEP_PROFILE.invokeExact(worldPtr, values) == 0) return false;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+        MemorySegment.copy(values, JAVA_LONG, 0, out, 0, PhysicsEngineJNI.PROFILE_FIELD_COUNT);
+        return true;
+    }
+
+    // Contact cache counters into out (PhysicsEngineJNI.CONTACT_STAT_COUNT
+    // values); false while WORLD_CONTACT_CACHE is off
+    public static boolean getContactCacheStats(long worldPtr, long[] out) {
+        MemorySegment values = SCRATCH.get();
+        try {
+            if ((int) GET_CONTACT_CACHE_STATS.invokeExact(worldPtr, values) == 0) return false;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+
+        MemorySegment.copy(values, JAVA_LONG, 0, out, 0, PhysicsEngineJNI.CONTACT_STAT_COUNT);
+        return true;
+    }
+
+    // NUL-terminated UTF-8 copy of s; allocate zeroes the memory, so the terminator is already there
+    private static MemorySegment cString(String s, Arena arena) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        MemorySegment segment = arena.allocate(bytes.length + 1L, 1);
+        MemorySegment.copy(bytes, 0, segment, JAVA_BYTE, 0, bytes.length);
+        return segment;
+    }
+
+    // The packed state block (layout in include/state_buffer.h), sized to
+    // its current capacity; see StateSegment for a view that follows growth
+    public static MemorySegment getStateBuffer(long worldPtr) {
+        MemorySegment size = SCRATCH.get();
+        try {
+            MemorySegment block = (MemorySegment) GET_STATE_BUFFER.invokeExact(worldPtr, size);
+            return block.reinterpret(size.get(JAVA_LONG, 0));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Views over the structure-of-arrays body store, or null while the
+    // world keeps bodies as objects (WORLD_BODY_STORAGE)
+    public static BodyArrays getBodyArrays(long worldPtr) {
+        MemorySegment arrays = SCRATCH.get();
+        try {
+            if ((int) GET_BODY_ARRAYS.invokeExact(worldPtr, arrays) == 0) return null;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+        return BodyArrays.fromNative(arrays);
+    }
+}
@@ -0,0 +1,73 @@
+// File: src/JAVA/ffm/StateSegment.java
+package JAVA.ffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import JAVA.BodyStateView;
+import java.lang.foreign.MemorySegment;
+
+// StateBuffer over a MemorySegment instead of a direct ByteBuffer: the same
+// packed block, read with plain memory accesses the JIT can bounds-check
+// once per pass. Layout mirrors include/state_buffer.h.
+public class StateSegment implements BodyStateView {
+    // Header fields
+    private static final long BODY_COUNT_OFFSET = 0;
+    private static final long RETIRED_OFFSET = 8;
+    private static final long REVISION_OFFSET = 12;
+    private static final long HEADER_SIZE = 16;
+
+    // Record fields
+    private static final long RECORD_SIZE = 40;
+    private static final long ID_OFFSET = 0;
+    private static final long POS_X_OFFSET = 8;
+    private static final long POS_Y_OFFSET = 12;
+    private static final long VEL_X_OFFSET = 16;
+    private static final long VEL_Y_OFFSET = 20;
+    private static final long ACC_X_OFFSET = 24;
+    private static final long ACC_Y_OFFSET = 28;
+    private static final long PREV_X_OFFSET = 32;
+    private static final long PREV_Y_OFFSET = 36;
+
+    private final long worldPtr;
+    private MemorySegment segment;
+
+    // The view is only valid while the world it was created for is alive
+    public StateSegment(long worldPtr) {
+        this.worldPtr = worldPtr;
+        remap();
+    }
+
+    private void remap() {
+        segment = PhysicsEngineFFM.getStateBuffer(worldPtr);
+    }
+
+    // Number of bodies; call once at the start of each pass over the world,
+    // since it also picks up the new block after the world has grown
+    @Override
+    public int size() {
+        if (segment.get(JAVA_INT, RETIRED_OFFSET) != 0) {
+            remap();
+        }
+        return segment.get(JAVA_INT, BODY_COUNT_OFFSET);
+    }
+
+    @Override
+    public int getRevision() {
+        return segment.get(JAVA_INT, REVISION_OFFSET);
+    }
+
+    private static long offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    @Override public int getId(int slot) { return segment.get(JAVA_INT, offset(slot) + ID_OFFSET); }
+    @Override public double getPosX(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + POS_X_OFFSET); }
+    @Override public double getPosY(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + POS_Y_OFFSET); }
+    @Override public double getVelX(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + VEL_X_OFFSET); }
+    @Override public double getVelY(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + VEL_Y_OFFSET); }
+    @Override public double getAccX(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + ACC_X_OFFSET); }
+    @Override public double getAccY(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + ACC_Y_OFFSET); }
+    @Override public double getPrevPosX(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + PREV_X_OFFSET); }
+    @Override public double getPrevPosY(int slot) { return segment.get(JAVA_FLOAT, offset(slot) + PREV_Y_OFFSET); }
+}
@@ -0,0 +1,142 @@
+// File: src/JAVA/jni/JniPhysicsEngine.java
+package JAVA.jni;
+
+import JAVA.BodyStateView;
+import JAVA.CommandBuffer;
+import JAVA.ObjectState;
+import JAVA.PhysicsEngine;
+
+// PhysicsEngine over the static PhysicsEngineJNI natives
+public class JniPhysicsEngine implements PhysicsEngine {
+    @Override
+    public String getName() {
+        return "jni";
+    }
+
+    @Override
+    public long createWorld() {
+        return PhysicsEngineJNI.createPhysicsWorld();
+    }
+
+    @Override
+    public void deleteWorld(long world) {
+        PhysicsEngineJNI.deletePhysicsWorld(world);
+    }
+
+    @Override
+    public void addObject(long world, int id, double mass, double posX, double posY, double velX, double velY,
+                          char shape, double... dimensions) {
+        PhysicsEngineJNI.addObject(world, id, mass, posX, posY, velX, velY, shape, dimensions);
+    }
+
+    @Override
+    public boolean removeObject(long world, int id) {
+        return PhysicsEngineJNI.removeObject(world, id);
+    }
+
+    @Override
+    public int removeObjects(long world, int... ids) {
+        return PhysicsEngineJNI.removeObjects(world, ids);
+    }
+
+    @Override
+    public int flushCommands(long world, CommandBuffer commands) {
+        if (commands.isEmpty()) return 0;
+        int applied = PhysicsEngineJNI.flushCommands(world, commands.getBuffer(), commands.size());
+        commands.clear();
+        return applied;
+    }
+
+    @Override
+    public void configureForces(long world, int choice, double... params) {
+        PhysicsEngineJNI.configureForces(world, choice, params);
+    }
+
+    @Override
+    public void configureWorld(long world, int option, double... params) {
+        PhysicsEngineJNI.configureWorld(world, option, params);
+    }
+
+    @Override
+    public void stepSimulation(long world, double deltaTime) {
+        PhysicsEngineJNI.stepSimulation(world, deltaTime);
+    }
+
+    @Override
+    public double stepFixed(long world, double frameDelta) {
+        return PhysicsEngineJNI.stepFixed(world, frameDelta);
+    }
+
+    @Override
+    public void handleCollisions(long world) {
+        PhysicsEngineJNI.handleCollisions(world);
+    }
+
+    @Override
+    public ObjectState getObjectState(long world, int id) {
+        return PhysicsEngineJNI.getObjectState(world, id);
+    }
+
+    // JNI has no way to fill a caller's array cheaper than building the object
+    @Override
+    public boolean getObjectState(long world, int id, double[] out) {
+        ObjectState state = PhysicsEngineJNI.getObjectState(world, id);
+        if (state == null) return false;
+
+        out[STATE_POS_X] = state.getPosX();
+        out[STATE_POS_Y] = state.getPosY();
+        out[STATE_VEL_X] = state.getVelX();
+        out[STATE_VEL_Y] = state.getVelY();
+        out[STATE_ACC_X] = state.getAccX();
+        out[STATE_ACC_Y] = state.getAccY();
+        return true;
+    }
+
+    @Override
+    public void updateObjectState(long world, int id, double posX, double posY, double velX, double velY) {
+        PhysicsEngineJNI.updateObjectState(world, id, posX, posY, velX, velY);
+    }
+
+    @Override
+    public boolean isWorldAsleep(long world) {
+        return PhysicsEngineJNI.isWorldAsleep(world);
+    }
+
+    @Override
+    public boolean saveWorld(long world, String path) {
+        return PhysicsEngineJNI.saveWorld(world, path);
+    }
+
+    @Override
+    public long loadWorld(String path) {
+        return PhysicsEngineJNI.loadWorld(path);
+    }
+
+    @Override
+    public boolean enableTelemetry(long world, String path, int frameCount, int maxBodies) {
+        return PhysicsEngineJNI.enableTelemetry(world, path, frameCount, maxBodies);
+    }
+
+    @Override
+    public boolean getStepProfile(long world, long[] out) {
+        long[] profile = PhysicsEngineJNI.getStepProfile(world);
+        if (profile == null) return false;
+
+        System.arraycopy(profile, 0, out, 0, PhysicsEngineJNI.PROFILE_FIELD_COUNT);
+        return true;
+    }
+
+    @Override
+    public boolean getContactCacheStats(long world, long[] out) {
+        long[] stats = PhysicsEngineJNI.getContactCacheStats(world);
+        if (stats == null) return false;
+
+        System.arraycopy(stats, 0, out, 0, PhysicsEngineJNI.CONTACT_STAT_COUNT);
+        return true;
+    }
+
+    @Override
+    public BodyStateView getStateView(long world) {
+        return new StateBuffer(world);
+    }
+}
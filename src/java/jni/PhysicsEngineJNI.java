@@ -2,8 +2,71 @@
 package JAVA.jni;
 
 import JAVA.ObjectState;
+import java.nio.ByteBuffer;
 
 public class PhysicsEngineJNI {
+    // Option codes for configureWorld
+    public static final int WORLD_BROADPHASE = 1;
+    public static final int WORLD_BODY_STORAGE = 2;
+    public static final int WORLD_THREAD_COUNT = 3;   // Threads for stepSimulation, < 1 for one per core
+    public static final int WORLD_COLLISION_SOLVER = 4;
+    public static final int WORLD_SLEEP = 5;          // Velocity threshold (<= 0 disables), resting steps
+    public static final int WORLD_BOUNDS = 6;         // Left, top, right, bottom [, restitution, wall friction]
+    public static final int WORLD_FIXED_STEP = 7;     // Step size in seconds [, max substeps per stepFixed call]
+    public static final int WORLD_PROFILE = 8;        // 1 to time every step phase for getStepProfile, 0 to stop
+    public static final int WORLD_CONTACT_CACHE = 9;  // 1 to warm-start contacts from the previous step, 0 to stop
+
+    // Broadphase modes for WORLD_BROADPHASE (second parameter: cell size, <= 0 for automatic)
+    public static final int BROADPHASE_ALL_PAIRS = 0;
+    public static final int BROADPHASE_SPATIAL_HASH = 1;
+    public static final int BROADPHASE_SWEEP_AND_PRUNE = 2;
+
+    // Body storage layouts for WORLD_BODY_STORAGE
+    public static final int STORAGE_OBJECTS = 0;
+    public static final int STORAGE_SOA = 1;
+
+    // Collision solvers for WORLD_COLLISION_SOLVER
+    public static final int SOLVER_GLOBAL = 0;
+    public static final int SOLVER_ISLANDS = 1;
+
+    // Indices into the array returned by getIslandStats
+    public static final int ISLAND_STAT_COUNT = 0;            // Islands with at least one contact
+    public static final int ISLAND_STAT_LARGEST = 1;          // Bodies in the biggest island
+    public static final int ISLAND_STAT_BODIES = 2;           // Bodies in any island
+    public static final int ISLAND_STAT_CONTACTS = 3;         // Contacts found by the first pass
+    public static final int ISLAND_STAT_MAX_ITERATIONS = 4;   // Most iterations any island needed
+    public static final int ISLAND_STAT_TOTAL_ITERATIONS = 5; // Iterations summed over all islands
+
+    // Indices into the array returned by getStepProfile. Gravity and friction
+    // are applied in the integration pass, so they count as PROFILE_INTEGRATE.
+    public static final int PROFILE_STEPS = 0;            // stepSimulation calls, including fixed substeps
+    public static final int PROFILE_COLLISION_PASSES = 1; // handleCollisions calls, including fixed substeps
+    public static final int PROFILE_INTEGRATE_NANOS = 2;  // Forces, integration and walls
+    public static final int PROFILE_SLEEP_NANOS = 3;      // Putting resting bodies to sleep
+    public static final int PROFILE_BROADPHASE_NANOS = 4; // Bounds and candidate pairs
+    public static final int PROFILE_NARROWPHASE_NANOS = 5;// Exact tests of the candidates
+    public static final int PROFILE_ISLAND_NANOS = 6;     // Splitting contacts into islands
+    public static final int PROFILE_RESOLVE_NANOS = 7;    // Contact response, all iterations
+    public static final int PROFILE_CANDIDATE_PAIRS = 8;  // Pairs tested by the narrowphase
+    public static final int PROFILE_CONTACTS = 9;         // Touching pairs found
+    public static final int PROFILE_ITERATIONS = 10;      // Resolve iterations, summed over islands
+    public static final int PROFILE_FIELD_COUNT = 11;
+
+    // Indices into the array returned by getPoolStats
+    public static final int POOL_STAT_LIVE = 0;       // Bodies in the world
+    public static final int POOL_STAT_POOLED = 1;     // Freed or unused blocks, reused before allocating again
+    public static final int POOL_STAT_CAPACITY = 2;   // Blocks allocated for the world in all
+    public static final int POOL_STAT_COUNT = 3;
+
+    // Indices into the array returned by getContactCacheStats, counted since
+    // WORLD_CONTACT_CACHE was turned on
+    public static final int CONTACT_STAT_LOOKUPS = 0;          // Contacts looked up at the start of a pass
+    public static final int CONTACT_STAT_HITS = 1;             // Lookups warm-started from the previous pass
+    public static final int CONTACT_STAT_ITERATIONS = 2;       // Solver iterations run
+    public static final int CONTACT_STAT_ITERATIONS_SAVED = 3; // Iterations skipped because the contacts had converged
+    public static final int CONTACT_STAT_CACHED = 4;           // Contacts in the cache now
+    public static final int CONTACT_STAT_COUNT = 5;
+
     static {
         try {
             // Try loading with platform-specific naming
@@ -29,10 +92,40 @@ public class PhysicsEngineJNI {
     public static native long createPhysicsWorld();
     public static native void deletePhysicsWorld(long worldPtr);
     public static native void addObject(long worldPtr, int id, double mass, double posX, double posY, double velX, double velY, char shape, double... dimensions);
+    // Removing a body moves the last body into its slot, so slots in the
+    // state buffer change; false / 0 for ids that name no body
+    public static native boolean removeObject(long worldPtr, int id);
+    public static native int removeObjects(long worldPtr, int... ids);
+    // Body memory of the world (see the POOL_STAT_* indices)
+    public static native int[] getPoolStats(long worldPtr);
+    // Applies the first length bytes of a direct buffer of commands (layout
+    // in include/command_buffer.h, see JAVA.CommandBuffer) in one call and
+    // returns how many commands were read
+    public static native int flushCommands(long worldPtr, ByteBuffer buffer, int length);
     public static native void handleCollisions(long worldPtr);
     public static native void configureForces(long worldPtr, int choice, double... params);
+    public static native void configureWorld(long worldPtr, int option, double... params);
     public static native void stepSimulation(long worldPtr, double deltaTime);
+    // Runs the whole fixed steps that fit in frameDelta (each with a collision pass), returns the interpolation alpha
+    public static native double stepFixed(long worldPtr, double frameDelta);
     public static native void displayObjectInfo(long worldPtr, int objectId);
     public static native ObjectState getObjectState(long worldPtr, int objectId);
+    public static native ByteBuffer getStateBuffer(long worldPtr);
+    public static native int[] getIslandStats(long worldPtr);
+    public static native boolean isWorldAsleep(long worldPtr);
     public static native void updateObjectState(long worldPtr, int id, double posX, double posY, double velX, double velY);
+    // Writes every body and the world parameters to a versioned binary file (layout in include/world_file.h)
+    public static native boolean saveWorld(long worldPtr, String path);
+    // New world read back from a saveWorld file, or 0 if the file cannot be read
+    public static native long loadWorld(String path);
+    // Publishes a frame after every collision pass into a memory-mapped ring
+    // file of frameCount frames (layout in include/telemetry.h, read by
+    // TelemetryReader); a null path stops publishing
+    public static native boolean enableTelemetry(long worldPtr, String path, int frameCount, int maxBodies);
+    // Timings and counters since the previous call (see the PROFILE_* indices),
+    // or null unless WORLD_PROFILE is on; each call starts the totals over
+    public static native long[] getStepProfile(long worldPtr);
+    // Contact cache counters (see the CONTACT_STAT_* indices), or null
+    // unless WORLD_CONTACT_CACHE is on
+    public static native long[] getContactCacheStats(long worldPtr);
 }
@@ -0,0 +1,73 @@
+// File: src/JAVA/jni/StateBuffer.java
+package JAVA.jni;
+
+import JAVA.BodyStateView;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Read-only view over the packed body state a physics world publishes after
+// every step, collision pass and update. Reading it needs no JNI call and no
+// allocation. Layout mirrors include/state_buffer.h.
+public class StateBuffer implements BodyStateView {
+    // Header fields
+    private static final int BODY_COUNT_OFFSET = 0;
+    private static final int RETIRED_OFFSET = 8;
+    private static final int REVISION_OFFSET = 12;
+    private static final int HEADER_SIZE = 16;
+
+    // Record fields
+    private static final int RECORD_SIZE = 40;
+    private static final int ID_OFFSET = 0;
+    private static final int POS_X_OFFSET = 8;
+    private static final int POS_Y_OFFSET = 12;
+    private static final int VEL_X_OFFSET = 16;
+    private static final int VEL_Y_OFFSET = 20;
+    private static final int ACC_X_OFFSET = 24;
+    private static final int ACC_Y_OFFSET = 28;
+    private static final int PREV_X_OFFSET = 32;
+    private static final int PREV_Y_OFFSET = 36;
+
+    private final long worldPtr;
+    private ByteBuffer buffer;
+
+    // The view is only valid while the world it was created for is alive
+    public StateBuffer(long worldPtr) {
+        this.worldPtr = worldPtr;
+        remap();
+    }
+
+    private void remap() {
+        buffer = PhysicsEngineJNI.getStateBuffer(worldPtr).order(ByteOrder.nativeOrder());
+    }
+
+    // Number of bodies; call once at the start of each pass over the world,
+    // since it also picks up the new block after the world has grown
+    public int size() {
+        if (buffer.getInt(RETIRED_OFFSET) != 0) {
+            remap();
+        }
+        return buffer.getInt(BODY_COUNT_OFFSET);
+    }
+
+    // Incremented by the native side every time the buffer is refreshed
+    public int getRevision() {
+        return buffer.getInt(REVISION_OFFSET);
+    }
+
+    private int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    // Per-slot getters, slot in [0, size())
+    public int getId(int slot) { return buffer.getInt(offset(slot) + ID_OFFSET); }
+    public double getPosX(int slot) { return buffer.getFloat(offset(slot) + POS_X_OFFSET); }
+    public double getPosY(int slot) { return buffer.getFloat(offset(slot) + POS_Y_OFFSET); }
+    public double getVelX(int slot) { return buffer.getFloat(offset(slot) + VEL_X_OFFSET); }
+    public double getVelY(int slot) { return buffer.getFloat(offset(slot) + VEL_Y_OFFSET); }
+    public double getAccX(int slot) { return buffer.getFloat(offset(slot) + ACC_X_OFFSET); }
+    public double getAccY(int slot) { return buffer.getFloat(offset(slot) + ACC_Y_OFFSET); }
+
+    // Position before the latest step
+    public double getPrevPosX(int slot) { return buffer.getFloat(offset(slot) + PREV_X_OFFSET); }
+    public double getPrevPosY(int slot) { return buffer.getFloat(offset(slot) + PREV_Y_OFFSET); }
+}
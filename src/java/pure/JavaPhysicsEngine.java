@@ -0,0 +1,229 @@
+// File: src/JAVA/pure/JavaPhysicsEngine.java
+package JAVA.pure;
+
+import JAVA.BodyStateView;
+import JAVA.CommandBuffer;
+import JAVA.ObjectState;
+import JAVA.PhysicsEngine;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// PhysicsEngine written in plain Java, with no native library. Each world
+// keeps its bodies in primitive arrays (see JavaWorld) and follows the
+// native structure-of-arrays path, so results match the jni engine with
+// WORLD_BODY_STORAGE on. WORLD_BROADPHASE, WORLD_BODY_STORAGE,
+// WORLD_THREAD_COUNT and WORLD_COLLISION_SOLVER are accepted and ignored:
+// the world always sweeps along x, runs on the calling thread and uses
+// the global solver. WORLD_CONTACT_CACHE is native only; a java world
+// keeps resolving every contact from scratch, as a native world does with
+// the cache off.
+public class JavaPhysicsEngine implements PhysicsEngine {
+    // Handle n is worlds.get(n - 1); deleted worlds leave a null behind so
+    // handles are never reused
+    private final List<JavaWorld> worlds = new ArrayList<>();
+
+    @Override
+    public String getName() {
+        return "java";
+    }
+
+    @Override
+    public synchronized long createWorld() {
+        worlds.add(new JavaWorld());
+        return worlds.size();
+    }
+
+    @Override
+    public synchronized void deleteWorld(long world) {
+        world(world);
+        worlds.set((int) world - 1, null);
+    }
+
+    private synchronized JavaWorld world(long world) {
+        JavaWorld found = world >= 1 && world <= worlds.size() ? worlds.get((int) world - 1) : null;
+        if (found == null) {
+            throw new IllegalArgumentException("Unknown world " + world);
+        }
+        return found;
+    }
+
+    @Override
+    public void addObject(long world, int id, double mass, double posX, double posY, double velX, double velY,
+                          char shape, double... dimensions) {
+        world(world).addObject(id, mass, posX, posY, velX, velY, shape, dimensions);
+    }
+
+    @Override
+    public boolean removeObject(long world, int id) {
+        return world(world).removeObject(id);
+    }
+
+    @Override
+    public int removeObjects(long world, int... ids) {
+        JavaWorld target = world(world);
+        int removed = 0;
+        for (int id : ids) {
+            if (target.removeObject(id)) removed++;
+        }
+        return removed;
+    }
+
+    @Override
+    public int flushCommands(long world, CommandBuffer commands) {
+        int applied = commands.forEach(new WorldCommands(world(world)));
+        commands.clear();
+        return applied;
+    }
+
+    // Applies the commands of a buffer to one world
+    private static final class WorldCommands implements CommandBuffer.Target {
+        private final JavaWorld world;
+
+        WorldCommands(JavaWorld world) {
+            this.world = world;
+        }
+
+        @Override
+        public void addObject(int id, double mass, double posX, double posY, double velX, double velY,
+                              char shape, double[] dimensions) {
+            world.addObject(id, mass, posX, posY, velX, velY, shape, dimensions);
+        }
+
+        @Override
+        public void updateObject(int id, double posX, double posY, double velX, double velY) {
+            world.updateObject(id, posX, posY, velX, velY);
+        }
+
+        @Override
+        public void applyImpulse(int id, double impulseX, double impulseY) {
+            world.applyImpulse(id, impulseX, impulseY);
+        }
+
+        @Override
+        public void removeObject(int id) {
+            world.removeObject(id);
+        }
+
+        @Override
+        public void configureForces(int choice, double[] params) {
+            world.configureForces(choice, params);
+        }
+
+        @Override
+        public void configureWorld(int option, double[] params) {
+            world.configureWorld(option, params);
+        }
+    }
+
+    @Override
+    public void configureForces(long world, int choice, double... params) {
+        world(world).configureForces(choice, params);
+    }
+
+    @Override
+    public void configureWorld(long world, int option, double... params) {
+        world(world).configureWorld(option, params);
+    }
+
+    @Override
+    public void stepSimulation(long world, double deltaTime) {
+        world(world).step(deltaTime);
+    }
+
+    @Override
+    public double stepFixed(long world, double frameDelta) {
+        return world(world).stepFixed(frameDelta);
+    }
+
+    @Override
+    public void handleCollisions(long world) {
+        world(world).handleCollisions();
+    }
+
+    @Override
+    public ObjectState getObjectState(long world, int id) {
+        JavaWorld found = world(world);
+        int slot = found.findSlot(id);
+        if (slot < 0) return null;
+
+        return new ObjectState(id, found.posX[slot], found.posY[slot], found.velX[slot], found.velY[slot],
+                               found.accX[slot], found.accY[slot]);
+    }
+
+    @Override
+    public boolean getObjectState(long world, int id, double[] out) {
+        JavaWorld found = world(world);
+        int slot = found.findSlot(id);
+        if (slot < 0) return false;
+
+        out[STATE_POS_X] = found.posX[slot];
+        out[STATE_POS_Y] = found.posY[slot];
+        out[STATE_VEL_X] = found.velX[slot];
+        out[STATE_VEL_Y] = found.velY[slot];
+        out[STATE_ACC_X] = found.accX[slot];
+        out[STATE_ACC_Y] = found.accY[slot];
+        return true;
+    }
+
+    @Override
+    public void updateObjectState(long world, int id, double posX, double posY, double velX, double velY) {
+        world(world).updateObject(id, posX, posY, velX, velY);
+    }
+
+    @Override
+    public boolean isWorldAsleep(long world) {
+        return world(world).isWorldAsleep();
+    }
+
+    @Override
+    public boolean saveWorld(long world, String path) {
+        try {
+            JavaWorldFile.save(world(world), Paths.get(path));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long loadWorld(String path) {
+        JavaWorld loaded;
+        try {
+            loaded = JavaWorldFile.load(Paths.get(path));
+        } catch (IOException e) {
+            return 0;
+        }
+        if (loaded == null) return 0;
+
+        synchronized (this) {
+            worlds.add(loaded);
+            return worlds.size();
+        }
+    }
+
+    // Telemetry is written by the native engines only
+    @Override
+    public boolean enableTelemetry(long world, String path, int frameCount, int maxBodies) {
+        world(world);
+        return false;
+    }
+
+    @Override
+    public boolean getStepProfile(long world, long[] out) {
+        world(world);
+        return false;
+    }
+
+    @Override
+    public boolean getContactCacheStats(long world, long[] out) {
+        world(world);
+        return false;
+    }
+
+    @Override
+    public BodyStateView getStateView(long world) {
+        return new JavaStateView(world(world));
+    }
+}
@@ -0,0 +1,69 @@
+// File: src/JAVA/pure/JavaStateView.java
+package JAVA.pure;
+
+import JAVA.BodyStateView;
+
+// BodyStateView reading a JavaWorld's arrays directly. Nothing is copied,
+// so the view always shows the world as it currently stands.
+final class JavaStateView implements BodyStateView {
+    private final JavaWorld world;
+
+    JavaStateView(JavaWorld world) {
+        this.world = world;
+    }
+
+    @Override
+    public int size() {
+        return world.count;
+    }
+
+    @Override
+    public int getRevision() {
+        return world.revision;
+    }
+
+    @Override
+    public int getId(int slot) {
+        return world.ids[slot];
+    }
+
+    @Override
+    public double getPosX(int slot) {
+        return world.posX[slot];
+    }
+
+    @Override
+    public double getPosY(int slot) {
+        return world.posY[slot];
+    }
+
+    @Override
+    public double getVelX(int slot) {
+        return world.velX[slot];
+    }
+
+    @Override
+    public double getVelY(int slot) {
+        return world.velY[slot];
+    }
+
+    @Override
+    public double getAccX(int slot) {
+        return world.accX[slot];
+    }
+
+    @Override
+    public double getAccY(int slot) {
+        return world.accY[slot];
+    }
+
+    @Override
+    public double getPrevPosX(int slot) {
+        return world.prevX[slot];
+    }
+
+    @Override
+    public double getPrevPosY(int slot) {
+        return world.prevY[slot];
+    }
+}
@@ -0,0 +1,809 @@
+// File: src/JAVA/pure/JavaWorld.java
+package JAVA.pure;
+
+import JAVA.jni.PhysicsEngineJNI;
+import java.util.Arrays;
+
+// One world of the pure-Java engine. Bodies live in parallel primitive
+// arrays indexed by slot, in the order they were added, like the native
+// structure-of-arrays store (body_store.h). Forces, integration, walls,
+// sleeping and the AABB/circle contact response follow forces.cpp,
+// collider.cpp and physics_native.cpp step by step, in float and in the
+// same order of operations, so a world tracks a native one using
+// WORLD_BODY_STORAGE. Once the arrays have grown to fit the bodies,
+// stepping, collision passes and queries allocate nothing.
+final class JavaWorld {
+    static final byte SHAPE_BOX = 1;
+    static final byte SHAPE_CIRCLE = 2;
+
+    // Same constants as PhysicsWorld
+    private static final double GROUND_THRESHOLD = 0.1;
+    private static final double VELOCITY_THRESHOLD = 0.01;
+    private static final double SLEEP_POSITION_TOLERANCE = 0.5;
+    private static final int MAX_ITERATIONS = 4;
+
+    // Contact response constants from collider.cpp
+    private static final float BOX_RESTITUTION = 0.4f;
+    private static final float BOX_FRICTION = 0.3f;
+    private static final float CIRCLE_RESTITUTION = 0.8f;
+    private static final float CIRCLE_FRICTION = 0.2f;
+    private static final float CORRECTION_PERCENT = 0.2f;
+    private static final float CORRECTION_SLOP = 0.01f;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Forces
+    float gravity = 9.81f;
+    float staticFriction = 0.5f;
+    float kineticFriction = 0.3f;
+    double groundLevel = 600.0;
+
+    // Walls (WORLD_BOUNDS)
+    boolean boundsEnabled;
+    float boundsLeft, boundsTop, boundsRight, boundsBottom;
+    float wallRestitution = 0.6f;
+    float wallFriction = 0.2f;
+
+    // Fixed step clock (WORLD_FIXED_STEP), as in fixed_step.cpp
+    double stepSize = 1.0 / 60.0;
+    int maxSubsteps = 5;
+    double accumulator;
+
+    // Sleeping (WORLD_SLEEP), as in sleep.cpp
+    float sleepVelocity = 0.5f;
+    int sleepSteps = 60;
+
+    // Bodies, one slot each
+    int count;
+    int[] ids = new int[INITIAL_CAPACITY];
+    byte[] shape = new byte[INITIAL_CAPACITY];
+    float[] mass = new float[INITIAL_CAPACITY];
+    float[] inverseMass = new float[INITIAL_CAPACITY];
+    float[] extentX = new float[INITIAL_CAPACITY];   // Box width, or circle radius
+    float[] extentY = new float[INITIAL_CAPACITY];   // Box height, or circle radius
+    float[] posX = new float[INITIAL_CAPACITY];
+    float[] posY = new float[INITIAL_CAPACITY];
+    float[] velX = new float[INITIAL_CAPACITY];
+    float[] velY = new float[INITIAL_CAPACITY];
+    float[] accX = new float[INITIAL_CAPACITY];
+    float[] accY = new float[INITIAL_CAPACITY];
+    float[] prevX = new float[INITIAL_CAPACITY];
+    float[] prevY = new float[INITIAL_CAPACITY];
+    int[] restingSteps = new int[INITIAL_CAPACITY];
+    boolean[] asleep = new boolean[INITIAL_CAPACITY];
+
+    // Incremented whenever the body state changes
+    int revision;
+
+    // Id -> slot, open addressing; a stored slot is offset by one so 0 marks a free entry
+    private int[] indexIds = new int[INITIAL_CAPACITY * 2];
+    private int[] indexSlots = new int[INITIAL_CAPACITY * 2];
+
+    // Broadphase scratch: bounds per slot and slots sorted by left edge
+    private float[] minX = new float[INITIAL_CAPACITY];
+    private float[] maxX = new float[INITIAL_CAPACITY];
+    private float[] minY = new float[INITIAL_CAPACITY];
+    private float[] maxY = new float[INITIAL_CAPACITY];
+    private int[] order = new int[INITIAL_CAPACITY];
+
+    // Colliding pairs as (lower slot << 32 | higher slot), and the ones found
+    // by the first pass of the latest collision solve, which decide who sleeps
+    private long[] pairs = new long[INITIAL_CAPACITY];
+    private int pairCount;
+    private long[] contacts = new long[INITIAL_CAPACITY];
+    private int contactCount;
+
+    // Union-find over the contacts, for sleeping islands
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private boolean[] islandRested = new boolean[INITIAL_CAPACITY];
+
+    // ---------------------------------------------------------------
+    // Configuration
+    // ---------------------------------------------------------------
+
+    void configureForces(int choice, double[] params) {
+        switch (choice) {
+            case 1:
+                if (params.length >= 2) {
+                    staticFriction = (float) params[0];
+                    kineticFriction = (float) params[1];
+                }
+                break;
+            case 2:
+                if (params.length >= 1) {
+                    gravity = (float) params[0];
+                }
+                break;
+        }
+    }
+
+    // Broadphase, storage, thread and solver options only pick between
+    // native strategies that give the same result; they have no effect here
+    void configureWorld(int option, double[] params) {
+        switch (option) {
+            case PhysicsEngineJNI.WORLD_BOUNDS:
+                if (params.length >= 4) {
+                    boundsLeft = (float) params[0];
+                    boundsTop = (float) params[1];
+                    boundsRight = (float) params[2];
+                    boundsBottom = (float) params[3];
+                    boundsEnabled = boundsRight > boundsLeft && boundsBottom > boundsTop;
+                    if (params.length >= 6) {
+                        wallRestitution = (float) params[4];
+                        wallFriction = (float) params[5];
+                    }
+                }
+                break;
+            case PhysicsEngineJNI.WORLD_FIXED_STEP:
+                if (params.length >= 1) {
+                    if (params[0] > 0) stepSize = params[0];
+                    int substeps = params.length >= 2 ? (int) params[1] : maxSubsteps;
+                    maxSubsteps = substeps > 0 ? substeps : 1;
+                    accumulator = 0;
+                }
+                break;
+            case PhysicsEngineJNI.WORLD_SLEEP:
+                if (params.length >= 1) {
+                    sleepVelocity = (float) params[0];
+                    int steps = params.length >= 2 ? (int) params[1] : sleepSteps;
+                    sleepSteps = steps > 0 ? steps : 1;
+                    if (!isSleepEnabled()) {
+                        Arrays.fill(asleep, 0, count, false);
+                        Arrays.fill(restingSteps, 0, count, 0);
+                    }
+                }
+                break;
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Bodies
+    // ---------------------------------------------------------------
+
+    // Adds a body; false if the shape is unknown or dimensions are missing
+    boolean addObject(int id, double bodyMass, double x, double y, double vx, double vy,
+                      char bodyShape, double[] dimensions) {
+        byte kind;
+        float width, height;
+        switch (bodyShape) {
+            case 'R':
+                if (dimensions.length < 2) return false;
+                kind = SHAPE_BOX;
+                width = (float) dimensions[0];
+                height = (float) dimensions[1];
+                break;
+            case 'S':
+                if (dimensions.length < 1) return false;
+                kind = SHAPE_BOX;
+                width = height = (float) dimensions[0];
+                break;
+            case 'C':
+                if (dimensions.length < 1) return false;
+                kind = SHAPE_CIRCLE;
+                width = height = (float) dimensions[0];
+                break;
+            default:
+                return false;
+        }
+
+        if (count == ids.length) {
+            grow(count * 2);
+        }
+
+        int slot = count++;
+        float m = (float) bodyMass;
+        ids[slot] = id;
+        shape[slot] = kind;
+        mass[slot] = m;
+        inverseMass[slot] = m > 0 ? 1.0f / m : 0.0f;
+        extentX[slot] = width;
+        extentY[slot] = height;
+        posX[slot] = prevX[slot] = (float) x;
+        posY[slot] = prevY[slot] = (float) y;
+        velX[slot] = (float) vx;
+        velY[slot] = (float) vy;
+        accX[slot] = accY[slot] = 0;
+        restingSteps[slot] = 0;
+        asleep[slot] = false;
+        order[slot] = slot;
+
+        // The first body added with an id keeps it for lookups
+        if (findSlot(id) < 0) {
+            indexInsert(id, slot);
+        }
+        revision++;
+        return true;
+    }
+
+    // Removes a body by moving the last one into its slot, as removeBody in
+    // physics_native.cpp does; false if the id is unknown
+    boolean removeObject(int id) {
+        int slot = findSlot(id);
+        if (slot < 0) return false;
+
+        indexErase(id);
+        int last = --count;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            shape[slot] = shape[last];
+            mass[slot] = mass[last];
+            inverseMass[slot] = inverseMass[last];
+            extentX[slot] = extentX[last];
+            extentY[slot] = extentY[last];
+            posX[slot] = posX[last];
+            posY[slot] = posY[last];
+            velX[slot] = velX[last];
+            velY[slot] = velY[last];
+            accX[slot] = accX[last];
+            accY[slot] = accY[last];
+            prevX[slot] = prevX[last];
+            prevY[slot] = prevY[last];
+            restingSteps[slot] = restingSteps[last];
+
+            // A duplicate id is not indexed, and stays that way
+            if (findSlot(ids[slot]) == last) {
+                indexErase(ids[slot]);
+                indexInsert(ids[slot], slot);
+            }
+        }
+
+        // Like SleepTracker::remove: contacts are gone and everyone wakes,
+        // keeping their resting counts; the sort starts over like the
+        // native sweep and prune
+        Arrays.fill(asleep, 0, count, false);
+        contactCount = 0;
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        revision++;
+        return true;
+    }
+
+    int findSlot(int id) {
+        int mask = indexIds.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            int stored = indexSlots[i];
+            if (stored == 0) return -1;
+            if (indexIds[i] == id) return stored - 1;
+        }
+    }
+
+    // Moves a body from outside the simulation; false if the id is unknown
+    boolean updateObject(int id, double x, double y, double vx, double vy) {
+        int slot = findSlot(id);
+        if (slot < 0) return false;
+
+        float newX = (float) x;
+        float newY = (float) y;
+        float newVelX = (float) vx;
+        float newVelY = (float) vy;
+
+        // Any external update wakes the body; a real push or teleport also
+        // restarts its rest count, as in setObjectState
+        boolean moved = length(newX - posX[slot], newY - posY[slot]) > SLEEP_POSITION_TOLERANCE ||
+                        length(newVelX, newVelY) >= sleepVelocity;
+        asleep[slot] = false;
+        if (moved) {
+            restingSteps[slot] = 0;
+        }
+
+        posX[slot] = prevX[slot] = newX;
+        posY[slot] = prevY[slot] = newY;
+        velX[slot] = newVelX;
+        velY[slot] = newVelY;
+        revision++;
+        return true;
+    }
+
+    // Adds impulse / mass to a body's velocity and wakes it, as
+    // applyWorldImpulse does; false if the id is unknown or has no mass
+    boolean applyImpulse(int id, double impulseX, double impulseY) {
+        int slot = findSlot(id);
+        if (slot < 0 || mass[slot] <= 0) return false;
+
+        asleep[slot] = false;
+        restingSteps[slot] = 0;
+        velX[slot] += (float) impulseX * inverseMass[slot];
+        velY[slot] += (float) impulseY * inverseMass[slot];
+        revision++;
+        return true;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        shape = Arrays.copyOf(shape, capacity);
+        mass = Arrays.copyOf(mass, capacity);
+        inverseMass = Arrays.copyOf(inverseMass, capacity);
+        extentX = Arrays.copyOf(extentX, capacity);
+        extentY = Arrays.copyOf(extentY, capacity);
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        velX = Arrays.copyOf(velX, capacity);
+        velY = Arrays.copyOf(velY, capacity);
+        accX = Arrays.copyOf(accX, capacity);
+        accY = Arrays.copyOf(accY, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        restingSteps = Arrays.copyOf(restingSteps, capacity);
+        asleep = Arrays.copyOf(asleep, capacity);
+        minX = new float[capacity];
+        maxX = new float[capacity];
+        minY = new float[capacity];
+        maxY = new float[capacity];
+        order = Arrays.copyOf(order, capacity);
+        parent = new int[capacity];
+        islandRested = new boolean[capacity];
+
+        // Keep the index at most half full
+        int[] oldIds = indexIds;
+        int[] oldSlots = indexSlots;
+        indexIds = new int[capacity * 2];
+        indexSlots = new int[capacity * 2];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldSlots[i] != 0) {
+                indexInsert(oldIds[i], oldSlots[i] - 1);
+            }
+        }
+    }
+
+    private void indexInsert(int id, int slot) {
+        int mask = indexIds.length - 1;
+        int i = mix(id) & mask;
+        while (indexSlots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        indexIds[i] = id;
+        indexSlots[i] = slot + 1;
+    }
+
+    // Linear probing has no tombstones: entries after the erased one that
+    // would no longer be reachable are shifted back into the gap
+    private void indexErase(int id) {
+        int mask = indexIds.length - 1;
+        int i = mix(id) & mask;
+        while (indexSlots[i] != 0 && indexIds[i] != id) {
+            i = (i + 1) & mask;
+        }
+        if (indexSlots[i] == 0) return;
+
+        int gap = i;
+        for (int j = (gap + 1) & mask; indexSlots[j] != 0; j = (j + 1) & mask) {
+            int home = mix(indexIds[j]) & mask;
+            // Move j into the gap unless its home lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                indexIds[gap] = indexIds[j];
+                indexSlots[gap] = indexSlots[j];
+                gap = j;
+            }
+        }
+        indexSlots[gap] = 0;
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // ---------------------------------------------------------------
+    // Stepping
+    // ---------------------------------------------------------------
+
+    // Integrate every awake body by one step, then let resting bodies sleep
+    void step(double deltaTime) {
+        System.arraycopy(posX, 0, prevX, 0, count);
+        System.arraycopy(posY, 0, prevY, 0, count);
+
+        float dt = (float) deltaTime;
+        for (int i = 0; i < count; i++) {
+            if (asleep[i]) continue;
+            integrate(i, dt);
+        }
+
+        updateSleep();
+        revision++;
+    }
+
+    // Same force model as integrateBodyStore
+    private void integrate(int i, float dt) {
+        float m = mass[i];
+        float forceX = 0;
+        float forceY = 0;
+
+        // Gravity
+        if (m > 0) {
+            forceY += gravity * m;
+        }
+
+        // Friction if near ground
+        if (Math.abs(posY[i] - groundLevel) < GROUND_THRESHOLD) {
+            float speed = length(velX[i], velY[i]);
+            if (speed < VELOCITY_THRESHOLD) {
+                // Static friction only holds a body that is fully at rest
+                if (speed == 0) {
+                    forceY -= staticFriction * m;
+                }
+            } else {
+                float scale = kineticFriction * m;
+                forceX += velX[i] / speed * -1 * scale;
+                forceY += velY[i] / speed * -1 * scale;
+            }
+        }
+
+        float invMass = inverseMass[i];
+        accX[i] = forceX * invMass;
+        accY[i] = forceY * invMass;
+        velX[i] += accX[i] * dt;
+        velY[i] += accY[i] * dt;
+        posX[i] += velX[i] * dt;
+        posY[i] += velY[i] * dt;
+
+        if (boundsEnabled) {
+            applyWalls(i);
+        }
+
+        if (length(velX[i], velY[i]) < sleepVelocity) {
+            if (restingSteps[i] < sleepSteps) restingSteps[i]++;
+        } else {
+            restingSteps[i] = 0;
+        }
+    }
+
+    // Push a body back inside the walls, as applyWorldBounds does. Circles
+    // cover a diameter-sized square from their position, like the GUI draws them.
+    private void applyWalls(int i) {
+        float sizeX = shape[i] == SHAPE_CIRCLE ? extentX[i] * 2 : extentX[i];
+        float sizeY = shape[i] == SHAPE_CIRCLE ? extentY[i] * 2 : extentY[i];
+
+        // Bottom wall
+        if (posY[i] + sizeY > boundsBottom) {
+            posY[i] = boundsBottom - sizeY;
+            if (velY[i] > 0) {
+                velY[i] = -velY[i] * wallRestitution;
+                velX[i] *= (1.0f - wallFriction);
+            }
+        }
+
+        // Top wall
+        if (posY[i] < boundsTop) {
+            posY[i] = boundsTop;
+            if (velY[i] < 0) {
+                velY[i] = -velY[i] * wallRestitution;
+                velX[i] *= (1.0f - wallFriction);
+            }
+        }
+
+        // Right wall
+        if (posX[i] + sizeX > boundsRight) {
+            posX[i] = boundsRight - sizeX;
+            if (velX[i] > 0) {
+                velX[i] = -velX[i] * wallRestitution;
+                velY[i] *= (1.0f - wallFriction);
+            }
+        }
+
+        // Left wall
+        if (posX[i] < boundsLeft) {
+            posX[i] = boundsLeft;
+            if (velX[i] < 0) {
+                velX[i] = -velX[i] * wallRestitution;
+                velY[i] *= (1.0f - wallFriction);
+            }
+        }
+    }
+
+    // Advances the fixed-step clock by one frame, running each whole step
+    // with a collision pass; returns the interpolation alpha
+    double stepFixed(double frameDelta) {
+        if (frameDelta > 0) accumulator += frameDelta;
+
+        int steps = (int) (accumulator / stepSize);
+        if (steps > maxSubsteps) {
+            // Keep the partial step so the alpha stays continuous, drop the rest
+            accumulator = accumulator % stepSize + maxSubsteps * stepSize;
+            steps = maxSubsteps;
+        }
+        accumulator -= steps * stepSize;
+        if (accumulator < 0) accumulator = 0;
+
+        for (int i = 0; i < steps; i++) {
+            step(stepSize);
+            handleCollisions();
+        }
+
+        double alpha = accumulator / stepSize;
+        return alpha < 1.0 ? alpha : 1.0;
+    }
+
+    // ---------------------------------------------------------------
+    // Sleeping
+    // ---------------------------------------------------------------
+
+    boolean isSleepEnabled() {
+        return sleepVelocity > 0;
+    }
+
+    // Empty worlds count as asleep, as in SleepTracker
+    boolean isWorldAsleep() {
+        if (!isSleepEnabled()) return false;
+        for (int i = 0; i < count; i++) {
+            if (!asleep[i]) return false;
+        }
+        return true;
+    }
+
+    // Touching bodies sleep and wake together; the others decide on their own
+    private void updateSleep() {
+        if (!isSleepEnabled()) return;
+
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+            islandRested[i] = true;
+        }
+        for (int c = 0; c < contactCount; c++) {
+            int a = root((int) (contacts[c] >>> 32));
+            int b = root((int) contacts[c]);
+            if (a != b) parent[b] = a;
+        }
+        for (int i = 0; i < count; i++) {
+            if (restingSteps[i] < sleepSteps) islandRested[root(i)] = false;
+        }
+
+        for (int i = 0; i < count; i++) {
+            boolean rested = islandRested[root(i)];
+            if (rested && !asleep[i]) {
+                velX[i] = velY[i] = 0;
+                accX[i] = accY[i] = 0;
+            }
+            asleep[i] = rested;
+        }
+    }
+
+    private int root(int slot) {
+        while (parent[slot] != slot) {
+            parent[slot] = parent[parent[slot]];
+            slot = parent[slot];
+        }
+        return slot;
+    }
+
+    // ---------------------------------------------------------------
+    // Collisions
+    // ---------------------------------------------------------------
+
+    // Detect and resolve contacts, re-detecting up to MAX_ITERATIONS times
+    void handleCollisions() {
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            findPairs();
+            if (pairCount == 0) break;
+
+            if (iteration == 0) {
+                if (contacts.length < pairCount) contacts = new long[pairs.length];
+                System.arraycopy(pairs, 0, contacts, 0, pairCount);
+                contactCount = pairCount;
+            }
+
+            for (int p = 0; p < pairCount; p++) {
+                int a = (int) (pairs[p] >>> 32);
+                int b = (int) pairs[p];
+
+                // A contact wakes a sleeping body
+                asleep[a] = false;
+                asleep[b] = false;
+
+                // The first body's shape picks the response, as in resolveColliders
+                if (shape[a] == SHAPE_BOX) {
+                    resolveBox(a, b);
+                } else {
+                    resolveCircle(a, b);
+                }
+            }
+        }
+        revision++;
+    }
+
+    // Sort and sweep along x, then narrowphase. Pairs are sorted by slots so
+    // they are resolved in the order of the native all-pairs loop.
+    private void findPairs() {
+        for (int i = 0; i < count; i++) {
+            if (shape[i] == SHAPE_CIRCLE) {
+                minX[i] = posX[i] - extentX[i];
+                maxX[i] = posX[i] + extentX[i];
+                minY[i] = posY[i] - extentX[i];
+                maxY[i] = posY[i] + extentX[i];
+            } else {
+                minX[i] = posX[i];
+                maxX[i] = posX[i] + extentX[i];
+                minY[i] = posY[i];
+                maxY[i] = posY[i] + extentY[i];
+            }
+        }
+
+        // The order is kept between passes, so it is nearly sorted already
+        PrimitiveSort.sortByKey(order, minX, 0, count);
+
+        pairCount = 0;
+        for (int s = 0; s < count; s++) {
+            int i = order[s];
+            for (int t = s + 1; t < count && minX[order[t]] <= maxX[i]; t++) {
+                int j = order[t];
+                if (minY[j] > maxY[i] || minY[i] > maxY[j]) continue;
+
+                int a = Math.min(i, j);
+                int b = Math.max(i, j);
+
+                // Two sleeping bodies cannot start touching
+                if (asleep[a] && asleep[b]) continue;
+
+                if (overlaps(a, b)) {
+                    if (pairCount == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, pairCount * 2);
+                    }
+                    pairs[pairCount++] = ((long) a << 32) | b;
+                }
+            }
+        }
+
+        PrimitiveSort.sort(pairs, 0, pairCount);
+    }
+
+    // Narrowphase overlap test between two slots, as in BodyStore::overlaps
+    private boolean overlaps(int a, int b) {
+        byte shapeA = shape[a];
+        byte shapeB = shape[b];
+
+        if (shapeA == SHAPE_BOX && shapeB == SHAPE_BOX) {
+            boolean xOverlap = posX[a] < posX[b] + extentX[b] && posX[a] + extentX[a] > posX[b];
+            boolean yOverlap = posY[a] < posY[b] + extentY[b] && posY[a] + extentY[a] > posY[b];
+            return xOverlap && yOverlap;
+        }
+        if (shapeA == SHAPE_CIRCLE && shapeB == SHAPE_CIRCLE) {
+            return length(posX[a] - posX[b], posY[a] - posY[b]) < extentX[a] + extentX[b];
+        }
+        if (shapeA == SHAPE_BOX) {
+            return boxCircleOverlap(a, b);
+        }
+        return boxCircleOverlap(b, a);
+    }
+
+    private boolean boxCircleOverlap(int box, int circle) {
+        float centerX = posX[circle];
+        float centerY = posY[circle];
+        float closestX = max(posX[box], min(centerX, posX[box] + extentX[box]));
+        float closestY = max(posY[box], min(centerY, posY[box] + extentY[box]));
+        return length(closestX - centerX, closestY - centerY) < extentX[circle];
+    }
+
+    // AABB response from collider.cpp; the first body's width and height are
+    // used for both, as there
+    private void resolveBox(int a, int b) {
+        float width = extentX[a];
+        float height = extentY[a];
+        float massA = mass[a];
+        float massB = mass[b];
+
+        // Calculate overlap in both axes
+        float overlapX = (posX[a] + width) - posX[b];
+        if (Math.abs(overlapX) > Math.abs(posX[a] - (posX[b] + width))) {
+            overlapX = posX[a] - (posX[b] + width);
+        }
+
+        float overlapY = (posY[a] + height) - posY[b];
+        if (Math.abs(overlapY) > Math.abs(posY[a] - (posY[b] + height))) {
+            overlapY = posY[a] - (posY[b] + height);
+        }
+
+        // Collision normal along the smallest overlap
+        boolean alongX = Math.abs(overlapX) < Math.abs(overlapY);
+        float normalX = alongX ? (overlapX > 0 ? 1.0f : -1.0f) : 0.0f;
+        float normalY = alongX ? 0.0f : (overlapY > 0 ? 1.0f : -1.0f);
+
+        float relativeX = velX[b] - velX[a];
+        float relativeY = velY[b] - velY[a];
+        float velocityAlongNormal = relativeX * normalX + relativeY * normalY;
+
+        // Moving apart
+        if (velocityAlongNormal > 0) return;
+
+        float inverseMassSum = (1.0f / massA) + (1.0f / massB);
+        float j = -(1.0f + BOX_RESTITUTION) * velocityAlongNormal;
+        j /= inverseMassSum;
+
+        float impulseX = normalX * j;
+        float impulseY = normalY * j;
+        velX[a] -= impulseX / massA;
+        velY[a] -= impulseY / massA;
+        velX[b] += impulseX / massB;
+        velY[b] += impulseY / massB;
+
+        // Positional correction to prevent sinking
+        float depth = Math.max(Math.abs(alongX ? overlapX : overlapY) - CORRECTION_SLOP, 0.0f) * CORRECTION_PERCENT;
+        float correctionX = normalX * depth;
+        float correctionY = normalY * depth;
+        float shareA = 1.0f / massA / (1.0f / massA + 1.0f / massB);
+        float shareB = 1.0f / massB / (1.0f / massA + 1.0f / massB);
+        posX[a] -= correctionX * shareA;
+        posY[a] -= correctionY * shareA;
+        posX[b] += correctionX * shareB;
+        posY[b] += correctionY * shareB;
+
+        applyContactFriction(a, b, relativeX, relativeY, normalX, normalY, velocityAlongNormal, j, BOX_FRICTION);
+
+        // Near-vertical contact: settle small horizontal drift for stacking
+        if (Math.abs(normalY) > 0.9f) {
+            if (Math.abs(velX[a]) < 0.1f) velX[a] = 0;
+            if (Math.abs(velX[b]) < 0.1f) velX[b] = 0;
+        }
+    }
+
+    // Circle response from collider.cpp
+    private void resolveCircle(int a, int b) {
+        float massA = mass[a];
+        float massB = mass[b];
+
+        float deltaX = posX[b] - posX[a];
+        float deltaY = posY[b] - posY[a];
+        float distance = length(deltaX, deltaY);
+        float normalX = distance == 0 ? 0 : deltaX / distance;
+        float normalY = distance == 0 ? 0 : deltaY / distance;
+
+        float relativeX = velX[b] - velX[a];
+        float relativeY = velY[b] - velY[a];
+        float velocityAlongNormal = relativeX * normalX + relativeY * normalY;
+
+        // Moving apart
+        if (velocityAlongNormal > 0) return;
+
+        float j = -(1.0f + CIRCLE_RESTITUTION) * velocityAlongNormal;
+        j /= (1.0f / massA) + (1.0f / massB);
+
+        float impulseX = normalX * j;
+        float impulseY = normalY * j;
+        velX[a] -= impulseX / massA;
+        velY[a] -= impulseY / massA;
+        velX[b] += impulseX / massB;
+        velY[b] += impulseY / massB;
+
+        applyContactFriction(a, b, relativeX, relativeY, normalX, normalY, velocityAlongNormal, j, CIRCLE_FRICTION);
+    }
+
+    // Tangential impulse, clamped to friction times the normal impulse
+    private void applyContactFriction(int a, int b, float relativeX, float relativeY, float normalX, float normalY,
+                                      float velocityAlongNormal, float j, float friction) {
+        float tangentX = relativeX - normalX * velocityAlongNormal;
+        float tangentY = relativeY - normalY * velocityAlongNormal;
+        if (tangentX * tangentX + tangentY * tangentY <= 0.0001f) return;
+
+        float tangentLength = length(tangentX, tangentY);
+        tangentX = tangentX / tangentLength;
+        tangentY = tangentY / tangentLength;
+
+        float massA = mass[a];
+        float massB = mass[b];
+        float jt = -(relativeX * tangentX + relativeY * tangentY);
+        jt /= (1.0f / massA) + (1.0f / massB);
+
+        float scale = Math.abs(jt) < j * friction ? jt : -j * friction;
+        float frictionX = tangentX * scale;
+        float frictionY = tangentY * scale;
+        velX[a] -= frictionX / massA;
+        velY[a] -= frictionY / massA;
+        velX[b] += frictionX / massB;
+        velY[b] += frictionY / massB;
+    }
+
+    // ---------------------------------------------------------------
+    // Float helpers matching vector2d.h and std::min/std::max
+    // ---------------------------------------------------------------
+
+    private static float length(float x, float y) {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    private static float min(float a, float b) {
+        return b < a ? b : a;
+    }
+
+    private static float max(float a, float b) {
+        return a < b ? b : a;
+    }
+}
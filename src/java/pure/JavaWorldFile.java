@@ -0,0 +1,222 @@
+// File: src/JAVA/pure/JavaWorldFile.java
+package JAVA.pure;
+
+import JAVA.jni.PhysicsEngineJNI;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Saves and loads JavaWorlds in the world file format of
+// include/world_file.h, so checkpoints move freely between this engine and
+// the native ones. Files are read through a memory mapping. Boxes are
+// written as 'S' when square and 'R' otherwise, which loads back the same.
+final class JavaWorldFile {
+    private static final int MAGIC = 'P' | 'H' << 8 | 'Y' << 16 | 'W' << 24;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 128;
+    private static final int RECORD_SIZE = 48;
+    private static final int ASLEEP = 0x1;
+
+    // Bodies written per channel write while saving
+    private static final int SAVE_CHUNK = 4096;
+
+    // Header fields
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int HEADER_SIZE_OFFSET = 8;
+    private static final int RECORD_SIZE_OFFSET = 12;
+    private static final int BODY_COUNT_OFFSET = 16;
+    private static final int GRAVITY_OFFSET = 24;
+    private static final int STATIC_FRICTION_OFFSET = 28;
+    private static final int KINETIC_FRICTION_OFFSET = 32;
+    private static final int GROUND_LEVEL_OFFSET = 40;
+    private static final int BOUNDS_ENABLED_OFFSET = 48;
+    private static final int BOUNDS_LEFT_OFFSET = 52;
+    private static final int BOUNDS_TOP_OFFSET = 56;
+    private static final int BOUNDS_RIGHT_OFFSET = 60;
+    private static final int BOUNDS_BOTTOM_OFFSET = 64;
+    private static final int WALL_RESTITUTION_OFFSET = 68;
+    private static final int WALL_FRICTION_OFFSET = 72;
+    private static final int SLEEP_VELOCITY_OFFSET = 76;
+    private static final int SLEEP_STEPS_OFFSET = 80;
+    private static final int MAX_SUBSTEPS_OFFSET = 84;
+    private static final int STEP_SIZE_OFFSET = 88;
+    private static final int BROADPHASE_OFFSET = 96;
+    private static final int BODY_STORAGE_OFFSET = 104;
+    private static final int COLLISION_SOLVER_OFFSET = 108;
+    private static final int THREAD_COUNT_OFFSET = 112;
+    private static final int CONTACT_CACHE_OFFSET = 116;
+
+    // Record fields
+    private static final int ID_OFFSET = 0;
+    private static final int SHAPE_OFFSET = 4;
+    private static final int FLAGS_OFFSET = 5;
+    private static final int RECORD_RESERVED_OFFSET = 6;
+    private static final int MASS_OFFSET = 8;
+    private static final int POS_X_OFFSET = 12;
+    private static final int POS_Y_OFFSET = 16;
+    private static final int VEL_X_OFFSET = 20;
+    private static final int VEL_Y_OFFSET = 24;
+    private static final int ACC_X_OFFSET = 28;
+    private static final int ACC_Y_OFFSET = 32;
+    private static final int DIM0_OFFSET = 36;
+    private static final int DIM1_OFFSET = 40;
+    private static final int RESTING_STEPS_OFFSET = 44;
+
+    private JavaWorldFile() {}
+
+    static void save(JavaWorld world, Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * SAVE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(world, buffer);
+            buffer.position(HEADER_SIZE).flip();
+            writeFully(channel, buffer);
+
+            for (int slot = 0; slot < world.count; slot++) {
+                writeBody(world, slot, buffer, buffer.position());
+                buffer.position(buffer.position() + RECORD_SIZE);
+                if (!buffer.hasRemaining() || slot + 1 == world.count) {
+                    buffer.flip();
+                    writeFully(channel, buffer);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void writeHeader(JavaWorld world, ByteBuffer buffer) {
+        for (int i = 0; i < HEADER_SIZE; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(HEADER_SIZE_OFFSET, HEADER_SIZE);
+        buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+        buffer.putLong(BODY_COUNT_OFFSET, world.count);
+
+        buffer.putFloat(GRAVITY_OFFSET, world.gravity);
+        buffer.putFloat(STATIC_FRICTION_OFFSET, world.staticFriction);
+        buffer.putFloat(KINETIC_FRICTION_OFFSET, world.kineticFriction);
+        buffer.putDouble(GROUND_LEVEL_OFFSET, world.groundLevel);
+
+        buffer.putInt(BOUNDS_ENABLED_OFFSET, world.boundsEnabled ? 1 : 0);
+        buffer.putFloat(BOUNDS_LEFT_OFFSET, world.boundsLeft);
+        buffer.putFloat(BOUNDS_TOP_OFFSET, world.boundsTop);
+        buffer.putFloat(BOUNDS_RIGHT_OFFSET, world.boundsRight);
+        buffer.putFloat(BOUNDS_BOTTOM_OFFSET, world.boundsBottom);
+        buffer.putFloat(WALL_RESTITUTION_OFFSET, world.wallRestitution);
+        buffer.putFloat(WALL_FRICTION_OFFSET, world.wallFriction);
+
+        buffer.putFloat(SLEEP_VELOCITY_OFFSET, world.sleepVelocity);
+        buffer.putInt(SLEEP_STEPS_OFFSET, world.sleepSteps);
+        buffer.putInt(MAX_SUBSTEPS_OFFSET, world.maxSubsteps);
+        buffer.putDouble(STEP_SIZE_OFFSET, world.stepSize);
+
+        // The native setup that computes the same results as this engine
+        buffer.putInt(BROADPHASE_OFFSET, PhysicsEngineJNI.BROADPHASE_SWEEP_AND_PRUNE);
+        buffer.putInt(BODY_STORAGE_OFFSET, PhysicsEngineJNI.STORAGE_SOA);
+        buffer.putInt(COLLISION_SOLVER_OFFSET, PhysicsEngineJNI.SOLVER_GLOBAL);
+        buffer.putInt(THREAD_COUNT_OFFSET, 1);
+        buffer.putInt(CONTACT_CACHE_OFFSET, 0);
+    }
+
+    private static void writeBody(JavaWorld world, int slot, ByteBuffer buffer, int at) {
+        boolean circle = world.shape[slot] == JavaWorld.SHAPE_CIRCLE;
+        boolean square = !circle && world.extentX[slot] == world.extentY[slot];
+
+        buffer.putInt(at + ID_OFFSET, world.ids[slot]);
+        buffer.put(at + SHAPE_OFFSET, (byte) (circle ? 'C' : square ? 'S' : 'R'));
+        buffer.put(at + FLAGS_OFFSET, (byte) (world.asleep[slot] ? ASLEEP : 0));
+        buffer.putShort(at + RECORD_RESERVED_OFFSET, (short) 0);
+        buffer.putFloat(at + MASS_OFFSET, world.mass[slot]);
+        buffer.putFloat(at + POS_X_OFFSET, world.posX[slot]);
+        buffer.putFloat(at + POS_Y_OFFSET, world.posY[slot]);
+        buffer.putFloat(at + VEL_X_OFFSET, world.velX[slot]);
+        buffer.putFloat(at + VEL_Y_OFFSET, world.velY[slot]);
+        buffer.putFloat(at + ACC_X_OFFSET, world.accX[slot]);
+        buffer.putFloat(at + ACC_Y_OFFSET, world.accY[slot]);
+        buffer.putFloat(at + DIM0_OFFSET, world.extentX[slot]);
+        buffer.putFloat(at + DIM1_OFFSET, circle || square ? 0 : world.extentY[slot]);
+        buffer.putInt(at + RESTING_STEPS_OFFSET, world.restingSteps[slot]);
+    }
+
+    // Null if the file is not a world file, comes from an unknown version or is cut short
+    static JavaWorld load(Path path) throws IOException {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) return null;
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        file.order(ByteOrder.LITTLE_ENDIAN);
+
+        int headerSize = file.getInt(HEADER_SIZE_OFFSET);
+        int recordSize = file.getInt(RECORD_SIZE_OFFSET);
+        long bodyCount = file.getLong(BODY_COUNT_OFFSET);
+        if (file.getInt(MAGIC_OFFSET) != MAGIC || file.getInt(VERSION_OFFSET) != VERSION ||
+            headerSize < HEADER_SIZE || recordSize < RECORD_SIZE ||
+            headerSize > file.capacity() || bodyCount < 0 ||
+            bodyCount > (file.capacity() - headerSize) / recordSize) {
+            return null;
+        }
+
+        JavaWorld world = new JavaWorld();
+        readHeader(world, file);
+
+        double[] box = new double[2];
+        double[] single = new double[1];
+        for (int slot = 0; slot < bodyCount; slot++) {
+            int at = headerSize + slot * recordSize;
+            char shape = (char) (file.get(at + SHAPE_OFFSET) & 0xff);
+            double[] dimensions = shape == 'R' ? box : single;
+            box[0] = single[0] = file.getFloat(at + DIM0_OFFSET);
+            box[1] = file.getFloat(at + DIM1_OFFSET);
+
+            if (!world.addObject(file.getInt(at + ID_OFFSET), file.getFloat(at + MASS_OFFSET),
+                                 file.getFloat(at + POS_X_OFFSET), file.getFloat(at + POS_Y_OFFSET),
+                                 file.getFloat(at + VEL_X_OFFSET), file.getFloat(at + VEL_Y_OFFSET),
+                                 shape, dimensions)) {
+                return null;
+            }
+            world.accX[slot] = file.getFloat(at + ACC_X_OFFSET);
+            world.accY[slot] = file.getFloat(at + ACC_Y_OFFSET);
+            world.asleep[slot] = (file.get(at + FLAGS_OFFSET) & ASLEEP) != 0;
+            int resting = file.getInt(at + RESTING_STEPS_OFFSET);
+            world.restingSteps[slot] = Math.max(0, Math.min(resting, world.sleepSteps));
+        }
+        return world;
+    }
+
+    // Broadphase, storage, solver and thread settings have no effect here and are skipped
+    private static void readHeader(JavaWorld world, ByteBuffer file) {
+        world.gravity = file.getFloat(GRAVITY_OFFSET);
+        world.staticFriction = file.getFloat(STATIC_FRICTION_OFFSET);
+        world.kineticFriction = file.getFloat(KINETIC_FRICTION_OFFSET);
+        world.groundLevel = file.getDouble(GROUND_LEVEL_OFFSET);
+
+        if (file.getInt(BOUNDS_ENABLED_OFFSET) != 0) {
+            world.configureWorld(PhysicsEngineJNI.WORLD_BOUNDS, new double[]{
+                file.getFloat(BOUNDS_LEFT_OFFSET), file.getFloat(BOUNDS_TOP_OFFSET),
+                file.getFloat(BOUNDS_RIGHT_OFFSET), file.getFloat(BOUNDS_BOTTOM_OFFSET),
+                file.getFloat(WALL_RESTITUTION_OFFSET), file.getFloat(WALL_FRICTION_OFFSET)});
+        }
+        world.configureWorld(PhysicsEngineJNI.WORLD_SLEEP, new double[]{
+            file.getFloat(SLEEP_VELOCITY_OFFSET), file.getInt(SLEEP_STEPS_OFFSET)});
+        world.configureWorld(PhysicsEngineJNI.WORLD_FIXED_STEP, new double[]{
+            file.getDouble(STEP_SIZE_OFFSET), file.getInt(MAX_SUBSTEPS_OFFSET)});
+    }
+}
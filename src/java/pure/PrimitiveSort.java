@@ -0,0 +1,91 @@
+// File: src/JAVA/pure/PrimitiveSort.java
+package JAVA.pure;
+
+// In-place sorts over primitive arrays. Unlike java.util.Arrays they never
+// allocate, so a step of the pure-Java engine stays garbage-free.
+final class PrimitiveSort {
+    // Ranges up to this length are finished with an insertion sort
+    private static final int INSERTION_LIMIT = 16;
+
+    private PrimitiveSort() {}
+
+    // Sorts values[from, to) in ascending order
+    static void sort(long[] values, int from, int to) {
+        while (to - from > INSERTION_LIMIT) {
+            long pivot = median(values[from], values[(from + to) >>> 1], values[to - 1]);
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    long swap = values[i];
+                    values[i++] = values[j];
+                    values[j--] = swap;
+                }
+            }
+            // Recurse into the smaller half so the stack stays logarithmic
+            if (j - from < to - i) {
+                sort(values, from, j + 1);
+                from = i;
+            } else {
+                sort(values, i, to);
+                to = j + 1;
+            }
+        }
+
+        for (int i = from + 1; i < to; i++) {
+            long value = values[i];
+            int j = i - 1;
+            while (j >= from && values[j] > value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+    }
+
+    // Sorts indices[from, to) by keys[index], ascending
+    static void sortByKey(int[] indices, float[] keys, int from, int to) {
+        while (to - from > INSERTION_LIMIT) {
+            float pivot = median(keys[indices[from]], keys[indices[(from + to) >>> 1]], keys[indices[to - 1]]);
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (keys[indices[i]] < pivot) i++;
+                while (keys[indices[j]] > pivot) j--;
+                if (i <= j) {
+                    int swap = indices[i];
+                    indices[i++] = indices[j];
+                    indices[j--] = swap;
+                }
+            }
+            if (j - from < to - i) {
+                sortByKey(indices, keys, from, j + 1);
+                from = i;
+            } else {
+                sortByKey(indices, keys, i, to);
+                to = j + 1;
+            }
+        }
+
+        for (int i = from + 1; i < to; i++) {
+            int index = indices[i];
+            float key = keys[index];
+            int j = i - 1;
+            while (j >= from && keys[indices[j]] > key) {
+                indices[j + 1] = indices[j];
+                j--;
+            }
+            indices[j + 1] = index;
+        }
+    }
+
+    private static long median(long a, long b, long c) {
+        return a < b ? (b < c ? b : Math.max(a, c)) : (a < c ? a : Math.max(b, c));
+    }
+
+    private static float median(float a, float b, float c) {
+        return a < b ? (b < c ? b : Math.max(a, c)) : (a < c ? a : Math.max(b, c));
+    }
+}
@@ -2,6 +2,7 @@ module PhysicsSimulation {
     requires javafx.controls;
     requires javafx.graphics;
     requires java.desktop;
+    requires jdk.jfr;
     
     exports JAVA;
     opens JAVA to javafx.graphics, javafx.base, javafx.controls;
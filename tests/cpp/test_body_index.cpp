@@ -0,0 +1,73 @@
+// File: tests/cpp/test_body_index.cpp
+#include <cassert>
+#include <iostream>
+#include <vector>
+#include "../../include/body_index.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// Test insertion and lookup
+void testInsertAndFind() {
+    BodyIndex index;
+
+    bool test1 = index.find(1) == -1 && index.size() == 0;
+    printTestResult("Empty Index Lookup", test1);
+
+    for (int id = 1; id <= 1000; id++) {
+        index.insert(id, id - 1);
+    }
+    bool test2 = index.size() == 1000;
+    for (int id = 1; id <= 1000; id++) {
+        test2 = test2 && index.find(id) == id - 1;
+    }
+    printTestResult("Insert And Find Across Growth", test2);
+
+    // Duplicate ids keep their first slot
+    bool test3 = !index.insert(5, 99) && index.find(5) == 4;
+    printTestResult("Duplicate Id Rejected", test3);
+
+    bool test4 = index.update(5, 42) && index.find(5) == 42 && !index.update(5000, 1);
+    printTestResult("Update Slot", test4);
+}
+
+// Test erasing keeps every remaining id reachable
+void testErase() {
+    BodyIndex index;
+    for (int id = 0; id < 5000; id++) {
+        index.insert(id * 7, id);
+    }
+
+    for (int id = 0; id < 5000; id += 3) {
+        index.erase(id * 7);
+    }
+
+    bool test1 = true;
+    for (int id = 0; id < 5000; id++) {
+        int expected = (id % 3 == 0) ? -1 : id;
+        test1 = test1 && index.find(id * 7) == expected;
+    }
+    printTestResult("Erase Keeps Probe Runs Intact", test1);
+
+    bool test2 = !index.erase(0) && index.size() == 5000 - 1667;
+    printTestResult("Erase Missing Id", test2);
+
+    index.clear();
+    bool test3 = index.size() == 0 && index.find(7) == -1;
+    printTestResult("Clear Index", test3);
+}
+
+int main() {
+    std::cout << "Running Body Index Tests...\n\n";
+
+    testInsertAndFind();
+    std::cout << "\n";
+
+    testErase();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
@@ -0,0 +1,156 @@
+// File: tests/cpp/test_body_pool.cpp
+#include <cassert>
+#include <iostream>
+#include "../../include/body_pool.h"
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// Squares 1..count in a row, far enough apart not to touch
+PhysicsWorld* buildWorld(int count) {
+    PhysicsWorld* world = new PhysicsWorld();
+    double side[] = { 10 };
+    for (int id = 1; id <= count; id++) {
+        addWorldObject(world, id, 1.0, Vector2D(id * 50.0, 100), Vector2D(0, 0), 'S', side, 1);
+    }
+    return world;
+}
+
+// Every body sits in the slot the index has for its id
+bool indexConsistent(PhysicsWorld* world) {
+    for (size_t slot = 0; slot < world->objects.size(); slot++) {
+        if (world->bodyIndex.find(world->objects[slot]->getID()) != static_cast<int>(slot)) return false;
+    }
+    return world->bodyIndex.size() == world->objects.size();
+}
+
+// Test block reuse and the counts of the pool itself
+void testPoolReuse() {
+    BodyPool pool;
+    bool test1 = pool.getLiveCount() == 0 && pool.getPooledCount() == 0 && pool.getCapacity() == 0;
+    printTestResult("Empty Pool", test1);
+
+    Circle* circle = pool.create<Circle>(1, 2.0, Vector2D(0, 0), Vector2D(0, 0), 5.0);
+    Rectangle* box = pool.create<Rectangle>(2, 1.0, Vector2D(0, 0), Vector2D(0, 0), 4.0, 2.0);
+    bool test2 = pool.getLiveCount() == 2 && pool.getCapacity() == BodyPool::SLAB_BLOCKS &&
+                 pool.getPooledCount() == BodyPool::SLAB_BLOCKS - 2;
+    printTestResult("One Slab For The First Bodies", test2);
+
+    // The collider lives inside the body's block
+    unsigned char* block = reinterpret_cast<unsigned char*>(circle);
+    unsigned char* collider = reinterpret_cast<unsigned char*>(circle->getCollider());
+    bool test3 = collider > block && collider < block + BODY_POOL_BLOCK_SIZE;
+    printTestResult("Collider Embedded", test3);
+
+    pool.destroy(circle);
+    Square* square = pool.create<Square>(3, 1.0, Vector2D(0, 0), Vector2D(0, 0), 3.0);
+    bool test4 = static_cast<void*>(square) == static_cast<void*>(block) && pool.getLiveCount() == 2;
+    printTestResult("Freed Block Reused", test4);
+
+    // Past one slab a second is allocated
+    std::vector<Object*> bodies;
+    for (size_t i = 0; i < BodyPool::SLAB_BLOCKS; i++) {
+        bodies.push_back(pool.create<Square>(10 + static_cast<int>(i), 1.0, Vector2D(0, 0), Vector2D(0, 0), 1.0));
+    }
+    bool test5 = pool.getCapacity() == BodyPool::SLAB_BLOCKS * 2 &&
+                 pool.getLiveCount() == BodyPool::SLAB_BLOCKS + 2 &&
+                 pool.getLiveCount() + pool.getPooledCount() == pool.getCapacity();
+    printTestResult("Second Slab", test5);
+
+    for (Object* body : bodies) {
+        pool.destroy(body);
+    }
+    pool.destroy(box);
+    pool.destroy(square);
+    bool test6 = pool.getLiveCount() == 0 && pool.getPooledCount() == pool.getCapacity();
+    printTestResult("All Blocks Pooled", test6);
+}
+
+// Test removing bodies from a world with one heap object per body
+void testRemoveObjects() {
+    PhysicsWorld* world = buildWorld(5);
+    bool test1 = world->bodyPool.getLiveCount() == 5;
+    printTestResult("Bodies Come From The Pool", test1);
+
+    // Removing a middle body moves the last one into its slot
+    bool removed = removeWorldObject(world, 2);
+    bool test2 = removed && world->objects.size() == 4 && world->objects[1]->getID() == 5 &&
+                 world->bodyIndex.find(2) < 0 && indexConsistent(world) &&
+                 world->bodyPool.getLiveCount() == 4 && world->bodyPool.getPooledCount() == BodyPool::SLAB_BLOCKS - 4;
+    printTestResult("Remove One", test2);
+
+    bool test3 = !removeWorldObject(world, 2) && !removeWorldObject(world, 42) && world->objects.size() == 4;
+    printTestResult("Unknown Id Ignored", test3);
+
+    // Duplicates and unknown ids do not count
+    int ids[] = { 1, 4, 1, 99 };
+    int count = removeWorldObjects(world, ids, 4);
+    bool test4 = count == 2 && world->objects.size() == 2 && indexConsistent(world);
+    printTestResult("Remove Several", test4);
+
+    // New bodies take the freed blocks instead of growing the pool
+    size_t capacity = world->bodyPool.getCapacity();
+    double side[] = { 10 };
+    addWorldObject(world, 6, 1.0, Vector2D(400, 100), Vector2D(0, 0), 'S', side, 1);
+    bool test5 = world->bodyPool.getCapacity() == capacity && world->bodyPool.getLiveCount() == 3 &&
+                 indexConsistent(world);
+    printTestResult("Add After Remove", test5);
+
+    destroyWorld(world);
+}
+
+// Test that removal keeps the structure-of-arrays store and sleep in step
+void testRemoveWithBodyStore() {
+    PhysicsWorld* world = buildWorld(4);
+    double store[] = { 1 };
+    configureWorldOption(world, WORLD_OPTION_BODY_STORAGE, store, 1);
+    double sleep[] = { 0.5, 2 };
+    configureWorldOption(world, WORLD_OPTION_SLEEP, sleep, 2);
+
+    for (int i = 0; i < 5; i++) {
+        stepWorld(world, 1.0 / 60.0);
+    }
+
+    removeWorldObject(world, 1);
+    BodyStore& bodies = world->bodyStore;
+    bool matches = bodies.size() == world->objects.size();
+    for (size_t slot = 0; matches && slot < bodies.size(); slot++) {
+        Object* obj = world->objects[slot];
+        matches = bodies.id[slot] == obj->getID() && bodies.position[slot].x == obj->getPosition().x;
+    }
+    bool test1 = matches && world->objects[0]->getID() == 4 && indexConsistent(world);
+    printTestResult("Body Store Follows Removal", test1);
+
+    bool test2 = true;
+    for (size_t slot = 0; slot < world->objects.size(); slot++) {
+        test2 = test2 && !world->sleep.isAsleep(slot);
+    }
+    printTestResult("Everyone Wakes", test2);
+
+    // The moved body keeps working through its new slot
+    Vector2D velocity(1, 0);
+    bool moved = setObjectState(world, 4, Vector2D(300, 100), velocity);
+    bool test3 = moved && world->objects[0]->getPosition().x == 300 && bodies.position[0].x == 300;
+    printTestResult("Moved Body Updated", test3);
+
+    destroyWorld(world);
+}
+
+int main() {
+    std::cout << "Running Body Pool Tests...\n\n";
+
+    testPoolReuse();
+    std::cout << "\n";
+
+    testRemoveObjects();
+    std::cout << "\n";
+
+    testRemoveWithBodyStore();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
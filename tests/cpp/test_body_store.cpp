@@ -0,0 +1,145 @@
+// File: tests/cpp/test_body_store.cpp
+#include <cassert>
+#include <cmath>
+#include <iostream>
+#include <vector>
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+bool nearlyEqual(const Vector2D& a, const Vector2D& b) {
+    return std::abs(a.x - b.x) < 1e-3f && std::abs(a.y - b.y) < 1e-3f;
+}
+
+// Build the same mixed scene into a world, resting some bodies on the ground
+void fillWorld(PhysicsWorld& world) {
+    for (int i = 0; i < 30; i++) {
+        float x = static_cast<float>((i * 37) % 200);
+        float y = (i % 5 == 0) ? static_cast<float>(world.groundLevel) : static_cast<float>((i * 53) % 120);
+        Vector2D velocity((i % 3) - 1.0f, (i % 4 == 0) ? 0.0f : 2.0f);
+
+        Object* obj;
+        if (i % 3 == 0) {
+            obj = new Circle(i, 1.0f + i % 4, Vector2D(x, y), velocity, 10.0f + i % 7);
+        } else if (i % 3 == 1) {
+            obj = new Square(i, 2.0f, Vector2D(x, y), velocity, 15.0f + i % 5);
+        } else {
+            obj = new Rectangle(i, 0.5f + i % 2, Vector2D(x, y), velocity, 20.0f, 12.0f);
+        }
+        world.objects.push_back(obj);
+    }
+}
+
+void clearWorld(PhysicsWorld& world) {
+    for (auto* obj : world.objects) {
+        delete obj;
+    }
+    world.objects.clear();
+}
+
+// Test the object facade reads and writes through its store slot
+void testFacade() {
+    BodyStore store;
+    Square square(7, 2.0f, Vector2D(10, 20), Vector2D(1, 0), 5.0f);
+
+    int slot = store.add(&square);
+    bool test1 = slot == 0 && square.isBoundToStore() && store.shape[0] == SHAPE_BOX &&
+                 store.extent[0] == Vector2D(5, 5) && store.inverseMass[0] == 0.5f;
+    printTestResult("Store Add Binds Object", test1);
+
+    square.setPosition(Vector2D(30, 40));
+    square.applyForce(Vector2D(4, 0));
+    square.update(1.0f);
+    bool test2 = store.position[0] == square.getPosition() &&
+                 nearlyEqual(store.velocity[0], Vector2D(3, 0)) &&
+                 nearlyEqual(store.position[0], Vector2D(33, 40));
+    printTestResult("Facade Writes Through To Store", test2);
+
+    std::vector<Object*> objects = { &square };
+    store.release(objects);
+    bool test3 = !square.isBoundToStore() && store.size() == 0 &&
+                 nearlyEqual(square.getPosition(), Vector2D(33, 40)) &&
+                 nearlyEqual(square.getVelocity(), Vector2D(3, 0));
+    printTestResult("Release Copies State Back", test3);
+}
+
+// Test store integration matches the per-object path
+void testIntegrationMatchesObjects() {
+    PhysicsWorld objectWorld;
+    PhysicsWorld storeWorld;
+    fillWorld(objectWorld);
+    fillWorld(storeWorld);
+
+    for (auto* obj : storeWorld.objects) {
+        storeWorld.bodyStore.add(obj);
+    }
+    storeWorld.useBodyStore = true;
+
+    for (int step = 0; step < 120; step++) {
+        for (auto* obj : objectWorld.objects) {
+            obj->resetForces();
+            applyForces(obj, &objectWorld);
+            updateObjectPhysics(obj, 1.0 / 60.0);
+        }
+        integrateBodyStore(&storeWorld, 1.0 / 60.0);
+    }
+
+    bool test1 = true;
+    for (size_t i = 0; i < objectWorld.objects.size(); i++) {
+        test1 = test1 &&
+                nearlyEqual(objectWorld.objects[i]->getPosition(), storeWorld.objects[i]->getPosition()) &&
+                nearlyEqual(objectWorld.objects[i]->getVelocity(), storeWorld.objects[i]->getVelocity());
+    }
+    printTestResult("Store Integration Matches Objects", test1);
+
+    clearWorld(objectWorld);
+    clearWorld(storeWorld);
+}
+
+// Test store overlap tests agree with the collider tests
+void testOverlapsMatchColliders() {
+    PhysicsWorld world;
+    fillWorld(world);
+    for (auto* obj : world.objects) {
+        world.bodyStore.add(obj);
+    }
+
+    bool test1 = true;
+    int colliding = 0;
+    for (size_t i = 0; i < world.objects.size(); i++) {
+        for (size_t j = i + 1; j < world.objects.size(); j++) {
+            bool expected = detectCollision(world.objects[i], world.objects[j]);
+            colliding += expected ? 1 : 0;
+            test1 = test1 && world.bodyStore.overlaps(static_cast<int>(i), static_cast<int>(j)) == expected;
+        }
+    }
+    printTestResult("Store Overlaps Match Colliders", test1 && colliding > 0);
+
+    std::vector<std::pair<int, int>> storePairs, colliderPairs;
+    world.bodyStore.gatherBounds(world.bounds);
+    world.spatialHash.findPairs(world.bounds, storePairs);
+    gatherColliderBounds(world.objects, world.bounds);
+    world.spatialHash.findPairs(world.bounds, colliderPairs);
+    printTestResult("Store Bounds Match Collider Bounds", storePairs == colliderPairs);
+
+    clearWorld(world);
+}
+
+int main() {
+    std::cout << "Running Body Store Tests...\n\n";
+
+    testFacade();
+    std::cout << "\n";
+
+    testIntegrationMatchesObjects();
+    std::cout << "\n";
+
+    testOverlapsMatchColliders();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
@@ -0,0 +1,202 @@
+// File: tests/cpp/test_broadphase.cpp
+#include <cassert>
+#include <iostream>
+#include <cstdlib>
+#include <vector>
+#include <utility>
+#include "../../include/broadphase.h"
+#include "../../include/object.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// Build a scattered mix of squares, rectangles and circles
+std::vector<Object*> createScene(int count, float areaSize) {
+    std::vector<Object*> objects;
+    std::srand(42);
+    for (int i = 0; i < count; i++) {
+        float x = (std::rand() / static_cast<float>(RAND_MAX)) * areaSize;
+        float y = (std::rand() / static_cast<float>(RAND_MAX)) * areaSize;
+        switch (i % 3) {
+            case 0:
+                objects.push_back(new Square(i, 1.0f, Vector2D(x, y), Vector2D(0, 0), 10.0f));
+                break;
+            case 1:
+                objects.push_back(new Rectangle(i, 1.0f, Vector2D(x, y), Vector2D(0, 0), 25.0f, 8.0f));
+                break;
+            default:
+                objects.push_back(new Circle(i, 1.0f, Vector2D(x, y), Vector2D(0, 0), 6.0f));
+                break;
+        }
+    }
+    return objects;
+}
+
+void destroyScene(std::vector<Object*>& objects) {
+    for (Object* obj : objects) {
+        delete obj;
+    }
+    objects.clear();
+}
+
+// Colliding pairs found by testing every pair
+std::vector<std::pair<int, int>> bruteForcePairs(const std::vector<Object*>& objects) {
+    std::vector<std::pair<int, int>> pairs;
+    for (size_t i = 0; i < objects.size(); i++) {
+        for (size_t j = i + 1; j < objects.size(); j++) {
+            if (objects[i]->getCollider()->checkCollision(*objects[j]->getCollider())) {
+                pairs.push_back({static_cast<int>(i), static_cast<int>(j)});
+            }
+        }
+    }
+    return pairs;
+}
+
+// Colliding pairs found through the grid's candidates
+std::vector<std::pair<int, int>> gridPairs(SpatialHashGrid& grid, const std::vector<Object*>& objects) {
+    BodyBounds bounds;
+    std::vector<std::pair<int, int>> candidates;
+    std::vector<std::pair<int, int>> pairs;
+    gatherColliderBounds(objects, bounds);
+    grid.findPairs(bounds, candidates);
+    for (const auto& candidate : candidates) {
+        if (objects[candidate.first]->getCollider()->checkCollision(*objects[candidate.second]->getCollider())) {
+            pairs.push_back(candidate);
+        }
+    }
+    return pairs;
+}
+
+// Test that the grid finds exactly the pairs the all-pairs loop finds
+void testMatchesAllPairs() {
+    std::vector<Object*> objects = createScene(500, 400.0f);
+    SpatialHashGrid grid;
+
+    bool test1 = gridPairs(grid, objects) == bruteForcePairs(objects);
+    printTestResult("Spatial Hash Matches All-Pairs", test1);
+
+    grid.setCellSize(3.0f);
+    bool test2 = gridPairs(grid, objects) == bruteForcePairs(objects);
+    printTestResult("Spatial Hash Small Cells Match All-Pairs", test2);
+
+    grid.setCellSize(1000.0f);
+    bool test3 = gridPairs(grid, objects) == bruteForcePairs(objects);
+    printTestResult("Spatial Hash Single Cell Matches All-Pairs", test3);
+
+    destroyScene(objects);
+}
+
+// Test automatic cell sizing and edge cases
+void testCellSizing() {
+    SpatialHashGrid grid;
+    BodyBounds bounds;
+    std::vector<std::pair<int, int>> candidates;
+
+    grid.findPairs(bounds, candidates);
+    printTestResult("Spatial Hash Empty World", candidates.empty());
+
+    std::vector<Object*> objects = createScene(30, 200.0f);
+    gatherColliderBounds(objects, bounds);
+    grid.findPairs(bounds, candidates);
+    bool test1 = grid.getCellSize() > 6.0f && grid.getCellSize() < 30.0f;
+    printTestResult("Spatial Hash Automatic Cell Size", test1);
+
+    grid.setCellSize(50.0f);
+    grid.findPairs(bounds, candidates);
+    printTestResult("Spatial Hash Fixed Cell Size", grid.getCellSize() == 50.0f);
+
+    // No duplicates even when a pair shares several cells
+    grid.setCellSize(2.0f);
+    grid.findPairs(bounds, candidates);
+    bool unique = true;
+    for (size_t i = 1; i < candidates.size(); i++) {
+        if (candidates[i] == candidates[i - 1]) unique = false;
+    }
+    printTestResult("Spatial Hash Unique Pairs", unique);
+
+    destroyScene(objects);
+}
+
+// Move a body and its collider together
+void moveBody(Object* obj, const Vector2D& delta) {
+    obj->setPosition(obj->getPosition() + delta);
+    Collider* collider = obj->getCollider();
+    if (AABBCollider* box = dynamic_cast<AABBCollider*>(collider)) {
+        box->position += delta;
+    } else if (CircleCollider* circle = dynamic_cast<CircleCollider*>(collider)) {
+        circle->center += delta;
+    }
+}
+
+// Colliding pairs found through sweep-and-prune candidates
+std::vector<std::pair<int, int>> sweepPairs(SweepAndPrune& sap, const std::vector<Object*>& objects) {
+    BodyBounds bounds;
+    std::vector<std::pair<int, int>> candidates;
+    std::vector<std::pair<int, int>> pairs;
+    gatherColliderBounds(objects, bounds);
+    sap.findPairs(bounds, candidates);
+    for (const auto& candidate : candidates) {
+        if (objects[candidate.first]->getCollider()->checkCollision(*objects[candidate.second]->getCollider())) {
+            pairs.push_back(candidate);
+        }
+    }
+    return pairs;
+}
+
+// Test that sweep-and-prune stays exact while bodies move between queries
+void testSweepAndPrune() {
+    std::vector<Object*> objects = createScene(300, 300.0f);
+    SweepAndPrune sap;
+
+    bool test1 = sweepPairs(sap, objects) == bruteForcePairs(objects);
+    printTestResult("Sweep And Prune Initial Build", test1);
+
+    // Small jitter every frame, as in a settling pile
+    bool test2 = true;
+    std::srand(7);
+    for (int frame = 0; frame < 20; frame++) {
+        for (Object* obj : objects) {
+            float dx = (std::rand() / static_cast<float>(RAND_MAX) - 0.5f) * 2.0f;
+            float dy = (std::rand() / static_cast<float>(RAND_MAX) - 0.5f) * 2.0f;
+            moveBody(obj, Vector2D(dx, dy));
+        }
+        test2 = test2 && sweepPairs(sap, objects) == bruteForcePairs(objects);
+    }
+    printTestResult("Sweep And Prune Incremental Updates", test2);
+
+    // Large jumps still produce the exact set
+    for (size_t i = 0; i < objects.size(); i += 2) {
+        moveBody(objects[i], Vector2D(150.0f, -90.0f));
+    }
+    bool test3 = sweepPairs(sap, objects) == bruteForcePairs(objects);
+    printTestResult("Sweep And Prune Large Moves", test3);
+
+    // A frame without motion needs no swaps
+    sweepPairs(sap, objects);
+    printTestResult("Sweep And Prune Static Frame", sap.getSwapCount() == 0);
+
+    // Adding a body triggers a rebuild
+    objects.push_back(new Square(1000, 1.0f, Vector2D(100, 100), Vector2D(0, 0), 40.0f));
+    bool test4 = sweepPairs(sap, objects) == bruteForcePairs(objects);
+    printTestResult("Sweep And Prune Body Added", test4);
+
+    destroyScene(objects);
+}
+
+int main() {
+    std::cout << "Running Broadphase Tests...\n\n";
+
+    testMatchesAllPairs();
+    std::cout << "\n";
+
+    testCellSizing();
+    std::cout << "\n";
+
+    testSweepAndPrune();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
@@ -138,6 +138,24 @@ void testEdgeCases() {
     printTestResult("Negative Dimensions Test", !result3);
 }
 
+// Test tag dispatch picks the right shape pair in both argument orders
+void testShapeDispatch() {
+    AABBCollider box(Vector2D(0, 0), 10, 10);
+    CircleCollider circle(Vector2D(12, 5), 4);
+    CircleCollider farCircle(Vector2D(40, 40), 4);
+
+    bool test1 = box.getType() == COLLIDER_AABB && circle.getType() == COLLIDER_CIRCLE;
+    printTestResult("Collider Type Tags", test1);
+
+    bool test2 = detectColliders(box, circle) && detectColliders(circle, box) &&
+                 !detectColliders(box, farCircle) && !detectColliders(farCircle, box);
+    printTestResult("Dispatch Is Symmetric", test2);
+
+    bool test3 = detectColliders(circle, box) == checkAABBCircleCollision(box, circle) &&
+                 detectColliders(circle, farCircle) == checkCircleCollision(circle, farCircle);
+    printTestResult("Dispatch Matches Direct Checks", test3);
+}
+
 int main() {
     std::cout << "Running Collision Detection Tests...\n\n";
 
@@ -157,6 +175,9 @@ int main() {
     testEdgeCases();
     std::cout << "\n";
 
+    testShapeDispatch();
+    std::cout << "\n";
+
     std::cout << "All tests completed.\n";
     return 0;
 }
\ No newline at end of file
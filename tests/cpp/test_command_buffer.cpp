@@ -0,0 +1,172 @@
+// File: tests/cpp/test_command_buffer.cpp
+#include <cassert>
+#include <cstring>
+#include <iostream>
+#include <vector>
+#include "../../include/physics_native.h"
+#include "../../include/command_buffer.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// Appends commands the way CommandBuffer.java lays them out
+struct Batch {
+    std::vector<unsigned char> bytes;
+
+    template <class Command>
+    void put(const Command& command) {
+        const unsigned char* at = reinterpret_cast<const unsigned char*>(&command);
+        bytes.insert(bytes.end(), at, at + sizeof(command));
+    }
+
+    void add(int id, double x, double y, char shape, double dim0, double dim1 = 0, int dimCount = 1) {
+        AddCommand command = {};
+        command.header = { COMMAND_ADD, id };
+        command.mass = 2.0;
+        command.posX = x;
+        command.posY = y;
+        command.shape = shape;
+        command.dimCount = dimCount;
+        command.dims[0] = dim0;
+        command.dims[1] = dim1;
+        put(command);
+    }
+
+    void update(int id, double x, double y, double vx, double vy) {
+        UpdateCommand command = { { COMMAND_UPDATE, id }, x, y, vx, vy };
+        put(command);
+    }
+
+    void impulse(int id, double ix, double iy) {
+        ImpulseCommand command = { { COMMAND_IMPULSE, id }, ix, iy };
+        put(command);
+    }
+
+    void remove(int id) {
+        CommandHeader command = { COMMAND_REMOVE, id };
+        put(command);
+    }
+
+    void option(int32_t type, int code, std::vector<double> params) {
+        OptionCommand command = { { type, code }, static_cast<int32_t>(params.size()), 0 };
+        put(command);
+        for (double value : params) {
+            put(value);
+        }
+    }
+
+    int apply(PhysicsWorld* world) {
+        return applyWorldCommands(world, bytes.data(), bytes.size());
+    }
+};
+
+// Test every command type in one batch
+void testApplyBatch() {
+    PhysicsWorld* world = new PhysicsWorld();
+    Batch batch;
+    batch.add(1, 100, 100, 'C', 5);
+    batch.add(2, 200, 100, 'R', 10, 20, 2);
+    batch.add(3, 300, 100, 'S', 8);
+    batch.impulse(1, 4.0, -2.0);
+    batch.update(2, 250, 120, 1.0, 0.0);
+    batch.remove(3);
+    batch.option(COMMAND_FORCES, 2, { 5.0 });
+    double bounds[] = { 0, 0, 800, 600 };
+    batch.option(COMMAND_WORLD, WORLD_OPTION_BOUNDS, { bounds[0], bounds[1], bounds[2], bounds[3] });
+
+    int applied = batch.apply(world);
+    bool test1 = applied == 8 && world->objects.size() == 2 && world->bodyIndex.find(3) < 0;
+    printTestResult("Batch Applied", test1);
+
+    // Impulse / mass, with mass 2
+    Object* circle = world->objects[world->bodyIndex.find(1)];
+    bool test2 = circle->getVelocity().x == 2.0f && circle->getVelocity().y == -1.0f;
+    printTestResult("Impulse", test2);
+
+    Object* box = world->objects[world->bodyIndex.find(2)];
+    bool test3 = box->getPosition().x == 250.0f && box->getVelocity().x == 1.0f;
+    printTestResult("Update", test3);
+
+    bool test4 = world->gravity == 5.0f && world->worldBounds.enabled;
+    printTestResult("Forces And World Options", test4);
+
+    destroyWorld(world);
+}
+
+// Test that a batch stops at the first command it cannot read
+void testMalformedBatch() {
+    PhysicsWorld* world = new PhysicsWorld();
+    Batch batch;
+    batch.add(1, 100, 100, 'C', 5);
+    CommandHeader unknown = { 99, 0 };
+    batch.put(unknown);
+    batch.add(2, 200, 100, 'C', 5);
+
+    int applied = batch.apply(world);
+    bool test1 = applied == 1 && world->objects.size() == 1;
+    printTestResult("Unknown Command Ends Batch", test1);
+
+    Batch truncated;
+    truncated.add(3, 100, 100, 'C', 5);
+    truncated.option(COMMAND_FORCES, 2, { 1.0, 2.0 });
+    applied = applyWorldCommands(world, truncated.bytes.data(), truncated.bytes.size() - 4);
+    bool test2 = applied == 1 && world->objects.size() == 2 && world->gravity != 1.0f;
+    printTestResult("Truncated Command Ignored", test2);
+
+    // Bad bodies are skipped without ending the batch
+    Batch invalid;
+    invalid.add(4, 100, 100, 'R', 5);
+    invalid.add(5, 100, 100, 'X', 5);
+    invalid.impulse(42, 1, 1);
+    invalid.remove(42);
+    applied = invalid.apply(world);
+    bool test3 = applied == 4 && world->objects.size() == 2;
+    printTestResult("Invalid Bodies Skipped", test3);
+
+    destroyWorld(world);
+}
+
+// Test that the state buffer is in step after adds and updates in one batch
+void testStateBufferRefresh() {
+    PhysicsWorld* world = new PhysicsWorld();
+    enableStateBuffer(world);
+
+    Batch batch;
+    for (int id = 1; id <= 200; id++) {
+        batch.add(id, id * 3.0, 50, 'S', 2);
+    }
+    batch.update(200, 10, 20, 0, 0);
+    batch.remove(1);
+    batch.add(201, 5, 5, 'C', 1);
+
+    int applied = batch.apply(world);
+    const unsigned char* block = static_cast<const unsigned char*>(world->stateBuffer.data());
+    const StateHeader* header = reinterpret_cast<const StateHeader*>(block);
+    bool test1 = applied == 203 && header->bodyCount == 200;
+    printTestResult("Body Count Published", test1);
+
+    int slot = world->bodyIndex.find(200);
+    const StateRecord& record = reinterpret_cast<const StateRecord*>(block + sizeof(StateHeader))[slot];
+    bool test2 = record.id == 200 && record.posX == 10.0f && record.posY == 20.0f;
+    printTestResult("Moved Body Published", test2);
+
+    destroyWorld(world);
+}
+
+int main() {
+    std::cout << "Running Command Buffer Tests...\n\n";
+
+    testApplyBatch();
+    std::cout << "\n";
+
+    testMalformedBatch();
+    std::cout << "\n";
+
+    testStateBufferRefresh();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
@@ -0,0 +1,240 @@
+// File: tests/cpp/test_contact_cache.cpp
+#include <cassert>
+#include <cmath>
+#include <iostream>
+#include "../../include/physics_native.h"
+#include "../../include/contact_cache.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// World with a floor at y = 600 and no sleeping, in structure-of-arrays
+// storage unless objectLayout is set
+PhysicsWorld* createStackWorld(bool cached, bool objectLayout = false) {
+    PhysicsWorld* world = new PhysicsWorld();
+    double bounds[] = { 0, 0, 800, 600 };
+    configureWorldOption(world, WORLD_OPTION_BOUNDS, bounds, 4);
+    double sleep[] = { 0 };
+    configureWorldOption(world, WORLD_OPTION_SLEEP, sleep, 1);
+    double storage[] = { objectLayout ? 0.0 : 1.0 };
+    configureWorldOption(world, WORLD_OPTION_BODY_STORAGE, storage, 1);
+    double cache[] = { cached ? 1.0 : 0.0 };
+    configureWorldOption(world, WORLD_OPTION_CONTACT_CACHE, cache, 1);
+    return world;
+}
+
+// Boxes of side 20 standing on the floor, the lowest id at the bottom
+void addStack(PhysicsWorld* world, int firstId, float x, int height) {
+    double side[] = { 20 };
+    for (int i = 0; i < height; i++) {
+        addWorldObject(world, firstId + i, 1.0, Vector2D(x, 580.0f - i * 20.0f), Vector2D(0, 0), 'S', side, 1);
+    }
+}
+
+// Steps the world and returns the resolve iterations of the last countFrom steps
+int runSteps(PhysicsWorld* world, int steps, int countFrom) {
+    int iterations = 0;
+    for (int step = 0; step < steps; step++) {
+        stepWorld(world, 1.0 / 60.0);
+        solveCollisions(world);
+        if (step >= steps - countFrom) {
+            iterations += world->islandStats.totalIterations;
+        }
+    }
+    return iterations;
+}
+
+// True if every box still sits on the one below it, overlapping by less than maxOverlap
+bool stackStanding(PhysicsWorld* world, int firstId, int height, float x, float maxOverlap) {
+    for (int i = 0; i < height; i++) {
+        const Object* box = world->objects[world->bodyIndex.find(firstId + i)];
+        if (box->getPosition().x != x) return false;
+
+        float expected = 580.0f - i * 20.0f;
+        if (i == 0 && std::abs(box->getPosition().y - expected) > maxOverlap) return false;
+        if (i > 0) {
+            const Object* below = world->objects[world->bodyIndex.find(firstId + i - 1)];
+            float overlap = box->getPosition().y + 20.0f - below->getPosition().y;
+            if (overlap < 0 || overlap > maxOverlap) return false;
+        }
+    }
+    return true;
+}
+
+// Test lookups, warm hits and eviction on the cache itself
+void testCacheEntries() {
+    ContactCache cache;
+    cache.setEnabled(true);
+    bool warm = true;
+
+    cache.beginPass();
+    CachedContact& first = cache.touch(1, 2, Vector2D(0, 1), warm);
+    first.normalImpulse = 3.0f;
+    first.tangentImpulse = -1.0f;
+    bool test1 = !warm && cache.size() == 1;
+    printTestResult("New Contact Is Cold", test1);
+
+    // Either slot order finds the same contact
+    cache.beginPass();
+    CachedContact& again = cache.touch(2, 1, Vector2D(0, 1), warm);
+    bool test2 = warm && &again == &first && again.normalImpulse == 3.0f && again.tangentImpulse == -1.0f;
+    printTestResult("Previous Pass Is Warm", test2);
+
+    // A contact on another face starts over
+    cache.beginPass();
+    CachedContact& turned = cache.touch(1, 2, Vector2D(1, 0), warm);
+    bool test3 = !warm && turned.normalImpulse == 0.0f && turned.tangentImpulse == 0.0f;
+    printTestResult("Changed Normal Is Cold", test3);
+
+    // A pass without the contact drops it
+    cache.beginPass();
+    cache.touch(3, 4, Vector2D(0, 1), warm);
+    cache.beginPass();
+    bool test4 = cache.size() == 1;
+    cache.touch(1, 2, Vector2D(1, 0), warm);
+    test4 = test4 && !warm;
+    printTestResult("Untouched Contact Dropped", test4);
+
+    const ContactCacheStats& stats = cache.getStats();
+    bool test5 = stats.lookups == 5 && stats.hits == 1;
+    cache.setEnabled(true);
+    test5 = test5 && cache.size() == 0 && cache.getStats().lookups == 0;
+    printTestResult("Counters And Reset", test5);
+}
+
+// Test that a resting stack is warm-started and needs fewer iterations
+void testStackWarmStart() {
+    PhysicsWorld* cold = createStackWorld(false);
+    PhysicsWorld* warm = createStackWorld(true);
+    addStack(cold, 1, 100, 6);
+    addStack(warm, 1, 100, 6);
+
+    int coldIterations = runSteps(cold, 300, 100);
+    int warmIterations = runSteps(warm, 300, 100);
+    bool test1 = warmIterations < coldIterations && warmIterations <= 100;
+    printTestResult("Fewer Iterations", test1);
+
+    const ContactCacheStats& stats = warm->contactCache.getStats();
+    bool test2 = stats.lookups > 0 && stats.hits * 100 >= stats.lookups * 95 &&
+                 stats.iterationsSaved > 0 && warm->contactCache.size() == 5;
+    printTestResult("Hit Rate And Saved Iterations", test2);
+
+    bool test3 = stackStanding(warm, 1, 6, 100, 0.5f);
+    printTestResult("Stack Stands", test3);
+
+    // Counters stay off without the option
+    bool test4 = cold->contactCache.size() == 0 && cold->contactCache.getStats().lookups == 0;
+    printTestResult("Cache Off By Default", test4);
+
+    destroyWorld(cold);
+    destroyWorld(warm);
+}
+
+// Test that a warm-started stack also stands in the object layout, where
+// contacts are found through the colliders
+void testObjectLayoutStack() {
+    PhysicsWorld* world = createStackWorld(true, true);
+    addStack(world, 1, 100, 6);
+
+    runSteps(world, 300, 0);
+    const ContactCacheStats& stats = world->contactCache.getStats();
+    bool test1 = stats.hits * 100 >= stats.lookups * 95 && world->contactCache.size() == 5;
+    printTestResult("Object Layout Hit Rate", test1);
+
+    bool test2 = stackStanding(world, 1, 6, 100, 0.5f);
+    printTestResult("Object Layout Stack Stands", test2);
+
+    destroyWorld(world);
+
+    // Overlap corrections move the colliders too, so a second pass without
+    // a step sees the bodies where they are
+    world = createStackWorld(true, true);
+    addStack(world, 1, 100, 2);
+    Object* top = world->objects[world->bodyIndex.find(2)];
+    top->getPosition().y += 4.0f;
+    syncColliderPosition(top);
+    solveCollisions(world);
+
+    bool test3 = true;
+    for (const Object* obj : world->objects) {
+        Vector2D min, max;
+        obj->getCollider()->getBounds(min, max);
+        test3 = test3 && min == obj->getPosition();
+    }
+    test3 = test3 && top->getPosition().y < 564.0f;
+    printTestResult("Colliders Follow Corrections", test3);
+
+    destroyWorld(world);
+}
+
+// Test warm starting with the island solver on several threads
+void testIslandWarmStart() {
+    PhysicsWorld* world = createStackWorld(true);
+    double solver[] = { SOLVER_ISLANDS };
+    configureWorldOption(world, WORLD_OPTION_COLLISION_SOLVER, solver, 1);
+    double threads[] = { 2 };
+    configureWorldOption(world, WORLD_OPTION_THREAD_COUNT, threads, 1);
+    addStack(world, 1, 100, 5);
+    addStack(world, 101, 400, 5);
+
+    runSteps(world, 300, 0);
+    bool test1 = world->islandStats.islandCount == 2 && world->islandStats.maxIterations == 1;
+    printTestResult("Islands Converge In One Iteration", test1);
+
+    bool test2 = stackStanding(world, 1, 5, 100, 0.5f) && stackStanding(world, 101, 5, 400, 0.5f);
+    printTestResult("Island Stacks Stand", test2);
+
+    destroyWorld(world);
+}
+
+// Test that a bouncing circle still bounces and removed bodies leave the cache
+void testBounceAndRemoval() {
+    PhysicsWorld* world = createStackWorld(true);
+    double radius[] = { 10 };
+    addWorldObject(world, 1, 1.0, Vector2D(100, 100), Vector2D(0, 50), 'C', radius, 1);
+    addWorldObject(world, 2, 1.0, Vector2D(100, 119), Vector2D(0, -50), 'C', radius, 1);
+    solveCollisions(world);
+
+    // Equal masses swap their approach, scaled by the circle restitution
+    const Vector2D& velocity = world->objects[0]->getVelocity();
+    bool test1 = std::abs(velocity.y + 40.0f) < 0.01f && world->contactCache.size() == 1;
+    printTestResult("Bounce Kept", test1);
+
+    destroyWorld(world);
+
+    world = createStackWorld(true);
+    addStack(world, 10, 560, 3);
+    runSteps(world, 60, 0);
+    bool test2 = world->contactCache.size() == 2;
+    // Dropped at the start of the pass after the first one without them
+    removeWorldObject(world, 11);
+    runSteps(world, 2, 0);
+    test2 = test2 && world->contactCache.size() == 0;
+    printTestResult("Removed Contacts Dropped", test2);
+
+    destroyWorld(world);
+}
+
+int main() {
+    std::cout << "Running Contact Cache Tests...\n\n";
+
+    testCacheEntries();
+    std::cout << "\n";
+
+    testStackWarmStart();
+    std::cout << "\n";
+
+    testObjectLayoutStack();
+    std::cout << "\n";
+
+    testIslandWarmStart();
+    std::cout << "\n";
+
+    testBounceAndRemoval();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
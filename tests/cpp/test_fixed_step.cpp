@@ -0,0 +1,127 @@
+// File: tests/cpp/test_fixed_step.cpp
+#include <cassert>
+#include <cmath>
+#include <iostream>
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+bool approxEqual(double a, double b, double epsilon = 1e-9) {
+    return std::fabs(a - b) < epsilon;
+}
+
+// Test frame time is split into whole steps and a leftover alpha
+void testAccumulator() {
+    FixedTimestep clock;
+    clock.configure(0.01, 5);
+
+    bool test1 = clock.advance(0.025) == 2 && approxEqual(clock.getAlpha(), 0.5);
+    printTestResult("Whole Steps And Alpha", test1);
+
+    // Short frames only collect time until a step fits
+    bool test2 = clock.advance(0.003) == 0 && approxEqual(clock.getAlpha(), 0.8) &&
+                 clock.advance(0.003) == 1 && approxEqual(clock.getAlpha(), 0.1);
+    printTestResult("Short Frames Accumulate", test2);
+
+    // A long frame is capped and the backlog dropped, keeping the partial step
+    bool test3 = clock.advance(0.5) == 5 && approxEqual(clock.getAlpha(), 0.1) &&
+                 approxEqual(clock.getDroppedTime(), 0.45) && clock.advance(0.0) == 0;
+    printTestResult("Substep Cap Drops Backlog", test3);
+
+    clock.configure(0.0, 0);
+    bool test4 = approxEqual(clock.getStepSize(), 0.01) && clock.getMaxSubsteps() == 1 &&
+                 approxEqual(clock.getAlpha(), 0.0);
+    printTestResult("Configure Keeps Valid Settings", test4);
+}
+
+double stepFixed(PhysicsWorld& world, double frameDelta) {
+    return Java_JAVA_jni_PhysicsEngineJNI_stepFixed(nullptr, nullptr, reinterpret_cast<jlong>(&world), frameDelta);
+}
+
+// Test stepFixed simulates the same world regardless of how frames are cut
+void testStepFixed() {
+    PhysicsWorld smooth;
+    PhysicsWorld jittery;
+    for (PhysicsWorld* world : { &smooth, &jittery }) {
+        world->sleep.configure(0.0f, 60);
+        world->objects.push_back(new Square(1, 1.0f, Vector2D(100, 100), Vector2D(20, 0), 10.0f));
+    }
+
+    // One second as 60 even frames or as uneven ones (none over the cap) of
+    // the same total; the last tiny frame absorbs rounding in the accumulator
+    for (int i = 0; i < 60; i++) {
+        stepFixed(smooth, 1.0 / 60.0);
+    }
+    stepFixed(smooth, 1e-6);
+    const double frames[] = { 0.005, 0.03, 0.07, 0.015, 0.05, 0.08, 0.02, 0.06, 0.07, 0.03 };
+    for (int round = 0; round < 2; round++) {
+        for (double frame : frames) {
+            stepFixed(jittery, frame);
+        }
+    }
+    stepFixed(jittery, 0.07);
+    stepFixed(jittery, 0.07);
+    double alpha = stepFixed(jittery, 1e-6);
+
+    bool test1 = smooth.objects[0]->getPosition() == jittery.objects[0]->getPosition() && alpha < 1.0;
+    printTestResult("Frame Timing Does Not Change Result", test1);
+
+    // The previous position is one fixed step behind
+    Vector2D position = smooth.objects[0]->getPosition();
+    Vector2D previous = smooth.previousPositions[0];
+    bool test2 = approxEqual(position.x - previous.x, smooth.objects[0]->getVelocity().x / 60.0, 1e-3);
+    printTestResult("Previous Position One Step Behind", test2);
+
+    // A long stall is capped at the maximum substeps
+    Vector2D beforeStall = smooth.objects[0]->getPosition();
+    stepFixed(smooth, 10.0);
+    double moved = smooth.objects[0]->getPosition().x - beforeStall.x;
+    bool test3 = approxEqual(moved, 20.0 * 5 / 60.0, 1e-3);
+    printTestResult("Stall Limited To Max Substeps", test3);
+
+    for (PhysicsWorld* world : { &smooth, &jittery }) {
+        delete world->objects[0];
+    }
+}
+
+// Test the shared state records carry the previous position
+void testStateRecordsCarryPrevious() {
+    PhysicsWorld world;
+    world.sleep.configure(0.0f, 60);
+    world.gravity = 0.0f;
+    world.objects.push_back(new Square(1, 1.0f, Vector2D(100, 100), Vector2D(60, 0), 10.0f));
+    world.bodyIndex.insert(1, 0);
+    world.stateBuffer.setEnabled(true);
+
+    stepFixed(world, 1.0 / 60.0);
+    const StateRecord* record = reinterpret_cast<const StateRecord*>(
+        static_cast<const unsigned char*>(world.stateBuffer.data()) + sizeof(StateHeader));
+    bool test1 = record->prevX == 100.0f && std::fabs(record->posX - 101.0f) < 1e-3f;
+    printTestResult("Record Holds Previous Position", test1);
+
+    // A teleport leaves nothing to interpolate
+    Java_JAVA_jni_PhysicsEngineJNI_updateObjectState(nullptr, nullptr, reinterpret_cast<jlong>(&world), 1, 300, 200, 0, 0);
+    bool test2 = record->prevX == 300.0f && record->prevY == 200.0f && world.previousPositions[0] == Vector2D(300, 200);
+    printTestResult("Teleport Resets Previous Position", test2);
+
+    delete world.objects[0];
+}
+
+int main() {
+    std::cout << "Running Fixed Step Tests...\n\n";
+
+    testAccumulator();
+    std::cout << "\n";
+
+    testStepFixed();
+    std::cout << "\n";
+
+    testStateRecordsCarryPrevious();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
@@ -0,0 +1,100 @@
+// File: tests/cpp/test_island.cpp
+#include <cassert>
+#include <iostream>
+#include <vector>
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// Test contacts are grouped into connected components
+void testIslandBuilder() {
+    IslandBuilder builder;
+    IslandSet islands;
+
+    // Two chains (0-3-5 and 1-2) plus an untouched body 4
+    std::vector<std::pair<int, int>> contacts = { {0, 3}, {1, 2}, {3, 5} };
+    builder.build(6, contacts, islands);
+
+    bool test1 = islands.size() == 2;
+    printTestResult("Island Count", test1);
+
+    std::vector<int> first(islands.bodies.begin() + islands.bodyStart[0], islands.bodies.begin() + islands.bodyStart[1]);
+    std::vector<int> second(islands.bodies.begin() + islands.bodyStart[1], islands.bodies.begin() + islands.bodyStart[2]);
+    bool test2 = first == std::vector<int>({0, 3, 5}) && second == std::vector<int>({1, 2});
+    printTestResult("Island Bodies Ordered By Slot", test2);
+
+    bool test3 = islands.pairStart[1] == 2 &&
+                 islands.pairs[0] == std::make_pair(0, 3) && islands.pairs[1] == std::make_pair(3, 5) &&
+                 islands.pairs[2] == std::make_pair(1, 2);
+    printTestResult("Island Pairs Keep Input Order", test3);
+
+    builder.build(6, std::vector<std::pair<int, int>>(), islands);
+    bool test4 = islands.size() == 0 && islands.bodies.empty();
+    printTestResult("No Contacts No Islands", test4);
+}
+
+// Several separate piles of overlapping boxes
+void buildPiles(PhysicsWorld& world) {
+    int id = 0;
+    for (int pile = 0; pile < 12; pile++) {
+        for (int level = 0; level < 6; level++) {
+            Vector2D position(pile * 100.0f + level * 2.0f, 500.0f - level * 9.0f);
+            world.objects.push_back(new Square(id++, 1.0f + level % 2, position, Vector2D(0, 3.0f), 10.0f));
+        }
+    }
+}
+
+std::vector<Vector2D> solveScene(int solver, int threads) {
+    PhysicsWorld world;
+    world.collisionSolver = solver;
+    world.workerPool.setThreadCount(threads);
+    buildPiles(world);
+
+    Java_JAVA_jni_PhysicsEngineJNI_handleCollisions(nullptr, nullptr, reinterpret_cast<jlong>(&world));
+
+    std::vector<Vector2D> velocities;
+    for (auto* obj : world.objects) {
+        velocities.push_back(obj->getVelocity());
+        delete obj;
+    }
+    return velocities;
+}
+
+// Test the island solver matches the global solver on disjoint piles
+void testIslandSolver() {
+    std::vector<Vector2D> global = solveScene(SOLVER_GLOBAL, 1);
+    std::vector<Vector2D> islands = solveScene(SOLVER_ISLANDS, 1);
+    printTestResult("Island Solver Matches Global Solver", islands == global);
+
+    bool test2 = solveScene(SOLVER_ISLANDS, 3) == islands && solveScene(SOLVER_ISLANDS, 8) == islands;
+    printTestResult("Island Solver Deterministic Across Threads", test2);
+
+    PhysicsWorld world;
+    world.collisionSolver = SOLVER_ISLANDS;
+    buildPiles(world);
+    Java_JAVA_jni_PhysicsEngineJNI_handleCollisions(nullptr, nullptr, reinterpret_cast<jlong>(&world));
+    const IslandStats& stats = world.islandStats;
+    bool test3 = stats.islandCount == 12 && stats.largestIsland == 6 && stats.bodiesInIslands == 72 &&
+                 stats.contactCount > 0 && stats.maxIterations >= 1 && stats.maxIterations <= 4 &&
+                 stats.totalIterations >= stats.islandCount;
+    printTestResult("Island Statistics", test3);
+    for (auto* obj : world.objects) {
+        delete obj;
+    }
+}
+
+int main() {
+    std::cout << "Running Island Tests...\n\n";
+
+    testIslandBuilder();
+    std::cout << "\n";
+
+    testIslandSolver();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
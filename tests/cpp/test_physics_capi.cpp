@@ -0,0 +1,150 @@
+// File: tests/cpp/test_physics_capi.cpp
+#include <cassert>
+#include <cmath>
+#include <iostream>
+#include "../../include/physics_capi.h"
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+bool approxEqual(double a, double b, double epsilon = 1e-4) {
+    return std::fabs(a - b) < epsilon;
+}
+
+PhysicsWorld* asWorld(int64_t world) {
+    return reinterpret_cast<PhysicsWorld*>(static_cast<intptr_t>(world));
+}
+
+// Test world creation, adding bodies and reading them back
+void testAddAndQuery() {
+    int64_t world = physics_create_world();
+
+    bool test1 = physics_add_object(world, 1, 2.0, 10, 20, 3, -4, 'S', 10, 0, 1) == 1 &&
+                 physics_add_object(world, 2, 1.0, 50, 20, 0, 0, 'C', 5, 0, 1) == 1 &&
+                 physics_add_object(world, 3, 1.0, 90, 20, 0, 0, 'R', 14, 7, 2) == 1;
+    printTestResult("Add Bodies", test1);
+
+    // A rectangle needs both dimensions and the shape must be known
+    bool test2 = physics_add_object(world, 4, 1.0, 0, 0, 0, 0, 'R', 14, 7, 1) == 0 &&
+                 physics_add_object(world, 5, 1.0, 0, 0, 0, 0, 'X', 5, 0, 1) == 0 &&
+                 asWorld(world)->objects.size() == 3;
+    printTestResult("Reject Invalid Bodies", test2);
+
+    double state[PHYSICS_STATE_FIELD_COUNT];
+    bool found = physics_get_object_state(world, 1, state) == 1;
+    bool test3 = found && approxEqual(state[PHYSICS_STATE_POS_X], 10) && approxEqual(state[PHYSICS_STATE_POS_Y], 20) &&
+                 approxEqual(state[PHYSICS_STATE_VEL_X], 3) && approxEqual(state[PHYSICS_STATE_VEL_Y], -4);
+    printTestResult("Get Object State", test3);
+
+    bool test4 = physics_get_object_state(world, 42, state) == 0 &&
+                 physics_update_object_state(world, 42, 0, 0, 0, 0) == 0;
+    printTestResult("Unknown Id", test4);
+
+    physics_delete_world(world);
+}
+
+// Test that the C API steps a world exactly like the shared helpers the JNI functions use
+void testStepMatchesNative() {
+    int64_t world = physics_create_world();
+    PhysicsWorld* twin = new PhysicsWorld();
+
+    const double gravity[] = { 5.0 };
+    const double bounds[] = { 0, 0, 400, 300 };
+    physics_configure_forces(world, 2, gravity, 1);
+    physics_configure_world(world, WORLD_OPTION_BOUNDS, bounds, 4);
+    configureWorldForces(twin, 2, gravity, 1);
+    configureWorldOption(twin, WORLD_OPTION_BOUNDS, bounds, 4);
+
+    for (int i = 1; i <= 20; i++) {
+        double dims[] = { 10.0 + i % 3, 0 };
+        char shape = i % 2 == 0 ? 'S' : 'C';
+        physics_add_object(world, i, 1.0 + i % 3, i * 17 % 380, i * 29 % 280, i % 5 - 2, i % 7 - 3, shape, dims[0], 0, 1);
+        addWorldObject(twin, i, 1.0 + i % 3, Vector2D(i * 17 % 380, i * 29 % 280), Vector2D(i % 5 - 2, i % 7 - 3), shape, dims, 1);
+    }
+
+    for (int step = 0; step < 120; step++) {
+        physics_step(world, 1.0 / 60.0);
+        physics_handle_collisions(world);
+        stepWorld(twin, 1.0 / 60.0);
+        solveCollisions(twin);
+    }
+
+    bool same = twin->gravity == 5.0f && twin->worldBounds.enabled;
+    double state[PHYSICS_STATE_FIELD_COUNT];
+    for (int i = 1; i <= 20; i++) {
+        physics_get_object_state(world, i, state);
+        const Object* obj = twin->objects[findObjectSlot(twin, i)];
+        same = same && state[PHYSICS_STATE_POS_X] == obj->getPosition().x &&
+                       state[PHYSICS_STATE_POS_Y] == obj->getPosition().y &&
+                       state[PHYSICS_STATE_VEL_X] == obj->getVelocity().x;
+    }
+    printTestResult("Step Matches Native Helpers", same);
+
+    // stepFixed runs whole steps only and reports the leftover share
+    const double fixedStep[] = { 0.01, 5 };
+    physics_configure_world(world, WORLD_OPTION_FIXED_STEP, fixedStep, 2);
+    double alpha = physics_step_fixed(world, 0.025);
+    printTestResult("Step Fixed Alpha", approxEqual(alpha, 0.5));
+
+    physics_delete_world(world);
+    destroyWorld(twin);
+}
+
+// Test the state block and the structure-of-arrays views
+void testSharedMemory() {
+    int64_t world = physics_create_world();
+    physics_add_object(world, 7, 1.0, 30, 40, 1, 2, 'S', 10, 0, 1);
+    physics_add_object(world, 8, 1.0, 60, 40, 0, 0, 'C', 5, 0, 1);
+
+    int64_t size = 0;
+    auto* header = static_cast<StateHeader*>(physics_get_state_buffer(world, &size));
+    auto* records = reinterpret_cast<StateRecord*>(header + 1);
+    bool test1 = header->bodyCount == 2 && size >= static_cast<int64_t>(sizeof(StateHeader) + 2 * sizeof(StateRecord)) &&
+                 records[0].id == 7 && approxEqual(records[0].posX, 30);
+    printTestResult("State Buffer", test1);
+
+    physics_update_object_state(world, 7, 100, 50, 0, 0);
+    printTestResult("Update Refreshes State Buffer", approxEqual(records[0].posX, 100) && approxEqual(records[0].posY, 50));
+
+    PhysicsBodyArrays arrays;
+    bool test3 = physics_get_body_arrays(world, &arrays) == 0;
+    printTestResult("No Body Arrays For Objects", test3);
+
+    const double soa[] = { 1 };
+    physics_configure_world(world, WORLD_OPTION_BODY_STORAGE, soa, 1);
+    bool test4 = physics_get_body_arrays(world, &arrays) == 1 && arrays.count == 2 &&
+                 arrays.id[1] == 8 && approxEqual(arrays.position[0], 100) && approxEqual(arrays.position[3], 40);
+    printTestResult("Body Arrays", test4);
+
+    // Writing through the arrays moves the body itself
+    arrays.position[2] = 75;
+    arrays.velocity[2] = 4;
+    double state[PHYSICS_STATE_FIELD_COUNT];
+    physics_get_object_state(world, 8, state);
+    bool test5 = approxEqual(state[PHYSICS_STATE_POS_X], 75) && approxEqual(state[PHYSICS_STATE_VEL_X], 4);
+    printTestResult("Write Through Body Arrays", test5);
+
+    bool test6 = physics_is_world_asleep(world) == 0;
+    printTestResult("World Awake", test6);
+
+    physics_delete_world(world);
+}
+
+int main() {
+    std::cout << "Running Physics C API Tests...\n\n";
+
+    testAddAndQuery();
+    std::cout << "\n";
+
+    testStepMatchesNative();
+    std::cout << "\n";
+
+    testSharedMemory();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
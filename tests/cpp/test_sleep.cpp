@@ -0,0 +1,123 @@
+// File: tests/cpp/test_sleep.cpp
+#include <cassert>
+#include <iostream>
+#include <vector>
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+void step(PhysicsWorld& world, int steps) {
+    for (int i = 0; i < steps; i++) {
+        Java_JAVA_jni_PhysicsEngineJNI_stepSimulation(nullptr, nullptr, reinterpret_cast<jlong>(&world), 1.0 / 60.0);
+        Java_JAVA_jni_PhysicsEngineJNI_handleCollisions(nullptr, nullptr, reinterpret_cast<jlong>(&world));
+    }
+}
+
+bool worldAsleep(PhysicsWorld& world) {
+    return Java_JAVA_jni_PhysicsEngineJNI_isWorldAsleep(nullptr, nullptr, reinterpret_cast<jlong>(&world)) == JNI_TRUE;
+}
+
+void clearWorld(PhysicsWorld& world) {
+    for (auto* obj : world.objects) {
+        delete obj;
+    }
+    world.objects.clear();
+}
+
+// Test a slow body falls asleep after the resting steps and is then skipped
+void testBodyFallsAsleep() {
+    PhysicsWorld world;
+    world.gravity = 0.0f;
+    world.objects.push_back(new Square(1, 1.0f, Vector2D(100, 100), Vector2D(0.05f, 0), 10.0f));
+    world.objects.push_back(new Square(2, 1.0f, Vector2D(300, 100), Vector2D(5.0f, 0), 10.0f));
+
+    step(world, 59);
+    bool test1 = !world.sleep.isAsleep(0);
+    step(world, 1);
+    test1 = test1 && world.sleep.isAsleep(0) && world.objects[0]->getVelocity() == Vector2D(0, 0);
+    printTestResult("Slow Body Sleeps After Resting Steps", test1);
+
+    bool test2 = !world.sleep.isAsleep(1) && !worldAsleep(world);
+    printTestResult("Moving Body Stays Awake", test2);
+
+    // Gravity no longer reaches the sleeping body
+    world.gravity = 9.81f;
+    Vector2D restingPosition = world.objects[0]->getPosition();
+    step(world, 10);
+    bool test3 = world.objects[0]->getPosition() == restingPosition;
+    printTestResult("Sleeping Body Skipped By Integration", test3);
+
+    clearWorld(world);
+}
+
+// Test touching bodies sleep together and a contact wakes them
+void testIslandSleepAndWake() {
+    PhysicsWorld world;
+    world.gravity = 0.0f;
+    world.objects.push_back(new Square(1, 1.0f, Vector2D(100, 100), Vector2D(0, 0), 10.0f));
+    world.objects.push_back(new Square(2, 1.0f, Vector2D(100, 108), Vector2D(0, 0), 10.0f));
+
+    step(world, 60);
+    bool test1 = world.sleep.isAsleep(0) && world.sleep.isAsleep(1) && worldAsleep(world);
+    printTestResult("Touching Bodies Sleep Together", test1);
+
+    // A fast body overlapping the pile wakes it through the contact
+    world.objects.push_back(new Square(3, 1.0f, Vector2D(105, 95), Vector2D(0, 20.0f), 10.0f));
+    step(world, 1);
+    bool test2 = !world.sleep.isAsleep(0) && !worldAsleep(world);
+    printTestResult("Contact Wakes Sleeping Body", test2);
+
+    clearWorld(world);
+}
+
+// Test an external update wakes a body
+void testUpdateWakesBody() {
+    PhysicsWorld world;
+    world.gravity = 0.0f;
+    world.objects.push_back(new Square(1, 1.0f, Vector2D(100, 100), Vector2D(0, 0), 10.0f));
+    world.bodyIndex.insert(1, 0);
+
+    step(world, 60);
+    bool test1 = worldAsleep(world);
+
+    // Small correction: the body wakes but may settle straight away
+    Java_JAVA_jni_PhysicsEngineJNI_updateObjectState(nullptr, nullptr, reinterpret_cast<jlong>(&world), 1, 100.1, 100, 0, 0);
+    test1 = test1 && !worldAsleep(world);
+    step(world, 1);
+    test1 = test1 && worldAsleep(world);
+    printTestResult("Small Update Lets Body Settle", test1);
+
+    // Teleport: the body has to rest all over again
+    Java_JAVA_jni_PhysicsEngineJNI_updateObjectState(nullptr, nullptr, reinterpret_cast<jlong>(&world), 1, 400, 100, 0, 0);
+    step(world, 30);
+    bool test2 = !worldAsleep(world);
+    step(world, 30);
+    test2 = test2 && worldAsleep(world);
+    printTestResult("Teleport Restarts Rest Count", test2);
+
+    // Disabling sleep wakes everything
+    world.sleep.configure(0.0f, 60);
+    bool test3 = !world.sleep.isAsleep(0) && !worldAsleep(world);
+    printTestResult("Disable Sleep Wakes Bodies", test3);
+
+    clearWorld(world);
+}
+
+int main() {
+    std::cout << "Running Sleep Tests...\n\n";
+
+    testBodyFallsAsleep();
+    std::cout << "\n";
+
+    testIslandSleepAndWake();
+    std::cout << "\n";
+
+    testUpdateWakesBody();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
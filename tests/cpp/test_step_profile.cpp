@@ -0,0 +1,138 @@
+// File: tests/cpp/test_step_profile.cpp
+#include <cassert>
+#include <cstdint>
+#include <iostream>
+#include "../../include/physics_native.h"
+#include "../../include/step_profile.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// Pairs of overlapping squares, far enough apart not to touch each other
+PhysicsWorld* buildWorld(int pairs) {
+    PhysicsWorld* world = new PhysicsWorld();
+    double side[] = { 10 };
+    for (int i = 0; i < pairs; i++) {
+        double x = 50.0 + i * 100;
+        addWorldObject(world, i * 2 + 1, 1.0, Vector2D(x, 100), Vector2D(0, 0), 'S', side, 1);
+        addWorldObject(world, i * 2 + 2, 1.0, Vector2D(x + 5, 100), Vector2D(0, 0), 'S', side, 1);
+    }
+    return world;
+}
+
+void setProfiling(PhysicsWorld* world, bool enabled) {
+    double on[] = { enabled ? 1.0 : 0.0 };
+    configureWorldOption(world, WORLD_OPTION_PROFILE, on, 1);
+}
+
+bool allZero(const int64_t* values) {
+    for (int i = 0; i < PROFILE_FIELD_COUNT; i++) {
+        if (values[i] != 0) return false;
+    }
+    return true;
+}
+
+// Test that nothing is gathered until profiling is turned on
+void testDisabledByDefault() {
+    PhysicsWorld* world = buildWorld(2);
+    bool test1 = !world->profile.isEnabled();
+    printTestResult("Off By Default", test1);
+
+    stepWorldFixed(world, 1.0 / 60.0);
+    int64_t values[PROFILE_FIELD_COUNT];
+    world->profile.take(values);
+    bool test2 = allZero(values);
+    printTestResult("Nothing Gathered While Off", test2);
+
+    StepProfile profile;
+    {
+        PhaseTimer timer(profile, PROFILE_RESOLVE_NANOS);
+    }
+    profile.add(PROFILE_CONTACTS, 3);
+    profile.take(values);
+    bool test3 = allZero(values);
+    printTestResult("Timer Ignored While Off", test3);
+
+    destroyWorld(world);
+}
+
+// Test the phases and counters of the global solver
+void testGlobalSolverProfile() {
+    PhysicsWorld* world = buildWorld(3);
+    double step[] = { 1.0 / 60.0 };
+    configureWorldOption(world, WORLD_OPTION_FIXED_STEP, step, 1);
+    setProfiling(world, true);
+
+    stepWorldFixed(world, 3.0 / 60.0 + 1e-9);
+    int64_t values[PROFILE_FIELD_COUNT];
+    world->profile.take(values);
+
+    bool test1 = values[PROFILE_STEPS] == 3 && values[PROFILE_COLLISION_PASSES] == 3;
+    printTestResult("Step And Pass Counts", test1);
+
+    bool test2 = values[PROFILE_INTEGRATE_NANOS] > 0 && values[PROFILE_BROADPHASE_NANOS] > 0 &&
+                 values[PROFILE_NARROWPHASE_NANOS] > 0 && values[PROFILE_RESOLVE_NANOS] > 0 &&
+                 values[PROFILE_ISLAND_NANOS] == 0;
+    printTestResult("Phase Timings", test2);
+
+    // Every pass finds the three overlapping pairs first
+    bool test3 = values[PROFILE_CONTACTS] >= 9 && values[PROFILE_CANDIDATE_PAIRS] >= values[PROFILE_CONTACTS] &&
+                 values[PROFILE_ITERATIONS] >= 3;
+    printTestResult("Pair Counters", test3);
+
+    world->profile.take(values);
+    bool test4 = allZero(values);
+    printTestResult("Take Starts Over", test4);
+
+    setProfiling(world, false);
+    stepWorldFixed(world, 1.0 / 60.0);
+    world->profile.take(values);
+    bool test5 = allZero(values);
+    printTestResult("Turn Off", test5);
+
+    destroyWorld(world);
+}
+
+// Test island timings and the candidates of the all-pairs loop
+void testIslandsAndAllPairs() {
+    PhysicsWorld* world = buildWorld(2);
+    double islands[] = { SOLVER_ISLANDS };
+    configureWorldOption(world, WORLD_OPTION_COLLISION_SOLVER, islands, 1);
+    double allPairs[] = { BROADPHASE_ALL_PAIRS };
+    configureWorldOption(world, WORLD_OPTION_BROADPHASE, allPairs, 1);
+    setProfiling(world, true);
+
+    Java_JAVA_jni_PhysicsEngineJNI_handleCollisions(nullptr, nullptr, reinterpret_cast<jlong>(world));
+    int64_t values[PROFILE_FIELD_COUNT];
+    world->profile.take(values);
+
+    bool test1 = values[PROFILE_STEPS] == 0 && values[PROFILE_COLLISION_PASSES] == 1 &&
+                 values[PROFILE_ISLAND_NANOS] > 0 && values[PROFILE_RESOLVE_NANOS] > 0 &&
+                 values[PROFILE_BROADPHASE_NANOS] == 0;
+    printTestResult("Island Timings", test1);
+
+    // The first detection tests all 6 pairs of the 4 bodies and finds 2
+    bool test2 = values[PROFILE_CANDIDATE_PAIRS] == 6 && values[PROFILE_CONTACTS] >= 2 &&
+                 values[PROFILE_ITERATIONS] == world->islandStats.totalIterations;
+    printTestResult("All Pairs Candidates", test2);
+
+    destroyWorld(world);
+}
+
+int main() {
+    std::cout << "Running Step Profile Tests...\n\n";
+
+    testDisabledByDefault();
+    std::cout << "\n";
+
+    testGlobalSolverProfile();
+    std::cout << "\n";
+
+    testIslandsAndAllPairs();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
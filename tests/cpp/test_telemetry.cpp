@@ -0,0 +1,125 @@
+// File: tests/cpp/test_telemetry.cpp
+#include <cassert>
+#include <cmath>
+#include <cstdio>
+#include <cstring>
+#include <iostream>
+#include <vector>
+#include "../../include/physics_native.h"
+#include "../../include/telemetry.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+const char* TEST_FILE = "test_telemetry.ring";
+
+// Whole ring file as the other process would see it
+std::vector<unsigned char> readRing() {
+    std::vector<unsigned char> bytes;
+    std::FILE* file = std::fopen(TEST_FILE, "rb");
+    if (!file) return bytes;
+    unsigned char chunk[4096];
+    size_t read;
+    while ((read = std::fread(chunk, 1, sizeof(chunk), file)) > 0) {
+        bytes.insert(bytes.end(), chunk, chunk + read);
+    }
+    std::fclose(file);
+    return bytes;
+}
+
+const TelemetryFrame* frameAt(const std::vector<unsigned char>& ring, uint64_t n) {
+    const auto* header = reinterpret_cast<const TelemetryHeader*>(ring.data());
+    size_t slot = static_cast<size_t>(n % header->frameCount);
+    return reinterpret_cast<const TelemetryFrame*>(ring.data() + header->headerSize + slot * header->frameSize);
+}
+
+PhysicsWorld* buildWorld(int bodies) {
+    PhysicsWorld* world = new PhysicsWorld();
+    double side[] = { 10 };
+    for (int i = 0; i < bodies; i++) {
+        addWorldObject(world, i + 1, 1.0, Vector2D(40.0 + i * 30, 100), Vector2D(2, 0), 'S', side, 1);
+    }
+    return world;
+}
+
+// Test that every fixed step publishes a complete frame with the body state
+void testPublishFrames() {
+    PhysicsWorld* world = buildWorld(3);
+    bool test1 = enableTelemetry(world, TEST_FILE, 8, 16);
+    printTestResult("Open Ring", test1);
+
+    for (int i = 0; i < 5; i++) {
+        stepWorldFixed(world, 1.0 / 60.0);
+    }
+
+    std::vector<unsigned char> ring = readRing();
+    const auto* header = reinterpret_cast<const TelemetryHeader*>(ring.data());
+    bool test2 = ring.size() == sizeof(TelemetryHeader) + 8 * (sizeof(TelemetryFrame) + 16 * sizeof(StateRecord)) &&
+                 std::memcmp(header->magic, TELEMETRY_MAGIC, 4) == 0 &&
+                 header->frameCount == 8 && header->maxBodies == 16 &&
+                 header->published.load() == 5;
+    printTestResult("Ring Header", test2);
+
+    const TelemetryFrame* last = frameAt(ring, 4);
+    const auto* records = reinterpret_cast<const StateRecord*>(last + 1);
+    bool test3 = last->sequence.load() == 10 && last->frame == 4 &&
+                 last->bodyCount == 3 && last->totalBodies == 3 && last->awakeBodies == 3 &&
+                 records[2].id == 3 && records[2].posX == world->objects[2]->getPosition().x &&
+                 std::fabs(last->simTime - 5.0 / 60.0) < 1e-9 && last->stepNanos > 0;
+    printTestResult("Frame Contents", test3);
+
+    enableTelemetry(world, nullptr, 0, 0);
+    stepWorldFixed(world, 1.0 / 60.0);
+    bool test4 = !world->telemetry.isOpen() && reinterpret_cast<const TelemetryHeader*>(readRing().data())->published.load() == 5;
+    printTestResult("Stop Publishing", test4);
+
+    destroyWorld(world);
+    std::remove(TEST_FILE);
+}
+
+// Test that the ring wraps and cuts off bodies past its capacity
+void testWrapAndCapacity() {
+    PhysicsWorld* world = buildWorld(5);
+    enableTelemetry(world, TEST_FILE, 4, 3);
+
+    // A collision pass without a step still publishes, with no step time
+    Java_JAVA_jni_PhysicsEngineJNI_handleCollisions(nullptr, nullptr, reinterpret_cast<jlong>(world));
+    std::vector<unsigned char> ring = readRing();
+    bool test1 = frameAt(ring, 0)->sequence.load() == 2 && frameAt(ring, 0)->stepNanos == 0;
+    printTestResult("Collision Pass Frame", test1);
+
+    for (int i = 0; i < 9; i++) {
+        stepWorldFixed(world, 1.0 / 60.0);
+    }
+    ring = readRing();
+
+    // Frames 6 to 9 are live; frame 5's slot now holds frame 9
+    bool test2 = reinterpret_cast<const TelemetryHeader*>(ring.data())->published.load() == 10 &&
+                 frameAt(ring, 9)->frame == 9 && frameAt(ring, 5)->sequence.load() == 20 &&
+                 frameAt(ring, 6)->sequence.load() == 14;
+    printTestResult("Ring Wraps", test2);
+
+    bool test3 = frameAt(ring, 9)->bodyCount == 3 && frameAt(ring, 9)->totalBodies == 5;
+    printTestResult("Cut Off At Capacity", test3);
+
+    bool test4 = !enableTelemetry(world, TEST_FILE, 0, 3) && !world->telemetry.isOpen();
+    printTestResult("Reject Empty Ring", test4);
+
+    destroyWorld(world);
+    std::remove(TEST_FILE);
+}
+
+int main() {
+    std::cout << "Running Telemetry Tests...\n\n";
+
+    testPublishFrames();
+    std::cout << "\n";
+
+    testWrapAndCapacity();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
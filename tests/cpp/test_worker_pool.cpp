@@ -0,0 +1,94 @@
+// File: tests/cpp/test_worker_pool.cpp
+#include <cassert>
+#include <iostream>
+#include <vector>
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+// Test every index is visited exactly once for a range of thread counts
+void testParallelForCoverage() {
+    WorkerPool pool;
+    bool test1 = pool.getThreadCount() == 1;
+    printTestResult("Single Thread By Default", test1);
+
+    bool test2 = true;
+    for (int threads = 1; threads <= 8; threads++) {
+        pool.setThreadCount(threads);
+        test2 = test2 && pool.getThreadCount() == threads;
+
+        for (size_t count : {0, 1, 7, 100, 1000, 4099}) {
+            std::vector<int> visits(count, 0);
+            pool.parallelFor(count, 1, [&](size_t begin, size_t end) {
+                for (size_t i = begin; i < end; i++) visits[i]++;
+            });
+            for (int v : visits) test2 = test2 && v == 1;
+        }
+    }
+    printTestResult("Parallel For Visits Each Index Once", test2);
+
+    pool.setThreadCount(0);
+    bool test3 = pool.getThreadCount() >= 1;
+    printTestResult("Hardware Thread Count", test3);
+}
+
+// Step the same scene with the given thread count and return the final positions
+std::vector<Vector2D> runScene(int threads, bool useBodyStore) {
+    PhysicsWorld world;
+    world.workerPool.setThreadCount(threads);
+
+    for (int i = 0; i < 3000; i++) {
+        float x = static_cast<float>(i % 100) * 12.0f;
+        float y = (i % 7 == 0) ? static_cast<float>(world.groundLevel) : static_cast<float>(i / 100) * 12.0f;
+        Vector2D velocity(static_cast<float>(i % 5) - 2.0f, static_cast<float>(i % 3));
+        if (i % 2 == 0) {
+            world.objects.push_back(new Square(i, 1.0f + i % 3, Vector2D(x, y), velocity, 10.0f));
+        } else {
+            world.objects.push_back(new Circle(i, 2.0f, Vector2D(x, y), velocity, 5.0f));
+        }
+        if (useBodyStore) world.bodyStore.add(world.objects.back());
+    }
+    world.useBodyStore = useBodyStore;
+
+    for (int step = 0; step < 50; step++) {
+        if (useBodyStore) {
+            integrateBodyStore(&world, 1.0 / 60.0);
+        } else {
+            integrateObjects(&world, 1.0 / 60.0);
+        }
+    }
+
+    std::vector<Vector2D> positions;
+    for (auto* obj : world.objects) {
+        positions.push_back(obj->getPosition());
+        delete obj;
+    }
+    return positions;
+}
+
+// Test results do not depend on the thread count
+void testDeterminism() {
+    std::vector<Vector2D> serial = runScene(1, false);
+    bool test1 = runScene(2, false) == serial && runScene(5, false) == serial;
+    printTestResult("Object Integration Deterministic Across Threads", test1);
+
+    std::vector<Vector2D> storeSerial = runScene(1, true);
+    bool test2 = runScene(3, true) == storeSerial && runScene(8, true) == storeSerial;
+    printTestResult("Store Integration Deterministic Across Threads", test2);
+}
+
+int main() {
+    std::cout << "Running Worker Pool Tests...\n\n";
+
+    testParallelForCoverage();
+    std::cout << "\n";
+
+    testDeterminism();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
@@ -0,0 +1,188 @@
+// File: tests/cpp/test_world_bounds.cpp
+#include <cassert>
+#include <cmath>
+#include <iostream>
+#include <vector>
+#include "../../include/physics_native.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+bool approxEqual(float a, float b, float epsilon = 1e-4f) {
+    return std::fabs(a - b) < epsilon;
+}
+
+// Test a single wall bounce on each side
+void testApplyWorldBounds() {
+    WorldBounds bounds;
+    bounds.enabled = true;
+    bounds.left = 5; bounds.top = 5; bounds.right = 795; bounds.bottom = 595;
+
+    // Box falling through the floor
+    Vector2D position(100, 590);
+    Vector2D velocity(10, 20);
+    bool hit = applyWorldBounds(bounds, position, velocity, Vector2D(20, 20));
+    bool test1 = hit && approxEqual(position.y, 575) && approxEqual(velocity.y, -12) && approxEqual(velocity.x, 8);
+    printTestResult("Floor Bounce With Friction", test1);
+
+    // Circle (diameter 20) passing the right wall
+    position = Vector2D(790, 100);
+    velocity = Vector2D(5, -10);
+    hit = applyWorldBounds(bounds, position, velocity, Vector2D(20, 20));
+    bool test2 = hit && approxEqual(position.x, 775) && approxEqual(velocity.x, -3) && approxEqual(velocity.y, -8);
+    printTestResult("Right Wall Bounce", test2);
+
+    // Already leaving the top-left corner: clamp without bouncing
+    position = Vector2D(2, 1);
+    velocity = Vector2D(4, 6);
+    hit = applyWorldBounds(bounds, position, velocity, Vector2D(10, 10));
+    bool test3 = hit && position == Vector2D(5, 5) && velocity == Vector2D(4, 6);
+    printTestResult("Corner Clamp Keeps Outgoing Velocity", test3);
+
+    // Inside: untouched
+    position = Vector2D(400, 300);
+    velocity = Vector2D(-50, 50);
+    hit = applyWorldBounds(bounds, position, velocity, Vector2D(10, 10));
+    bool test4 = !hit && position == Vector2D(400, 300) && velocity == Vector2D(-50, 50);
+    printTestResult("Inside Body Untouched", test4);
+}
+
+// Bodies dropped towards the floor in both storage layouts
+std::vector<Vector2D> dropScene(bool soa, bool withBounds) {
+    PhysicsWorld world;
+    world.sleep.configure(0.0f, 60);
+    if (withBounds) {
+        world.worldBounds.enabled = true;
+        world.worldBounds.left = 5; world.worldBounds.top = 5;
+        world.worldBounds.right = 795; world.worldBounds.bottom = 595;
+    }
+
+    world.objects.push_back(new Square(1, 1.0f, Vector2D(100, 500), Vector2D(30, 100), 20.0f));
+    world.objects.push_back(new Rectangle(2, 2.0f, Vector2D(780, 300), Vector2D(200, -50), 30.0f, 10.0f));
+    world.objects.push_back(new Circle(3, 1.0f, Vector2D(400, 10), Vector2D(0, -300), 8.0f));
+    if (soa) {
+        for (auto* obj : world.objects) {
+            world.bodyStore.add(obj);
+        }
+        world.useBodyStore = true;
+    }
+
+    for (int i = 0; i < 300; i++) {
+        if (soa) {
+            integrateBodyStore(&world, 1.0 / 60.0);
+        } else {
+            integrateObjects(&world, 1.0 / 60.0);
+        }
+    }
+
+    std::vector<Vector2D> positions;
+    if (soa) world.bodyStore.release(world.objects);
+    for (auto* obj : world.objects) {
+        positions.push_back(obj->getPosition());
+        delete obj;
+    }
+    return positions;
+}
+
+// Test integration keeps bodies inside the walls in both layouts
+void testBoundsDuringStep() {
+    std::vector<Vector2D> objects = dropScene(false, true);
+    bool test1 = true;
+    for (const auto& position : objects) {
+        test1 = test1 && position.x >= 5 && position.y >= 5 && position.x <= 795 && position.y <= 595;
+    }
+    test1 = test1 && objects[0].y <= 575.0f && objects[1].x <= 765.0f && objects[2].y >= 5.0f;
+    printTestResult("Bodies Stay Inside Bounds", test1);
+
+    bool test2 = dropScene(true, true) == objects;
+    printTestResult("Body Store Matches Objects", test2);
+
+    std::vector<Vector2D> unbounded = dropScene(false, false);
+    bool test3 = unbounded[0].y > 595.0f;
+    printTestResult("Disabled Bounds Let Bodies Leave", test3);
+}
+
+// World with walls and no sleeping in either storage layout
+PhysicsWorld* createCollisionWorld(bool soa) {
+    PhysicsWorld* world = new PhysicsWorld();
+    double bounds[] = { 0, 0, 800, 600 };
+    configureWorldOption(world, WORLD_OPTION_BOUNDS, bounds, 4);
+    double sleep[] = { 0 };
+    configureWorldOption(world, WORLD_OPTION_SLEEP, sleep, 1);
+    double storage[] = { soa ? 1.0 : 0.0 };
+    configureWorldOption(world, WORLD_OPTION_BODY_STORAGE, storage, 1);
+    return world;
+}
+
+// Steps the world as a GUI frame does, with a collision pass after every
+// step, and returns the positions of bodies 1..count
+std::vector<Vector2D> runCollisionWorld(PhysicsWorld* world, int steps, int count) {
+    for (int step = 0; step < steps; step++) {
+        stepWorld(world, 1.0 / 60.0);
+        solveCollisions(world);
+    }
+    std::vector<Vector2D> positions;
+    for (int id = 1; id <= count; id++) {
+        positions.push_back(world->objects[world->bodyIndex.find(id)]->getPosition());
+    }
+    destroyWorld(world);
+    return positions;
+}
+
+// Two squares sliding into each other without gravity
+std::vector<Vector2D> headOnScene(bool soa) {
+    PhysicsWorld* world = createCollisionWorld(soa);
+    double gravity[] = { 0 };
+    configureWorldForces(world, 2, gravity, 1);
+    double side[] = { 10 };
+    addWorldObject(world, 1, 1.0, Vector2D(100, 100), Vector2D(50, 0), 'S', side, 1);
+    addWorldObject(world, 2, 1.0, Vector2D(300, 100), Vector2D(-50, 0), 'S', side, 1);
+    return runCollisionWorld(world, 240, 2);
+}
+
+// A box dropped onto a box resting on the floor
+std::vector<Vector2D> landingScene(bool soa) {
+    PhysicsWorld* world = createCollisionWorld(soa);
+    double side[] = { 20 };
+    addWorldObject(world, 1, 1.0, Vector2D(500, 580), Vector2D(0, 0), 'S', side, 1);
+    addWorldObject(world, 2, 1.0, Vector2D(500, 500), Vector2D(0, 0), 'S', side, 1);
+    return runCollisionWorld(world, 240, 2);
+}
+
+// Test that bodies collide with each other in the object layout, where
+// detection reads the colliders rather than the body store
+void testObjectLayoutCollisions() {
+    std::vector<Vector2D> squares = headOnScene(false);
+    bool test1 = squares[0].x < 200.0f && squares[1].x > 200.0f && squares[0].x + 10.0f <= squares[1].x + 0.5f;
+    printTestResult("Squares Bounce Apart", test1);
+
+    std::vector<Vector2D> boxes = landingScene(false);
+    bool test2 = boxes[0].y >= 575.0f && boxes[1].y + 20.0f <= boxes[0].y + 1.0f;
+    printTestResult("Dropped Box Lands On Box", test2);
+
+    std::vector<Vector2D> storeSquares = headOnScene(true);
+    std::vector<Vector2D> storeBoxes = landingScene(true);
+    bool test3 = true;
+    for (size_t i = 0; i < 2; i++) {
+        test3 = test3 && approxEqual(squares[i].x, storeSquares[i].x, 0.5f) && approxEqual(boxes[i].y, storeBoxes[i].y, 0.5f);
+    }
+    printTestResult("Object Layout Matches Body Store", test3);
+}
+
+int main() {
+    std::cout << "Running World Bounds Tests...\n\n";
+
+    testApplyWorldBounds();
+    std::cout << "\n";
+
+    testBoundsDuringStep();
+    std::cout << "\n";
+
+    testObjectLayoutCollisions();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
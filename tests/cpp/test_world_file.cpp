@@ -0,0 +1,155 @@
+// File: tests/cpp/test_world_file.cpp
+#include <cassert>
+#include <cmath>
+#include <cstddef>
+#include <cstdio>
+#include <cstring>
+#include <iostream>
+#include "../../include/physics_native.h"
+#include "../../include/world_file.h"
+
+// Helper function to print test results
+void printTestResult(const std::string& testName, bool passed) {
+    std::cout << testName << ": " << (passed ? "PASSED" : "FAILED") << std::endl;
+}
+
+const char* TEST_FILE = "test_world_file.phyw";
+
+PhysicsWorld* buildWorld() {
+    PhysicsWorld* world = new PhysicsWorld();
+    double square[] = { 10 };
+    double circle[] = { 5 };
+    double rectangle[] = { 14, 7 };
+    addWorldObject(world, 1, 2.0, Vector2D(40, 100), Vector2D(3, -4), 'S', square, 1);
+    addWorldObject(world, 2, 1.0, Vector2D(80, 100), Vector2D(0, 0), 'C', circle, 1);
+    addWorldObject(world, 3, 1.5, Vector2D(120, 100), Vector2D(-2, 1), 'R', rectangle, 2);
+
+    double forces[] = { 12.5 };
+    configureWorldForces(world, 2, forces, 1);
+    double bounds[] = { 0, 0, 400, 300, 0.5, 0.1 };
+    configureWorldOption(world, WORLD_OPTION_BOUNDS, bounds, 6);
+    double sleep[] = { 0.5, 20 };
+    configureWorldOption(world, WORLD_OPTION_SLEEP, sleep, 2);
+    double fixedStep[] = { 1.0 / 120.0, 4 };
+    configureWorldOption(world, WORLD_OPTION_FIXED_STEP, fixedStep, 2);
+    return world;
+}
+
+bool sameBodies(PhysicsWorld* a, PhysicsWorld* b) {
+    if (a->objects.size() != b->objects.size()) return false;
+    for (size_t i = 0; i < a->objects.size(); i++) {
+        const Object* x = a->objects[i];
+        const Object* y = b->objects[i];
+        if (x->getID() != y->getID() || x->getMass() != y->getMass() ||
+            x->getPosition().x != y->getPosition().x || x->getPosition().y != y->getPosition().y ||
+            x->getVelocity().x != y->getVelocity().x || x->getVelocity().y != y->getVelocity().y) {
+            return false;
+        }
+    }
+    return true;
+}
+
+// Test that a saved world loads back with the same bodies and parameters
+void testRoundTrip() {
+    PhysicsWorld* world = buildWorld();
+    for (int i = 0; i < 30; i++) {
+        stepWorldFixed(world, 1.0 / 60.0);
+    }
+
+    bool test1 = saveWorld(world, TEST_FILE);
+    printTestResult("Save World", test1);
+
+    PhysicsWorld* loaded = loadWorld(TEST_FILE);
+    bool test2 = loaded != nullptr && sameBodies(world, loaded);
+    printTestResult("Load World", test2);
+
+    bool test3 = loaded != nullptr && loaded->gravity == world->gravity &&
+                 loaded->worldBounds.enabled && loaded->worldBounds.right == 400 &&
+                 loaded->worldBounds.restitution == world->worldBounds.restitution &&
+                 loaded->sleep.getRequiredSteps() == 20 &&
+                 loaded->fixedStep.getStepSize() == world->fixedStep.getStepSize() &&
+                 loaded->fixedStep.getMaxSubsteps() == 4;
+    printTestResult("Load World Parameters", test3);
+
+    // Both worlds carry on identically from the checkpoint
+    for (int i = 0; i < 60 && loaded; i++) {
+        stepWorldFixed(world, 1.0 / 60.0);
+        stepWorldFixed(loaded, 1.0 / 60.0);
+    }
+    bool test4 = loaded != nullptr && sameBodies(world, loaded);
+    printTestResult("Continue From Checkpoint", test4);
+
+    if (loaded) destroyWorld(loaded);
+    destroyWorld(world);
+    std::remove(TEST_FILE);
+}
+
+// Test that structure-of-arrays storage and sleep state survive the file
+void testStorageAndSleep() {
+    PhysicsWorld* world = buildWorld();
+    double soa[] = { 1 };
+    configureWorldOption(world, WORLD_OPTION_BODY_STORAGE, soa, 1);
+    double cache[] = { 1 };
+    configureWorldOption(world, WORLD_OPTION_CONTACT_CACHE, cache, 1);
+    world->sleep.resize(world->objects.size());
+    world->sleep.restore(1, true, 20);
+    world->sleep.restore(2, false, 7);
+
+    saveWorld(world, TEST_FILE);
+    PhysicsWorld* loaded = loadWorld(TEST_FILE);
+
+    bool test1 = loaded != nullptr && loaded->useBodyStore && loaded->contactCache.isEnabled() &&
+                 sameBodies(world, loaded);
+    printTestResult("Keep Body Storage", test1);
+
+    bool test2 = loaded != nullptr && !loaded->sleep.isAsleep(0) && loaded->sleep.isAsleep(1) &&
+                 loaded->sleep.getRestingSteps(2) == 7;
+    printTestResult("Keep Sleep State", test2);
+
+    if (loaded) destroyWorld(loaded);
+    destroyWorld(world);
+    std::remove(TEST_FILE);
+}
+
+// Test that files which are not world files, or are cut short, are rejected
+void testRejectBadFiles() {
+    bool test1 = loadWorld("missing_world_file.phyw") == nullptr;
+    printTestResult("Reject Missing File", test1);
+
+    std::FILE* file = std::fopen(TEST_FILE, "wb");
+    const char junk[200] = "not a world file";
+    std::fwrite(junk, 1, sizeof(junk), file);
+    std::fclose(file);
+    bool test2 = loadWorld(TEST_FILE) == nullptr;
+    printTestResult("Reject Wrong Magic", test2);
+
+    // A header that promises more bodies than the file holds
+    PhysicsWorld* world = buildWorld();
+    saveWorld(world, TEST_FILE);
+    destroyWorld(world);
+    file = std::fopen(TEST_FILE, "r+b");
+    int64_t bodyCount = 1000;
+    std::fseek(file, offsetof(WorldFileHeader, bodyCount), SEEK_SET);
+    std::fwrite(&bodyCount, sizeof(bodyCount), 1, file);
+    std::fclose(file);
+    bool test3 = loadWorld(TEST_FILE) == nullptr;
+    printTestResult("Reject Truncated File", test3);
+
+    std::remove(TEST_FILE);
+}
+
+int main() {
+    std::cout << "Running World File Tests...\n\n";
+
+    testRoundTrip();
+    std::cout << "\n";
+
+    testStorageAndSleep();
+    std::cout << "\n";
+
+    testRejectBadFiles();
+    std::cout << "\n";
+
+    std::cout << "All tests completed.\n";
+    return 0;
+}
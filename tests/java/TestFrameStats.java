@@ -0,0 +1,68 @@
+// File: tests/java/test_frame_stats.java
+package tests.java;
+
+import JAVA.FrameStats;
+import JAVA.LatencyHistogram;
+import org.junit.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.Assert.*;
+
+// LatencyHistogram and FrameStats are plain Java, so these run without the
+// native library
+public class TestFrameStats {
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        histogram.copyInto(snapshot);
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getPercentile(0.99));
+
+        // 1 to 100 ms; values are reported at most 1/16 high
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+        histogram.copyInto(snapshot);
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50e6, snapshot.getPercentile(0.50), 50e6 / 16);
+        assertTrue(snapshot.getPercentile(0.50) >= 50_000_000L);
+        assertEquals(99e6, snapshot.getPercentile(0.99), 99e6 / 16);
+        assertEquals(100e6, snapshot.getMax(), 100e6 / 16);
+        assertTrue(snapshot.getMax() >= 100_000_000L);
+
+        // An interval only sees what was recorded after it started
+        FrameStats stats = new FrameStats();
+        stats.record(FrameStats.Stage.RENDER, 40_000_000L);
+        FrameStats.Interval interval = stats.newInterval();
+        stats.record(FrameStats.Stage.RENDER, 2_000_000L);
+        stats.record(FrameStats.Stage.RENDER, 3_000_000L);
+        interval.advance();
+        assertEquals(2, interval.get(FrameStats.Stage.RENDER).getCount());
+        assertTrue(interval.get(FrameStats.Stage.RENDER).getMax() < 4_000_000L);
+        assertEquals(0, interval.get(FrameStats.Stage.STEP).getCount());
+        interval.advance();
+        assertEquals(0, interval.get(FrameStats.Stage.RENDER).getCount());
+    }
+
+    @Test
+    public void testFrameStatsLog() throws IOException {
+        Path file = Files.createTempFile("frames", ".log");
+        try {
+            FrameStats stats = new FrameStats();
+            stats.startLog(file, 60);
+            stats.record(FrameStats.Stage.STEP, 5_000_000L);
+            stats.close();
+
+            // Closing writes the partial interval, one line per stage
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(FrameStats.Stage.values().length, lines.size());
+            String step = lines.stream().filter(line -> line.contains(" step ")).findFirst().orElse("");
+            assertTrue(step, step.contains("n=1 "));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
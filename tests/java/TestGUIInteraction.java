@@ -2,8 +2,9 @@
 package tests.java;
 
 import JAVA.GUIController;
+import JAVA.PhysicsEngine;
 import JAVA.PhysicsSimulation;
-import JAVA.jni.PhysicsEngineJNI;
+import JAVA.SimulationDriver;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.paint.Color;
 import org.junit.Before;
@@ -15,22 +16,25 @@ public class TestGUIInteraction {
     private GUIController controller;
     private Canvas canvas;
     private PhysicsSimulation simulation;
-    private long worldPtr;
+    private SimulationDriver driver;
 
     @Before
     public void setUp() {
-        // Initialize JavaFX components and physics world
+        // Initialize JavaFX components and a driver stepping its own world,
+        // the way SimulationApp does
         canvas = new Canvas(800, 600);
-        simulation = new PhysicsSimulation();
-        worldPtr = PhysicsEngineJNI.createPhysicsWorld();
-        controller = new GUIController(canvas, simulation, worldPtr);
+        PhysicsEngine engine = PhysicsEngine.forName("jni");
+        simulation = new PhysicsSimulation(engine);
+        driver = new SimulationDriver(engine, engine.createWorld(), 1.0 / 60.0);
+        controller = new GUIController(canvas, simulation, driver);
+        driver.start();
     }
 
     @After
     public void tearDown() {
         // Clean up resources
         controller.cleanup();
-        PhysicsEngineJNI.deletePhysicsWorld(worldPtr);
+        driver.shutdown();
     }
 
     @Test
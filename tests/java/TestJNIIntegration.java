@@ -1,11 +1,28 @@
 // File: tests/java/test_jni_integration.java
 package tests.java;
 
+import JAVA.BatchRunner;
+import JAVA.BodyStateView;
+import JAVA.CommandBuffer;
 import JAVA.ObjectState;
+import JAVA.PhysicsEngine;
+import JAVA.RecordingEngine;
+import JAVA.ReplayRunner;
+import JAVA.SimulationDriver;
+import JAVA.TelemetryReader;
+import JAVA.WorldSnapshot;
 import JAVA.jni.PhysicsEngineJNI;
+import JAVA.jni.StateBuffer;
 import org.junit.Before;
 import org.junit.After;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
 import static org.junit.Assert.*;
 
 public class TestJNIIntegration {
@@ -138,6 +155,727 @@ public class TestJNIIntegration {
                        initial2.getVelX(), final2.getVelX(), EPSILON);
     }
 
+    @Test
+    public void testBroadphaseModesAgree() {
+        // Same scene in two worlds, one per broadphase mode
+        long gridWorld = PhysicsEngineJNI.createPhysicsWorld();
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BROADPHASE,
+                                        PhysicsEngineJNI.BROADPHASE_ALL_PAIRS);
+        PhysicsEngineJNI.configureWorld(gridWorld, PhysicsEngineJNI.WORLD_BROADPHASE,
+                                        PhysicsEngineJNI.BROADPHASE_SPATIAL_HASH, 0.0);
+
+        double[] dimensions = {10.0};
+        for (int i = 1; i <= 20; i++) {
+            double x = (i % 5) * 9.0;
+            double y = (i / 5) * 9.0;
+            PhysicsEngineJNI.addObject(worldPtr, i, 1.0, x, y, 1.0, -1.0, 'S', dimensions);
+            PhysicsEngineJNI.addObject(gridWorld, i, 1.0, x, y, 1.0, -1.0, 'S', dimensions);
+        }
+
+        PhysicsEngineJNI.handleCollisions(worldPtr);
+        PhysicsEngineJNI.handleCollisions(gridWorld);
+
+        // Both paths must resolve the same pairs in the same order
+        for (int i = 1; i <= 20; i++) {
+            ObjectState legacy = PhysicsEngineJNI.getObjectState(worldPtr, i);
+            ObjectState grid = PhysicsEngineJNI.getObjectState(gridWorld, i);
+            assertEquals("Velocity X differs for object " + i, legacy.getVelX(), grid.getVelX(), EPSILON);
+            assertEquals("Velocity Y differs for object " + i, legacy.getVelY(), grid.getVelY(), EPSILON);
+        }
+
+        PhysicsEngineJNI.deletePhysicsWorld(gridWorld);
+    }
+
+    @Test
+    public void testBodyStorageModesAgree() {
+        // Same scene in two worlds, one per storage layout
+        long storeWorld = PhysicsEngineJNI.createPhysicsWorld();
+        PhysicsEngineJNI.configureWorld(storeWorld, PhysicsEngineJNI.WORLD_BODY_STORAGE,
+                                        PhysicsEngineJNI.STORAGE_SOA);
+
+        double[] dimensions = {10.0};
+        for (int i = 1; i <= 20; i++) {
+            double x = (i % 5) * 9.0;
+            double y = (i / 5) * 9.0;
+            char shape = (i % 2 == 0) ? 'C' : 'S';
+            PhysicsEngineJNI.addObject(worldPtr, i, 1.0, x, y, 1.0, -1.0, shape, dimensions);
+            PhysicsEngineJNI.addObject(storeWorld, i, 1.0, x, y, 1.0, -1.0, shape, dimensions);
+        }
+
+        PhysicsEngineJNI.handleCollisions(worldPtr);
+        PhysicsEngineJNI.handleCollisions(storeWorld);
+        for (int step = 0; step < 60; step++) {
+            PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+            PhysicsEngineJNI.stepSimulation(storeWorld, 1.0 / 60.0);
+        }
+
+        for (int i = 1; i <= 20; i++) {
+            ObjectState objects = PhysicsEngineJNI.getObjectState(worldPtr, i);
+            ObjectState store = PhysicsEngineJNI.getObjectState(storeWorld, i);
+            assertEquals("Position X differs for object " + i, objects.getPosX(), store.getPosX(), EPSILON);
+            assertEquals("Position Y differs for object " + i, objects.getPosY(), store.getPosY(), EPSILON);
+            assertEquals("Velocity Y differs for object " + i, objects.getVelY(), store.getVelY(), EPSILON);
+        }
+
+        PhysicsEngineJNI.deletePhysicsWorld(storeWorld);
+    }
+
+    @Test
+    public void testThreadCountDeterministic() {
+        // Same scene stepped serially and on four threads
+        long threadedWorld = PhysicsEngineJNI.createPhysicsWorld();
+        PhysicsEngineJNI.configureWorld(threadedWorld, PhysicsEngineJNI.WORLD_THREAD_COUNT, 4);
+
+        double[] dimensions = {10.0};
+        for (int i = 1; i <= 2000; i++) {
+            double x = (i % 100) * 12.0;
+            double y = (i / 100) * 12.0;
+            PhysicsEngineJNI.addObject(worldPtr, i, 1.0 + i % 3, x, y, i % 5 - 2.0, 0.0, 'S', dimensions);
+            PhysicsEngineJNI.addObject(threadedWorld, i, 1.0 + i % 3, x, y, i % 5 - 2.0, 0.0, 'S', dimensions);
+        }
+
+        for (int step = 0; step < 30; step++) {
+            PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+            PhysicsEngineJNI.stepSimulation(threadedWorld, 1.0 / 60.0);
+        }
+
+        for (int i = 1; i <= 2000; i++) {
+            ObjectState serial = PhysicsEngineJNI.getObjectState(worldPtr, i);
+            ObjectState threaded = PhysicsEngineJNI.getObjectState(threadedWorld, i);
+            assertEquals("Position X differs for object " + i, serial.getPosX(), threaded.getPosX(), 0.0);
+            assertEquals("Position Y differs for object " + i, serial.getPosY(), threaded.getPosY(), 0.0);
+        }
+
+        PhysicsEngineJNI.deletePhysicsWorld(threadedWorld);
+    }
+
+    @Test
+    public void testIslandStats() {
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_COLLISION_SOLVER,
+                                        PhysicsEngineJNI.SOLVER_ISLANDS);
+
+        // Three separate piles of two overlapping squares, plus one loose square
+        double[] dimensions = {10.0};
+        for (int pile = 0; pile < 3; pile++) {
+            PhysicsEngineJNI.addObject(worldPtr, pile * 2 + 1, 1.0, pile * 100.0, 0.0, 0.0, 1.0, 'S', dimensions);
+            PhysicsEngineJNI.addObject(worldPtr, pile * 2 + 2, 1.0, pile * 100.0, 8.0, 0.0, -1.0, 'S', dimensions);
+        }
+        PhysicsEngineJNI.addObject(worldPtr, 7, 1.0, 500.0, 0.0, 0.0, 0.0, 'S', dimensions);
+
+        PhysicsEngineJNI.handleCollisions(worldPtr);
+        int[] stats = PhysicsEngineJNI.getIslandStats(worldPtr);
+
+        assertEquals("Island count", 3, stats[PhysicsEngineJNI.ISLAND_STAT_COUNT]);
+        assertEquals("Largest island", 2, stats[PhysicsEngineJNI.ISLAND_STAT_LARGEST]);
+        assertEquals("Bodies in islands", 6, stats[PhysicsEngineJNI.ISLAND_STAT_BODIES]);
+        assertEquals("Contacts", 3, stats[PhysicsEngineJNI.ISLAND_STAT_CONTACTS]);
+        assertTrue("Islands resolved", stats[PhysicsEngineJNI.ISLAND_STAT_TOTAL_ITERATIONS] >= 3);
+    }
+
+    @Test
+    public void testWorldFallsAsleep() {
+        // No gravity, so a body at rest stays at rest
+        PhysicsEngineJNI.configureForces(worldPtr, 2, 0.0);
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_SLEEP, 0.2, 10);
+
+        double[] dimensions = {10.0};
+        PhysicsEngineJNI.addObject(worldPtr, 1, 1.0, 50.0, 50.0, 0.0, 0.0, 'S', dimensions);
+        assertFalse("New bodies start awake", PhysicsEngineJNI.isWorldAsleep(worldPtr));
+
+        for (int step = 0; step < 10; step++) {
+            PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+        }
+        assertTrue("Resting body should sleep", PhysicsEngineJNI.isWorldAsleep(worldPtr));
+
+        // Pushing the body wakes it
+        PhysicsEngineJNI.updateObjectState(worldPtr, 1, 50.0, 50.0, 5.0, 0.0);
+        assertFalse("Pushed body should wake", PhysicsEngineJNI.isWorldAsleep(worldPtr));
+    }
+
+    @Test
+    public void testWorldBounds() {
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BOUNDS, 5.0, 5.0, 795.0, 595.0, 0.6, 0.2);
+
+        // A 20x20 box about to fall through the floor
+        double[] dimensions = {20.0};
+        PhysicsEngineJNI.addObject(worldPtr, 1, 1.0, 100.0, 574.0, 10.0, 300.0, 'S', dimensions);
+        PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+
+        ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, 1);
+        assertEquals("Box should rest on the floor", 575.0, state.getPosY(), EPSILON);
+        assertTrue("Box should bounce up", state.getVelY() < 0);
+        assertTrue("Wall friction should slow the box", state.getVelX() < 10.0);
+
+        // Right <= left turns the walls off again
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BOUNDS, 0.0, 0.0, 0.0, 0.0);
+        PhysicsEngineJNI.updateObjectState(worldPtr, 1, 100.0, 574.0, 10.0, 300.0);
+        PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+        state = PhysicsEngineJNI.getObjectState(worldPtr, 1);
+        assertTrue("Box should leave without bounds", state.getPosY() > 575.0);
+    }
+
+    @Test
+    public void testStepFixed() {
+        PhysicsEngineJNI.configureForces(worldPtr, 2, 0.0);
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_FIXED_STEP, 0.01, 4);
+
+        double[] dimensions = {10.0};
+        PhysicsEngineJNI.addObject(worldPtr, 1, 1.0, 100.0, 100.0, 100.0, 0.0, 'S', dimensions);
+        StateBuffer buffer = new StateBuffer(worldPtr);
+
+        // 2.5 steps: two steps run, half a step is left over
+        double alpha = PhysicsEngineJNI.stepFixed(worldPtr, 0.025);
+        assertEquals("Half a step should be left", 0.5, alpha, EPSILON);
+        assertEquals(1, buffer.size());
+        assertEquals(102.0, buffer.getPosX(0), 0.001);
+        assertEquals("Previous position is one step back", 101.0, buffer.getPrevPosX(0), 0.001);
+        assertEquals(101.5, buffer.getInterpolatedPosX(0, alpha), 0.001);
+
+        // A one second stall only runs the capped number of steps
+        PhysicsEngineJNI.stepFixed(worldPtr, 1.0);
+        assertEquals("Stall should be capped at 4 steps", 106.0, buffer.getPosX(0), 0.001);
+    }
+
+    @Test
+    public void testSimulationDriver() throws InterruptedException {
+        PhysicsEngine engine = PhysicsEngine.forName("jni");
+        SimulationDriver driver = new SimulationDriver(engine, engine.createWorld(), 1.0 / 60.0);
+        driver.start();
+        try {
+            double[] dimensions = {10.0};
+            driver.submit(ptr -> engine.addObject(ptr, 1, 1.0, 100.0, 100.0, 0.0, 0.0, 'S', dimensions));
+
+            // Commands are applied and published even while paused
+            WorldSnapshot snapshot = waitForSnapshot(driver, 1);
+            assertEquals(1, snapshot.getId(0));
+            assertEquals(100.0, snapshot.getPosY(0), EPSILON);
+            long firstSequence = snapshot.getSequence();
+
+            // Stepping on the driver thread moves the body under gravity
+            driver.setStepping(true);
+            Thread.sleep(200);
+            WorldSnapshot moved = driver.latestSnapshot();
+            assertTrue("Snapshots should advance", moved.getSequence() > firstSequence);
+            assertTrue("Body should fall", moved.getPosY(0) > 100.0);
+            double alpha = moved.getAlpha(System.nanoTime());
+            assertTrue(alpha >= 0.0 && alpha <= 1.0);
+
+            // A held snapshot is not touched by later steps
+            double heldY = moved.getPosY(0);
+            Thread.sleep(100);
+            assertEquals(heldY, moved.getPosY(0), 0.0);
+
+            driver.resetWorld();
+            assertFalse(driver.isStepping());
+            assertEquals("Reset world should be empty", 0, waitForSnapshot(driver, 0).size());
+
+            // Buffered changes keep their place among plain commands; the
+            // first command holds the thread until all of them are queued
+            CountDownLatch queued = new CountDownLatch(1);
+            driver.submit(ptr -> {
+                try {
+                    queued.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            driver.submitBuffered(commands -> commands.addObject(2, 1.0, 50.0, 50.0, 0.0, 0.0, 'C', 5.0));
+            driver.submit(ptr -> engine.removeObject(ptr, 2));
+            driver.submitBuffered(commands -> commands.addObject(3, 1.0, 80.0, 50.0, 0.0, 0.0, 'C', 5.0));
+            queued.countDown();
+            assertEquals(3, waitForSnapshot(driver, 1).getId(0));
+        } finally {
+            driver.shutdown();
+        }
+    }
+
+    private WorldSnapshot waitForSnapshot(SimulationDriver driver, int size) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            WorldSnapshot snapshot = driver.latestSnapshot();
+            if (snapshot.getSequence() > 0 && snapshot.size() == size) {
+                return snapshot;
+            }
+            Thread.sleep(10);
+        }
+        fail("No snapshot with " + size + " bodies");
+        return null;
+    }
+
+    @Test
+    public void testBatchRunner() {
+        BatchRunner.Scene scene = BatchRunner.Scene.parse(Arrays.asList(
+            "# two bodies falling without collisions",
+            "dt 0.01",
+            "steps 100",
+            "gravity 10",
+            "collisions off",
+            "world sleep 0",
+            "body S 2.0 100 100 0 0 10",
+            "grid C 4 2 200 100 50 50 1.0 0 0 5   # 2x2 circles"));
+        assertEquals(0.01, scene.getDeltaTime(), EPSILON);
+        assertEquals(100, scene.getSteps());
+        assertEquals(5, scene.getBodyCount());
+
+        // One second of free fall: mean y starts at 120 and drops 5.05 with semi-implicit Euler
+        BatchRunner.Result result = BatchRunner.run(scene);
+        assertEquals(125.05, result.getMeanY(), 0.01);
+        assertEquals("Every body should reach v = 10", 0.5 * 6.0 * 100.0, result.getKineticEnergy(), 1.0);
+        assertTrue(result.getBodyStepsPerSecond() > 0);
+        assertNull("Profile only with world profile", result.getProfile());
+
+        // Fixed 5 ms substeps under 10 ms frames, profiled: two engine steps per frame
+        BatchRunner.Scene fixed = BatchRunner.Scene.parse(Arrays.asList(
+            "dt 0.01",
+            "steps 100",
+            "gravity 10",
+            "world sleep 0",
+            "world fixed_step 0.005",
+            "world profile 1",
+            "body S 2.0 100 100 0 0 10"));
+        BatchRunner.Result fixedResult = BatchRunner.run(fixed, PhysicsEngine.forName("jni"));
+        long[] profile = fixedResult.getProfile();
+        assertNotNull(profile);
+        assertEquals(200, profile[PhysicsEngineJNI.PROFILE_STEPS]);
+        assertEquals(200, profile[PhysicsEngineJNI.PROFILE_COLLISION_PASSES]);
+        assertEquals(105.025, fixedResult.getMeanY(), 0.01);
+
+        try {
+            BatchRunner.Scene.parse(Arrays.asList("body X 1 0 0 0 0 1"));
+            fail("Unknown shape should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Line 1"));
+        }
+    }
+
+    @Test
+    public void testPhysicsEngineSelection() {
+        PhysicsEngine engine = PhysicsEngine.forName("jni");
+        assertEquals("jni", engine.getName());
+
+        // The interface drives the same worlds as the static natives
+        engine.addObject(worldPtr, 1, 1.0, 100.0, 100.0, 10.0, 0.0, 'S', 20.0);
+        engine.stepSimulation(worldPtr, 0.1);
+        ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, 1);
+
+        double[] values = new double[PhysicsEngine.STATE_FIELD_COUNT];
+        assertTrue(engine.getObjectState(worldPtr, 1, values));
+        assertEquals(state.getPosX(), values[PhysicsEngine.STATE_POS_X], EPSILON);
+        assertEquals(state.getVelY(), values[PhysicsEngine.STATE_VEL_Y], EPSILON);
+        assertFalse(engine.getObjectState(worldPtr, 2, values));
+
+        BodyStateView view = engine.getStateView(worldPtr);
+        assertEquals(1, view.size());
+        assertEquals(state.getPosY(), view.getPosY(0), EPSILON);
+
+        try {
+            PhysicsEngine.forName("opencl");
+            fail("Unknown engine should be rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testJavaEngineMatchesNative() {
+        PhysicsEngine java = PhysicsEngine.forName("java");
+        assertEquals("java", java.getName());
+        long javaWorld = java.createWorld();
+
+        // The Java engine follows the native structure-of-arrays path; walls
+        // at y = 610 let the squares settle on the friction band at y = 600
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BODY_STORAGE,
+                                        PhysicsEngineJNI.STORAGE_SOA);
+        double[] bounds = {0.0, 0.0, 400.0, 610.0};
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BOUNDS, bounds);
+        java.configureWorld(javaWorld, PhysicsEngineJNI.WORLD_BOUNDS, bounds);
+
+        for (int i = 1; i <= 30; i++) {
+            double x = 20.0 + (i % 6) * 55.0;
+            double y = 400.0 + (i / 6) * 25.0;
+            double velX = (i % 3) * 20.0 - 20.0;
+            char shape = (i % 3 == 0) ? 'C' : (i % 3 == 1) ? 'S' : 'R';
+            double[] dimensions = shape == 'R' ? new double[]{14.0, 7.0} : new double[]{10.0};
+            PhysicsEngineJNI.addObject(worldPtr, i, 1.0 + i % 4, x, y, velX, 0.0, shape, dimensions);
+            java.addObject(javaWorld, i, 1.0 + i % 4, x, y, velX, 0.0, shape, dimensions);
+        }
+
+        for (int step = 0; step < 300; step++) {
+            PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+            PhysicsEngineJNI.handleCollisions(worldPtr);
+            java.stepSimulation(javaWorld, 1.0 / 60.0);
+            java.handleCollisions(javaWorld);
+            if (step == 100) {
+                PhysicsEngineJNI.updateObjectState(worldPtr, 7, 200.0, 100.0, 0.0, 0.0);
+                java.updateObjectState(javaWorld, 7, 200.0, 100.0, 0.0, 0.0);
+            }
+        }
+
+        double[] values = new double[PhysicsEngine.STATE_FIELD_COUNT];
+        for (int i = 1; i <= 30; i++) {
+            ObjectState expected = PhysicsEngineJNI.getObjectState(worldPtr, i);
+            assertTrue(java.getObjectState(javaWorld, i, values));
+            assertEquals("Position X differs for object " + i, expected.getPosX(), values[PhysicsEngine.STATE_POS_X], EPSILON);
+            assertEquals("Position Y differs for object " + i, expected.getPosY(), values[PhysicsEngine.STATE_POS_Y], EPSILON);
+            assertEquals("Velocity X differs for object " + i, expected.getVelX(), values[PhysicsEngine.STATE_VEL_X], EPSILON);
+            assertEquals("Velocity Y differs for object " + i, expected.getVelY(), values[PhysicsEngine.STATE_VEL_Y], EPSILON);
+        }
+        assertEquals(PhysicsEngineJNI.isWorldAsleep(worldPtr), java.isWorldAsleep(javaWorld));
+        assertEquals(30, java.getStateView(javaWorld).size());
+        assertNull(java.getObjectState(javaWorld, 99));
+
+        java.deleteWorld(javaWorld);
+        try {
+            java.stepSimulation(javaWorld, 1.0 / 60.0);
+            fail("Deleted world should be rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testSaveAndLoadWorld() throws IOException {
+        Path file = Files.createTempFile("world", ".phyw");
+        try {
+            PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BODY_STORAGE,
+                                            PhysicsEngineJNI.STORAGE_SOA);
+            PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BOUNDS, 0.0, 0.0, 400.0, 610.0);
+            for (int i = 1; i <= 12; i++) {
+                char shape = (i % 3 == 0) ? 'C' : (i % 3 == 1) ? 'S' : 'R';
+                double[] dimensions = shape == 'R' ? new double[]{14.0, 7.0} : new double[]{10.0};
+                PhysicsEngineJNI.addObject(worldPtr, i, 1.0 + i % 4, 20.0 + i * 30.0, 500.0, i % 5, 0.0, shape, dimensions);
+            }
+            for (int step = 0; step < 60; step++) {
+                PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+                PhysicsEngineJNI.handleCollisions(worldPtr);
+            }
+            assertTrue(PhysicsEngineJNI.saveWorld(worldPtr, file.toString()));
+
+            // A native checkpoint loads in the Java engine, and its save loads back natively
+            PhysicsEngine java = PhysicsEngine.forName("java");
+            long javaWorld = java.loadWorld(file.toString());
+            assertNotEquals("Java engine failed to load the native file", 0, javaWorld);
+            assertTrue(java.saveWorld(javaWorld, file.toString()));
+            long nativeWorld = PhysicsEngineJNI.loadWorld(file.toString());
+            assertNotEquals("Native engine failed to load the Java file", 0, nativeWorld);
+
+            for (int step = 0; step < 60; step++) {
+                PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+                PhysicsEngineJNI.handleCollisions(worldPtr);
+                PhysicsEngineJNI.stepSimulation(nativeWorld, 1.0 / 60.0);
+                PhysicsEngineJNI.handleCollisions(nativeWorld);
+                java.stepSimulation(javaWorld, 1.0 / 60.0);
+                java.handleCollisions(javaWorld);
+            }
+
+            double[] values = new double[PhysicsEngine.STATE_FIELD_COUNT];
+            for (int i = 1; i <= 12; i++) {
+                ObjectState expected = PhysicsEngineJNI.getObjectState(worldPtr, i);
+                ObjectState restored = PhysicsEngineJNI.getObjectState(nativeWorld, i);
+                assertTrue(java.getObjectState(javaWorld, i, values));
+                assertEquals(expected.getPosX(), restored.getPosX(), EPSILON);
+                assertEquals(expected.getPosY(), restored.getPosY(), EPSILON);
+                assertEquals(expected.getVelX(), restored.getVelX(), EPSILON);
+                assertEquals(expected.getPosX(), values[PhysicsEngine.STATE_POS_X], EPSILON);
+                assertEquals(expected.getPosY(), values[PhysicsEngine.STATE_POS_Y], EPSILON);
+            }
+            PhysicsEngineJNI.deletePhysicsWorld(nativeWorld);
+            java.deleteWorld(javaWorld);
+
+            // Anything that is not a world file is rejected
+            Files.write(file, new byte[256]);
+            assertEquals(0, PhysicsEngineJNI.loadWorld(file.toString()));
+            assertEquals(0, java.loadWorld(file.toString()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testRecordAndReplay() throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        RecordingEngine recorder = new RecordingEngine(PhysicsEngine.forName("jni"), log);
+        long world = recorder.createWorld();
+        recorder.configureWorld(world, PhysicsEngineJNI.WORLD_FIXED_STEP, 1.0 / 60.0);
+        recorder.configureWorld(world, PhysicsEngineJNI.WORLD_BOUNDS, 0.0, 0.0, 400.0, 610.0);
+
+        // Uneven frame deltas and mid-run inputs, like the GUI's
+        for (int frame = 0; frame < 120; frame++) {
+            if (frame % 10 == 0) {
+                recorder.addObject(world, frame + 1, 1.0, 30.0 + frame * 3, 100.0, 5.0, 0.0, 'C', 8.0);
+            }
+            if (frame == 40) {
+                recorder.configureForces(world, 1, 0.0, 0.0);
+            }
+            if (frame == 90) {
+                recorder.removeObject(world, 31);
+                recorder.removeObjects(world, 11, 51);
+            }
+            if (frame == 100) {
+                CommandBuffer commands = new CommandBuffer();
+                commands.applyImpulse(1, 20.0, -10.0);
+                commands.addObject(200, 1.0, 200.0, 50.0, 0.0, 0.0, 'R', 12.0, 6.0);
+                recorder.flushCommands(world, commands);
+            }
+            if (frame > 60 && frame < 80) {
+                double[] state = new double[PhysicsEngine.STATE_FIELD_COUNT];
+                recorder.getObjectState(world, 1, state);
+                recorder.updateObjectState(world, 1, state[PhysicsEngine.STATE_POS_X], state[PhysicsEngine.STATE_POS_Y],
+                                           state[PhysicsEngine.STATE_VEL_X] + 8.0, state[PhysicsEngine.STATE_VEL_Y]);
+            }
+            recorder.stepFixed(world, 0.012 + (frame % 7) * 0.002);
+        }
+        assertEquals(120, recorder.getStepCount());
+
+        double[] recorded = new double[PhysicsEngine.STATE_FIELD_COUNT];
+        assertTrue(recorder.getObjectState(world, 1, recorded));
+        recorder.close();
+
+        ReplayRunner.Result result = ReplayRunner.replay(new ByteArrayInputStream(log.toByteArray()),
+                                                         PhysicsEngine.forName("jni"));
+        assertEquals(120, result.getSteps());
+        assertEquals(120, result.getStepNanos().length);
+        assertEquals(1, result.getChecks());
+        assertTrue("Replay should end in the recorded state", result.isStateMatched());
+
+        // A log cut short still replays up to the last complete record
+        byte[] truncated = Arrays.copyOf(log.toByteArray(), log.size() - 5);
+        ReplayRunner.Result partial = ReplayRunner.replay(new ByteArrayInputStream(truncated),
+                                                          PhysicsEngine.forName("jni"));
+        assertEquals(120, partial.getSteps());
+        assertEquals(0, partial.getChecks());
+
+        recorder.deleteWorld(world);
+    }
+
+    @Test
+    public void testTelemetryRing() throws IOException {
+        Path file = Files.createTempFile("telemetry", ".ring");
+        try {
+            assertTrue(PhysicsEngineJNI.enableTelemetry(worldPtr, file.toString(), 16, 8));
+            double[] dimensions = {10.0};
+            for (int i = 1; i <= 3; i++) {
+                PhysicsEngineJNI.addObject(worldPtr, i, 1.0, 50.0 * i, 100.0, 4.0, 0.0, 'S', dimensions);
+            }
+
+            TelemetryReader reader = new TelemetryReader(file);
+            TelemetryReader.Frame frame = new TelemetryReader.Frame();
+            assertEquals(-1, reader.readLatest(frame));
+
+            for (int step = 0; step < 20; step++) {
+                PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+                PhysicsEngineJNI.handleCollisions(worldPtr);
+            }
+
+            // One frame per collision pass; the ring keeps the newest 16
+            assertEquals(20, reader.getPublished());
+            assertEquals(19, reader.readLatest(frame));
+            assertEquals(3, frame.size());
+            assertEquals(3, frame.getAwakeBodies());
+            assertEquals(20.0 / 60.0, frame.getSimTime(), EPSILON);
+            assertTrue(frame.getStepNanos() > 0);
+            for (int slot = 0; slot < frame.size(); slot++) {
+                ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, frame.getId(slot));
+                assertEquals(state.getPosX(), frame.getPosX(slot), EPSILON);
+                assertEquals(state.getVelX(), frame.getVelX(slot), EPSILON);
+            }
+            assertTrue(reader.readFrame(4, frame));
+            assertFalse("Overwritten frame should be rejected", reader.readFrame(3, frame));
+            assertFalse("Unwritten frame should be rejected", reader.readFrame(20, frame));
+
+            assertTrue(PhysicsEngineJNI.enableTelemetry(worldPtr, null, 0, 0));
+            PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+            PhysicsEngineJNI.handleCollisions(worldPtr);
+            assertEquals(20, reader.getPublished());
+
+            // The Java engine has no telemetry
+            PhysicsEngine java = PhysicsEngine.forName("java");
+            assertFalse(java.enableTelemetry(java.createWorld(), file.toString(), 16, 8));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testStepProfile() {
+        double[] dimensions = {10.0};
+        PhysicsEngineJNI.addObject(worldPtr, 1, 1.0, 100.0, 100.0, 0.0, 0.0, 'S', dimensions);
+        PhysicsEngineJNI.addObject(worldPtr, 2, 1.0, 105.0, 100.0, 0.0, 0.0, 'S', dimensions);
+        assertNull("Profiling is off by default", PhysicsEngineJNI.getStepProfile(worldPtr));
+
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_PROFILE, 1);
+        for (int step = 0; step < 4; step++) {
+            PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+            PhysicsEngineJNI.handleCollisions(worldPtr);
+        }
+
+        long[] profile = PhysicsEngineJNI.getStepProfile(worldPtr);
+        assertEquals(PhysicsEngineJNI.PROFILE_FIELD_COUNT, profile.length);
+        assertEquals(4, profile[PhysicsEngineJNI.PROFILE_STEPS]);
+        assertEquals(4, profile[PhysicsEngineJNI.PROFILE_COLLISION_PASSES]);
+        assertTrue(profile[PhysicsEngineJNI.PROFILE_INTEGRATE_NANOS] > 0);
+        assertTrue(profile[PhysicsEngineJNI.PROFILE_NARROWPHASE_NANOS] > 0);
+        assertTrue(profile[PhysicsEngineJNI.PROFILE_CONTACTS] >= 1);
+        assertTrue(profile[PhysicsEngineJNI.PROFILE_CANDIDATE_PAIRS] >= profile[PhysicsEngineJNI.PROFILE_CONTACTS]);
+
+        // Each call starts the totals over
+        assertEquals(0, PhysicsEngineJNI.getStepProfile(worldPtr)[PhysicsEngineJNI.PROFILE_STEPS]);
+
+        // The same profile through the engine interface
+        PhysicsEngine engine = PhysicsEngine.forName("jni");
+        long[] out = new long[PhysicsEngineJNI.PROFILE_FIELD_COUNT];
+        PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+        assertTrue(engine.getStepProfile(worldPtr, out));
+        assertEquals(1, out[PhysicsEngineJNI.PROFILE_STEPS]);
+
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_PROFILE, 0);
+        assertFalse(engine.getStepProfile(worldPtr, out));
+
+        // The Java engine has no profiler
+        PhysicsEngine java = PhysicsEngine.forName("java");
+        assertFalse(java.getStepProfile(java.createWorld(), out));
+    }
+
+    @Test
+    public void testRemoveObjects() {
+        double[] dimensions = {10.0};
+        for (int id = 1; id <= 4; id++) {
+            PhysicsEngineJNI.addObject(worldPtr, id, 1.0, id * 50.0, 100.0, 0.0, 0.0, 'S', dimensions);
+        }
+        int[] stats = PhysicsEngineJNI.getPoolStats(worldPtr);
+        assertEquals(PhysicsEngineJNI.POOL_STAT_COUNT, stats.length);
+        assertEquals(4, stats[PhysicsEngineJNI.POOL_STAT_LIVE]);
+        int capacity = stats[PhysicsEngineJNI.POOL_STAT_CAPACITY];
+        assertEquals(capacity - 4, stats[PhysicsEngineJNI.POOL_STAT_POOLED]);
+
+        assertTrue(PhysicsEngineJNI.removeObject(worldPtr, 2));
+        assertFalse(PhysicsEngineJNI.removeObject(worldPtr, 2));
+        assertNull(PhysicsEngineJNI.getObjectState(worldPtr, 2));
+        assertEquals(200.0, PhysicsEngineJNI.getObjectState(worldPtr, 4).getPosX(), 1e-6);
+
+        assertEquals(2, PhysicsEngineJNI.removeObjects(worldPtr, 1, 3, 99));
+        stats = PhysicsEngineJNI.getPoolStats(worldPtr);
+        assertEquals(1, stats[PhysicsEngineJNI.POOL_STAT_LIVE]);
+
+        // Freed blocks are reused before the pool grows
+        PhysicsEngineJNI.addObject(worldPtr, 5, 1.0, 300.0, 100.0, 0.0, 0.0, 'C', dimensions);
+        stats = PhysicsEngineJNI.getPoolStats(worldPtr);
+        assertEquals(2, stats[PhysicsEngineJNI.POOL_STAT_LIVE]);
+        assertEquals(capacity, stats[PhysicsEngineJNI.POOL_STAT_CAPACITY]);
+
+        // The Java engine keeps the same slots as the native one
+        PhysicsEngine java = PhysicsEngine.forName("java");
+        long world = java.createWorld();
+        for (int id = 1; id <= 4; id++) {
+            java.addObject(world, id, 1.0, id * 50.0, 100.0, 0.0, 0.0, 'S', dimensions);
+        }
+        assertTrue(java.removeObject(world, 2));
+        BodyStateView view = java.getStateView(world);
+        assertEquals(3, view.size());
+        assertEquals(4, view.getId(1));
+        assertEquals(2, java.removeObjects(world, 1, 1, 3));
+        assertEquals(200.0, java.getObjectState(world, 4).getPosX(), 1e-6);
+        java.deleteWorld(world);
+    }
+
+    @Test
+    public void testFlushCommands() {
+        PhysicsEngine jni = PhysicsEngine.forName("jni");
+        PhysicsEngine java = PhysicsEngine.forName("java");
+        long javaWorld = java.createWorld();
+        jni.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BODY_STORAGE, 1);
+
+        // Small initial capacity, so the buffer has to grow
+        CommandBuffer commands = new CommandBuffer(64);
+        for (PhysicsEngine engine : new PhysicsEngine[] {jni, java}) {
+            long world = engine == jni ? worldPtr : javaWorld;
+            for (int id = 1; id <= 50; id++) {
+                commands.addObject(id, 2.0, id * 12.0, 100.0, 0.0, 0.0, 'S', 10.0);
+            }
+            commands.addObject(51, 1.0, 300.0, 200.0, 0.0, 0.0, 'R', 20.0, 10.0);
+            commands.applyImpulse(51, 6.0, -4.0);
+            commands.updateObject(50, 700.0, 50.0, 1.0, 0.0);
+            commands.removeObject(1);
+            commands.configureForces(2, 4.0);
+            commands.configureWorld(PhysicsEngineJNI.WORLD_BOUNDS, 0.0, 0.0, 800.0, 600.0);
+            assertEquals(56, commands.getCommandCount());
+
+            assertEquals(56, engine.flushCommands(world, commands));
+            assertTrue(commands.isEmpty());
+            assertEquals(0, engine.flushCommands(world, commands));
+            assertEquals(50, engine.getStateView(world).size());
+            assertNull(engine.getObjectState(world, 1));
+
+            ObjectState pushed = engine.getObjectState(world, 51);
+            assertEquals(6.0, pushed.getVelX(), EPSILON);
+            assertEquals(-4.0, pushed.getVelY(), EPSILON);
+            assertEquals(700.0, engine.getObjectState(world, 50).getPosX(), EPSILON);
+
+            for (int step = 0; step < 30; step++) {
+                engine.stepFixed(world, 1.0 / 60.0);
+            }
+        }
+
+        // Both engines applied the same batch the same way
+        double[] expected = new double[PhysicsEngine.STATE_FIELD_COUNT];
+        double[] actual = new double[PhysicsEngine.STATE_FIELD_COUNT];
+        for (int id = 2; id <= 51; id++) {
+            assertTrue(jni.getObjectState(worldPtr, id, expected));
+            assertTrue(java.getObjectState(javaWorld, id, actual));
+            assertArrayEquals(expected, actual, EPSILON);
+        }
+        java.deleteWorld(javaWorld);
+    }
+
+    @Test
+    public void testContactCache() {
+        assertNull("The cache is off by default", PhysicsEngineJNI.getContactCacheStats(worldPtr));
+
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BODY_STORAGE, 1);
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_BOUNDS, 0.0, 0.0, 800.0, 600.0);
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_SLEEP, 0.0);
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_CONTACT_CACHE, 1);
+
+        // A resting stack of four boxes
+        double[] dimensions = {20.0};
+        for (int id = 1; id <= 4; id++) {
+            PhysicsEngineJNI.addObject(worldPtr, id, 1.0, 100.0, 600.0 - id * 20.0, 0.0, 0.0, 'S', dimensions);
+        }
+        for (int step = 0; step < 120; step++) {
+            PhysicsEngineJNI.stepSimulation(worldPtr, 1.0 / 60.0);
+            PhysicsEngineJNI.handleCollisions(worldPtr);
+        }
+
+        long[] stats = PhysicsEngineJNI.getContactCacheStats(worldPtr);
+        assertEquals(PhysicsEngineJNI.CONTACT_STAT_COUNT, stats.length);
+        assertEquals(3, stats[PhysicsEngineJNI.CONTACT_STAT_CACHED]);
+        assertTrue("Resting contacts are warm-started",
+                   stats[PhysicsEngineJNI.CONTACT_STAT_HITS] * 10 >= stats[PhysicsEngineJNI.CONTACT_STAT_LOOKUPS] * 9);
+        assertTrue(stats[PhysicsEngineJNI.CONTACT_STAT_ITERATIONS_SAVED] > 0);
+        assertEquals(1, PhysicsEngineJNI.getIslandStats(worldPtr)[PhysicsEngineJNI.ISLAND_STAT_TOTAL_ITERATIONS]);
+
+        // The stack still stands in order
+        for (int id = 2; id <= 4; id++) {
+            double overlap = PhysicsEngineJNI.getObjectState(worldPtr, id).getPosY() + 20.0
+                             - PhysicsEngineJNI.getObjectState(worldPtr, id - 1).getPosY();
+            assertTrue("Box " + id + " overlaps by " + overlap, overlap >= 0 && overlap < 0.5);
+        }
+
+        // The engine interface reports the same counters
+        long[] copied = new long[PhysicsEngineJNI.CONTACT_STAT_COUNT];
+        assertTrue(PhysicsEngine.forName("jni").getContactCacheStats(worldPtr, copied));
+        assertArrayEquals(PhysicsEngineJNI.getContactCacheStats(worldPtr), copied);
+        PhysicsEngine java = PhysicsEngine.forName("java");
+        long javaWorld = java.createWorld();
+        assertFalse(java.getContactCacheStats(javaWorld, copied));
+        java.deleteWorld(javaWorld);
+
+        // Turning the cache on again starts the counters over
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_CONTACT_CACHE, 1);
+        assertEquals(0, PhysicsEngineJNI.getContactCacheStats(worldPtr)[PhysicsEngineJNI.CONTACT_STAT_LOOKUPS]);
+        PhysicsEngineJNI.configureWorld(worldPtr, PhysicsEngineJNI.WORLD_CONTACT_CACHE, 0);
+        assertNull(PhysicsEngineJNI.getContactCacheStats(worldPtr));
+    }
+
     @Test
     public void testObjectStateUpdates() {
         // Create test object
@@ -160,6 +898,38 @@ public class TestJNIIntegration {
         assertEquals("Velocity Y not updated", newVelY, state.getVelY(), EPSILON);
     }
 
+    @Test
+    public void testStateBuffer() {
+        StateBuffer buffer = new StateBuffer(worldPtr);
+        assertEquals("Empty world should publish no bodies", 0, buffer.size());
+
+        // Enough bodies to force the native block to grow
+        double[] dimensions = {10.0};
+        for (int i = 1; i <= 200; i++) {
+            PhysicsEngineJNI.addObject(worldPtr, i, 1.0, i * 20.0, 0.0, 0.0, 0.0, 'S', dimensions);
+        }
+        assertEquals("Buffer should track added bodies", 200, buffer.size());
+
+        int revision = buffer.getRevision();
+        PhysicsEngineJNI.stepSimulation(worldPtr, 0.1);
+        assertNotEquals("Step should refresh the buffer", revision, buffer.getRevision());
+
+        // Buffer contents match the per-object query
+        for (int slot = 0; slot < buffer.size(); slot++) {
+            ObjectState state = PhysicsEngineJNI.getObjectState(worldPtr, buffer.getId(slot));
+            assertNotNull(state);
+            assertEquals(state.getPosX(), buffer.getPosX(slot), EPSILON);
+            assertEquals(state.getPosY(), buffer.getPosY(slot), EPSILON);
+            assertEquals(state.getVelY(), buffer.getVelY(slot), EPSILON);
+            assertEquals(state.getAccY(), buffer.getAccY(slot), EPSILON);
+        }
+
+        // Single-object updates are visible immediately
+        PhysicsEngineJNI.updateObjectState(worldPtr, 1, 5.0, 6.0, 7.0, 8.0);
+        assertEquals(5.0, buffer.getPosX(0), EPSILON);
+        assertEquals(8.0, buffer.getVelY(0), EPSILON);
+    }
+
     @Test
     public void testErrorHandling() {
         // Test invalid object ID